@@ -3,6 +3,7 @@ plugins {
     id("org.springframework.boot") version "3.5.4"
     id("io.spring.dependency-management") version "1.1.4"
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.todoapp"
@@ -23,6 +24,9 @@ repositories {
     mavenCentral()
 }
 
+// HTTP load-test harness (see LoadTest): ./gradlew loadSeed, then ./gradlew loadRun
+val loadTest: SourceSet by sourceSets.creating
+
 dependencies {
     // Spring Boot Starters
     implementation("org.springframework.boot:spring-boot-starter-web")
@@ -30,12 +34,22 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
-    // implementation("org.springframework.boot:spring-boot-starter-mail")  // Disabled for now
+    implementation("org.springframework.boot:spring-boot-starter-mail")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
     
     // Database
     runtimeOnly("org.postgresql:postgresql")
     implementation("org.flywaydb:flyway-core")
     
+    // Metrics (Prometheus scrape endpoint, Hibernate statistics)
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    implementation("net.ttddyy:datasource-proxy:1.10")
+    
+    // Hibernate second-level cache (JCache API, Ehcache on-heap)
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.ehcache:ehcache::jakarta")
+    
     // JWT
     implementation("io.jsonwebtoken:jjwt-api:0.12.3")
     runtimeOnly("io.jsonwebtoken:jjwt-impl:0.12.3")
@@ -46,6 +60,7 @@ dependencies {
     
     // Utilities
     implementation("org.mapstruct:mapstruct:1.5.5.Final")
+    implementation("org.roaringbitmap:RoaringBitmap:1.3.0")
     annotationProcessor("org.mapstruct:mapstruct-processor:1.5.5.Final")
     
     // Development tools
@@ -60,6 +75,13 @@ dependencies {
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:postgresql")
     testImplementation("com.h2database:h2")
+    testImplementation("com.icegreen:greenmail-junit5:2.1.2")
+    
+    // Load test harness
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+    "loadTestImplementation"("com.fasterxml.jackson.core:jackson-databind")
+    "loadTestImplementation"("org.springframework.security:spring-security-crypto")
+    "loadTestImplementation"("org.postgresql:postgresql")
     
     // Test Coverage
     testImplementation("org.mockito:mockito-core")
@@ -85,6 +107,66 @@ tasks.withType<Test> {
     )
 }
 
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+// Benchmarks against a PostgreSQL container (needs Docker); tune with -Pbenchmark.<name>=<value>
+tasks.register<Test>("benchmark") {
+    group = "verification"
+    description = "Runs the tests tagged benchmark"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+    project.properties.filterKeys { it.startsWith("benchmark.") }
+        .forEach { (name, value) -> systemProperty(name, value.toString()) }
+}
+
+// Seed with -Pload.users= -Pload.tasks-per-user= ..., run with -Pload.rate= -Pload.duration= ...
+listOf("loadSeed" to "seed", "loadRun" to "run").forEach { (taskName, command) ->
+    tasks.register<JavaExec>(taskName) {
+        group = "load test"
+        description = "Load test harness: $command"
+        classpath = loadTest.runtimeClasspath
+        mainClass.set("com.todoapp.load.LoadTest")
+        args(command)
+        systemProperty("load.report-dir", layout.buildDirectory.dir("reports/load").get().asFile.path)
+        project.properties.filterKeys { it.startsWith("load.") }
+            .forEach { (name, value) -> systemProperty(name, value.toString()) }
+    }
+}
+
+// Microbenchmarks in src/jmh: ./gradlew jmh [-Pjmh.includes=JwtUtil]
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    project.findProperty("jmh.includes")?.let { includes.set(listOf(it.toString())) }
+}
+
+// ./gradlew jmhCompare -Pbaseline=main.json [-Pcurrent=...] [-PmaxRegression=10]
+tasks.register<JavaExec>("jmhCompare") {
+    group = "benchmark"
+    description = "Fails when a JMH result regressed against a baseline results file"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.todoapp.benchmark.JmhResultComparison")
+    args(
+        project.findProperty("baseline") ?: "",
+        project.findProperty("current") ?: layout.buildDirectory.file("reports/jmh/results.json").get().asFile.path,
+        project.findProperty("maxRegression") ?: "10"
+    )
+}
+
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
     options.compilerArgs.addAll(listOf("-parameters"))
@@ -111,7 +193,7 @@ jacoco {
     toolVersion = "0.8.12"
 }
 
-tasks.withType<Test> {
+tasks.test {
     finalizedBy(tasks.jacocoTestReport)
 }
 
@@ -0,0 +1,95 @@
+package com.todoapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todoapp.dto.TagDTO;
+import com.todoapp.dto.TaskDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a task page: the bare TaskDTO list, and the Map envelope that
+ * TaskController.getTasks returns. Uses an ObjectMapper configured as Spring Boot
+ * configures the one behind the message converters (ISO dates, Java time module).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private List<TaskDTO> tasks;
+    private Map<String, Object> envelope;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        writer = objectMapper.writer();
+
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            TaskDTO task = new TaskDTO((long) i + 1, "Task " + i, i % 3 == 0 ? "completed" : "pending",
+                List.of("low", "medium", "high").get(i % 3));
+            task.setDescription("Description of task " + i + " with a few more words");
+            task.setDueDate(now.plusDays(i % 10 - 3));
+            task.setCreatedAt(now.minusDays(30));
+            task.setUpdatedAt(now.minusDays(1));
+            task.setCategoryId((long) i % 5 + 1);
+            task.setCategoryName("Category " + (i % 5 + 1));
+            task.setCategoryColor("#3366ff");
+            Set<TagDTO> tags = new HashSet<>();
+            for (int t = 0; t < 3; t++) {
+                TagDTO tag = new TagDTO();
+                tag.setId((long) (i + t) % 10 + 1);
+                tag.setName("tag-" + tag.getId());
+                tag.setColor("#ff9900");
+                tags.add(tag);
+            }
+            task.setTags(tags);
+            tasks.add(task);
+        }
+
+        // Same shape as TaskController.getTasks
+        envelope = new HashMap<>();
+        envelope.put("tasks", tasks);
+        envelope.put("pagination", Map.of(
+            "page", 0,
+            "limit", pageSize,
+            "total", 1000L,
+            "totalPages", (1000 + pageSize - 1) / pageSize
+        ));
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() throws Exception {
+        return writer.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeGetTasksEnvelope() throws Exception {
+        return writer.writeValueAsBytes(envelope);
+    }
+}
@@ -0,0 +1,101 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskDTO;
+import com.todoapp.entity.Category;
+import com.todoapp.entity.Tag;
+import com.todoapp.entity.Task;
+import com.todoapp.util.ReferenceData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping of one task page, as TaskServiceImpl.getTasks does it: category
+ * and tag names come from the user's ReferenceData. Calls the service's own private
+ * convertToDTO, so the numbers follow the production code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskMappingBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"0", "3"})
+    public int tagsPerTask;
+
+    private MethodHandle convertToDTO;
+    private List<Task> tasks;
+    private ReferenceData refs;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        TaskServiceImpl service = new TaskServiceImpl(null, null, null, null, null, null, null, null, null, null);
+        convertToDTO = MethodHandles.privateLookupIn(TaskServiceImpl.class, MethodHandles.lookup())
+            .findVirtual(TaskServiceImpl.class, "convertToDTO",
+                MethodType.methodType(TaskDTO.class, Task.class, ReferenceData.class))
+            .bindTo(service);
+
+        List<ReferenceData.CategoryRef> categoryRefs = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            Category category = new Category("Category " + id, "#3366ff", null);
+            category.setId(id);
+            categories.add(category);
+            categoryRefs.add(new ReferenceData.CategoryRef(id, category.getName(), category.getColor()));
+        }
+        List<ReferenceData.TagRef> tagRefs = new ArrayList<>();
+        List<Tag> tags = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            Tag tag = new Tag("tag-" + id, null);
+            tag.setId(id);
+            tag.setColor("#ff9900");
+            tags.add(tag);
+            tagRefs.add(new ReferenceData.TagRef(id, tag.getName(), tag.getColor()));
+        }
+        refs = new ReferenceData(1L, categoryRefs, tagRefs, null);
+
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Task task = new Task("Task " + i, "Description of task " + i + " with a few more words", null);
+            task.setId((long) i + 1);
+            task.setStatus(i % 3 == 0 ? Task.TaskStatus.COMPLETED : Task.TaskStatus.PENDING);
+            task.setPriority(Task.TaskPriority.values()[i % 3]);
+            task.setDueDate(now.plusDays(i % 10 - 3));
+            task.setCreatedAt(now.minusDays(30));
+            task.setUpdatedAt(now.minusDays(1));
+            task.setCategory(categories.get(i % categories.size()));
+            Set<Tag> taskTags = new HashSet<>();
+            for (int t = 0; t < tagsPerTask; t++) {
+                taskTags.add(tags.get((i + t) % tags.size()));
+            }
+            task.setTags(taskTags);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public void convertPage(Blackhole blackhole) throws Throwable {
+        for (Task task : tasks) {
+            blackhole.consume((TaskDTO) convertToDTO.invokeExact(task, refs));
+        }
+    }
+}
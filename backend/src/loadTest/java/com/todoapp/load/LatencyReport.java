@@ -0,0 +1,150 @@
+package com.todoapp.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms and outcome counts of the measured part of a run.
+ *
+ * Latencies are recorded in microseconds from the request's scheduled start, so time spent
+ * queued behind a slow server counts (no coordinated omission). Rejected counts 503s from
+ * admission control; dropped counts requests the generator could not even start because
+ * load.max-in-flight requests were already outstanding.
+ */
+final class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private static final double[] PERCENTILES = {50, 95, 99, 99.9};
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> dropped = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+            rejected.put(operation, new LongAdder());
+            dropped.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, int status) {
+        histograms.get(operation).recordValue(
+            Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (status == 503) {
+            rejected.get(operation).increment();
+        } else if (status >= 400) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void recordFailure(Operation operation, long latencyNanos) {
+        histograms.get(operation).recordValue(
+            Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        errors.get(operation).increment();
+    }
+
+    void recordDropped(Operation operation) {
+        dropped.get(operation).increment();
+    }
+
+    /**
+     * Print the per-endpoint table for a measured window of the given length.
+     */
+    void print(double seconds) {
+        System.out.printf("%n%-34s %9s %9s %7s %7s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s",
+            "errors", "503s", "dropped", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        long totalRejected = 0;
+        long totalDropped = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0 && dropped.get(operation).sum() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += errors.get(operation).sum();
+            totalRejected += rejected.get(operation).sum();
+            totalDropped += dropped.get(operation).sum();
+            printRow(operation.endpoint(), histogram, seconds, errors.get(operation).sum(),
+                rejected.get(operation).sum(), dropped.get(operation).sum());
+        }
+        printRow("all", total, seconds, totalErrors, totalRejected, totalDropped);
+    }
+
+    /**
+     * Write the results with the run's settings as JSON; returns the file.
+     */
+    Path write(LoadConfig config, double seconds) throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0 && dropped.get(operation).sum() == 0) {
+                continue;
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", histogram.getTotalCount());
+            result.put("throughput", histogram.getTotalCount() / seconds);
+            result.put("errors", errors.get(operation).sum());
+            result.put("rejected", rejected.get(operation).sum());
+            result.put("dropped", dropped.get(operation).sum());
+            for (double percentile : PERCENTILES) {
+                result.put("p" + formatPercentile(percentile) + "Ms", millis(histogram.getValueAtPercentile(percentile)));
+            }
+            result.put("maxMs", millis(histogram.getMaxValue()));
+            endpoints.put(operation.endpoint(), result);
+        }
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedAt", LocalDateTime.now().toString());
+        run.put("baseUrl", config.baseUrl());
+        run.put("rate", config.rate());
+        run.put("durationSeconds", seconds);
+        run.put("sessions", config.sessions());
+        run.put("randomSeed", config.randomSeed());
+        run.put("mix", config.mix());
+        run.put("endpoints", endpoints);
+
+        Files.createDirectories(config.reportDirectory());
+        Path file = config.reportDirectory().resolve(
+            "load-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), run);
+        return file;
+    }
+
+    private static void printRow(String name, Histogram histogram, double seconds, long errors, long rejected,
+                                 long dropped) {
+        System.out.printf("%-34s %9d %9.1f %7d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", name,
+            histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors, rejected, dropped,
+            millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+            millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+            millis(histogram.getMaxValue()));
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile)
+            ? String.valueOf((long) percentile)
+            : String.valueOf(percentile).replace(".", "");
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
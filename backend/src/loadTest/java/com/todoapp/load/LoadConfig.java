@@ -0,0 +1,90 @@
+package com.todoapp.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings of a seed or run, from load.* system properties (Gradle forwards -Pload.*).
+ *
+ * The same load.random-seed gives the same population and the same request sequence, so
+ * two runs differ only in the code or configuration under test.
+ */
+record LoadConfig(
+    // Population
+    int users,
+    int tasksPerUser,
+    int categoriesPerUser,
+    int tagsPerUser,
+    int notificationsPerUser,
+    String password,
+    // Database the seeder writes to
+    String jdbcUrl,
+    String dbUser,
+    String dbPassword,
+    // Run
+    String baseUrl,
+    double rate,
+    Duration warmup,
+    Duration duration,
+    int sessions,
+    int maxInFlight,
+    Map<Operation, Integer> mix,
+    long randomSeed,
+    Path reportDirectory) {
+
+    static final String EMAIL_DOMAIN = "load.test";
+
+    static final String DEFAULT_MIX =
+        "login=2,list=30,filter=12,search=8,get=10,create=8,update=8,status=6,bulk=1,dashboard=10,notifications=5";
+
+    static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+            intProperty("load.users", 1000),
+            intProperty("load.tasks-per-user", 200),
+            intProperty("load.categories-per-user", 8),
+            intProperty("load.tags-per-user", 20),
+            intProperty("load.notifications-per-user", 30),
+            System.getProperty("load.password", "LoadTest123!"),
+            System.getProperty("load.jdbc-url", "jdbc:postgresql://localhost:5432/tododb"),
+            System.getProperty("load.db-user", "todouser"),
+            System.getProperty("load.db-password", "todopass"),
+            System.getProperty("load.base-url", "http://localhost:8080"),
+            Double.parseDouble(System.getProperty("load.rate", "200")),
+            Duration.parse(System.getProperty("load.warmup", "PT30S")),
+            Duration.parse(System.getProperty("load.duration", "PT2M")),
+            intProperty("load.sessions", 200),
+            intProperty("load.max-in-flight", 5000),
+            parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+            Long.parseLong(System.getProperty("load.random-seed", "42")),
+            Path.of(System.getProperty("load.report-dir", "build/reports/load")));
+    }
+
+    static String email(int user) {
+        return "user" + user + "@" + EMAIL_DOMAIN;
+    }
+
+    /**
+     * Parse "list=30,search=8,..." into operation weights; unlisted operations get 0.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Bad load.mix entry: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("load.mix has no positive weight");
+        }
+        return weights;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,259 @@
+package com.todoapp.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests arrive as a Poisson process at load.rate per
+ * second, whether or not earlier ones have finished, as real traffic does. Each request
+ * runs on its own virtual thread for one of load.sessions logged-in seeded users, chosen
+ * with the load.mix weights.
+ *
+ * Runs for load.warmup unrecorded, then load.duration recorded, and prints and writes a
+ * {@link LatencyReport}. The arrival times and request choices come from load.random-seed.
+ */
+final class LoadGenerator {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LoadConfig config;
+    private final HttpClient http;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LatencyReport report = new LatencyReport();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<Session> sessions = new ArrayList<>();
+
+    LoadGenerator(LoadConfig config) {
+        this.config = config;
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+    }
+
+    void run() throws Exception {
+        try (executor) {
+            startSessions();
+
+            Random random = new Random(config.randomSeed());
+            Operation[] operations = weightedOperations();
+            double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+            long start = System.nanoTime();
+            long measureFrom = start + config.warmup().toNanos();
+            long end = measureFrom + config.duration().toNanos();
+            System.out.printf("Offering %.0f req/s for %d s warm-up and %d s measured%n", config.rate(),
+                config.warmup().toSeconds(), config.duration().toSeconds());
+
+            long next = start;
+            while (next < end) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = operations[random.nextInt(operations.length)];
+                Session session = sessions.get(random.nextInt(sessions.size()));
+                HttpRequest request = request(operation, session, random);
+                long scheduled = next;
+                boolean recorded = scheduled >= measureFrom;
+                if (inFlight.incrementAndGet() > config.maxInFlight()) {
+                    inFlight.decrementAndGet();
+                    if (recorded) {
+                        report.recordDropped(operation);
+                    }
+                } else {
+                    executor.execute(() -> send(operation, session, request, scheduled, recorded));
+                }
+                next += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+            }
+
+            long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                Thread.sleep(50);
+            }
+            double seconds = config.duration().toNanos() / 1e9;
+            report.print(seconds);
+            Path file = report.write(config, seconds);
+            System.out.printf("%nReport written to %s%n", file.toAbsolutePath());
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Log in the sessions' users, spread over the seeded population, and learn some of
+     * their task IDs for the requests that address a task.
+     */
+    private void startSessions() throws Exception {
+        List<Future<Session>> started = new ArrayList<>();
+        for (int i = 0; i < config.sessions(); i++) {
+            String email = LoadConfig.email((int) ((long) i * config.users() / config.sessions()));
+            started.add(executor.submit(() -> {
+                Session session = new Session(email);
+                login(session);
+                JsonNode page = json(http.send(authorized(session, "/api/tasks?page=1&size=100").GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray()));
+                for (JsonNode task : page.path("tasks")) {
+                    session.taskIds.add(task.path("id").asLong());
+                }
+                return session;
+            }));
+        }
+        for (Future<Session> session : started) {
+            sessions.add(session.get());
+        }
+        System.out.printf("Logged in %d sessions%n", sessions.size());
+    }
+
+    private void send(Operation operation, Session session, HttpRequest request, long scheduled, boolean recorded) {
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (recorded) {
+                report.record(operation, System.nanoTime() - scheduled, response.statusCode());
+            }
+            if (response.statusCode() == 401 && operation != Operation.LOGIN) {
+                login(session);
+            } else if (response.statusCode() < 300) {
+                remember(operation, session, response);
+            }
+        } catch (IOException e) {
+            if (recorded) {
+                report.recordFailure(operation, System.nanoTime() - scheduled);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void remember(Operation operation, Session session, HttpResponse<byte[]> response) throws IOException {
+        if (operation == Operation.LOGIN) {
+            session.token = json(response).path("token").asText();
+        } else if (operation == Operation.CREATE) {
+            session.taskIds.add(json(response).path("id").asLong());
+        }
+    }
+
+    private HttpRequest request(Operation operation, Session session, Random random) {
+        List<Long> taskIds = session.taskIds;
+        Long taskId = taskIds.isEmpty() ? null : taskIds.get(random.nextInt(taskIds.size()));
+        return switch (operation) {
+            case LOGIN -> loginRequest(session);
+            case LIST -> authorized(session, "/api/tasks?page=" + (1 + random.nextInt(5)) + "&size=20").GET().build();
+            case FILTER -> authorized(session, random.nextBoolean()
+                ? "/api/tasks?status=" + (random.nextBoolean() ? "pending" : "completed") + "&size=20"
+                : "/api/tasks?priority=high&size=20").GET().build();
+            case SEARCH -> authorized(session, "/api/tasks?search=" + Vocabulary.word(random) + "&size=20").GET().build();
+            case GET -> taskId == null ? listRequest(session)
+                : authorized(session, "/api/tasks/" + taskId).GET().build();
+            case CREATE -> authorized(session, "/api/tasks")
+                .POST(body(Map.of("title", Vocabulary.title(random),
+                    "description", "Created under load",
+                    "priority", "medium")))
+                .build();
+            case UPDATE -> taskId == null ? listRequest(session)
+                : authorized(session, "/api/tasks/" + taskId)
+                    .PUT(body(Map.of("title", Vocabulary.title(random),
+                        "priority", random.nextBoolean() ? "high" : "low")))
+                    .build();
+            case STATUS -> taskId == null ? listRequest(session)
+                : authorized(session, "/api/tasks/" + taskId + "/status")
+                    .method("PATCH", body(Map.of("status", random.nextBoolean() ? "completed" : "pending")))
+                    .build();
+            case BULK -> taskIds.isEmpty() ? listRequest(session)
+                : authorized(session, "/api/tasks/bulk")
+                    .POST(body(Map.of("operation", "COMPLETE",
+                        "taskIds", taskIds.subList(0, Math.min(5, taskIds.size())))))
+                    .build();
+            case DASHBOARD -> authorized(session, "/api/dashboard/statistics").GET().build();
+            case NOTIFICATIONS -> authorized(session, "/api/notifications").GET().build();
+        };
+    }
+
+    private HttpRequest listRequest(Session session) {
+        return authorized(session, "/api/tasks?size=20").GET().build();
+    }
+
+    private void login(Session session) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(loginRequest(session), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login of " + session.email + " failed with " + response.statusCode()
+                + "; seed the population first (./gradlew loadSeed)");
+        }
+        session.token = json(response).path("token").asText();
+    }
+
+    private HttpRequest loginRequest(Session session) {
+        return HttpRequest.newBuilder(uri("/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(30))
+            .POST(body(Map.of("email", session.email, "password", config.password())))
+            .build();
+    }
+
+    private HttpRequest.Builder authorized(Session session, String path) {
+        return HttpRequest.newBuilder(uri(path))
+            .header("Authorization", "Bearer " + session.token)
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(30));
+    }
+
+    private URI uri(String path) {
+        return URI.create(config.baseUrl() + path);
+    }
+
+    private Operation[] weightedOperations() {
+        List<Operation> operations = new ArrayList<>();
+        config.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        return operations.toArray(new Operation[0]);
+    }
+
+    private static HttpRequest.BodyPublisher body(Object value) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JsonNode json(HttpResponse<byte[]> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+    /**
+     * A logged-in seeded user and the task IDs it has seen.
+     */
+    private static final class Session {
+
+        private final String email;
+        private final List<Long> taskIds = new CopyOnWriteArrayList<>();
+        private volatile String token;
+
+        Session(String email) {
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.todoapp.load;
+
+/**
+ * Entry point of the load-test harness.
+ *
+ * seed: bulk-loads a synthetic population into the database (see {@link PopulationSeeder}).
+ * run: drives a running backend with an open-model request mix and reports per-endpoint
+ * latency percentiles (see {@link LoadGenerator}).
+ *
+ * Both are configured with load.* system properties; see {@link LoadConfig}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        String command = args.length > 0 ? args[0] : "run";
+        switch (command) {
+            case "seed" -> new PopulationSeeder(config).seed();
+            case "run" -> new LoadGenerator(config).run();
+            default -> {
+                System.err.println("Usage: LoadTest seed|run");
+                System.exit(2);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.todoapp.load;
+
+/**
+ * The request kinds of the load mix, with the endpoint each is reported under.
+ */
+enum Operation {
+    LOGIN("POST /api/auth/login"),
+    LIST("GET /api/tasks"),
+    FILTER("GET /api/tasks?status&priority"),
+    SEARCH("GET /api/tasks?search"),
+    GET("GET /api/tasks/{id}"),
+    CREATE("POST /api/tasks"),
+    UPDATE("PUT /api/tasks/{id}"),
+    STATUS("PATCH /api/tasks/{id}/status"),
+    BULK("POST /api/tasks/bulk"),
+    DASHBOARD("GET /api/dashboard/statistics"),
+    NOTIFICATIONS("GET /api/notifications");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,296 @@
+package com.todoapp.load;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+/**
+ * Bulk-loads a synthetic population with PostgreSQL COPY: users (with settings), and per
+ * user categories, tags, tasks with their tag links, and notifications.
+ *
+ * Task counts per user follow a Pareto distribution around load.tasks-per-user (capped
+ * at 20x), so a few heavy accounts dominate as they do in production. Titles are drawn
+ * from {@link Vocabulary}. Everything is derived from load.random-seed, and IDs are
+ * reserved from the tables' sequences up front, so a seed is reproducible. Users from a
+ * previous seed (@load.test addresses) are deleted first. All seeded users share the
+ * password load.password. Meant for a dedicated database: nothing else should insert
+ * while it runs.
+ */
+final class PopulationSeeder {
+
+    private static final int FLUSH_BYTES = 1 << 16;
+    private static final double PARETO_ALPHA = 1.5;
+
+    private final LoadConfig config;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    PopulationSeeder(LoadConfig config) {
+        this.config = config;
+    }
+
+    void seed() throws SQLException, IOException {
+        long start = System.nanoTime();
+        Random random = new Random(config.randomSeed());
+        int users = config.users();
+        int[] taskCounts = new int[users];
+        long totalTasks = 0;
+        for (int u = 0; u < users; u++) {
+            taskCounts[u] = taskCount(random);
+            totalTasks += taskCounts[u];
+        }
+        String passwordHash = new BCryptPasswordEncoder().encode(config.password());
+
+        long rows;
+        try (Connection connection = DriverManager.getConnection(config.jdbcUrl(), config.dbUser(), config.dbPassword())) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                int removed = statement.executeUpdate(
+                    "DELETE FROM users WHERE email LIKE '%@" + LoadConfig.EMAIL_DOMAIN + "'");
+                System.out.printf("Removed %d users of a previous seed%n", removed);
+            }
+
+            long userBase = reserve(connection, "users", users);
+            long categoryBase = reserve(connection, "categories", (long) users * config.categoriesPerUser());
+            long tagBase = reserve(connection, "tags", (long) users * config.tagsPerUser());
+            long taskBase = reserve(connection, "tasks", totalTasks);
+
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            rows = copyUsers(copyManager, userBase, passwordHash)
+                + copyUserSettings(copyManager, userBase)
+                + copyCategories(copyManager, userBase, categoryBase, random)
+                + copyTags(copyManager, userBase, tagBase, random)
+                + copyTasks(copyManager, userBase, categoryBase, tagBase, taskBase, taskCounts, random)
+                + copyNotifications(copyManager, userBase, random);
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Seeded %d users, %d tasks (%d rows) in %.1f s, %.0f rows/s; password '%s'%n",
+            users, totalTasks, rows, seconds, rows / seconds, config.password());
+    }
+
+    private long copyUsers(CopyManager copyManager, long userBase, String passwordHash) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(copyManager,
+                "users (id, email, password_hash, name, first_name, last_name, enabled, active, email_verified, "
+                + "created_at, updated_at)")) {
+            for (int u = 0; u < config.users(); u++) {
+                LocalDateTime created = now.minusDays(365);
+                copy.row(userBase + u, LoadConfig.email(u), passwordHash, "Load User " + u, "Load", "User " + u,
+                    true, true, true, created, created);
+            }
+            return copy.rows();
+        }
+    }
+
+    private long copyUserSettings(CopyManager copyManager, long userBase) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(copyManager, "user_settings (user_id)")) {
+            for (int u = 0; u < config.users(); u++) {
+                copy.row(userBase + u);
+            }
+            return copy.rows();
+        }
+    }
+
+    private long copyCategories(CopyManager copyManager, long userBase, long categoryBase, Random random)
+            throws SQLException {
+        try (CopyWriter copy = new CopyWriter(copyManager, "categories (id, user_id, name, color, created_at, updated_at)")) {
+            long id = categoryBase;
+            for (int u = 0; u < config.users(); u++) {
+                for (int c = 0; c < config.categoriesPerUser(); c++) {
+                    LocalDateTime created = now.minusDays(300 + random.nextInt(60));
+                    copy.row(id++, userBase + u, "Category " + c, Vocabulary.color(random), created, created);
+                }
+            }
+            return copy.rows();
+        }
+    }
+
+    private long copyTags(CopyManager copyManager, long userBase, long tagBase, Random random) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(copyManager, "tags (id, user_id, name, color, created_at, updated_at)")) {
+            long id = tagBase;
+            for (int u = 0; u < config.users(); u++) {
+                for (int t = 0; t < config.tagsPerUser(); t++) {
+                    LocalDateTime created = now.minusDays(300 + random.nextInt(60));
+                    copy.row(id++, userBase + u, "tag-" + t, Vocabulary.color(random), created, created);
+                }
+            }
+            return copy.rows();
+        }
+    }
+
+    /**
+     * Tasks, with their tag links spooled to a file and copied afterwards, since a
+     * connection can only run one COPY at a time.
+     */
+    private long copyTasks(CopyManager copyManager, long userBase, long categoryBase, long tagBase, long taskBase,
+                           int[] taskCounts, Random random) throws SQLException, IOException {
+        Path links = Files.createTempFile("task_tags", ".csv");
+        try {
+            long rows;
+            try (BufferedWriter linkWriter = Files.newBufferedWriter(links, StandardCharsets.UTF_8);
+                 CopyWriter copy = new CopyWriter(copyManager,
+                     "tasks (id, user_id, category_id, title, description, status, priority, due_date, completed_at, "
+                     + "created_at, updated_at)")) {
+                long id = taskBase;
+                for (int u = 0; u < config.users(); u++) {
+                    for (int t = 0; t < taskCounts[u]; t++) {
+                        long taskId = id++;
+                        LocalDateTime created = now.minusMinutes(random.nextInt(365 * 24 * 60));
+                        LocalDateTime updated = created.plusMinutes(
+                            random.nextInt((int) Math.max(1, ChronoUnit.MINUTES.between(created, now))));
+                        int roll = random.nextInt(100);
+                        String status = roll < 60 ? "pending" : roll < 95 ? "completed" : "deleted";
+                        String priority = switch (random.nextInt(4)) {
+                            case 0 -> "high";
+                            case 1 -> "low";
+                            default -> "medium";
+                        };
+                        Long categoryId = config.categoriesPerUser() > 0 && random.nextInt(10) < 7
+                            ? categoryBase + (long) u * config.categoriesPerUser() + random.nextInt(config.categoriesPerUser())
+                            : null;
+                        LocalDateTime due = random.nextInt(10) < 8 ? now.plusHours(random.nextInt(90 * 24) - 30 * 24) : null;
+                        copy.row(taskId, userBase + u, categoryId, Vocabulary.title(random),
+                            "Synthetic task " + t + " for " + Vocabulary.word(random) + " " + Vocabulary.word(random),
+                            status, priority, due, "completed".equals(status) ? updated : null, created, updated);
+
+                        if (config.tagsPerUser() > 0) {
+                            int tagCount = random.nextInt(Math.min(4, config.tagsPerUser() + 1));
+                            int first = random.nextInt(config.tagsPerUser());
+                            for (int k = 0; k < tagCount; k++) {
+                                long tagId = tagBase + (long) u * config.tagsPerUser() + (first + k) % config.tagsPerUser();
+                                linkWriter.write(taskId + "," + tagId + "\n");
+                            }
+                        }
+                    }
+                }
+                rows = copy.rows();
+            }
+
+            try (BufferedReader reader = Files.newBufferedReader(links, StandardCharsets.UTF_8)) {
+                rows += copyManager.copyIn("COPY task_tags (task_id, tag_id) FROM STDIN (FORMAT csv)", reader);
+            }
+            return rows;
+        } finally {
+            Files.deleteIfExists(links);
+        }
+    }
+
+    private long copyNotifications(CopyManager copyManager, long userBase, Random random) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(copyManager, "notifications (user_id, type, title, message, read, created_at)")) {
+            for (int u = 0; u < config.users(); u++) {
+                for (int n = 0; n < config.notificationsPerUser(); n++) {
+                    String title = Vocabulary.title(random);
+                    copy.row(userBase + u, "due_reminder", "Due soon: " + title, title + " is due soon",
+                        random.nextInt(10) < 7, now.minusMinutes(random.nextInt(60 * 24 * 60)));
+                }
+            }
+            return copy.rows();
+        }
+    }
+
+    private int taskCount(Random random) {
+        double scale = config.tasksPerUser() * (PARETO_ALPHA - 1) / PARETO_ALPHA;
+        double count = scale / Math.pow(1 - random.nextDouble(), 1 / PARETO_ALPHA);
+        return (int) Math.min(Math.round(count), 20L * config.tasksPerUser());
+    }
+
+    /**
+     * Reserve count consecutive IDs from the table's sequence; returns the first.
+     */
+    private static long reserve(Connection connection, String table, long count) throws SQLException {
+        if (count == 0) {
+            return 0;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT setval(pg_get_serial_sequence(?, 'id'), nextval(pg_get_serial_sequence(?, 'id')) + ? - 1)")) {
+            statement.setString(1, table);
+            statement.setString(2, table);
+            statement.setLong(3, count);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1) - count + 1;
+            }
+        }
+    }
+
+    /**
+     * One COPY ... FROM STDIN in CSV, fed row by row through a buffer.
+     */
+    private static final class CopyWriter implements AutoCloseable {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 1024);
+        private long rows;
+
+        CopyWriter(CopyManager copyManager, String target) throws SQLException {
+            this.copyIn = copyManager.copyIn("COPY " + target + " FROM STDIN (FORMAT csv)");
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendValue(values[i]);
+            }
+            buffer.append('\n');
+            rows++;
+            if (buffer.length() >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        private void appendValue(Object value) {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+                buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                buffer.append(text);
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!copyIn.isActive()) {
+                return;
+            }
+            flush();
+            copyIn.endCopy();
+        }
+    }
+}
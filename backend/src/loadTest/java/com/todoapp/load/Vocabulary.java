@@ -0,0 +1,41 @@
+package com.todoapp.load;
+
+import java.util.Random;
+
+/**
+ * Words the seeded task titles are built from, so that generated searches find matches at
+ * a realistic rate.
+ */
+final class Vocabulary {
+
+    static final String[] WORDS = {
+        "review", "report", "invoice", "meeting", "prepare", "draft", "budget", "release",
+        "deploy", "fix", "update", "call", "email", "plan", "design", "test", "migrate",
+        "refactor", "document", "schedule", "order", "book", "renew", "backup", "clean",
+        "quarterly", "weekly", "client", "team", "project", "roadmap", "onboarding",
+        "contract", "travel", "dentist", "groceries", "garden", "taxes", "insurance", "car"
+    };
+
+    static final String[] COLORS = {
+        "#3B82F6", "#EF4444", "#10B981", "#F59E0B", "#8B5CF6", "#EC4899", "#6B7280", "#14B8A6"
+    };
+
+    private Vocabulary() {
+    }
+
+    static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    static String title(Random random) {
+        return capitalize(word(random)) + " " + word(random) + " " + word(random);
+    }
+
+    static String color(Random random) {
+        return COLORS[random.nextInt(COLORS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
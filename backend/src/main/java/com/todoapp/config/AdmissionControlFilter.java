@@ -0,0 +1,217 @@
+package com.todoapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.util.AdaptiveLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the JDBC pool.
+ *
+ * Every /api request is classified as an interactive read, a write or heavy work (exports,
+ * imports, bulk updates; app.admission.heavy-paths) and must take a slot from that class's
+ * {@link AdaptiveLimiter} before it runs. A request that finds the short queue full, or
+ * waits out max-wait, gets an immediate 503 with Retry-After instead of a pool wait of up
+ * to the connection timeout. Read and write limits adapt to measured latency, so heavy or
+ * slow work throttles itself without starving the interactive API.
+ *
+ * Published as todoapp.admission.limit / in_flight / queued (gauges), todoapp.admission.wait
+ * (timer) and todoapp.admission.rejected (counter), all tagged by workload.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    enum Workload {
+        READ, WRITE, HEAVY;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AdmissionControlProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<Workload, AdaptiveLimiter> limiters = new EnumMap<>(Workload.class);
+    private final Map<Workload, Timer> waitTimers = new EnumMap<>(Workload.class);
+    private final Map<Workload, Counter> rejections = new EnumMap<>(Workload.class);
+
+    @Autowired
+    public AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (Workload workload : Workload.values()) {
+            AdmissionControlProperties.Limit limit = limitOf(workload);
+            AdaptiveLimiter limiter = new AdaptiveLimiter(limit.getInitialLimit(), limit.getMinLimit(),
+                limit.getMaxLimit(), limit.getQueueSize(), limit.getTargetLatency());
+            limiters.put(workload, limiter);
+
+            Gauge.builder("todoapp.admission.limit", limiter, AdaptiveLimiter::getLimit)
+                .description("Current concurrency limit")
+                .tag("workload", workload.tag())
+                .register(meterRegistry);
+            Gauge.builder("todoapp.admission.in_flight", limiter, AdaptiveLimiter::getInFlight)
+                .description("Admitted requests still running")
+                .tag("workload", workload.tag())
+                .register(meterRegistry);
+            Gauge.builder("todoapp.admission.queued", limiter, AdaptiveLimiter::getQueued)
+                .description("Requests waiting for a slot")
+                .tag("workload", workload.tag())
+                .register(meterRegistry);
+            waitTimers.put(workload, Timer.builder("todoapp.admission.wait")
+                .description("Time spent waiting for admission")
+                .tag("workload", workload.tag())
+                .register(meterRegistry));
+            rejections.put(workload, Counter.builder("todoapp.admission.rejected")
+                .description("Requests rejected with 503")
+                .tag("workload", workload.tag())
+                .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Workload workload = classify(request);
+        AdmissionControlProperties.Limit limit = limitOf(workload);
+
+        long waitStart = System.nanoTime();
+        AdaptiveLimiter.Permit permit;
+        try {
+            permit = limiters.get(workload).tryAcquire(limit.getMaxWait());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permit = null;
+        }
+        waitTimers.get(workload).record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+
+        if (permit == null) {
+            rejections.get(workload).increment();
+            logger.debug("Rejected {} {} ({} workload at capacity)",
+                request.getMethod(), path(request), workload.tag());
+            reject(request, response, limit);
+            return;
+        }
+
+        boolean releasedLater = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streaming responses keep their slot until the async request completes
+                request.getAsyncContext().addListener(new ReleasingListener(permit));
+                releasedLater = true;
+            }
+        } finally {
+            if (!releasedLater) {
+                permit.release();
+            }
+        }
+    }
+
+    Workload classify(HttpServletRequest request) {
+        String path = path(request);
+        for (String pattern : properties.getHeavyPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return Workload.HEAVY;
+            }
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> Workload.READ;
+            default -> Workload.WRITE;
+        };
+    }
+
+    private AdmissionControlProperties.Limit limitOf(Workload workload) {
+        return switch (workload) {
+            case READ -> properties.getRead();
+            case WRITE -> properties.getWrite();
+            case HEAVY -> properties.getHeavy();
+        };
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static void reject(HttpServletRequest request, HttpServletResponse response,
+                               AdmissionControlProperties.Limit limit) throws IOException {
+        long retryAfter = Math.max(1, limit.getRetryAfter().toSeconds());
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        body.put("error", "Service Unavailable");
+        body.put("message", "Server is busy. Please retry in " + retryAfter + " seconds.");
+        body.put("path", path(request));
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Releases the permit of an async request once, however the request ends.
+     */
+    private static final class ReleasingListener implements AsyncListener {
+
+        private final AdaptiveLimiter.Permit permit;
+
+        ReleasingListener(AdaptiveLimiter.Permit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register on the new async cycle so the permit still gets released
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
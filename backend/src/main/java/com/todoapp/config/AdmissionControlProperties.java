@@ -0,0 +1,163 @@
+package com.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admission control settings (app.admission.*): one concurrency limit per workload class.
+ *
+ * The defaults let interactive reads adapt up to the 20-connection pool, cap writes at 10
+ * and heavy exports/imports at 2, with queues short enough that a rejected caller hears
+ * back well within the pool's 20-second connection timeout.
+ */
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Ant-style paths (relative to the context path) treated as heavy work. Only the
+     * endpoints that stream an export count; creating and polling export jobs are
+     * ordinary writes and reads.
+     */
+    private List<String> heavyPaths = new ArrayList<>(List.of(
+        "/api/users/export",
+        "/api/users/export/jobs/*/archive",
+        "/api/tasks/export",
+        "/api/tasks/import",
+        "/api/tasks/bulk"
+    ));
+
+    private Limit read = new Limit(12, 4, 20, 50, Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofSeconds(1));
+
+    private Limit write = new Limit(6, 2, 10, 20, Duration.ofMillis(200), Duration.ofMillis(500), Duration.ofSeconds(1));
+
+    private Limit heavy = new Limit(2, 2, 2, 4, Duration.ofSeconds(2), Duration.ZERO, Duration.ofSeconds(30));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getHeavyPaths() {
+        return heavyPaths;
+    }
+
+    public void setHeavyPaths(List<String> heavyPaths) {
+        this.heavyPaths = heavyPaths;
+    }
+
+    public Limit getRead() {
+        return read;
+    }
+
+    public void setRead(Limit read) {
+        this.read = read;
+    }
+
+    public Limit getWrite() {
+        return write;
+    }
+
+    public void setWrite(Limit write) {
+        this.write = write;
+    }
+
+    public Limit getHeavy() {
+        return heavy;
+    }
+
+    public void setHeavy(Limit heavy) {
+        this.heavy = heavy;
+    }
+
+    /**
+     * Limit of one workload class. A zero target latency keeps the limit fixed at initial-limit.
+     */
+    public static class Limit {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private int queueSize;
+        private Duration maxWait;
+        private Duration targetLatency;
+        private Duration retryAfter;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit, int queueSize,
+                     Duration maxWait, Duration targetLatency, Duration retryAfter) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.queueSize = queueSize;
+            this.maxWait = maxWait;
+            this.targetLatency = targetLatency;
+            this.retryAfter = retryAfter;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public Duration getTargetLatency() {
+            return targetLatency;
+        }
+
+        public void setTargetLatency(Duration targetLatency) {
+            this.targetLatency = targetLatency;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.todoapp.config;
+
+import com.todoapp.service.DataVersionService;
+import com.todoapp.util.DataVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Answers GETs of per-user views with a weak ETag made from the user's data version, and
+ * a matching If-None-Match with 304 before the handler (and so any query) runs.
+ *
+ * The ETag carries the application version, the user ID and the data version. Views that
+ * also depend on the clock (the dashboard's today/upcoming/overdue lists) pass a
+ * granularity: their ETag includes the current time bucket, so they are recomputed at
+ * least once per bucket even without writes. Responses are marked private, no-cache, so
+ * browsers keep them but revalidate every time.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    private final DataVersionService dataVersionService;
+    private final String applicationVersion;
+    private final long bucketMillis;
+
+    public ConditionalGetInterceptor(DataVersionService dataVersionService, String applicationVersion,
+                                     Duration timeGranularity) {
+        this.dataVersionService = dataVersionService;
+        this.applicationVersion = applicationVersion;
+        this.bucketMillis = timeGranularity.toMillis();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return true;
+        }
+        DataVersion version = dataVersionService.current(authentication.getName());
+        if (version == null) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return !new ServletWebRequest(request, response).checkNotModified(etag(version, System.currentTimeMillis()));
+    }
+
+    String etag(DataVersion version, long nowMillis) {
+        StringBuilder etag = new StringBuilder("W/\"")
+            .append(applicationVersion).append('-')
+            .append(version.userId()).append('-')
+            .append(version.version());
+        if (bucketMillis > 0) {
+            etag.append('-').append(nowMillis / bucketMillis);
+        }
+        return etag.append('"').toString();
+    }
+}
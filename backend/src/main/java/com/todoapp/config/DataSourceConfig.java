@@ -0,0 +1,95 @@
+package com.todoapp.config;
+
+import com.todoapp.util.WorkloadPool;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Connection pools per {@link WorkloadPool}, and optionally a read replica, behind a single
+ * routing DataSource.
+ *
+ * All pools connect with spring.datasource.url/username/password. The interactive pool is
+ * configured under spring.datasource.hikari as before; the reporting and background pools
+ * under app.datasource.pools.&lt;pool&gt; with the same keys. Each pool may also set a
+ * statement-timeout, applied on PostgreSQL as the session statement_timeout of every
+ * connection. The replica pool is created when app.datasource.replica.jdbc-url is set and
+ * takes the same keys under app.datasource.replica. Pools report hikaricp_* meters under
+ * their own pool name.
+ *
+ * Connections are fetched lazily, at the first statement: transactions that never touch
+ * the database take none, and the routing sees whether the transaction is read-only.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final String POOLS_PREFIX = "app.datasource.pools.";
+    private static final String REPLICA_PREFIX = "app.datasource.replica";
+
+    private WorkloadRoutingDataSource routingDataSource;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry, ReplicaReadPolicy replicaReadPolicy) {
+        Binder binder = Binder.get(environment);
+        Map<WorkloadPool, HikariDataSource> pools = new EnumMap<>(WorkloadPool.class);
+        for (WorkloadPool pool : WorkloadPool.values()) {
+            String prefix = pool == WorkloadPool.INTERACTIVE ? "spring.datasource.hikari" : POOLS_PREFIX + pool.tag();
+            pools.put(pool, createPool(properties, binder, meterRegistry, prefix,
+                POOLS_PREFIX + pool.tag() + ".statement-timeout", "todoapp-" + pool.tag()));
+        }
+
+        HikariDataSource replica = null;
+        if (binder.bind(REPLICA_PREFIX + ".jdbc-url", String.class).isBound()) {
+            replica = createPool(properties, binder, meterRegistry, REPLICA_PREFIX,
+                REPLICA_PREFIX + ".statement-timeout", "todoapp-replica");
+            replica.setReadOnly(true);
+            replicaReadPolicy.setReplica(replica);
+        }
+
+        routingDataSource = new WorkloadRoutingDataSource(pools, replica, replicaReadPolicy);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @PreDestroy
+    public void closePools() {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties, Binder binder,
+                                               ObjectProvider<MeterRegistry> meterRegistry, String prefix,
+                                               String statementTimeoutKey, String defaultPoolName) {
+        HikariDataSource hikari = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(prefix, Bindable.ofInstance(hikari));
+        if (hikari.getPoolName() == null) {
+            hikari.setPoolName(defaultPoolName);
+        }
+
+        Duration statementTimeout = binder.bind(statementTimeoutKey, Duration.class).orElse(Duration.ZERO);
+        if (!statementTimeout.isZero() && hikari.getConnectionInitSql() == null
+                && hikari.getJdbcUrl().startsWith("jdbc:postgresql:")) {
+            hikari.setConnectionInitSql("SET statement_timeout = " + statementTimeout.toMillis());
+        }
+        meterRegistry.ifAvailable(registry ->
+            hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return hikari;
+    }
+}
@@ -1,100 +1,272 @@
 package com.todoapp.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Custom health indicator for database connectivity.
- * Provides detailed database health information including connection status,
- * response time, and basic database statistics.
+ *
+ * A health check costs at most one connection validation: concurrent checks share the
+ * ping in flight, a result is reused for app.health.database.ping-cache, and a caller
+ * waits no longer than app.health.database.ping-timeout. Database statistics (version,
+ * size, activity, replication lag) are collected in the background and served from the
+ * last snapshot; Hikari usage of each connection pool is read from the pool MXBean without
+ * touching the database.
  */
 @Component
 public class DatabaseHealthIndicator implements HealthIndicator {
 
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseHealthIndicator.class);
+
+    /**
+     * Outcome of one connection validation.
+     */
+    private record Ping(long checkedAtNanos, long responseTimeMs, String error, String errorType) {
+
+        boolean isHealthy() {
+            return error == null;
+        }
+    }
+
     private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ExecutorService pinger;
+    private CompletableFuture<Ping> pingInFlight;
+    private volatile Ping lastPing;
+    private volatile Map<String, Object> statistics = Map.of();
+    private volatile LocalDateTime statisticsCollectedAt;
+
+    @Value("${app.health.database.ping-timeout:PT1S}")
+    private Duration pingTimeout = Duration.ofSeconds(1);
+
+    @Value("${app.health.database.ping-cache:PT1S}")
+    private Duration pingCache = Duration.ofSeconds(1);
 
-    public DatabaseHealthIndicator(JdbcTemplate jdbcTemplate) {
+    public DatabaseHealthIndicator(JdbcTemplate jdbcTemplate, DataSource dataSource) {
         this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.pinger = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("db-health-"));
     }
 
     @Override
     public Health health() {
-        Map<String, Object> details = new HashMap<>();
-        
-        try {
-            // Test basic connectivity
-            long startTime = System.currentTimeMillis();
-            String result = jdbcTemplate.queryForObject("SELECT 1", String.class);
-            long responseTime = System.currentTimeMillis() - startTime;
-            
-            if ("1".equals(result)) {
-                details.put("status", "UP");
-                details.put("response_time_ms", responseTime);
-                details.put("message", "Database connection is healthy");
-                
-                // Add additional database statistics
-                addDatabaseStats(details);
-                
-                return Health.up()
-                    .withDetails(details)
-                    .build();
-            } else {
-                details.put("status", "DOWN");
-                details.put("message", "Database query returned unexpected result");
-                return Health.down()
-                    .withDetails(details)
-                    .build();
-            }
-            
-        } catch (Exception e) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        Ping ping = ping();
+
+        if (ping.isHealthy()) {
+            details.put("status", "UP");
+            details.put("response_time_ms", ping.responseTimeMs());
+            details.put("message", "Database connection is healthy");
+        } else {
             details.put("status", "DOWN");
-            details.put("error", e.getMessage());
-            details.put("error_type", e.getClass().getSimpleName());
+            details.put("error", ping.error());
+            details.put("error_type", ping.errorType());
             details.put("message", "Database connection failed");
-            
-            return Health.down()
-                .withDetails(details)
-                .build();
         }
+        addPoolStats(details);
+        details.put("statistics", statistics);
+        if (statisticsCollectedAt != null) {
+            details.put("statistics_collected_at", statisticsCollectedAt);
+        }
+
+        return (ping.isHealthy() ? Health.up() : Health.down())
+            .withDetails(details)
+            .build();
     }
-    
-    private void addDatabaseStats(Map<String, Object> details) {
+
+    /**
+     * Collect the expensive statistics into a new snapshot.
+     */
+    @Scheduled(fixedDelayString = "${app.health.database.statistics-interval:PT1M}")
+    public void refreshStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
         try {
             // Get database version
             String version = jdbcTemplate.queryForObject("SELECT version()", String.class);
-            details.put("database_version", version != null ? version.split(" ")[0] : "Unknown");
-            
+            stats.put("database_version", version != null ? version.split(" ")[0] : "Unknown");
+
             // Get active connections count
             Integer activeConnections = jdbcTemplate.queryForObject(
-                "SELECT COUNT(*) FROM pg_stat_activity WHERE state = 'active'", 
+                "SELECT COUNT(*) FROM pg_stat_activity WHERE state = 'active'",
                 Integer.class
             );
-            details.put("active_connections", activeConnections != null ? activeConnections : 0);
-            
+            stats.put("active_connections", activeConnections != null ? activeConnections : 0);
+
             // Get database size
             String dbSize = jdbcTemplate.queryForObject(
-                "SELECT pg_size_pretty(pg_database_size(current_database()))", 
+                "SELECT pg_size_pretty(pg_database_size(current_database()))",
                 String.class
             );
-            details.put("database_size", dbSize != null ? dbSize : "Unknown");
-            
+            stats.put("database_size", dbSize != null ? dbSize : "Unknown");
+
             // Get table count
             Integer tableCount = jdbcTemplate.queryForObject(
-                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = 'public'", 
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = 'public'",
                 Integer.class
             );
-            details.put("table_count", tableCount != null ? tableCount : 0);
-            
+            stats.put("table_count", tableCount != null ? tableCount : 0);
+
+            addReplicationStats(stats);
         } catch (Exception e) {
             // Don't fail the health check if stats collection fails
-            details.put("stats_error", "Could not collect database statistics: " + e.getMessage());
+            stats.put("stats_error", "Could not collect database statistics: " + e.getMessage());
+        }
+        statistics = Collections.unmodifiableMap(stats);
+        statisticsCollectedAt = LocalDateTime.now();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pinger.shutdownNow();
+    }
+
+    private Ping ping() {
+        Ping recent = lastPing;
+        if (recent != null && System.nanoTime() - recent.checkedAtNanos() < pingCache.toNanos()) {
+            return recent;
+        }
+
+        try {
+            Ping ping = pingFuture().get(pingTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            lastPing = ping;
+            return ping;
+        } catch (TimeoutException e) {
+            return new Ping(System.nanoTime(), -1,
+                "No response within " + pingTimeout.toMillis() + " ms", e.getClass().getSimpleName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Ping(System.nanoTime(), -1, "Interrupted", e.getClass().getSimpleName());
+        } catch (ExecutionException e) {
+            return new Ping(System.nanoTime(), -1, e.getCause().getMessage(), e.getCause().getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * The ping in flight, or a new one; a slow ping is joined rather than repeated.
+     */
+    private synchronized CompletableFuture<Ping> pingFuture() {
+        if (pingInFlight == null || pingInFlight.isDone()) {
+            pingInFlight = CompletableFuture.supplyAsync(this::validateConnection, pinger);
+        }
+        return pingInFlight;
+    }
+
+    private Ping validateConnection() {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            int timeoutSeconds = (int) Math.max(1, pingTimeout.toSeconds());
+            if (!physical(connection).isValid(timeoutSeconds)) {
+                return new Ping(System.nanoTime(), -1, "Connection validation failed", "InvalidConnection");
+            }
+            return new Ping(System.nanoTime(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), null, null);
+        } catch (Exception e) {
+            logger.debug("Database ping failed", e);
+            return new Ping(System.nanoTime(), -1, e.getMessage(), e.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * The pooled connection behind a lazy connection proxy, so the ping reaches the database.
+     */
+    private static Connection physical(Connection connection) throws SQLException {
+        return connection.isWrapperFor(ConnectionProxy.class)
+            ? connection.unwrap(ConnectionProxy.class).getTargetConnection()
+            : connection;
+    }
+
+    private void addPoolStats(Map<String, Object> details) {
+        WorkloadRoutingDataSource routing = unwrap(WorkloadRoutingDataSource.class);
+        if (routing != null) {
+            Map<String, Object> pools = new LinkedHashMap<>();
+            routing.getPools().forEach((pool, hikari) -> {
+                Map<String, Object> stats = poolStats(hikari);
+                if (stats != null) {
+                    pools.put(pool.tag(), stats);
+                }
+            });
+            Map<String, Object> replica = routing.getReplica() != null ? poolStats(routing.getReplica()) : null;
+            if (replica != null) {
+                pools.put("replica", replica);
+            }
+            details.put("pools", pools);
+            return;
+        }
+
+        HikariDataSource hikari = unwrap(HikariDataSource.class);
+        Map<String, Object> stats = hikari != null ? poolStats(hikari) : null;
+        if (stats != null) {
+            details.put("pool", stats);
+        }
+    }
+
+    private static Map<String, Object> poolStats(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return null;
+        }
+
+        int max = hikari.getMaximumPoolSize();
+        int active = pool.getActiveConnections();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", hikari.getPoolName());
+        stats.put("active", active);
+        stats.put("idle", pool.getIdleConnections());
+        stats.put("total", pool.getTotalConnections());
+        stats.put("max", max);
+        stats.put("threads_awaiting", pool.getThreadsAwaitingConnection());
+        stats.put("saturation", max > 0 ? Math.round(active * 100.0 / max) / 100.0 : 0.0);
+        return stats;
+    }
+
+    private <T> T unwrap(Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private void addReplicationStats(Map<String, Object> stats) {
+        Boolean inRecovery = jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class);
+        stats.put("in_recovery", inRecovery);
+        if (Boolean.TRUE.equals(inRecovery)) {
+            // Standby: how far replay is behind the primary
+            Double lag = jdbcTemplate.queryForObject(
+                "SELECT EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())", Double.class);
+            stats.put("replication_lag_seconds", lag);
+        } else {
+            // Primary: replay lag of each attached standby
+            List<Map<String, Object>> replicas = jdbcTemplate.queryForList(
+                "SELECT application_name, state, EXTRACT(EPOCH FROM replay_lag) AS replay_lag_seconds " +
+                "FROM pg_stat_replication");
+            stats.put("replicas", replicas);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.todoapp.config;
+
+import com.todoapp.util.StatementStats;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener that adds JDBC execution time (queries, updates and batches)
+ * to the current {@link StatementStats} scope. Registered through
+ * hibernate.session.events.auto, which creates one instance per session.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        StatementStats.recordJdbcTime(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        StatementStats.recordJdbcTime(System.nanoTime() - batchStart);
+    }
+}
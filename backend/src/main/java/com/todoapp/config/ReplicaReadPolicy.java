@@ -0,0 +1,145 @@
+package com.todoapp.config;
+
+import com.todoapp.util.ReadYourWrites;
+import com.todoapp.util.WorkloadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Decides whether a read-only transaction may run on the read replica.
+ *
+ * Only transactions of an authenticated user in one of app.datasource.replica.workloads
+ * qualify, and only while the replica's replay lag is within max-lag and the user has not
+ * written within read-your-writes-window. Everything else (authentication lookups,
+ * registration, background jobs) stays on the primary. The replica is probed every
+ * lag-check-interval; until the first successful probe, and whenever it fails, reads go to
+ * the primary.
+ */
+@Component
+public class ReplicaReadPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaReadPolicy.class);
+
+    // Replay lag in seconds; 0 when everything received has been replayed (or not a standby)
+    private static final String LAG_SQL =
+        "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final Set<WorkloadPool> workloads = EnumSet.noneOf(WorkloadPool.class);
+    private volatile DataSource replica;
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = -1;
+
+    @Value("${app.datasource.replica.read-your-writes-window:PT5S}")
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Value("${app.datasource.replica.max-lag:PT2S}")
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    public ReplicaReadPolicy(@Value("${app.datasource.replica.workloads:interactive}") String[] workloads) {
+        for (String workload : workloads) {
+            this.workloads.add(WorkloadPool.valueOf(workload.trim().toUpperCase(Locale.ROOT)));
+        }
+    }
+
+    /**
+     * Set the replica pool; without one every read stays on the primary.
+     */
+    public void setReplica(DataSource replica) {
+        this.replica = replica;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * Whether the current thread's read-only transaction, on the given workload, may use the replica.
+     */
+    public boolean useReplica(WorkloadPool pool) {
+        if (!replicaUsable || !workloads.contains(pool)) {
+            return false;
+        }
+        String user = currentUser();
+        return user != null && !ReadYourWrites.wroteWithin(user, readYourWritesWindow);
+    }
+
+    /**
+     * Note that the current user took a read-write connection; noted again when the
+     * transaction completes, so the window starts no earlier than the commit.
+     */
+    public void recordWrite() {
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        ReadYourWrites.recordWrite(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ReadYourWrites.recordWrite(user);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT1S}")
+    public void checkReplica() {
+        DataSource current = replica;
+        if (current == null) {
+            return;
+        }
+
+        boolean usable;
+        try (Connection connection = current.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_SQL)) {
+            rs.next();
+            lagSeconds = rs.getDouble(1);
+            usable = lagSeconds <= maxLag.toMillis() / 1000.0;
+        } catch (SQLException e) {
+            logger.debug("Replica lag check failed", e);
+            lagSeconds = -1;
+            usable = false;
+        }
+
+        if (usable != replicaUsable) {
+            logger.warn(usable ? "Read replica back in use (lag {} s)" : "Read replica out of use (lag {} s); reading from primary",
+                lagSeconds);
+        }
+        replicaUsable = usable;
+        ReadYourWrites.forgetOlderThan(readYourWritesWindow);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
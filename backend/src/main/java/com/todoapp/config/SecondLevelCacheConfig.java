@@ -0,0 +1,71 @@
+package com.todoapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JCache (Ehcache, on-heap) caches behind Hibernate's second-level cache, one per region
+ * in {@link SecondLevelCacheProperties}.
+ *
+ * Hibernate's own region statistics (generate_statistics) are already published as
+ * hibernate.second.level.cache.requests/puts per region and hibernate.cache.natural.id.*;
+ * each cache additionally reports the JCache cache.gets/puts/removals/evictions meters
+ * tagged with cache=&lt;region&gt;, which show whether a region is sized too small.
+ *
+ * The cache manager gets its own URI per application context, so contexts sharing a JVM
+ * (tests) do not share or close each other's caches.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheConfig.class);
+
+    private static final AtomicInteger cacheManagers = new AtomicInteger();
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties,
+                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        CacheManager cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+            .getCacheManager(URI.create("urn:todoapp:second-level-cache:" + cacheManagers.incrementAndGet()),
+                SecondLevelCacheConfig.class.getClassLoader());
+
+        for (Map.Entry<String, SecondLevelCacheProperties.Region> entry : properties.getRegions().entrySet()) {
+            String name = entry.getKey();
+            SecondLevelCacheProperties.Region region = entry.getValue();
+            Cache<Object, Object> cache = cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                        ResourcePoolsBuilder.heap(region.getMaxEntries()))
+                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(region.getTtl()))
+                    .build()));
+            cacheManager.enableStatistics(name, true);
+            meterRegistry.ifAvailable(registry -> JCacheMetrics.monitor(registry, cache));
+            logger.info("Second-level cache region {}: {} entries, ttl {}", name, region.getMaxEntries(),
+                region.getTtl());
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
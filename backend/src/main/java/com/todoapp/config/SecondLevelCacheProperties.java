@@ -0,0 +1,54 @@
+package com.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache regions (app.second-level-cache.regions.&lt;region&gt;).
+ *
+ * Every region named in an entity's or collection's @Cache, and every @NaturalIdCache
+ * region, must be listed here: Hibernate is configured to fail at startup on a region
+ * without a cache rather than create an unbounded one.
+ */
+@ConfigurationProperties(prefix = "app.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    public Map<String, Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, Region> regions) {
+        this.regions = regions;
+    }
+
+    /**
+     * Size and lifetime of one region. Entries are evicted least-recently-used beyond
+     * max-entries and expire ttl after they were put, whether or not they were read.
+     */
+    public static class Region {
+
+        private long maxEntries = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -66,6 +66,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/users/**").authenticated()
                 .requestMatchers("/api/dashboard/**").authenticated()
                 .requestMatchers("/api/notifications/**").authenticated()
+
+                // Slow-query entries carry SQL and call sites; reading or clearing them is for admins
+                .requestMatchers("/actuator/slowqueries", "/actuator/slowqueries/**").hasAuthority("ADMIN")
                 
                 // Allow all other requests for now (development)
                 .anyRequest().permitAll())
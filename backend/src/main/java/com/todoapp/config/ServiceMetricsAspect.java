@@ -0,0 +1,76 @@
+package com.todoapp.config;
+
+import com.todoapp.exception.BusinessException;
+import com.todoapp.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Times every call into the task, dashboard and notification services.
+ *
+ * One timer per service, operation, outcome and exception class, with a percentile
+ * histogram, so dashboards can compare p95/p99 of each operation across deploys.
+ * Outcomes follow the HTTP convention: client_error for rejected requests (not found,
+ * invalid, forbidden), server_error for everything else that throws.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    static final String TIMER_NAME = "todoapp.service.operation";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.todoapp.service.TaskService.*(..))"
+        + " || execution(public * com.todoapp.service.DashboardService.*(..))"
+        + " || execution(public * com.todoapp.service.NotificationService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(timer(joinPoint.getSignature(), outcome, exception));
+        }
+    }
+
+    private Timer timer(Signature signature, String outcome, String exception) {
+        return Timer.builder(TIMER_NAME)
+            .description("Latency of service operations")
+            .tag("service", signature.getDeclaringType().getSimpleName())
+            .tag("operation", signature.getName())
+            .tag("outcome", outcome)
+            .tag("exception", exception)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry);
+    }
+
+    private static String outcome(Throwable e) {
+        if (e instanceof ResourceNotFoundException || e instanceof BusinessException
+                || e instanceof IllegalArgumentException || e instanceof AccessDeniedException) {
+            return "client_error";
+        }
+        return "server_error";
+    }
+}
@@ -0,0 +1,36 @@
+package com.todoapp.config;
+
+import com.todoapp.dto.SlowQueryDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint (/actuator/slowqueries) listing the most recent slow statements,
+ * newest first; DELETE clears the buffer.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryListener slowQueryListener;
+
+    @Autowired
+    public SlowQueryEndpoint(SlowQueryListener slowQueryListener) {
+        this.slowQueryListener = slowQueryListener;
+    }
+
+    @ReadOperation
+    public List<SlowQueryDTO> slowQueries() {
+        return slowQueryListener.recent();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryListener.clear();
+    }
+}
@@ -0,0 +1,195 @@
+package com.todoapp.config;
+
+import com.todoapp.dto.SlowQueryDTO;
+import com.todoapp.util.RingBuffer;
+import com.todoapp.util.WorkloadPool;
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captures statements slower than app.slow-query.threshold into a bounded ring buffer,
+ * with their bind values and the application method that issued them.
+ *
+ * A sample of slow SELECTs (app.slow-query.explain.sample-rate) is re-run in the
+ * background as EXPLAIN (ANALYZE, BUFFERS) inside a read-only transaction with a
+ * statement timeout, and the plan is attached to the captured entry. Plans are only
+ * taken on PostgreSQL; EXPLAIN uses the unwrapped DataSource so it is never captured
+ * itself, and runs on the reporting pool.
+ */
+@Component
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryListener.class);
+
+    private static final int MAX_BINDS = 50;
+    private static final int MAX_BIND_LENGTH = 100;
+
+    private final RingBuffer<SlowQueryDTO> recent;
+    private final ThreadPoolExecutor explainer;
+    private volatile DataSource explainDataSource;
+
+    @Value("${app.slow-query.threshold:PT0.5S}")
+    private Duration threshold = Duration.ofMillis(500);
+
+    @Value("${app.slow-query.capture-binds:false}")
+    private boolean captureBinds;
+
+    @Value("${app.slow-query.explain.enabled:false}")
+    private boolean explainEnabled;
+
+    @Value("${app.slow-query.explain.sample-rate:0.1}")
+    private double explainSampleRate = 0.1;
+
+    @Value("${app.slow-query.explain.timeout:PT5S}")
+    private Duration explainTimeout = Duration.ofSeconds(5);
+
+    @Autowired
+    public SlowQueryListener(@Value("${app.slow-query.capacity:200}") int capacity) {
+        this.recent = new RingBuffer<>(capacity);
+        // One EXPLAIN at a time; samples arriving while the queue is full are dropped
+        this.explainer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(8), WorkloadPool.REPORTING.threadFactory("slow-query-explain-"),
+            new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Set the raw (unproxied) DataSource used to run EXPLAIN.
+     */
+    public void setExplainDataSource(DataSource explainDataSource) {
+        this.explainDataSource = explainDataSource;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < threshold.toMillis() || queryInfoList.isEmpty()) {
+            return;
+        }
+
+        QueryInfo query = queryInfoList.get(0);
+        List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+            ? List.of() : query.getParametersList().get(0);
+        SlowQueryDTO entry = new SlowQueryDTO(LocalDateTime.now(), execInfo.getElapsedTime(), query.getQuery(),
+            captureBinds ? describe(parameters) : List.of(), caller(),
+            execInfo.isBatch() ? execInfo.getBatchSize() : 0);
+        recent.add(entry);
+        logger.warn("Slow query ({} ms) from {}: {} binds={}",
+            entry.getDurationMs(), entry.getCaller(), entry.getSql(), entry.getBinds());
+
+        if (explainEnabled && explainDataSource != null && !execInfo.isBatch() && isSelect(query.getQuery())
+                && ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+            explainer.execute(() -> explain(entry, parameters));
+        }
+    }
+
+    /**
+     * Captured slow queries, newest first.
+     */
+    public List<SlowQueryDTO> recent() {
+        return recent.snapshot();
+    }
+
+    public void clear() {
+        recent.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    void explain(SlowQueryDTO entry, List<ParameterSetOperation> parameters) {
+        try (Connection connection = explainDataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    // ANALYZE executes the query: it must neither write nor run unbounded
+                    statement.execute("SET TRANSACTION READ ONLY");
+                    statement.execute("SET LOCAL statement_timeout = " + explainTimeout.toMillis());
+                }
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "EXPLAIN (ANALYZE, BUFFERS) " + entry.getSql())) {
+                    for (ParameterSetOperation parameter : parameters) {
+                        parameter.getMethod().invoke(statement, parameter.getArgs());
+                    }
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            plan.append(rs.getString(1)).append('\n');
+                        }
+                    }
+                    entry.setPlan(plan.toString());
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (Exception e) {
+            logger.debug("Could not EXPLAIN slow query from {}", entry.getCaller(), e);
+        }
+    }
+
+    private static List<String> describe(List<ParameterSetOperation> parameters) {
+        List<String> binds = new ArrayList<>(Math.min(parameters.size(), MAX_BINDS));
+        for (ParameterSetOperation parameter : parameters) {
+            if (binds.size() == MAX_BINDS) {
+                binds.add("...");
+                break;
+            }
+            Object[] args = parameter.getArgs();
+            String value = parameter.getMethod().getName().equals("setNull") || args.length < 2
+                ? "NULL" : String.valueOf(args[1]);
+            binds.add(value.length() > MAX_BIND_LENGTH ? value.substring(0, MAX_BIND_LENGTH) + "..." : value);
+        }
+        return binds;
+    }
+
+    /**
+     * The innermost application frame on the stack (a service, repository default method
+     * or security lookup), skipping this package and generated proxies.
+     */
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith("com.todoapp.")
+                && !frame.getClassName().startsWith("com.todoapp.config.")
+                && !frame.getClassName().contains("$$"))
+            .findFirst()
+            .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                + "." + frame.getMethodName())
+            .orElse("unknown"));
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+}
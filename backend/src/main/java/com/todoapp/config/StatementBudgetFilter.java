@@ -0,0 +1,116 @@
+package com.todoapp.config;
+
+import com.todoapp.util.StatementStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Counts the SQL statements and JDBC time of each request.
+ *
+ * Runs ahead of the security filters so the authentication lookup is included. The totals
+ * are recorded as todoapp.db.statements and todoapp.db.time per route, optionally returned
+ * as X-Db-Statements / X-Db-Time (milliseconds) headers (app.db-budget.headers, meant for
+ * non-production profiles), and a request over app.db-budget.max-statements logs a warning
+ * with its most repeated statement, which is usually the N+1 loop.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-Db-Statements";
+    static final String TIME_HEADER = "X-Db-Time";
+
+    private static final Logger budgetLogger = LoggerFactory.getLogger(StatementBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.db-budget.max-statements:20}")
+    private int maxStatements = 20;
+
+    @Value("${app.db-budget.headers:false}")
+    private boolean headers;
+
+    @Autowired
+    public StatementBudgetFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementStats stats = StatementStats.begin();
+        try {
+            filterChain.doFilter(request, headers ? withHeaders(response, stats) : response);
+        } finally {
+            StatementStats.end();
+            if (headers && !response.isCommitted()) {
+                addHeaders(response, stats);
+            }
+            record(request, stats);
+        }
+    }
+
+    private HttpServletResponse withHeaders(HttpServletResponse response, StatementStats stats) {
+        // Headers must be set before the body commits the response
+        return new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                addHeaders(response, stats);
+            }
+        };
+    }
+
+    private static void addHeaders(HttpServletResponse response, StatementStats stats) {
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+        response.setHeader(TIME_HEADER,
+            String.format(Locale.ROOT, "%.1f", stats.getJdbcTime().toNanos() / 1_000_000.0));
+    }
+
+    private void record(HttpServletRequest request, StatementStats stats) {
+        if (stats.getStatements() == 0) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("todoapp.db.statements")
+            .description("SQL statements per request")
+            .baseUnit("statements")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(stats.getStatements());
+        Timer.builder("todoapp.db.time")
+            .description("JDBC execution time per request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(stats.getJdbcTime());
+
+        if (stats.getStatements() > maxStatements) {
+            StatementStats.Shape top = stats.mostRepeated();
+            budgetLogger.warn("{} {} issued {} SQL statements (budget {}, {} ms in JDBC); most repeated {}x: {}",
+                request.getMethod(), uri, stats.getStatements(), maxStatements,
+                stats.getJdbcTime().toMillis(), top.count(), top.sql());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.todoapp.config;
+
+import com.todoapp.util.StatementStats;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts every prepared statement into the current
+ * {@link StatementStats} scope. Registered through
+ * hibernate.session_factory.statement_inspector; the SQL is passed through unchanged.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementStats.recordStatement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,134 @@
+package com.todoapp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread, typically
+ * inside a synchronized block or a native frame on the JDBC path.
+ *
+ * Listens to the JFR jdk.VirtualThreadPinned event in-process and records it as the
+ * todoapp.virtual_threads.pinned timer, tagged by the first stack frame outside the JDK
+ * (the driver or pool method that held the monitor). The first pin from each frame is
+ * logged at WARN with its stack. jdk.VirtualThreadSubmitFailed is counted as
+ * todoapp.virtual_threads.submit_failed. Only active when spring.threads.virtual.enabled
+ * is true.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.");
+
+    private final MeterRegistry meterRegistry;
+    private final Counter submitFailed;
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    @Value("${app.virtual-threads.pinning-threshold:PT20MS}")
+    private Duration pinningThreshold = Duration.ofMillis(20);
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.submitFailed = Counter.builder("todoapp.virtual_threads.submit_failed")
+            .description("Virtual threads that could not be scheduled on a carrier")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(pinningThreshold).withStackTrace();
+        stream.enable(SUBMIT_FAILED_EVENT);
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailed.increment());
+        stream.startAsync();
+        logger.info("Reporting virtual thread pinning longer than {} ms", pinningThreshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void onPinned(RecordedEvent event) {
+        String frame = culprit(event.getStackTrace());
+        Timer.builder("todoapp.virtual_threads.pinned")
+            .description("Time virtual threads spent blocked while pinned to their carrier")
+            .tag("frame", frame)
+            .register(meterRegistry)
+            .record(event.getDuration());
+
+        if (reportedFrames.add(frame)) {
+            logger.warn("Virtual thread pinned for {} ms in {}:\n{}",
+                event.getDuration().toMillis(), frame, format(event.getStackTrace()));
+        }
+    }
+
+    /**
+     * The innermost frame outside the JDK, as Class.method; "unknown" without a stack trace.
+     */
+    static String culprit(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        RecordedFrame first = null;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            if (first == null) {
+                first = frame;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (JDK_PACKAGES.stream().noneMatch(type::startsWith)) {
+                return name(frame);
+            }
+        }
+        return first != null ? name(first) : "unknown";
+    }
+
+    private static String name(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        StringBuilder text = new StringBuilder();
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            text.append("\tat ").append(frame.getMethod().getType().getName())
+                .append('.').append(frame.getMethod().getName())
+                .append(" (line ").append(frame.getLineNumber()).append(")\n");
+        }
+        return text.toString();
+    }
+}
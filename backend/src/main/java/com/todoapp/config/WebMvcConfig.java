@@ -0,0 +1,39 @@
+package com.todoapp.config;
+
+import com.todoapp.service.DataVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Spring MVC customization: conditional GETs (see {@link ConditionalGetInterceptor}) on
+ * the views made from a user's tasks, categories and tags.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final DataVersionService dataVersionService;
+
+    @Value("${app.version:1.0.0}")
+    private String applicationVersion = "1.0.0";
+
+    @Value("${app.data-versions.dashboard-granularity:PT1M}")
+    private Duration dashboardGranularity = Duration.ofMinutes(1);
+
+    @Autowired
+    public WebMvcConfig(DataVersionService dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(dataVersionService, applicationVersion, Duration.ZERO))
+            .addPathPatterns("/api/tasks", "/api/categories", "/api/tags");
+        registry.addInterceptor(new ConditionalGetInterceptor(dataVersionService, applicationVersion, dashboardGranularity))
+            .addPathPatterns("/api/dashboard/**");
+    }
+}
@@ -0,0 +1,45 @@
+package com.todoapp.config;
+
+import com.todoapp.util.UsePool;
+import com.todoapp.util.WorkloadPool;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Applies {@link UsePool}: routes the thread to the annotated pool for the duration of the
+ * call. Ordered ahead of the transaction interceptor, which takes the connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class WorkloadPoolAspect {
+
+    @Around("@within(com.todoapp.util.UsePool) || @annotation(com.todoapp.util.UsePool)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        WorkloadPool previous = poolOf(joinPoint).use();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadPool.restore(previous);
+        }
+    }
+
+    private static WorkloadPool poolOf(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+        UsePool usePool = AnnotatedElementUtils.findMergedAnnotation(method, UsePool.class);
+        if (usePool == null) {
+            usePool = AnnotatedElementUtils.findMergedAnnotation(targetClass, UsePool.class);
+        }
+        return usePool.value();
+    }
+}
@@ -0,0 +1,87 @@
+package com.todoapp.config;
+
+import com.todoapp.util.WorkloadPool;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSource that hands out connections from the pool of the current thread's
+ * {@link WorkloadPool}, or from the read replica for a read-only transaction that the
+ * {@link ReplicaReadPolicy} lets through. The transaction's read-only flag is only known
+ * once the transaction has begun, so this must sit behind a LazyConnectionDataSourceProxy.
+ * Closing it closes every pool.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String REPLICA = "replica";
+
+    private final Map<WorkloadPool, HikariDataSource> pools;
+    private final HikariDataSource replica;
+    private final ReplicaReadPolicy replicaReadPolicy;
+
+    public WorkloadRoutingDataSource(Map<WorkloadPool, HikariDataSource> pools) {
+        this(pools, null, null);
+    }
+
+    public WorkloadRoutingDataSource(Map<WorkloadPool, HikariDataSource> pools,
+                                     HikariDataSource replica, ReplicaReadPolicy replicaReadPolicy) {
+        if (!pools.keySet().containsAll(EnumSet.allOf(WorkloadPool.class))) {
+            throw new IllegalArgumentException("A pool is required for every workload");
+        }
+        if (replica != null && replicaReadPolicy == null) {
+            throw new IllegalArgumentException("A replica needs a read policy");
+        }
+        this.pools = Collections.unmodifiableMap(new EnumMap<>(pools));
+        this.replica = replica;
+        this.replicaReadPolicy = replicaReadPolicy;
+
+        Map<Object, Object> targets = new HashMap<>(pools);
+        if (replica != null) {
+            targets.put(REPLICA, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(pools.get(WorkloadPool.INTERACTIVE));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public Map<WorkloadPool, HikariDataSource> getPools() {
+        return pools;
+    }
+
+    /**
+     * The read replica pool, or null when none is configured.
+     */
+    public HikariDataSource getReplica() {
+        return replica;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        WorkloadPool pool = WorkloadPool.current();
+        if (replica == null) {
+            return pool;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return replicaReadPolicy.useReplica(pool) ? REPLICA : pool;
+        }
+        replicaReadPolicy.recordWrite();
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+        if (replica != null) {
+            replica.close();
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.todoapp.controller;
 
 import com.todoapp.dto.CategoryDTO;
 import com.todoapp.dto.CreateCategoryRequest;
+import com.todoapp.dto.SuggestionDTO;
 import com.todoapp.dto.UpdateCategoryRequest;
 import com.todoapp.service.CategoryService;
+import com.todoapp.service.SuggestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -32,10 +34,12 @@ import java.util.Map;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final SuggestionService suggestionService;
 
     @Autowired
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, SuggestionService suggestionService) {
         this.categoryService = categoryService;
+        this.suggestionService = suggestionService;
     }
 
     @Operation(
@@ -54,6 +58,27 @@ public class CategoryController {
         return ResponseEntity.ok(categories);
     }
 
+    @Operation(
+        summary = "Suggest categories",
+        description = "Autocomplete: categories whose name or a word in it starts with the query, most used first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+            content = @Content(schema = @Schema(implementation = SuggestionDTO.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggestCategories(
+            @Parameter(description = "Prefix typed so far")
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @Parameter(description = "Maximum number of suggestions (1-50)")
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(suggestionService.suggestCategories(userEmail, query, limit));
+    }
+
     @Operation(
         summary = "Create a new category",
         description = "Creates a new category for the authenticated user"
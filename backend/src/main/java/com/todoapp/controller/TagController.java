@@ -1,8 +1,10 @@
 package com.todoapp.controller;
 
+import com.todoapp.dto.SuggestionDTO;
 import com.todoapp.dto.TagDTO;
 import com.todoapp.dto.CreateTagRequest;
 import com.todoapp.dto.UpdateTagRequest;
+import com.todoapp.service.SuggestionService;
 import com.todoapp.service.TagService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -32,10 +34,12 @@ import java.util.Map;
 public class TagController {
 
     private final TagService tagService;
+    private final SuggestionService suggestionService;
 
     @Autowired
-    public TagController(TagService tagService) {
+    public TagController(TagService tagService, SuggestionService suggestionService) {
         this.tagService = tagService;
+        this.suggestionService = suggestionService;
     }
 
     @Operation(
@@ -54,6 +58,27 @@ public class TagController {
         return ResponseEntity.ok(tags);
     }
 
+    @Operation(
+        summary = "Suggest tags",
+        description = "Autocomplete: tags whose name or a word in it starts with the query, most used first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+            content = @Content(schema = @Schema(implementation = SuggestionDTO.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggestTags(
+            @Parameter(description = "Prefix typed so far")
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @Parameter(description = "Maximum number of suggestions (1-50)")
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(suggestionService.suggestTags(userEmail, query, limit));
+    }
+
     @Operation(
         summary = "Create a new tag",
         description = "Creates a new tag for the authenticated user"
@@ -1,9 +1,12 @@
 package com.todoapp.controller;
 
 import com.todoapp.dto.TaskDTO;
+import com.todoapp.dto.TaskChangesDTO;
 import com.todoapp.dto.CreateTaskRequest;
 import com.todoapp.dto.UpdateTaskRequest;
 import com.todoapp.dto.BulkTaskRequest;
+import com.todoapp.dto.TagQuery;
+import com.todoapp.exception.BusinessException;
 import com.todoapp.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,6 +22,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
 
@@ -45,7 +49,7 @@ public class TaskController {
 
     @Operation(
         summary = "Get all tasks",
-        description = "Retrieves a paginated list of tasks with optional filtering by status, priority, category, and search term"
+        description = "Retrieves a paginated list of tasks with optional filtering by status, priority, category, and search term, or by a tag query (tagsAll, tagsAny, tagsNone)"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
@@ -63,12 +67,19 @@ public class TaskController {
             @RequestParam(required = false) Long categoryId,
             @Parameter(description = "Search term for task title or description")
             @RequestParam(required = false) String search,
+            @Parameter(description = "Only tasks carrying all of these tag IDs")
+            @RequestParam(required = false) List<Long> tagsAll,
+            @Parameter(description = "Only tasks carrying at least one of these tag IDs")
+            @RequestParam(required = false) List<Long> tagsAny,
+            @Parameter(description = "Exclude tasks carrying any of these tag IDs")
+            @RequestParam(required = false) List<Long> tagsNone,
+            @Parameter(description = "Also list tasks moved to the archive (history view)")
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             @Parameter(description = "Pagination and sorting parameters")
             Pageable pageable,
             Authentication authentication) {
         
         String userEmail = authentication.getName();
-        System.out.println("Getting tasks for user: " + userEmail);
         
         // Fix pagination: convert 1-based page numbers to 0-based
         Pageable adjustedPageable = pageable;
@@ -80,11 +91,23 @@ public class TaskController {
             );
         }
         
-        Page<TaskDTO> page = taskService.getTasks(userEmail, status, priority, categoryId, search, adjustedPageable);
-        
-        System.out.println("Page total elements: " + page.getTotalElements());
-        System.out.println("Page content size: " + page.getContent().size());
-        System.out.println("Page content: " + page.getContent());
+        TagQuery tagQuery = new TagQuery(tagsAll, tagsAny, tagsNone);
+        Page<TaskDTO> page;
+        if (includeArchived) {
+            if (!tagQuery.isEmpty()) {
+                throw new BusinessException("Tag filters cannot be combined with includeArchived");
+            }
+            page = taskService.getTaskHistory(userEmail, status, priority, categoryId, search, adjustedPageable);
+        } else if (tagQuery.isEmpty()) {
+            page = taskService.getTasks(userEmail, status, priority, categoryId, search, adjustedPageable);
+        } else {
+            // The tag bitmaps answer tag filters alone; other filters would silently be dropped
+            if (StringUtils.hasText(status) || StringUtils.hasText(priority) || categoryId != null
+                    || StringUtils.hasText(search)) {
+                throw new BusinessException("Tag filters cannot be combined with status, priority, categoryId or search");
+            }
+            page = taskService.getTasksByTags(userEmail, tagQuery, adjustedPageable);
+        }
         
         Map<String, Object> response = new HashMap<>();
         response.put("tasks", page.getContent());
@@ -98,6 +121,27 @@ public class TaskController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Get task changes",
+        description = "Retrieves the tasks created, updated and deleted since a sync token, with the token for the next call. Without a token, returns only a starting token; take it before loading the full task list"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+            content = @Content(schema = @Schema(implementation = TaskChangesDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid sync token"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "410", description = "Sync token expired; reload all tasks")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDTO> getChanges(
+            @Parameter(description = "Token from the previous call")
+            @RequestParam(required = false) String since,
+            Authentication authentication) {
+        
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(taskService.getChanges(userEmail, since));
+    }
+
     @Operation(
         summary = "Create a new task",
         description = "Creates a new task with the provided details"
@@ -184,6 +228,27 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(
+        summary = "Restore deleted task",
+        description = "Restores a deleted task as pending, as long as it has not been purged yet"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task restored successfully",
+            content = @Content(schema = @Schema(implementation = TaskDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Task not found or already purged"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<TaskDTO> restoreTask(
+            @Parameter(description = "Task ID", required = true)
+            @PathVariable Long id,
+            Authentication authentication) {
+        
+        String userEmail = authentication.getName();
+        TaskDTO task = taskService.restoreTask(id, userEmail);
+        return ResponseEntity.ok(task);
+    }
+
     @Operation(
         summary = "Update task status",
         description = "Updates the status of a specific task"
@@ -1,8 +1,10 @@
 package com.todoapp.controller;
 
+import com.todoapp.dto.ExportJobDTO;
 import com.todoapp.dto.UserDTO;
 import com.todoapp.dto.UpdateUserRequest;
 import com.todoapp.dto.UserSettingsDTO;
+import com.todoapp.service.AccountExportService;
 import com.todoapp.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,9 +16,15 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 
@@ -30,11 +38,15 @@ import java.util.Map;
 @SecurityRequirement(name = "Bearer Authentication")
 public class UserController {
 
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
     private final UserService userService;
+    private final AccountExportService accountExportService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, AccountExportService accountExportService) {
         this.userService = userService;
+        this.accountExportService = accountExportService;
     }
 
     @Operation(
@@ -126,6 +138,84 @@ public class UserController {
         return ResponseEntity.ok(settings);
     }
 
+    @Operation(
+        summary = "Export account data",
+        description = "Streams a zip archive with NDJSON files for the profile, settings, categories, tags, tasks and notifications"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archive streamed successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAccount(Authentication authentication) {
+        String userEmail = authentication.getName();
+        StreamingResponseBody body = out -> accountExportService.streamExport(userEmail, out);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, attachment("todoapp-export.zip"))
+            .contentType(APPLICATION_ZIP)
+            .body(body);
+    }
+
+    @Operation(
+        summary = "Start background export",
+        description = "Queues a resumable background export of the account; returns the running job if there is one"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Export queued",
+            content = @Content(schema = @Schema(implementation = ExportJobDTO.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/export/jobs")
+    public ResponseEntity<ExportJobDTO> startExportJob(Authentication authentication) {
+        String userEmail = authentication.getName();
+        ExportJobDTO job = accountExportService.startExportJob(userEmail);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @Operation(
+        summary = "Get background export status",
+        description = "Retrieves the progress of one of the current user's export jobs"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export job retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ExportJobDTO.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Export job not found")
+    })
+    @GetMapping("/export/jobs/{jobId}")
+    public ResponseEntity<ExportJobDTO> getExportJob(
+            @Parameter(description = "Export job ID", required = true)
+            @PathVariable Long jobId,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(accountExportService.getExportJob(jobId, userEmail));
+    }
+
+    @Operation(
+        summary = "Download background export",
+        description = "Downloads the zip archive of a completed export job"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archive downloaded successfully"),
+        @ApiResponse(responseCode = "400", description = "Export is not ready yet"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Export job not found or expired")
+    })
+    @GetMapping("/export/jobs/{jobId}/archive")
+    public ResponseEntity<Resource> downloadExportArchive(
+            @Parameter(description = "Export job ID", required = true)
+            @PathVariable Long jobId,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        Resource archive = new FileSystemResource(accountExportService.getExportArchive(jobId, userEmail));
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, attachment("todoapp-export-" + jobId + ".zip"))
+            .contentType(APPLICATION_ZIP)
+            .body(archive);
+    }
+
     // Legacy endpoints for testing
     @GetMapping("/count")
     public ResponseEntity<Map<String, Object>> getUserCount() {
@@ -152,4 +242,8 @@ public class UserController {
             ));
         }
     }
-} 
\ No newline at end of file
+
+    private static String attachment(String fileName) {
+        return ContentDisposition.attachment().filename(fileName).build().toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.todoapp.dto;
+
+/**
+ * Task counts for one category, broken down by status.
+ * Built by a single GROUP BY query over the user's tasks.
+ */
+public class CategoryTaskCountDTO {
+
+    private Long categoryId;
+    private long totalTasks;
+    private long pendingTasks;
+    private long completedTasks;
+
+    // Constructors
+    public CategoryTaskCountDTO() {}
+
+    public CategoryTaskCountDTO(Long categoryId, Long totalTasks, Long pendingTasks, Long completedTasks) {
+        this.categoryId = categoryId;
+        this.totalTasks = totalTasks != null ? totalTasks : 0;
+        this.pendingTasks = pendingTasks != null ? pendingTasks : 0;
+        this.completedTasks = completedTasks != null ? completedTasks : 0;
+    }
+
+    // Getters and Setters
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public long getPendingTasks() {
+        return pendingTasks;
+    }
+
+    public void setPendingTasks(long pendingTasks) {
+        this.pendingTasks = pendingTasks;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(long completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+}
@@ -0,0 +1,88 @@
+package com.todoapp.dto;
+
+/**
+ * Per-user task summary used by the daily digest and weekly report.
+ * Built by a single aggregate query per chunk of users.
+ */
+public class DigestSummaryDTO {
+
+    private Long userId;
+    private long pendingTasks;
+    private long overdueTasks;
+    private long dueInPeriod;
+    private long completedInPeriod;
+    private long createdInPeriod;
+
+    // Constructors
+    public DigestSummaryDTO() {}
+
+    public DigestSummaryDTO(Long userId) {
+        this.userId = userId;
+    }
+
+    public DigestSummaryDTO(Long userId, Long pendingTasks, Long overdueTasks, Long dueInPeriod,
+                            Long completedInPeriod, Long createdInPeriod) {
+        this.userId = userId;
+        this.pendingTasks = pendingTasks != null ? pendingTasks : 0;
+        this.overdueTasks = overdueTasks != null ? overdueTasks : 0;
+        this.dueInPeriod = dueInPeriod != null ? dueInPeriod : 0;
+        this.completedInPeriod = completedInPeriod != null ? completedInPeriod : 0;
+        this.createdInPeriod = createdInPeriod != null ? createdInPeriod : 0;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getPendingTasks() {
+        return pendingTasks;
+    }
+
+    public void setPendingTasks(long pendingTasks) {
+        this.pendingTasks = pendingTasks;
+    }
+
+    public long getOverdueTasks() {
+        return overdueTasks;
+    }
+
+    public void setOverdueTasks(long overdueTasks) {
+        this.overdueTasks = overdueTasks;
+    }
+
+    public long getDueInPeriod() {
+        return dueInPeriod;
+    }
+
+    public void setDueInPeriod(long dueInPeriod) {
+        this.dueInPeriod = dueInPeriod;
+    }
+
+    public long getCompletedInPeriod() {
+        return completedInPeriod;
+    }
+
+    public void setCompletedInPeriod(long completedInPeriod) {
+        this.completedInPeriod = completedInPeriod;
+    }
+
+    public long getCreatedInPeriod() {
+        return createdInPeriod;
+    }
+
+    public void setCreatedInPeriod(long createdInPeriod) {
+        this.createdInPeriod = createdInPeriod;
+    }
+
+    /**
+     * Whether there is anything worth reporting to the user.
+     */
+    public boolean hasContent() {
+        return pendingTasks > 0 || completedInPeriod > 0 || createdInPeriod > 0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.todoapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for background export job status.
+ */
+@Schema(description = "Background account export job")
+public class ExportJobDTO {
+
+    @Schema(description = "Unique identifier for the export job")
+    private Long id;
+
+    @Schema(description = "Job status", example = "pending", allowableValues = {"pending", "completed", "expired"})
+    private String status;
+
+    @Schema(description = "Part currently being written; null once all parts are written", example = "tasks")
+    private String currentPart;
+
+    @Schema(description = "Rows exported so far")
+    private long exportedRows;
+
+    @Schema(description = "Archive size in bytes once completed")
+    private Long archiveSize;
+
+    private LocalDateTime requestedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public ExportJobDTO() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getCurrentPart() {
+        return currentPart;
+    }
+
+    public void setCurrentPart(String currentPart) {
+        this.currentPart = currentPart;
+    }
+
+    public long getExportedRows() {
+        return exportedRows;
+    }
+
+    public void setExportedRows(long exportedRows) {
+        this.exportedRows = exportedRows;
+    }
+
+    public Long getArchiveSize() {
+        return archiveSize;
+    }
+
+    public void setArchiveSize(Long archiveSize) {
+        this.archiveSize = archiveSize;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,63 @@
+package com.todoapp.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A statement that exceeded the slow-query threshold, as served by the slowqueries
+ * actuator endpoint. The plan is filled in later when the statement was sampled for
+ * EXPLAIN.
+ */
+public class SlowQueryDTO {
+
+    private final LocalDateTime recordedAt;
+    private final long durationMs;
+    private final String sql;
+    private final List<String> binds;
+    private final String caller;
+    private final int batchSize;
+    private volatile String plan;
+
+    public SlowQueryDTO(LocalDateTime recordedAt, long durationMs, String sql, List<String> binds,
+                        String caller, int batchSize) {
+        this.recordedAt = recordedAt;
+        this.durationMs = durationMs;
+        this.sql = sql;
+        this.binds = binds;
+        this.caller = caller;
+        this.batchSize = batchSize;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<String> getBinds() {
+        return binds;
+    }
+
+    public String getCaller() {
+        return caller;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public void setPlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,65 @@
+package com.todoapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for autocomplete suggestions (tags and categories).
+ */
+@Schema(description = "Autocomplete suggestion")
+public class SuggestionDTO {
+
+    @Schema(description = "ID of the suggested tag or category")
+    private Long id;
+
+    @Schema(description = "Display name", example = "urgent")
+    private String name;
+
+    @Schema(description = "Color in hex format", example = "#FF5733")
+    private String color;
+
+    @Schema(description = "Number of tasks using it; suggestions are ranked by this")
+    private long usageCount;
+
+    // Constructors
+    public SuggestionDTO() {}
+
+    public SuggestionDTO(Long id, String name, String color, long usageCount) {
+        this.id = id;
+        this.name = name;
+        this.color = color;
+        this.usageCount = usageCount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+    }
+
+    public long getUsageCount() {
+        return usageCount;
+    }
+
+    public void setUsageCount(long usageCount) {
+        this.usageCount = usageCount;
+    }
+}
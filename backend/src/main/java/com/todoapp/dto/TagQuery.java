@@ -0,0 +1,76 @@
+package com.todoapp.dto;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Boolean tag filter for task listings: tasks carrying ALL of {@code all}, at least one of
+ * {@code any}, and none of {@code none}. Empty parts are ignored.
+ */
+public class TagQuery {
+
+    private Set<Long> all = new LinkedHashSet<>();
+    private Set<Long> any = new LinkedHashSet<>();
+    private Set<Long> none = new LinkedHashSet<>();
+
+    // Constructors
+    public TagQuery() {}
+
+    public TagQuery(Collection<Long> all, Collection<Long> any, Collection<Long> none) {
+        this.all = toSet(all);
+        this.any = toSet(any);
+        this.none = toSet(none);
+    }
+
+    // Getters and Setters
+    public Set<Long> getAll() {
+        return all;
+    }
+
+    public void setAll(Set<Long> all) {
+        this.all = toSet(all);
+    }
+
+    public Set<Long> getAny() {
+        return any;
+    }
+
+    public void setAny(Set<Long> any) {
+        this.any = toSet(any);
+    }
+
+    public Set<Long> getNone() {
+        return none;
+    }
+
+    public void setNone(Set<Long> none) {
+        this.none = toSet(none);
+    }
+
+    // Utility methods
+    public boolean isEmpty() {
+        return all.isEmpty() && any.isEmpty() && none.isEmpty();
+    }
+
+    private static Set<Long> toSet(Collection<Long> ids) {
+        Set<Long> set = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) {
+                    set.add(id);
+                }
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public String toString() {
+        return "TagQuery{" +
+                "all=" + all +
+                ", any=" + any +
+                ", none=" + none +
+                '}';
+    }
+}
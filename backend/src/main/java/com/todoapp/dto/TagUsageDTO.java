@@ -0,0 +1,35 @@
+package com.todoapp.dto;
+
+/**
+ * Number of tasks using a tag, built by a single GROUP BY query over the user's tasks.
+ */
+public class TagUsageDTO {
+
+    private Long tagId;
+    private long taskCount;
+
+    // Constructors
+    public TagUsageDTO() {}
+
+    public TagUsageDTO(Long tagId, Long taskCount) {
+        this.tagId = tagId;
+        this.taskCount = taskCount != null ? taskCount : 0;
+    }
+
+    // Getters and Setters
+    public Long getTagId() {
+        return tagId;
+    }
+
+    public void setTagId(Long tagId) {
+        this.tagId = tagId;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+}
@@ -0,0 +1,61 @@
+package com.todoapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for one delta-sync response: the tasks changed and deleted since a sync token.
+ */
+@Schema(description = "Tasks changed and deleted since a sync token")
+public class TaskChangesDTO {
+
+    @Schema(description = "Tasks created or updated since the token, oldest change first")
+    private List<TaskDTO> changed = new ArrayList<>();
+
+    @Schema(description = "IDs of tasks deleted since the token")
+    private List<Long> deleted = new ArrayList<>();
+
+    @Schema(description = "Token to pass as 'since' on the next sync")
+    private String token;
+
+    @Schema(description = "Whether more changes are waiting; sync again with the new token right away")
+    private boolean hasMore;
+
+    // Constructors
+    public TaskChangesDTO() {}
+
+    // Getters and Setters
+    public List<TaskDTO> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<TaskDTO> changed) {
+        this.changed = changed;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -40,6 +40,8 @@ public class TaskDTO {
     private String categoryColor;
     private Set<TagDTO> tags;
     private boolean overdue;
+    @Schema(description = "Whether the task is in the archive (history listings only); archived tasks are read-only")
+    private boolean archived;
     
     // Constructors
     public TaskDTO() {}
@@ -163,4 +165,12 @@ public class TaskDTO {
     public void setOverdue(boolean overdue) {
         this.overdue = overdue;
     }
+    
+    public boolean isArchived() {
+        return archived;
+    }
+    
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
 } 
\ No newline at end of file
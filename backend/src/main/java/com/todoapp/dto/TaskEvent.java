@@ -0,0 +1,70 @@
+package com.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.todoapp.entity.Task;
+
+import java.util.Set;
+
+/**
+ * A change to a user's tasks, published by the task service and delivered to
+ * {@link com.todoapp.service.TaskEventListener}s after the change commits.
+ *
+ * Events carry IDs, not task state: a listener that needs the current task reads it. Bulk
+ * operations publish one event carrying the set of affected IDs.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+    @JsonSubTypes.Type(value = TaskEvent.TaskCreated.class, name = "TaskCreated"),
+    @JsonSubTypes.Type(value = TaskEvent.TaskUpdated.class, name = "TaskUpdated"),
+    @JsonSubTypes.Type(value = TaskEvent.TaskStatusChanged.class, name = "TaskStatusChanged"),
+    @JsonSubTypes.Type(value = TaskEvent.TaskDeleted.class, name = "TaskDeleted"),
+    @JsonSubTypes.Type(value = TaskEvent.TasksUpdated.class, name = "TasksUpdated"),
+    @JsonSubTypes.Type(value = TaskEvent.TasksStatusChanged.class, name = "TasksStatusChanged"),
+    @JsonSubTypes.Type(value = TaskEvent.TasksDeleted.class, name = "TasksDeleted")
+})
+public sealed interface TaskEvent {
+
+    /**
+     * Owner of the affected tasks; events of one user are delivered in order.
+     */
+    Long userId();
+
+    /**
+     * Event type name, as stored with the event.
+     */
+    default String type() {
+        return getClass().getSimpleName();
+    }
+
+    record TaskCreated(Long userId, Long taskId) implements TaskEvent {
+    }
+
+    /**
+     * Title, description, priority, due date, category or tags changed.
+     */
+    record TaskUpdated(Long userId, Long taskId) implements TaskEvent {
+    }
+
+    /**
+     * Status changed; a restore is a change from DELETED to PENDING.
+     */
+    record TaskStatusChanged(Long userId, Long taskId, Task.TaskStatus from, Task.TaskStatus to)
+            implements TaskEvent {
+    }
+
+    /**
+     * Task moved to the trash (soft delete).
+     */
+    record TaskDeleted(Long userId, Long taskId) implements TaskEvent {
+    }
+
+    record TasksUpdated(Long userId, Set<Long> taskIds) implements TaskEvent {
+    }
+
+    record TasksStatusChanged(Long userId, Set<Long> taskIds, Task.TaskStatus to) implements TaskEvent {
+    }
+
+    record TasksDeleted(Long userId, Set<Long> taskIds) implements TaskEvent {
+    }
+}
@@ -0,0 +1,35 @@
+package com.todoapp.dto;
+
+/**
+ * One task-to-tag assignment, used to build per-user tag bitmaps.
+ */
+public class TaskTagLinkDTO {
+
+    private Long taskId;
+    private Long tagId;
+
+    // Constructors
+    public TaskTagLinkDTO() {}
+
+    public TaskTagLinkDTO(Long taskId, Long tagId) {
+        this.taskId = taskId;
+        this.tagId = tagId;
+    }
+
+    // Getters and Setters
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getTagId() {
+        return tagId;
+    }
+
+    public void setTagId(Long tagId) {
+        this.tagId = tagId;
+    }
+}
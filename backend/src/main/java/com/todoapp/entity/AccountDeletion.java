@@ -0,0 +1,265 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.LocalDateTime;
+
+/**
+ * AccountDeletion entity tracking the background purge of a deleted account.
+ * Maps to the 'account_deletions' table in the database.
+ *
+ * The account is disabled when the row is created; its data is then removed table by
+ * table in small chunks. The current step and row count record progress, so an
+ * interrupted purge resumes at the step it stopped in.
+ */
+@Entity
+@Table(name = "account_deletions")
+public class AccountDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    @Column(nullable = false, length = 20)
+    @Convert(converter = DeletionStatusConverter.class)
+    private DeletionStatus status = DeletionStatus.PENDING;
+
+    @Column(name = "current_step", nullable = false, length = 20)
+    @Convert(converter = DeletionStepConverter.class)
+    private DeletionStep currentStep = DeletionStep.TASK_TAGS;
+
+    @Column(name = "deleted_rows", nullable = false)
+    private Long deletedRows = 0L;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public AccountDeletion() {}
+
+    public AccountDeletion(Long userId) {
+        this.userId = userId;
+        this.requestedAt = LocalDateTime.now();
+        this.updatedAt = this.requestedAt;
+    }
+
+    // Enums
+    public enum DeletionStatus {
+        PENDING("pending"), COMPLETED("completed");
+
+        private final String value;
+
+        DeletionStatus(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    /**
+     * Purge steps in execution order; children are removed before the rows they reference.
+     */
+    public enum DeletionStep {
+        TASK_TAGS("task_tags"),
+        TASKS("tasks"),
+        TASKS_ARCHIVE("tasks_archive"),
+        NOTIFICATIONS("notifications"),
+        TAGS("tags"),
+        CATEGORIES("categories"),
+        USER_SETTINGS("user_settings"),
+        USER("user");
+
+        private final String value;
+
+        DeletionStep(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public DeletionStep next() {
+            DeletionStep[] steps = values();
+            return ordinal() + 1 < steps.length ? steps[ordinal() + 1] : null;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public DeletionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DeletionStatus status) {
+        this.status = status;
+    }
+
+    public DeletionStep getCurrentStep() {
+        return currentStep;
+    }
+
+    public void setCurrentStep(DeletionStep currentStep) {
+        this.currentStep = currentStep;
+    }
+
+    public Long getDeletedRows() {
+        return deletedRows;
+    }
+
+    public void setDeletedRows(Long deletedRows) {
+        this.deletedRows = deletedRows;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    // Utility methods
+    public boolean isCompleted() {
+        return status == DeletionStatus.COMPLETED;
+    }
+
+    /**
+     * Record a deleted chunk; a chunk smaller than the chunk size finishes the step.
+     */
+    public void recordChunk(int rows, boolean stepFinished) {
+        this.deletedRows += rows;
+        this.updatedAt = LocalDateTime.now();
+        if (stepFinished) {
+            DeletionStep next = currentStep.next();
+            if (next != null) {
+                this.currentStep = next;
+            } else {
+                this.status = DeletionStatus.COMPLETED;
+                this.completedAt = this.updatedAt;
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AccountDeletion)) return false;
+        AccountDeletion that = (AccountDeletion) o;
+        return id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AccountDeletion{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", status=" + status +
+                ", currentStep=" + currentStep +
+                ", deletedRows=" + deletedRows +
+                '}';
+    }
+
+    /**
+     * Converter for DeletionStatus enum to handle lowercase database values
+     */
+    @Converter
+    public static class DeletionStatusConverter implements AttributeConverter<DeletionStatus, String> {
+
+        @Override
+        public String convertToDatabaseColumn(DeletionStatus status) {
+            return status != null ? status.getValue() : null;
+        }
+
+        @Override
+        public DeletionStatus convertToEntityAttribute(String dbData) {
+            for (DeletionStatus status : DeletionStatus.values()) {
+                if (status.getValue().equals(dbData)) {
+                    return status;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Converter for DeletionStep enum to handle lowercase database values
+     */
+    @Converter
+    public static class DeletionStepConverter implements AttributeConverter<DeletionStep, String> {
+
+        @Override
+        public String convertToDatabaseColumn(DeletionStep step) {
+            return step != null ? step.getValue() : null;
+        }
+
+        @Override
+        public DeletionStep convertToEntityAttribute(String dbData) {
+            for (DeletionStep step : DeletionStep.values()) {
+                if (step.getValue().equals(dbData)) {
+                    return step;
+                }
+            }
+            return null;
+        }
+    }
+}
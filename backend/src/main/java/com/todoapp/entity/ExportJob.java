@@ -0,0 +1,381 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.LocalDateTime;
+
+/**
+ * ExportJob entity tracking a background export of a user's data.
+ * Maps to the 'export_jobs' table in the database.
+ *
+ * Each part is written to its own file in keyset batches. After every batch the job
+ * records the part, the last exported ID and the file length, so an interrupted job
+ * cuts the file back to that length and continues after the last ID. The instance writing
+ * the job holds a claim on it; every checkpoint renews the claim through updated_at.
+ */
+@Entity
+@Table(name = "export_jobs")
+public class ExportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 20)
+    @Convert(converter = ExportStatusConverter.class)
+    private ExportStatus status = ExportStatus.PENDING;
+
+    @Column(name = "current_part", length = 20)
+    @Convert(converter = ExportPartConverter.class)
+    private ExportPart currentPart = ExportPart.PROFILE;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId = 0L;
+
+    @Column(name = "part_bytes", nullable = false)
+    private Long partBytes = 0L;
+
+    @Column(name = "exported_rows", nullable = false)
+    private Long exportedRows = 0L;
+
+    @Column(name = "archive_size")
+    private Long archiveSize;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    // Constructors
+    public ExportJob() {}
+
+    public ExportJob(Long userId) {
+        this.userId = userId;
+        this.requestedAt = LocalDateTime.now();
+        this.updatedAt = this.requestedAt;
+    }
+
+    // Enums
+    public enum ExportStatus {
+        PENDING("pending"), COMPLETED("completed"), EXPIRED("expired");
+
+        private final String value;
+
+        ExportStatus(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    /**
+     * Archive parts in export order; each becomes one NDJSON file in the zip.
+     */
+    public enum ExportPart {
+        PROFILE("profile"),
+        SETTINGS("settings"),
+        CATEGORIES("categories"),
+        TAGS("tags"),
+        TASKS("tasks"),
+        ARCHIVED_TASKS("archived_tasks"),
+        NOTIFICATIONS("notifications");
+
+        private final String value;
+
+        ExportPart(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public String getFileName() {
+            return value + ".ndjson";
+        }
+
+        public ExportPart next() {
+            ExportPart[] parts = values();
+            return ordinal() + 1 < parts.length ? parts[ordinal() + 1] : null;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public ExportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ExportStatus status) {
+        this.status = status;
+    }
+
+    public ExportPart getCurrentPart() {
+        return currentPart;
+    }
+
+    public void setCurrentPart(ExportPart currentPart) {
+        this.currentPart = currentPart;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    public Long getPartBytes() {
+        return partBytes;
+    }
+
+    public void setPartBytes(Long partBytes) {
+        this.partBytes = partBytes;
+    }
+
+    public Long getExportedRows() {
+        return exportedRows;
+    }
+
+    public void setExportedRows(Long exportedRows) {
+        this.exportedRows = exportedRows;
+    }
+
+    public Long getArchiveSize() {
+        return archiveSize;
+    }
+
+    public void setArchiveSize(Long archiveSize) {
+        this.archiveSize = archiveSize;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    // Utility methods
+    public boolean isCompleted() {
+        return status == ExportStatus.COMPLETED;
+    }
+
+    /**
+     * True once every part has been written and only the archive remains to be built.
+     */
+    public boolean isPartsWritten() {
+        return currentPart == null;
+    }
+
+    /**
+     * Record a written batch; a batch smaller than the batch size finishes the part.
+     */
+    public void recordBatch(long lastId, long partBytes, int rows, boolean partFinished) {
+        this.exportedRows += rows;
+        this.updatedAt = LocalDateTime.now();
+        if (partFinished) {
+            this.currentPart = currentPart.next();
+            this.lastId = 0L;
+            this.partBytes = 0L;
+        } else {
+            this.lastId = lastId;
+            this.partBytes = partBytes;
+        }
+    }
+
+    public void markCompleted(long archiveSize, LocalDateTime expiresAt) {
+        this.status = ExportStatus.COMPLETED;
+        this.archiveSize = archiveSize;
+        this.updatedAt = LocalDateTime.now();
+        this.completedAt = this.updatedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Whether the given instance may write this job: it is pending and unclaimed, claimed by
+     * that instance, or its claim has seen no checkpoint since {@code staleBefore}.
+     */
+    public boolean isClaimableBy(String owner, LocalDateTime staleBefore) {
+        return status == ExportStatus.PENDING
+            && (claimedBy == null || claimedBy.equals(owner) || updatedAt.isBefore(staleBefore));
+    }
+
+    public void claim(String owner) {
+        this.claimedBy = owner;
+        this.updatedAt = LocalDateTime.now();
+        this.claimedAt = this.updatedAt;
+    }
+
+    /**
+     * Start over from the first part, e.g. when the files written so far are gone.
+     */
+    public void restart() {
+        this.currentPart = ExportPart.PROFILE;
+        this.lastId = 0L;
+        this.partBytes = 0L;
+        this.exportedRows = 0L;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void markExpired() {
+        this.status = ExportStatus.EXPIRED;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ExportJob)) return false;
+        ExportJob that = (ExportJob) o;
+        return id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ExportJob{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", status=" + status +
+                ", currentPart=" + currentPart +
+                ", lastId=" + lastId +
+                ", exportedRows=" + exportedRows +
+                '}';
+    }
+
+    /**
+     * Converter for ExportStatus enum to handle lowercase database values
+     */
+    @Converter
+    public static class ExportStatusConverter implements AttributeConverter<ExportStatus, String> {
+
+        @Override
+        public String convertToDatabaseColumn(ExportStatus status) {
+            return status != null ? status.getValue() : null;
+        }
+
+        @Override
+        public ExportStatus convertToEntityAttribute(String dbData) {
+            for (ExportStatus status : ExportStatus.values()) {
+                if (status.getValue().equals(dbData)) {
+                    return status;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Converter for ExportPart enum to handle lowercase database values
+     */
+    @Converter
+    public static class ExportPartConverter implements AttributeConverter<ExportPart, String> {
+
+        @Override
+        public String convertToDatabaseColumn(ExportPart part) {
+            return part != null ? part.getValue() : null;
+        }
+
+        @Override
+        public ExportPart convertToEntityAttribute(String dbData) {
+            for (ExportPart part : ExportPart.values()) {
+                if (part.getValue().equals(dbData)) {
+                    return part;
+                }
+            }
+            return null;
+        }
+    }
+}
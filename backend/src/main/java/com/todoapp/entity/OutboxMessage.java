@@ -0,0 +1,264 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.LocalDateTime;
+
+/**
+ * OutboxMessage entity representing an outgoing email.
+ * Maps to the 'outbox' table in the database.
+ *
+ * Rows are written in the same transaction as the business change and
+ * delivered later by the outbox dispatcher, so SMTP latency never sits
+ * inside a request or a database transaction.
+ */
+@Entity
+@Table(name = "outbox")
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "message_type", nullable = false, length = 50)
+    private String messageType;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(nullable = false, length = 20)
+    @Convert(converter = OutboxStatusConverter.class)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    // Constructors
+    public OutboxMessage() {}
+
+    public OutboxMessage(String messageType, String recipient, String subject, String body) {
+        this.messageType = messageType;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    // Enums
+    public enum OutboxStatus {
+        PENDING("pending"), SENDING("sending"), SENT("sent"), FAILED("failed");
+
+        private final String value;
+
+        OutboxStatus(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public void setMessageType(String messageType) {
+        this.messageType = messageType;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public OutboxStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OutboxStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public LocalDateTime getLockedAt() {
+        return lockedAt;
+    }
+
+    public void setLockedAt(LocalDateTime lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    // Utility methods
+    public void markSending(LocalDateTime now) {
+        this.status = OutboxStatus.SENDING;
+        this.lockedAt = now;
+    }
+
+    public void markSent(LocalDateTime now) {
+        this.status = OutboxStatus.SENT;
+        this.attempts = attempts + 1;
+        this.sentAt = now;
+        this.lockedAt = null;
+        this.lastError = null;
+    }
+
+    /**
+     * Record a failed delivery attempt. The message is retried at the given
+     * time, or parked as failed once it has no attempts left.
+     */
+    public void markFailed(String error, LocalDateTime retryAt, int maxAttempts) {
+        this.attempts = attempts + 1;
+        this.lastError = error;
+        this.lockedAt = null;
+        if (attempts >= maxAttempts) {
+            this.status = OutboxStatus.FAILED;
+        } else {
+            this.status = OutboxStatus.PENDING;
+            this.nextAttemptAt = retryAt;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OutboxMessage)) return false;
+        OutboxMessage that = (OutboxMessage) o;
+        return id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxMessage{" +
+                "id=" + id +
+                ", messageType='" + messageType + '\'' +
+                ", recipient='" + recipient + '\'' +
+                ", status=" + status +
+                ", attempts=" + attempts +
+                ", nextAttemptAt=" + nextAttemptAt +
+                '}';
+    }
+
+    /**
+     * Converter for OutboxStatus enum to handle lowercase database values
+     */
+    @Converter
+    public static class OutboxStatusConverter implements AttributeConverter<OutboxStatus, String> {
+
+        @Override
+        public String convertToDatabaseColumn(OutboxStatus status) {
+            return status != null ? status.getValue() : null;
+        }
+
+        @Override
+        public OutboxStatus convertToEntityAttribute(String dbData) {
+            for (OutboxStatus status : OutboxStatus.values()) {
+                if (status.getValue().equals(dbData)) {
+                    return status;
+                }
+            }
+            return OutboxStatus.PENDING;
+        }
+    }
+}
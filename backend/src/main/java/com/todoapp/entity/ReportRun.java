@@ -0,0 +1,271 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.LocalDateTime;
+
+/**
+ * ReportRun entity tracking the progress of a digest/report run.
+ * Maps to the 'report_runs' table in the database.
+ *
+ * The last processed user ID acts as a keyset checkpoint so an interrupted
+ * run resumes where it stopped instead of starting over.
+ */
+@Entity
+@Table(name = "report_runs", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"report_type", "period_key"})
+})
+public class ReportRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "report_type", nullable = false, length = 20)
+    @Convert(converter = ReportTypeConverter.class)
+    private ReportType reportType;
+
+    @Column(name = "period_key", nullable = false, length = 20)
+    private String periodKey;
+
+    @Column(nullable = false, length = 20)
+    @Convert(converter = RunStatusConverter.class)
+    private RunStatus status = RunStatus.RUNNING;
+
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId = 0L;
+
+    @Column(name = "processed_users", nullable = false)
+    private Long processedUsers = 0L;
+
+    @Column(name = "delivered_count", nullable = false)
+    private Long deliveredCount = 0L;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public ReportRun() {}
+
+    public ReportRun(ReportType reportType, String periodKey) {
+        this.reportType = reportType;
+        this.periodKey = periodKey;
+        this.startedAt = LocalDateTime.now();
+        this.updatedAt = this.startedAt;
+    }
+
+    // Enums
+    public enum ReportType {
+        DAILY_DIGEST("daily_digest"), WEEKLY_REPORT("weekly_report");
+
+        private final String value;
+
+        ReportType(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    public enum RunStatus {
+        RUNNING("running"), COMPLETED("completed");
+
+        private final String value;
+
+        RunStatus(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ReportType getReportType() {
+        return reportType;
+    }
+
+    public void setReportType(ReportType reportType) {
+        this.reportType = reportType;
+    }
+
+    public String getPeriodKey() {
+        return periodKey;
+    }
+
+    public void setPeriodKey(String periodKey) {
+        this.periodKey = periodKey;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RunStatus status) {
+        this.status = status;
+    }
+
+    public Long getLastUserId() {
+        return lastUserId;
+    }
+
+    public void setLastUserId(Long lastUserId) {
+        this.lastUserId = lastUserId;
+    }
+
+    public Long getProcessedUsers() {
+        return processedUsers;
+    }
+
+    public void setProcessedUsers(Long processedUsers) {
+        this.processedUsers = processedUsers;
+    }
+
+    public Long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    public void setDeliveredCount(Long deliveredCount) {
+        this.deliveredCount = deliveredCount;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    // Utility methods
+    public boolean isCompleted() {
+        return status == RunStatus.COMPLETED;
+    }
+
+    public void checkpoint(Long lastUserId, long processed, long delivered) {
+        this.lastUserId = lastUserId;
+        this.processedUsers += processed;
+        this.deliveredCount += delivered;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void markCompleted() {
+        this.status = RunStatus.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+        this.updatedAt = this.completedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ReportRun)) return false;
+        ReportRun that = (ReportRun) o;
+        return id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ReportRun{" +
+                "id=" + id +
+                ", reportType=" + reportType +
+                ", periodKey='" + periodKey + '\'' +
+                ", status=" + status +
+                ", lastUserId=" + lastUserId +
+                ", processedUsers=" + processedUsers +
+                '}';
+    }
+
+    /**
+     * Converter for ReportType enum to handle lowercase database values
+     */
+    @Converter
+    public static class ReportTypeConverter implements AttributeConverter<ReportType, String> {
+
+        @Override
+        public String convertToDatabaseColumn(ReportType reportType) {
+            return reportType != null ? reportType.getValue() : null;
+        }
+
+        @Override
+        public ReportType convertToEntityAttribute(String dbData) {
+            for (ReportType reportType : ReportType.values()) {
+                if (reportType.getValue().equals(dbData)) {
+                    return reportType;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Converter for RunStatus enum to handle lowercase database values
+     */
+    @Converter
+    public static class RunStatusConverter implements AttributeConverter<RunStatus, String> {
+
+        @Override
+        public String convertToDatabaseColumn(RunStatus status) {
+            return status != null ? status.getValue() : null;
+        }
+
+        @Override
+        public RunStatus convertToEntityAttribute(String dbData) {
+            for (RunStatus status : RunStatus.values()) {
+                if (status.getValue().equals(dbData)) {
+                    return status;
+                }
+            }
+            return RunStatus.RUNNING;
+        }
+    }
+}
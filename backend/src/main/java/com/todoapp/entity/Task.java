@@ -5,6 +5,10 @@ import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,9 +20,15 @@ import java.util.Set;
 /**
  * Task entity representing TODO items.
  * Maps to the 'tasks' table in the database.
+ *
+ * Deleting a task only sets its status to DELETED. Every entity query and collection
+ * excludes those rows (matching the partial task indexes); the few places that need them,
+ * such as delta sync and restore, use native queries. The purge job removes them after
+ * the undo window.
  */
 @Entity
 @Table(name = "tasks")
+@SQLRestriction("status <> 'deleted'")
 @EntityListeners(AuditingEntityListener.class)
 public class Task {
 
@@ -66,7 +76,11 @@ public class Task {
     @JoinColumn(name = "category_id")
     private Category category;
 
+    // Tags of a page of tasks are loaded together instead of one query per task; tag IDs
+    // per task are kept in the second-level cache, the tags themselves in the "tags" region
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task-tags")
     @JoinTable(
         name = "task_tags",
         joinColumns = @JoinColumn(name = "task_id"),
@@ -0,0 +1,126 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * TaskHistoryEntry entity: a read-only view of live and archived tasks together, for
+ * history listings.
+ *
+ * Maps to a UNION ALL of 'tasks' (without deleted rows) and 'tasks_archive'. Conditions
+ * on the entity are pushed into both branches by the database, so each side is served
+ * by its own user_id index. Tag IDs are only carried for archived rows; live rows have
+ * their tags in task_tags.
+ */
+@Entity
+@Immutable
+@Subselect("SELECT t.id, t.user_id, t.category_id, t.title, t.description, t.status, t.priority, " +
+           "t.due_date, t.completed_at, t.created_at, t.updated_at, " +
+           "CAST(NULL AS BIGINT ARRAY) AS tag_ids, FALSE AS archived " +
+           "FROM tasks t WHERE t.status <> 'deleted' " +
+           "UNION ALL " +
+           "SELECT a.id, a.user_id, a.category_id, a.title, a.description, 'completed', a.priority, " +
+           "a.due_date, a.completed_at, a.created_at, a.updated_at, a.tag_ids, TRUE " +
+           "FROM tasks_archive a")
+@Synchronize({"tasks", "tasks_archive"})
+public class TaskHistoryEntry {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    private String title;
+
+    private String description;
+
+    @Convert(converter = Task.TaskStatusConverter.class)
+    private Task.TaskStatus status;
+
+    @Convert(converter = Task.TaskPriorityConverter.class)
+    private Task.TaskPriority priority;
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "tag_ids")
+    private Long[] tagIds;
+
+    private boolean archived;
+
+    // Constructors
+    public TaskHistoryEntry() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Task.TaskStatus getStatus() {
+        return status;
+    }
+
+    public Task.TaskPriority getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long[] getTagIds() {
+        return tagIds;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+}
@@ -0,0 +1,62 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserDataVersion entity holding the version of a user's task data.
+ * Maps to the 'user_data_versions' table in the database.
+ *
+ * The version goes up by one in the same transaction as every change to the user's
+ * tasks, categories or tags, and is what the ETags of their list and dashboard
+ * responses are made from. A user without a row is at version 0.
+ */
+@Entity
+@Table(name = "user_data_versions")
+public class UserDataVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public UserDataVersion() {}
+
+    public UserDataVersion(Long userId, Long version) {
+        this.userId = userId;
+        this.version = version;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,12 @@
+package com.todoapp.exception;
+
+/**
+ * Exception thrown when a delta-sync token is older than the tombstone retention, so
+ * the deletions since then can no longer be listed and the client must reload.
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+    
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.AccountDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for AccountDeletion entity operations.
+ */
+@Repository
+public interface AccountDeletionRepository extends JpaRepository<AccountDeletion, Long> {
+
+    /**
+     * Find the deletion for a user, if one was requested.
+     */
+    Optional<AccountDeletion> findByUserId(Long userId);
+
+    /**
+     * Find deletions left in a given status without progress since the cutoff (interrupted purges).
+     */
+    List<AccountDeletion> findByStatusAndUpdatedAtBeforeOrderByIdAsc(AccountDeletion.DeletionStatus status, LocalDateTime cutoff);
+}
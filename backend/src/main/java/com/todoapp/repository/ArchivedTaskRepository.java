@@ -0,0 +1,53 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.ArchivedTask;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for ArchivedTask entity operations.
+ */
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    /**
+     * Copy the given tasks, with their tag IDs, into the archive (archive job; the caller
+     * deletes them from tasks in the same transaction).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"))
+    @Query(value = "INSERT INTO tasks_archive (id, user_id, category_id, title, description, priority, " +
+                   "due_date, completed_at, created_at, updated_at, tag_ids, archived_at) " +
+                   "SELECT t.id, t.user_id, t.category_id, t.title, t.description, t.priority, " +
+                   "t.due_date, t.completed_at, t.created_at, t.updated_at, " +
+                   "ARRAY(SELECT tt.tag_id FROM task_tags tt WHERE tt.task_id = t.id ORDER BY tt.tag_id), :now " +
+                   "FROM tasks t WHERE t.id IN (:taskIds)",
+           nativeQuery = true)
+    int archive(@Param("taskIds") Collection<Long> taskIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Owners of the given archived tasks.
+     */
+    @Query("SELECT DISTINCT a.userId FROM ArchivedTask a WHERE a.id IN :ids")
+    List<Long> findUserIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete up to {@code limit} of a user's archived tasks (account purge).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"))
+    @Query(value = "DELETE FROM tasks_archive WHERE id IN " +
+                   "(SELECT id FROM tasks_archive WHERE user_id = :userId LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChunkForUser(@Param("userId") Long userId, @Param("limit") int limit);
+}
@@ -1,8 +1,12 @@
 package com.todoapp.repository;
 
 import com.todoapp.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -35,12 +39,6 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      */
     boolean existsByNameAndUserId(String name, Long userId);
 
-    /**
-     * Find categories with task counts.
-     */
-    @Query("SELECT c FROM Category c LEFT JOIN FETCH c.tasks WHERE c.user.id = :userId")
-    List<Category> findByUserIdWithTasks(@Param("userId") Long userId);
-
     /**
      * Count categories for a user.
      */
@@ -50,4 +48,13 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * Delete all categories for a user (for account deletion).
      */
     void deleteByUserId(Long userId);
-} 
\ No newline at end of file
+
+    /**
+     * Delete up to {@code limit} of a user's categories (account purge; tasks must be gone).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categories"))
+    @Query(value = "DELETE FROM categories WHERE id IN (SELECT id FROM categories WHERE user_id = :userId LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChunkForUser(@Param("userId") Long userId, @Param("limit") int limit);
+}
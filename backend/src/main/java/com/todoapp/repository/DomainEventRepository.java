@@ -0,0 +1,49 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.DomainEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for DomainEvent entity operations.
+ */
+@Repository
+public interface DomainEventRepository extends JpaRepository<DomainEvent, Long> {
+
+    /**
+     * Lock up to {@code limit} undelivered events claimed before the cutoff, oldest first
+     * (replay; served by idx_domain_events_undelivered). Rows locked by another instance
+     * are skipped.
+     */
+    @Query(value = "SELECT * FROM domain_events WHERE delivered_at IS NULL AND claimed_at < :cutoff " +
+                   "ORDER BY claimed_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<DomainEvent> lockStaleClaims(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Mark events as delivered to every listener.
+     */
+    @Modifying
+    @Query("UPDATE DomainEvent e SET e.deliveredAt = :now WHERE e.id IN :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete up to {@code limit} events delivered before the cutoff (retention cleanup).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "domain_events"))
+    @Query(value = "DELETE FROM domain_events WHERE id IN " +
+                   "(SELECT id FROM domain_events WHERE delivered_at < :cutoff LIMIT :limit)",
+           nativeQuery = true)
+    int deleteDeliveredBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
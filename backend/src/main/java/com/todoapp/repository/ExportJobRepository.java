@@ -0,0 +1,52 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.ExportJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for ExportJob entity operations.
+ */
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJob, Long> {
+
+    /**
+     * Find a user's export job by ID.
+     */
+    Optional<ExportJob> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Find the user's export job that is still being written, if any.
+     */
+    Optional<ExportJob> findFirstByUserIdAndStatusOrderByIdDesc(Long userId, ExportJob.ExportStatus status);
+
+    /**
+     * Lock a job for a claim or checkpoint; waits for another instance's checkpoint to commit.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ExportJob j WHERE j.id = :id")
+    Optional<ExportJob> lockById(@Param("id") Long id);
+
+    /**
+     * Lock up to {@code limit} pending jobs without a checkpoint since the cutoff (interrupted
+     * exports), oldest first; jobs another instance is claiming are skipped
+     * (served by idx_export_jobs_pending).
+     */
+    @Query(value = "SELECT * FROM export_jobs WHERE status = 'pending' AND updated_at < :cutoff " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<ExportJob> lockStaleJobs(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Find completed jobs whose archives are past their retention period.
+     */
+    List<ExportJob> findByStatusAndExpiresAtBefore(ExportJob.ExportStatus status, LocalDateTime cutoff);
+}
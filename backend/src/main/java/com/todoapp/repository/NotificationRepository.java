@@ -1,11 +1,14 @@
 package com.todoapp.repository;
 
 import com.todoapp.entity.Notification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -80,4 +83,13 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      * Find all notifications for a specific user without pagination.
      */
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
-} 
\ No newline at end of file
+
+    /**
+     * Delete up to {@code limit} of a user's notifications (account purge).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notifications"))
+    @Query(value = "DELETE FROM notifications WHERE id IN (SELECT id FROM notifications WHERE user_id = :userId LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChunkForUser(@Param("userId") Long userId, @Param("limit") int limit);
+}
@@ -0,0 +1,42 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxMessage entity operations.
+ */
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Lock a batch of due messages, skipping rows already claimed by another dispatcher.
+     * Must be called inside a transaction; the row locks are held until it commits.
+     */
+    @Query(value = "SELECT * FROM outbox WHERE status = 'pending' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxMessage> lockDueMessages(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Release claims left behind by a dispatcher that stopped mid-batch.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :pending, m.lockedAt = null " +
+           "WHERE m.status = :sending AND m.lockedAt < :cutoff")
+    int releaseStaleClaims(@Param("cutoff") LocalDateTime cutoff,
+                           @Param("sending") OutboxMessage.OutboxStatus sending,
+                           @Param("pending") OutboxMessage.OutboxStatus pending);
+
+    /**
+     * Count messages by delivery status.
+     */
+    long countByStatus(OutboxMessage.OutboxStatus status);
+}
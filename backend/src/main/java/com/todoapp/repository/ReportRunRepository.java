@@ -0,0 +1,26 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.ReportRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for ReportRun entity operations.
+ */
+@Repository
+public interface ReportRunRepository extends JpaRepository<ReportRun, Long> {
+
+    /**
+     * Find the run for a report type and period (e.g. daily digest for 2024-05-01).
+     */
+    Optional<ReportRun> findByReportTypeAndPeriodKey(ReportRun.ReportType reportType, String periodKey);
+
+    /**
+     * Find runs left in a given status without progress since the cutoff (interrupted runs).
+     */
+    List<ReportRun> findByStatusAndUpdatedAtBefore(ReportRun.RunStatus status, LocalDateTime cutoff);
+}
@@ -1,7 +1,13 @@
 package com.todoapp.repository;
 
 import com.todoapp.entity.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -43,8 +49,24 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
      */
     long countByUserId(Long userId);
 
+    /**
+     * Count the tasks linked to a tag, soft-deleted ones included (native, so the
+     * task status restriction does not apply).
+     */
+    @Query(value = "SELECT COUNT(*) FROM task_tags WHERE tag_id = :tagId", nativeQuery = true)
+    long countTaskLinks(@Param("tagId") Long tagId);
+
     /**
      * Delete all tags for a user (for account deletion).
      */
     void deleteByUserId(Long userId);
-} 
\ No newline at end of file
+
+    /**
+     * Delete up to {@code limit} of a user's tags (account purge; tag links must be gone).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tags"))
+    @Query(value = "DELETE FROM tags WHERE id IN (SELECT id FROM tags WHERE user_id = :userId LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChunkForUser(@Param("userId") Long userId, @Param("limit") int limit);
+}
@@ -0,0 +1,47 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskHistoryEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read-only repository over live and archived tasks together (history listings).
+ */
+@Repository
+public interface TaskHistoryRepository extends JpaRepository<TaskHistoryEntry, Long> {
+
+    /**
+     * Find all live and archived tasks of a user.
+     */
+    Page<TaskHistoryEntry> findByUserId(Long userId, Pageable pageable);
+
+    /**
+     * Find live and archived tasks by user and status.
+     */
+    Page<TaskHistoryEntry> findByUserIdAndStatus(Long userId, Task.TaskStatus status, Pageable pageable);
+
+    /**
+     * Find live and archived tasks by user and priority.
+     */
+    Page<TaskHistoryEntry> findByUserIdAndPriority(Long userId, Task.TaskPriority priority, Pageable pageable);
+
+    /**
+     * Find live and archived tasks by user and category.
+     */
+    Page<TaskHistoryEntry> findByUserIdAndCategoryId(Long userId, Long categoryId, Pageable pageable);
+
+    /**
+     * Find live and archived tasks of a user with search in title and description.
+     */
+    @Query("SELECT h FROM TaskHistoryEntry h WHERE h.userId = :userId AND " +
+           "(LOWER(h.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(h.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    Page<TaskHistoryEntry> findByUserIdAndSearch(@Param("userId") Long userId,
+                                                @Param("searchTerm") String searchTerm,
+                                                Pageable pageable);
+}
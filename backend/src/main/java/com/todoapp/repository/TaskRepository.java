@@ -1,14 +1,23 @@
 package com.todoapp.repository;
 
+import com.todoapp.dto.CategoryTaskCountDTO;
+import com.todoapp.dto.DigestSummaryDTO;
+import com.todoapp.dto.TagUsageDTO;
+import com.todoapp.dto.TaskTagLinkDTO;
 import com.todoapp.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -60,11 +69,14 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findOverdueTasks(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 
     /**
-     * Find today's tasks for a user.
+     * Find a user's pending tasks due within [dayStart, dayEnd), i.e. on one day. A plain
+     * range on due_date, so the due-date indexes apply (DATE(due_date) would defeat them).
      */
     @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.status = 'PENDING' AND " +
-           "DATE(t.dueDate) = DATE(:today)")
-    List<Task> findTodaysTasks(@Param("userId") Long userId, @Param("today") LocalDateTime today);
+           "t.dueDate >= :dayStart AND t.dueDate < :dayEnd")
+    List<Task> findTodaysTasks(@Param("userId") Long userId,
+                               @Param("dayStart") LocalDateTime dayStart,
+                               @Param("dayEnd") LocalDateTime dayEnd);
 
     /**
      * Find upcoming tasks (next 7 days) for a user.
@@ -115,6 +127,112 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
                                        @Param("startDate") LocalDateTime startDate,
                                        @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * Summarize tasks for a chunk of users in one aggregate query (digest and weekly report).
+     * Users without any tasks are absent from the result.
+     */
+    @Query("SELECT new com.todoapp.dto.DigestSummaryDTO(t.user.id, " +
+           "SUM(CASE WHEN t.status = :pending THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.status = :pending AND t.dueDate < :now THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.status = :pending AND t.dueDate >= :now AND t.dueDate < :periodEnd THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.status = :completed AND t.completedAt >= :periodStart THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.status <> :deleted AND t.createdAt >= :periodStart THEN 1 ELSE 0 END)) " +
+           "FROM Task t WHERE t.user.id IN :userIds GROUP BY t.user.id")
+    List<DigestSummaryDTO> summarizeForUsers(@Param("userIds") Collection<Long> userIds,
+                                             @Param("now") LocalDateTime now,
+                                             @Param("periodStart") LocalDateTime periodStart,
+                                             @Param("periodEnd") LocalDateTime periodEnd,
+                                             @Param("pending") Task.TaskStatus pending,
+                                             @Param("completed") Task.TaskStatus completed,
+                                             @Param("deleted") Task.TaskStatus deleted);
+
+    /**
+     * Count a user's tasks per category, broken down by status, in one aggregate query.
+     * Deleted tasks are excluded; categories without tasks are absent from the result.
+     */
+    @Query("SELECT new com.todoapp.dto.CategoryTaskCountDTO(t.category.id, COUNT(t), " +
+           "SUM(CASE WHEN t.status = :pending THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.status = :completed THEN 1 ELSE 0 END)) " +
+           "FROM Task t WHERE t.user.id = :userId AND t.category.id IS NOT NULL AND t.status <> :deleted " +
+           "GROUP BY t.category.id")
+    List<CategoryTaskCountDTO> countByCategoryForUser(@Param("userId") Long userId,
+                                                      @Param("pending") Task.TaskStatus pending,
+                                                      @Param("completed") Task.TaskStatus completed,
+                                                      @Param("deleted") Task.TaskStatus deleted);
+
+    /**
+     * Count the tasks of a single category, broken down by status.
+     */
+    @Query("SELECT new com.todoapp.dto.CategoryTaskCountDTO(t.category.id, COUNT(t), " +
+           "SUM(CASE WHEN t.status = :pending THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.status = :completed THEN 1 ELSE 0 END)) " +
+           "FROM Task t WHERE t.category.id = :categoryId AND t.status <> :deleted " +
+           "GROUP BY t.category.id")
+    Optional<CategoryTaskCountDTO> countForCategory(@Param("categoryId") Long categoryId,
+                                                    @Param("pending") Task.TaskStatus pending,
+                                                    @Param("completed") Task.TaskStatus completed,
+                                                    @Param("deleted") Task.TaskStatus deleted);
+
+    /**
+     * Count a user's tasks per tag in one aggregate query (deleted tasks excluded).
+     * Tags without tasks are absent from the result.
+     */
+    @Query("SELECT new com.todoapp.dto.TagUsageDTO(tag.id, COUNT(t)) " +
+           "FROM Task t JOIN t.tags tag WHERE t.user.id = :userId AND t.status <> :deleted " +
+           "GROUP BY tag.id")
+    List<TagUsageDTO> countByTagForUser(@Param("userId") Long userId,
+                                        @Param("deleted") Task.TaskStatus deleted);
+
+    /**
+     * A user's tasks, deleted ones included, changed after an (updatedAt, id) cursor,
+     * oldest change first (delta sync; served by idx_tasks_user_updated_at). Native, so
+     * the entity's soft-delete restriction does not apply.
+     */
+    @Query(value = "SELECT * FROM tasks WHERE user_id = :userId AND " +
+                   "(updated_at > :after OR (updated_at = :after AND id > :afterId)) " +
+                   "ORDER BY updated_at ASC, id ASC",
+           nativeQuery = true)
+    List<Task> findChangedAfter(@Param("userId") Long userId,
+                                @Param("after") LocalDateTime after,
+                                @Param("afterId") Long afterId,
+                                Pageable pageable);
+
+    /**
+     * Find a soft-deleted task of a user that has not been purged yet (restore).
+     */
+    @Query(value = "SELECT * FROM tasks WHERE id = :id AND user_id = :userId AND status = 'deleted'",
+           nativeQuery = true)
+    Optional<Task> findDeletedByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Find a user's tasks among the given IDs (tag query results).
+     */
+    List<Task> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    /**
+     * Find a page of a user's tasks among the given IDs (tag query results).
+     */
+    Page<Task> findByUserIdAndIdIn(Long userId, Collection<Long> ids, Pageable pageable);
+
+    /**
+     * IDs of a user's live (not deleted) tasks, for building tag bitmaps.
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.user.id = :userId AND t.status <> :deleted")
+    List<Long> findLiveTaskIds(@Param("userId") Long userId, @Param("deleted") Task.TaskStatus deleted);
+
+    /**
+     * Tag assignments of a user's live tasks, for building tag bitmaps.
+     */
+    @Query("SELECT new com.todoapp.dto.TaskTagLinkDTO(t.id, tag.id) " +
+           "FROM Task t JOIN t.tags tag WHERE t.user.id = :userId AND t.status <> :deleted")
+    List<TaskTagLinkDTO> findTagLinks(@Param("userId") Long userId, @Param("deleted") Task.TaskStatus deleted);
+
+    /**
+     * Check if any live task references a category. Soft-deleted tasks do not count; the
+     * category reference is cleared on them (ON DELETE SET NULL) when the category goes.
+     */
+    boolean existsByCategoryId(Long categoryId);
+
     /**
      * Delete all tasks for a user (for account deletion).
      */
@@ -124,4 +242,72 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      * Count tasks by user ID.
      */
     long countByUserId(Long userId);
-} 
\ No newline at end of file
+
+    /**
+     * Delete up to {@code limit} tag assignments of a user's tasks (account purge).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_tags"))
+    @Query(value = "DELETE FROM task_tags WHERE (task_id, tag_id) IN (" +
+                   "SELECT tt.task_id, tt.tag_id FROM task_tags tt JOIN tasks t ON t.id = tt.task_id " +
+                   "WHERE t.user_id = :userId LIMIT :limit)",
+           nativeQuery = true)
+    int deleteTagLinksChunk(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Delete up to {@code limit} of a user's tasks (account purge; tag links must be gone).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "DELETE FROM tasks WHERE id IN (SELECT id FROM tasks WHERE user_id = :userId LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChunkForUser(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Lock up to {@code limit} tasks soft-deleted before the cutoff, oldest first (purge job;
+     * served by idx_tasks_deleted). Rows locked by another instance are skipped.
+     */
+    @Query(value = "SELECT id FROM tasks WHERE status = 'deleted' AND updated_at < :cutoff " +
+                   "ORDER BY updated_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockPurgeableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Delete the tag assignments of the given tasks (purge job).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_tags"))
+    @Query(value = "DELETE FROM task_tags WHERE task_id IN (:taskIds)", nativeQuery = true)
+    int deleteTagLinksOfTasks(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Delete the given tasks if they are still soft-deleted (purge job; tag links must be gone).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "DELETE FROM tasks WHERE id IN (:taskIds) AND status = 'deleted'", nativeQuery = true)
+    int deleteDeletedByIds(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Lock up to {@code limit} tasks completed before the cutoff, oldest first (archive job;
+     * served by idx_tasks_completed_at). Rows locked by another instance are skipped.
+     */
+    @Query(value = "SELECT id FROM tasks WHERE status = 'completed' AND completed_at < :cutoff " +
+                   "ORDER BY completed_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Delete the given tasks if they are still completed (archive job; tag links must be gone).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "DELETE FROM tasks WHERE id IN (:taskIds) AND status = 'completed'", nativeQuery = true)
+    int deleteCompletedByIds(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Tag assignments of the given tasks, for history listings.
+     */
+    @Query("SELECT new com.todoapp.dto.TaskTagLinkDTO(t.id, tag.id) FROM Task t JOIN t.tags tag WHERE t.id IN :taskIds")
+    List<TaskTagLinkDTO> findTagLinksOfTasks(@Param("taskIds") Collection<Long> taskIds);
+}
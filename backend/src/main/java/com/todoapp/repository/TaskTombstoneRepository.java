@@ -0,0 +1,37 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for TaskTombstone entity operations.
+ */
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    /**
+     * A user's tombstones after a (deletedAt, id) cursor, oldest first (delta sync).
+     */
+    @Query("SELECT t FROM TaskTombstone t WHERE t.userId = :userId AND " +
+           "(t.deletedAt > :after OR (t.deletedAt = :after AND t.id > :afterId)) " +
+           "ORDER BY t.deletedAt ASC, t.id ASC")
+    List<TaskTombstone> findAfter(@Param("userId") Long userId,
+                                  @Param("after") LocalDateTime after,
+                                  @Param("afterId") Long afterId,
+                                  Pageable pageable);
+
+    /**
+     * Delete tombstones older than the cutoff (retention cleanup).
+     */
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,25 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.UserDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for UserDataVersion entity operations.
+ */
+@Repository
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+
+    /**
+     * Increment a user's data version in place; returns 0 when the user has no row yet.
+     * The row stays locked until commit, so concurrent writes of one user are ordered.
+     */
+    @Modifying
+    @Query("UPDATE UserDataVersion v SET v.version = v.version + 1, v.updatedAt = :now WHERE v.userId = :userId")
+    int increment(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
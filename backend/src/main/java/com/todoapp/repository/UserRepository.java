@@ -2,6 +2,7 @@ package com.todoapp.repository;
 
 import com.todoapp.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,12 +13,7 @@ import java.util.Optional;
  * Repository interface for User entity operations.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    /**
-     * Find user by email address.
-     */
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     /**
      * Check if user exists by email.
@@ -57,4 +53,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.userSettings WHERE u.id = :userId")
     Optional<User> findByIdWithSettings(@Param("userId") Long userId);
-} 
\ No newline at end of file
+
+    /**
+     * Delete a user row without loading it or cascading (account purge; all data must be gone).
+     */
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :userId")
+    int deleteByIdInBulk(@Param("userId") Long userId);
+}
@@ -0,0 +1,23 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.User;
+
+import java.util.Optional;
+
+/**
+ * User lookups implemented by hand (see {@link UserRepositoryCustomImpl}).
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Find user by email address, through the natural-id and entity caches.
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Find user by email address with a query that neither reads nor fills the second-level
+     * cache, for authentication: a node's cached copy may predate a password change, an
+     * email change or a deactivation made through another instance.
+     */
+    Optional<User> findByEmailUncached(String email);
+}
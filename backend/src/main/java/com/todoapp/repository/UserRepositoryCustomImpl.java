@@ -0,0 +1,43 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Resolves users by email as a natural-id load rather than a derived query: the
+ * email-to-id mapping comes from the "users-by-email" region and the user from the
+ * "users" region, so a warm lookup (done by every authenticated request) needs no
+ * statement for the user row.
+ */
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    UserRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(User.class)
+            .loadOptional(email);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmailUncached(String email) {
+        return entityManager.createQuery("SELECT u FROM User u WHERE u.email = :email", User.class)
+            .setParameter("email", email)
+            .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+            .getResultStream()
+            .findFirst();
+    }
+}
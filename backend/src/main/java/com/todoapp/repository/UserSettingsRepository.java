@@ -1,9 +1,14 @@
 package com.todoapp.repository;
 
 import com.todoapp.entity.UserSettings;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -22,8 +27,29 @@ public interface UserSettingsRepository extends JpaRepository<UserSettings, Long
      */
     boolean existsByUserId(Long userId);
 
+    /**
+     * Find the next chunk of enabled users subscribed to the daily digest (keyset pagination by user ID).
+     */
+    @Query("SELECT s.user.id FROM UserSettings s WHERE s.dailyDigest = true AND s.user.enabled = true " +
+           "AND s.user.id > :afterUserId ORDER BY s.user.id")
+    List<Long> findDailyDigestUserIds(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    /**
+     * Find the next chunk of enabled users subscribed to the weekly report (keyset pagination by user ID).
+     */
+    @Query("SELECT s.user.id FROM UserSettings s WHERE s.weeklyReport = true AND s.user.enabled = true " +
+           "AND s.user.id > :afterUserId ORDER BY s.user.id")
+    List<Long> findWeeklyReportUserIds(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
     /**
      * Delete user settings for a user (for account deletion).
      */
     void deleteByUserId(Long userId);
-} 
\ No newline at end of file
+
+    /**
+     * Delete a user's settings row without loading it (account purge).
+     */
+    @Modifying
+    @Query("DELETE FROM UserSettings s WHERE s.user.id = :userId")
+    int deleteByUserIdInBulk(@Param("userId") Long userId);
+}
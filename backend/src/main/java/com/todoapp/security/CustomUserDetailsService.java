@@ -2,13 +2,16 @@ package com.todoapp.security;
 
 import com.todoapp.entity.User;
 import com.todoapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Custom User Details Service that loads user information for Spring Security.
@@ -17,24 +20,39 @@ import java.util.Collections;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Set<String> adminEmails;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${app.security.admin-emails:}") Set<String> adminEmails) {
         this.userRepository = userRepository;
+        this.adminEmails = adminEmails;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        // Read past the second-level cache, so credentials and the enabled flag are current
+        User user = userRepository.findByEmailUncached(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
         return org.springframework.security.core.userdetails.User.builder()
                 .username(user.getEmail())
                 .password(user.getPasswordHash())
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("USER")))
+                .authorities(authoritiesOf(user))
                 .accountExpired(false)
                 .accountLocked(false)
                 .credentialsExpired(false)
                 .disabled(!user.isEnabled())
                 .build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Every user gets USER; the accounts listed in app.security.admin-emails also get ADMIN,
+     * which guards the operational actuator endpoints.
+     */
+    private List<GrantedAuthority> authoritiesOf(User user) {
+        if (adminEmails.contains(user.getEmail())) {
+            return List.of(new SimpleGrantedAuthority("USER"), new SimpleGrantedAuthority("ADMIN"));
+        }
+        return List.of(new SimpleGrantedAuthority("USER"));
+    }
+}
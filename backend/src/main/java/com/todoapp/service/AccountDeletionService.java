@@ -0,0 +1,30 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.AccountDeletion;
+import com.todoapp.entity.User;
+
+/**
+ * Service interface for asynchronous account deletion.
+ */
+public interface AccountDeletionService {
+
+    /**
+     * Disable the account and queue its data for deletion. Joins the caller's transaction;
+     * the background purge starts once it commits.
+     * @param user User to delete
+     * @return Deletion progress record
+     */
+    AccountDeletion requestDeletion(User user);
+
+    /**
+     * Run a queued deletion to completion in chunked bulk deletes.
+     * @param deletionId Deletion ID
+     * @return Finished deletion, or null if it is already running on this node
+     */
+    AccountDeletion purge(Long deletionId);
+
+    /**
+     * Restart deletions that stopped making progress (e.g. after a restart).
+     */
+    void resumeInterruptedDeletions();
+}
@@ -0,0 +1,181 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.AccountDeletion;
+import com.todoapp.entity.User;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.repository.AccountDeletionRepository;
+import com.todoapp.repository.ArchivedTaskRepository;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.NotificationRepository;
+import com.todoapp.repository.TagRepository;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.repository.UserSettingsRepository;
+import com.todoapp.util.TransactionHooks;
+import com.todoapp.util.UsePool;
+import com.todoapp.util.WorkloadPool;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Service implementation for asynchronous account deletion.
+ *
+ * A deletion request only disables the account, frees its email address and records an
+ * account_deletions row, so the request returns quickly. The data is then removed in the
+ * background, table by table, with bulk DELETEs of at most chunk-size rows, each in its
+ * own short transaction that also records progress. No entity is loaded, so a large
+ * account costs neither memory nor a long-running transaction.
+ */
+@Service
+@UsePool(WorkloadPool.BACKGROUND)
+public class AccountDeletionServiceImpl implements AccountDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountDeletionServiceImpl.class);
+
+    private final AccountDeletionRepository accountDeletionRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final NotificationRepository notificationRepository;
+    private final TagRepository tagRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserSettingsRepository userSettingsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+
+    @Value("${app.account-deletion.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.account-deletion.stale-after:PT10M}")
+    private Duration staleAfter = Duration.ofMinutes(10);
+
+    @Autowired
+    public AccountDeletionServiceImpl(AccountDeletionRepository accountDeletionRepository,
+                                      UserRepository userRepository,
+                                      TaskRepository taskRepository,
+                                      ArchivedTaskRepository archivedTaskRepository,
+                                      NotificationRepository notificationRepository,
+                                      TagRepository tagRepository,
+                                      CategoryRepository categoryRepository,
+                                      UserSettingsRepository userSettingsRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.account-deletion.worker-threads:1}") int workerThreads) {
+        this.accountDeletionRepository = accountDeletionRepository;
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.notificationRepository = notificationRepository;
+        this.tagRepository = tagRepository;
+        this.categoryRepository = categoryRepository;
+        this.userSettingsRepository = userSettingsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerThreads),
+            WorkloadPool.BACKGROUND.threadFactory("account-deletion-"));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public AccountDeletion requestDeletion(User user) {
+        // Disabled accounts fail authentication, and the renamed email no longer resolves
+        // existing tokens; the address can be registered again right away
+        user.setEnabled(false);
+        user.setActive(false);
+        user.setEmail("deleted-" + user.getId() + "@deleted.invalid");
+        userRepository.save(user);
+
+        AccountDeletion deletion = accountDeletionRepository.findByUserId(user.getId())
+            .orElseGet(() -> accountDeletionRepository.save(new AccountDeletion(user.getId())));
+        Long deletionId = deletion.getId();
+        TransactionHooks.afterCommit(() -> workers.execute(() -> purgeQuietly(deletionId)));
+        return deletion;
+    }
+
+    @Override
+    public AccountDeletion purge(Long deletionId) {
+        if (!running.add(deletionId)) {
+            logger.debug("Account deletion {} is already running on this node", deletionId);
+            return null;
+        }
+
+        try {
+            AccountDeletion deletion = accountDeletionRepository.findById(deletionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account deletion not found"));
+            while (!deletion.isCompleted()) {
+                deletion = deleteChunk(deletion);
+            }
+            logger.info("Account deletion {} for user {} completed: {} rows deleted",
+                deletion.getId(), deletion.getUserId(), deletion.getDeletedRows());
+            return deletion;
+        } finally {
+            running.remove(deletionId);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.account-deletion.resume-check-interval:PT5M}",
+               initialDelayString = "${app.account-deletion.resume-initial-delay:PT1M}")
+    public void resumeInterruptedDeletions() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(staleAfter);
+        for (AccountDeletion deletion : accountDeletionRepository.findByStatusAndUpdatedAtBeforeOrderByIdAsc(
+                AccountDeletion.DeletionStatus.PENDING, cutoff)) {
+            logger.warn("Resuming account deletion {} for user {} at step {}",
+                deletion.getId(), deletion.getUserId(), deletion.getCurrentStep());
+            Long deletionId = deletion.getId();
+            workers.execute(() -> purgeQuietly(deletionId));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void purgeQuietly(Long deletionId) {
+        try {
+            purge(deletionId);
+        } catch (RuntimeException e) {
+            logger.error("Account deletion {} failed, it will be resumed later", deletionId, e);
+        }
+    }
+
+    private AccountDeletion deleteChunk(AccountDeletion deletion) {
+        return transactionTemplate.execute(status -> {
+            AccountDeletion.DeletionStep step = deletion.getCurrentStep();
+            int rows = deleteRows(step, deletion.getUserId());
+            boolean singleRow = step == AccountDeletion.DeletionStep.USER_SETTINGS
+                || step == AccountDeletion.DeletionStep.USER;
+            deletion.recordChunk(rows, singleRow || rows < chunkSize);
+            return accountDeletionRepository.save(deletion);
+        });
+    }
+
+    private int deleteRows(AccountDeletion.DeletionStep step, Long userId) {
+        return switch (step) {
+            case TASK_TAGS -> taskRepository.deleteTagLinksChunk(userId, chunkSize);
+            case TASKS -> taskRepository.deleteChunkForUser(userId, chunkSize);
+            case TASKS_ARCHIVE -> archivedTaskRepository.deleteChunkForUser(userId, chunkSize);
+            case NOTIFICATIONS -> notificationRepository.deleteChunkForUser(userId, chunkSize);
+            case TAGS -> tagRepository.deleteChunkForUser(userId, chunkSize);
+            case CATEGORIES -> categoryRepository.deleteChunkForUser(userId, chunkSize);
+            case USER_SETTINGS -> userSettingsRepository.deleteByUserIdInBulk(userId);
+            case USER -> userRepository.deleteByIdInBulk(userId);
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.ExportJobDTO;
+import com.todoapp.entity.ExportJob;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Service interface for full-account data exports.
+ */
+public interface AccountExportService {
+
+    /**
+     * Write a zip of NDJSON files with all of the user's data to the stream, reading each
+     * part through a database cursor. The stream is finished but not closed.
+     * @param userEmail User email
+     * @param out Destination stream
+     */
+    void streamExport(String userEmail, OutputStream out) throws IOException;
+
+    /**
+     * Queue a background export, or return the one the user already has running.
+     * @param userEmail User email
+     * @return Export job status
+     */
+    ExportJobDTO startExportJob(String userEmail);
+
+    /**
+     * Get the status of one of the user's export jobs.
+     * @param jobId Export job ID
+     * @param userEmail User email
+     * @return Export job status
+     */
+    ExportJobDTO getExportJob(Long jobId, String userEmail);
+
+    /**
+     * Get the archive of a completed export job.
+     * @param jobId Export job ID
+     * @param userEmail User email
+     * @return Path of the zip archive
+     */
+    Path getExportArchive(Long jobId, String userEmail);
+
+    /**
+     * Run an export job to completion, resuming at its last checkpoint.
+     * @param jobId Export job ID
+     * @return Finished job, or null if it is already running on this node or claimed by another
+     */
+    ExportJob runJob(Long jobId);
+
+    /**
+     * Claim and restart export jobs that stopped making progress (e.g. after a restart),
+     * skipping jobs another instance is claiming at the same time.
+     */
+    void resumeInterruptedJobs();
+
+    /**
+     * Delete archives past their retention period.
+     */
+    void removeExpiredArchives();
+}
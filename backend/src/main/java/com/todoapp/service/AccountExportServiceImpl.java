@@ -0,0 +1,579 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todoapp.dto.ExportJobDTO;
+import com.todoapp.entity.ExportJob;
+import com.todoapp.exception.BusinessException;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.repository.ExportJobRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.util.TransactionHooks;
+import com.todoapp.util.UsePool;
+import com.todoapp.util.WorkloadPool;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service implementation for full-account data exports.
+ *
+ * Every part is read with a forward-only JDBC cursor (a fetch size inside a read-only
+ * transaction) and each row is serialized straight to the output as one NDJSON line, so
+ * memory use does not depend on the size of the account. Tasks, live and archived, are
+ * joined with their tags and grouped on the fly, relying on the rows arriving ordered by
+ * task ID.
+ *
+ * Background jobs write the same parts to files in keyset batches and checkpoint after
+ * each batch, then assemble the zip once all parts are written. A job is claimed in the
+ * database by the instance writing it, and a stale job is reclaimed with SKIP LOCKED, so one
+ * instance at a time writes it. Part files and archives live under app.export.dir, which
+ * must be storage shared by all instances; if the files of a resumed job are missing, the
+ * job starts over instead of continuing into a file with a gap.
+ */
+@Service
+@UsePool(WorkloadPool.REPORTING)
+public class AccountExportServiceImpl implements AccountExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountExportServiceImpl.class);
+
+    private static final String ARCHIVE_FILE = "export.zip";
+
+    private static final String TASKS_SQL =
+        "SELECT t.id, t.category_id, t.title, t.description, t.status, t.priority, t.due_date, " +
+        "t.completed_at, t.created_at, t.updated_at, g.id AS tag_id, g.name AS tag_name, g.color AS tag_color " +
+        "FROM (SELECT * FROM tasks WHERE user_id = ? AND id > ? ORDER BY id LIMIT ?) t " +
+        "LEFT JOIN task_tags tt ON tt.task_id = t.id " +
+        "LEFT JOIN tags g ON g.id = tt.tag_id " +
+        "ORDER BY t.id, g.id";
+
+    // Tags deleted since a task was archived drop out of the join
+    private static final String ARCHIVED_TASKS_SQL =
+        "SELECT a.id, a.category_id, a.title, a.description, 'completed' AS status, a.priority, a.due_date, " +
+        "a.completed_at, a.created_at, a.updated_at, a.archived_at, " +
+        "g.id AS tag_id, g.name AS tag_name, g.color AS tag_color " +
+        "FROM (SELECT * FROM tasks_archive WHERE user_id = ? AND id > ? ORDER BY id LIMIT ?) a " +
+        "LEFT JOIN tags g ON g.id = ANY(a.tag_ids) " +
+        "ORDER BY a.id, g.id";
+
+    private final ExportJobRepository exportJobRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectWriter lineWriter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/"
+        + UUID.randomUUID().toString().substring(0, 8);
+
+    @Value("${app.export.fetch-size:500}")
+    private int fetchSize = 500;
+
+    @Value("${app.export.batch-size:5000}")
+    private int batchSize = 5000;
+
+    @Value("${app.export.dir:${java.io.tmpdir}/todoapp-exports}")
+    private Path exportDir = Path.of(System.getProperty("java.io.tmpdir"), "todoapp-exports");
+
+    @Value("${app.export.retention:P1D}")
+    private Duration retention = Duration.ofDays(1);
+
+    @Value("${app.export.stale-after:PT10M}")
+    private Duration staleAfter = Duration.ofMinutes(10);
+
+    @Value("${app.export.resume-batch-size:10}")
+    private int resumeBatchSize = 10;
+
+    @Autowired
+    public AccountExportServiceImpl(ExportJobRepository exportJobRepository,
+                                    UserRepository userRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.export.worker-threads:1}") int workerThreads) {
+        this.exportJobRepository = exportJobRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        // Lines are written one after another into the same stream; the generator must
+        // neither close nor flush it
+        this.lineWriter = objectMapper.writer()
+            .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerThreads),
+            WorkloadPool.REPORTING.threadFactory("account-export-"));
+    }
+
+    @Override
+    public void streamExport(String userEmail, OutputStream out) throws IOException {
+        Long userId = findUserId(userEmail);
+        ZipOutputStream zip = new ZipOutputStream(out);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (ExportJob.ExportPart part : ExportJob.ExportPart.values()) {
+                    try {
+                        zip.putNextEntry(new ZipEntry(part.getFileName()));
+                        writePart(part, userId, 0L, Integer.MAX_VALUE, zip);
+                        zip.closeEntry();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        zip.finish();
+    }
+
+    @Override
+    public ExportJobDTO startExportJob(String userEmail) {
+        Long userId = findUserId(userEmail);
+        ExportJob job = transactionTemplate.execute(status -> exportJobRepository
+            .findFirstByUserIdAndStatusOrderByIdDesc(userId, ExportJob.ExportStatus.PENDING)
+            .orElseGet(() -> {
+                ExportJob created = new ExportJob(userId);
+                created.claim(owner);
+                created = exportJobRepository.save(created);
+                Long jobId = created.getId();
+                TransactionHooks.afterCommit(() -> workers.execute(() -> runQuietly(jobId)));
+                return created;
+            }));
+        return convertToDTO(job);
+    }
+
+    @Override
+    public ExportJobDTO getExportJob(Long jobId, String userEmail) {
+        return convertToDTO(findJob(jobId, userEmail));
+    }
+
+    @Override
+    public Path getExportArchive(Long jobId, String userEmail) {
+        ExportJob job = findJob(jobId, userEmail);
+        if (job.getStatus() == ExportJob.ExportStatus.EXPIRED) {
+            throw new ResourceNotFoundException("Export has expired");
+        }
+        if (!job.isCompleted()) {
+            throw new BusinessException("Export is not ready yet");
+        }
+        Path archive = jobDir(job).resolve(ARCHIVE_FILE);
+        if (!Files.exists(archive)) {
+            logger.error("Archive of export job {} is missing from {}; app.export.dir must be shared by all instances",
+                job.getId(), exportDir);
+            throw new ResourceNotFoundException("Export archive not found");
+        }
+        return archive;
+    }
+
+    @Override
+    public ExportJob runJob(Long jobId) {
+        if (!running.add(jobId)) {
+            logger.debug("Export job {} is already running on this node", jobId);
+            return null;
+        }
+
+        try {
+            ExportJob job = claim(jobId);
+            if (job.getStatus() != ExportJob.ExportStatus.PENDING) {
+                return job;
+            }
+            if (!owner.equals(job.getClaimedBy())) {
+                logger.debug("Export job {} is claimed by {}", jobId, job.getClaimedBy());
+                return null;
+            }
+
+            Path jobDir = jobDir(job);
+            Files.createDirectories(jobDir);
+            if (!partFilesIntact(job, jobDir)) {
+                // Written on another instance's local disk, or lost with a container
+                logger.warn("Files of export job {} are missing from {}; starting it over", jobId, jobDir);
+                job = checkpoint(jobId, ExportJob::restart);
+            }
+            while (!job.isPartsWritten()) {
+                job = exportBatch(job, jobDir);
+            }
+            job = assembleArchive(job, jobDir);
+            logger.info("Export job {} for user {} completed: {} rows, {} bytes",
+                job.getId(), job.getUserId(), job.getExportedRows(), job.getArchiveSize());
+            return job;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            running.remove(jobId);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.export.resume-check-interval:PT5M}",
+               initialDelayString = "${app.export.resume-initial-delay:PT1M}")
+    public void resumeInterruptedJobs() {
+        List<ExportJob> claimed = transactionTemplate.execute(status -> {
+            List<ExportJob> stale = exportJobRepository.lockStaleJobs(
+                LocalDateTime.now().minus(staleAfter), resumeBatchSize);
+            stale.forEach(job -> job.claim(owner));
+            return exportJobRepository.saveAll(stale);
+        });
+        if (claimed == null) {
+            return;
+        }
+        for (ExportJob job : claimed) {
+            logger.warn("Resuming export job {} for user {} at part {}",
+                job.getId(), job.getUserId(), job.getCurrentPart());
+            Long jobId = job.getId();
+            workers.execute(() -> runQuietly(jobId));
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.export.cleanup-interval:PT1H}",
+               initialDelayString = "${app.export.resume-initial-delay:PT1M}")
+    public void removeExpiredArchives() {
+        for (ExportJob job : exportJobRepository.findByStatusAndExpiresAtBefore(
+                ExportJob.ExportStatus.COMPLETED, LocalDateTime.now())) {
+            try {
+                FileSystemUtils.deleteRecursively(jobDir(job));
+                job.markExpired();
+                exportJobRepository.save(job);
+            } catch (IOException e) {
+                logger.warn("Could not remove expired export {}", job.getId(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void runQuietly(Long jobId) {
+        try {
+            runJob(jobId);
+        } catch (RuntimeException e) {
+            logger.error("Export job {} failed, it will be resumed later", jobId, e);
+        }
+    }
+
+    private ExportJob exportBatch(ExportJob job, Path jobDir) throws IOException {
+        ExportJob.ExportPart part = job.getCurrentPart();
+        Path partFile = jobDir.resolve(part.getFileName());
+        Batch batch;
+        long partBytes;
+        try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Anything past the checkpoint came from a batch that was never recorded
+            channel.truncate(job.getPartBytes());
+            channel.position(job.getPartBytes());
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            try {
+                batch = readOnlyTransaction.execute(status ->
+                    writePart(part, job.getUserId(), job.getLastId(), batchSize, out));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+            channel.force(false);
+            partBytes = channel.size();
+        }
+
+        return checkpoint(job.getId(), current ->
+            current.recordBatch(batch.lastId(), partBytes, batch.rows(), batch.rows() < batchSize));
+    }
+
+    private ExportJob assembleArchive(ExportJob job, Path jobDir) throws IOException {
+        Path archive = jobDir.resolve(ARCHIVE_FILE);
+        Path partial = jobDir.resolve(ARCHIVE_FILE + ".part");
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+            for (ExportJob.ExportPart part : ExportJob.ExportPart.values()) {
+                zip.putNextEntry(new ZipEntry(part.getFileName()));
+                // Every part has a file, possibly empty; a missing one fails the job
+                Files.copy(jobDir.resolve(part.getFileName()), zip);
+                zip.closeEntry();
+            }
+        }
+        Files.move(partial, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (ExportJob.ExportPart part : ExportJob.ExportPart.values()) {
+            Files.deleteIfExists(jobDir.resolve(part.getFileName()));
+        }
+
+        long archiveSize = Files.size(archive);
+        return checkpoint(job.getId(), current ->
+            current.markCompleted(archiveSize, LocalDateTime.now().plus(retention)));
+    }
+
+    /**
+     * Take the job for this instance if it is unclaimed, already ours, or stale.
+     */
+    private ExportJob claim(Long jobId) {
+        return transactionTemplate.execute(status -> {
+            ExportJob job = exportJobRepository.lockById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Export job not found"));
+            if (!job.isClaimableBy(owner, LocalDateTime.now().minus(staleAfter))) {
+                return job;
+            }
+            job.claim(owner);
+            return exportJobRepository.save(job);
+        });
+    }
+
+    /**
+     * Apply a change to the job under a row lock, failing if another instance has since
+     * reclaimed it; saving renews this instance's claim.
+     */
+    private ExportJob checkpoint(Long jobId, Consumer<ExportJob> change) {
+        return transactionTemplate.execute(status -> {
+            ExportJob job = exportJobRepository.lockById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Export job not found"));
+            if (!owner.equals(job.getClaimedBy())) {
+                throw new IllegalStateException("Export job " + jobId + " was reclaimed by " + job.getClaimedBy());
+            }
+            change.accept(job);
+            return exportJobRepository.save(job);
+        });
+    }
+
+    /**
+     * Whether the files behind the checkpoint are all there: one per finished part, and the
+     * current part at least as long as recorded.
+     */
+    private static boolean partFilesIntact(ExportJob job, Path jobDir) throws IOException {
+        for (ExportJob.ExportPart part : ExportJob.ExportPart.values()) {
+            Path partFile = jobDir.resolve(part.getFileName());
+            if (part == job.getCurrentPart()) {
+                return job.getPartBytes() == 0 || (Files.exists(partFile) && Files.size(partFile) >= job.getPartBytes());
+            }
+            if (!Files.exists(partFile)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write up to {@code limit} rows of a part with IDs after {@code afterId}, in ID order.
+     * Must run inside a transaction so the driver can use a cursor.
+     */
+    private Batch writePart(ExportJob.ExportPart part, Long userId, long afterId, int limit, OutputStream out) {
+        PartWriter writer = new PartWriter(out,
+            part == ExportJob.ExportPart.TASKS || part == ExportJob.ExportPart.ARCHIVED_TASKS);
+        jdbcTemplate.query(new CursorStatement(sqlFor(part), fetchSize, userId, afterId, limit), writer);
+        return writer.finish();
+    }
+
+    private static String sqlFor(ExportJob.ExportPart part) {
+        return switch (part) {
+            case PROFILE -> "SELECT id, email, name, first_name, last_name, avatar_url, email_verified, enabled, " +
+                "created_at, updated_at FROM users WHERE id = ? AND id > ? ORDER BY id LIMIT ?";
+            case SETTINGS -> "SELECT id, theme, notifications_enabled, timezone, language, date_format, time_format, " +
+                "email_notifications, push_notifications, task_reminders, daily_digest, weekly_report, " +
+                "created_at, updated_at FROM user_settings WHERE user_id = ? AND id > ? ORDER BY id LIMIT ?";
+            case CATEGORIES -> "SELECT id, name, color, description, created_at, updated_at " +
+                "FROM categories WHERE user_id = ? AND id > ? ORDER BY id LIMIT ?";
+            case TAGS -> "SELECT id, name, color, created_at, updated_at " +
+                "FROM tags WHERE user_id = ? AND id > ? ORDER BY id LIMIT ?";
+            case TASKS -> TASKS_SQL;
+            case ARCHIVED_TASKS -> ARCHIVED_TASKS_SQL;
+            case NOTIFICATIONS -> "SELECT id, type, title, message, read, scheduled_for, created_at, " +
+                "CAST(metadata AS TEXT) AS metadata FROM notifications WHERE user_id = ? AND id > ? ORDER BY id LIMIT ?";
+        };
+    }
+
+    private Long findUserId(String userEmail) {
+        return userRepository.findByEmail(userEmail)
+            .orElseThrow(() -> new RuntimeException("User not found"))
+            .getId();
+    }
+
+    private ExportJob findJob(Long jobId, String userEmail) {
+        return exportJobRepository.findByIdAndUserId(jobId, findUserId(userEmail))
+            .orElseThrow(() -> new ResourceNotFoundException("Export job not found"));
+    }
+
+    private Path jobDir(ExportJob job) {
+        return exportDir.resolve(String.valueOf(job.getId()));
+    }
+
+    private ExportJobDTO convertToDTO(ExportJob job) {
+        ExportJobDTO dto = new ExportJobDTO();
+        dto.setId(job.getId());
+        dto.setStatus(job.getStatus().getValue());
+        dto.setCurrentPart(job.getCurrentPart() != null ? job.getCurrentPart().getValue() : null);
+        dto.setExportedRows(job.getExportedRows());
+        dto.setArchiveSize(job.getArchiveSize());
+        dto.setRequestedAt(job.getRequestedAt());
+        dto.setCompletedAt(job.getCompletedAt());
+        dto.setExpiresAt(job.getExpiresAt());
+        return dto;
+    }
+
+    /**
+     * Last ID written and number of records in one pass over a part.
+     */
+    private record Batch(long lastId, int rows) {
+    }
+
+    /**
+     * Forward-only statement with a fetch size, so the driver streams rows instead of
+     * buffering the whole result.
+     */
+    private record CursorStatement(String sql, int fetchSize, Object... args)
+            implements PreparedStatementCreator, SqlProvider {
+
+        @Override
+        public PreparedStatement createPreparedStatement(Connection connection) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+    }
+
+    /**
+     * Serializes rows as NDJSON lines as they arrive. With {@code groupTags}, consecutive
+     * rows of the same task are folded into one record with a "tags" array.
+     */
+    private final class PartWriter implements RowCallbackHandler {
+
+        private final OutputStream out;
+        private final boolean groupTags;
+        private Map<String, Object> pendingTask;
+        private List<Map<String, Object>> pendingTags;
+        private long lastId;
+        private int rows;
+
+        private PartWriter(OutputStream out, boolean groupTags) {
+            this.out = out;
+            this.groupTags = groupTags;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            Map<String, Object> row = readRow(rs);
+            long id = ((Number) row.get("id")).longValue();
+            if (!groupTags) {
+                writeLine(row);
+                lastId = id;
+                rows++;
+                return;
+            }
+
+            Object tagId = row.remove("tag_id");
+            Object tagName = row.remove("tag_name");
+            Object tagColor = row.remove("tag_color");
+            if (pendingTask == null || id != lastId) {
+                flushTask();
+                pendingTask = row;
+                pendingTags = new ArrayList<>();
+                pendingTask.put("tags", pendingTags);
+                lastId = id;
+                rows++;
+            }
+            if (tagId != null) {
+                Map<String, Object> tag = new LinkedHashMap<>();
+                tag.put("id", tagId);
+                tag.put("name", tagName);
+                tag.put("color", tagColor);
+                pendingTags.add(tag);
+            }
+        }
+
+        private Batch finish() {
+            flushTask();
+            return new Batch(lastId, rows);
+        }
+
+        private void flushTask() {
+            if (pendingTask != null) {
+                writeLine(pendingTask);
+                pendingTask = null;
+            }
+        }
+
+        private Map<String, Object> readRow(ResultSet rs) throws SQLException {
+            ResultSetMetaData metaData = rs.getMetaData();
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                String column = metaData.getColumnLabel(i).toLowerCase(Locale.ROOT);
+                Object value = rs.getObject(i);
+                if (value instanceof Timestamp timestamp) {
+                    value = timestamp.toLocalDateTime();
+                } else if (value != null && column.equals("metadata")) {
+                    try {
+                        value = objectMapper.readTree(value.toString());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                row.put(column, value);
+            }
+            return row;
+        }
+
+        private void writeLine(Map<String, Object> record) {
+            try {
+                lineWriter.writeValue(out, record);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -7,12 +7,18 @@ import com.todoapp.dto.UserDTO;
 import com.todoapp.entity.User;
 import com.todoapp.repository.UserRepository;
 import com.todoapp.util.JwtUtil;
+import com.todoapp.util.ReadYourWrites;
+import com.todoapp.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -22,23 +28,32 @@ import java.util.Optional;
 @Service
 public class AuthServiceImpl implements AuthService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final OutboxService outboxService;
+
+    @Value("${app.frontend-url:http://localhost:3000}")
+    private String frontendUrl = "http://localhost:3000";
 
     @Autowired
     public AuthServiceImpl(UserRepository userRepository, 
                           PasswordEncoder passwordEncoder, 
                           JwtUtil jwtUtil,
-                          AuthenticationManager authenticationManager) {
+                          AuthenticationManager authenticationManager,
+                          OutboxService outboxService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.authenticationManager = authenticationManager;
+        this.outboxService = outboxService;
     }
 
     @Override
+    @Transactional
     public AuthResponse register(RegisterRequest request) {
         // Check if passwords match
         if (!request.getPassword().equals(request.getConfirmPassword())) {
@@ -59,6 +74,15 @@ public class AuthServiceImpl implements AuthService {
 
         User savedUser = userRepository.save(user);
 
+        // Queued in the same transaction; delivered by the outbox dispatcher after commit
+        outboxService.enqueue("welcome", savedUser.getEmail(),
+            "Welcome to TodoApp",
+            "Hi " + savedUser.getName() + ",\n\n" +
+            "Your TodoApp account has been created. Sign in at " + frontendUrl + "/login to get started.\n");
+
+        // The new account's first requests must not read from a replica that lacks it
+        TransactionHooks.afterCommit(() -> ReadYourWrites.recordWrite(savedUser.getEmail()));
+
         // Generate tokens
         String token = jwtUtil.generateToken(savedUser.getEmail());
         String refreshToken = jwtUtil.generateRefreshToken(savedUser.getEmail());
@@ -109,6 +133,9 @@ public class AuthServiceImpl implements AuthService {
         // Get user from database
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!user.isEnabled()) {
+            throw new RuntimeException("Account is disabled");
+        }
 
         // Generate new tokens
         String newToken = jwtUtil.generateToken(user.getEmail());
@@ -118,6 +145,7 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
+    @Transactional
     public void forgotPassword(String email) {
         // Check if user exists
         Optional<User> userOpt = userRepository.findByEmail(email);
@@ -131,11 +159,13 @@ public class AuthServiceImpl implements AuthService {
         // In a real application, you would:
         // 1. Generate a reset token
         // 2. Store it in the database with expiration
-        // 3. Send an email with the reset link
-        // 4. Use a proper email service
-        
-        // For now, we'll just log the action
-        System.out.println("Password reset requested for email: " + email);
+        // 3. Include the token in the reset link below
+        User user = userOpt.get();
+        outboxService.enqueue("password_reset", user.getEmail(),
+            "Reset your TodoApp password",
+            "Hi " + user.getName() + ",\n\n" +
+            "We received a request to reset your password. Continue at " + frontendUrl + "/reset-password.\n" +
+            "If you did not request this, you can ignore this email.\n");
     }
 
     @Override
@@ -148,8 +178,8 @@ public class AuthServiceImpl implements AuthService {
         // 3. Update the user's password
         // 4. Invalidate the reset token
         
-        // For now, we'll just log the action
-        System.out.println("Password reset with token: " + token);
+        // For now, we'll just log the action (never the token: it grants the account)
+        logger.info("Password reset requested; reset tokens are not issued yet, nothing changed");
     }
 
     @Override
@@ -161,8 +191,8 @@ public class AuthServiceImpl implements AuthService {
         // 2. Update the user's email_verified field
         // 3. Invalidate the verification token
         
-        // For now, we'll just log the action
-        System.out.println("Email verification with token: " + token);
+        // For now, we'll just log the action (never the token)
+        logger.info("Email verification requested; verification tokens are not issued yet, nothing changed");
     }
 
     private UserDTO convertToDTO(User user) {
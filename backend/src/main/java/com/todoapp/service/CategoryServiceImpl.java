@@ -1,11 +1,14 @@
 package com.todoapp.service;
 
 import com.todoapp.dto.CategoryDTO;
+import com.todoapp.dto.CategoryTaskCountDTO;
 import com.todoapp.dto.CreateCategoryRequest;
 import com.todoapp.dto.UpdateCategoryRequest;
 import com.todoapp.entity.Category;
+import com.todoapp.entity.Task;
 import com.todoapp.entity.User;
 import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TaskRepository;
 import com.todoapp.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -15,6 +18,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -26,29 +31,35 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final SuggestionService suggestionService;
+    private final ReferenceDataService referenceDataService;
+    private final DataVersionService dataVersionService;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository, UserRepository userRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, UserRepository userRepository,
+                               TaskRepository taskRepository, SuggestionService suggestionService,
+                               ReferenceDataService referenceDataService, DataVersionService dataVersionService) {
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.suggestionService = suggestionService;
+        this.referenceDataService = referenceDataService;
+        this.dataVersionService = dataVersionService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getCategories(String userEmail) {
         User user = getUserByEmail(userEmail);
-        List<Category> categories = categoryRepository.findByUserIdOrderByNameAsc(user.getId());
-        return categories.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return convertToDTOs(user, categoryRepository.findByUserIdOrderByNameAsc(user.getId()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getAllCategories(String userEmail) {
         User user = getUserByEmail(userEmail);
-        List<Category> categories = categoryRepository.findByUserIdOrderByNameAsc(user.getId());
-        return categories.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return convertToDTOs(user, categoryRepository.findByUserIdOrderByNameAsc(user.getId()));
     }
 
     @Override
@@ -67,7 +78,10 @@ public class CategoryServiceImpl implements CategoryService {
         category.setUser(user);
         
         Category savedCategory = categoryRepository.save(category);
-        return convertToDTO(savedCategory);
+        suggestionService.categorySaved(userEmail, savedCategory);
+        referenceDataService.invalidate(userEmail);
+        dataVersionService.bump(user);
+        return convertToDTO(savedCategory, null);
     }
 
     @Override
@@ -92,7 +106,10 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         Category updatedCategory = categoryRepository.save(category);
-        return convertToDTO(updatedCategory);
+        suggestionService.categorySaved(userEmail, updatedCategory);
+        referenceDataService.invalidate(userEmail);
+        dataVersionService.bump(user);
+        return convertToDTO(updatedCategory, countTasks(updatedCategory.getId()));
     }
 
     @Override
@@ -102,19 +119,23 @@ public class CategoryServiceImpl implements CategoryService {
             .orElseThrow(() -> new RuntimeException("Category not found"));
         
         // Check if category has tasks
-        if (!category.getTasks().isEmpty()) {
+        if (taskRepository.existsByCategoryId(category.getId())) {
             throw new RuntimeException("Cannot delete category with existing tasks");
         }
         
         categoryRepository.delete(category);
+        suggestionService.categoryDeleted(userEmail, category.getId());
+        referenceDataService.invalidate(userEmail);
+        dataVersionService.bump(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CategoryDTO getCategory(Long id, String userEmail) {
         User user = getUserByEmail(userEmail);
         Category category = categoryRepository.findByIdAndUserId(id, user.getId())
             .orElseThrow(() -> new RuntimeException("Category not found"));
-        return convertToDTO(category);
+        return convertToDTO(category, countTasks(category.getId()));
     }
 
     private User getUserByEmail(String email) {
@@ -122,7 +143,30 @@ public class CategoryServiceImpl implements CategoryService {
             .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    private CategoryDTO convertToDTO(Category category) {
+    /**
+     * Convert a user's categories, taking task counts from a single aggregate query
+     * instead of initializing each category's task collection.
+     */
+    private List<CategoryDTO> convertToDTOs(User user, List<Category> categories) {
+        if (categories.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CategoryTaskCountDTO> counts = taskRepository.countByCategoryForUser(user.getId(),
+                Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED, Task.TaskStatus.DELETED)
+            .stream()
+            .collect(Collectors.toMap(CategoryTaskCountDTO::getCategoryId, Function.identity()));
+        return categories.stream()
+            .map(category -> convertToDTO(category, counts.get(category.getId())))
+            .collect(Collectors.toList());
+    }
+
+    private CategoryTaskCountDTO countTasks(Long categoryId) {
+        return taskRepository.countForCategory(categoryId,
+                Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED, Task.TaskStatus.DELETED)
+            .orElse(null);
+    }
+
+    private CategoryDTO convertToDTO(Category category, CategoryTaskCountDTO counts) {
         CategoryDTO dto = new CategoryDTO();
         dto.setId(category.getId());
         dto.setName(category.getName());
@@ -130,7 +174,11 @@ public class CategoryServiceImpl implements CategoryService {
         dto.setColor(category.getColor());
         dto.setCreatedAt(category.getCreatedAt());
         dto.setUpdatedAt(category.getUpdatedAt());
-        dto.setTaskCount(category.getTasks() != null ? category.getTasks().size() : 0);
+        if (counts != null) {
+            dto.setTaskCount(counts.getTotalTasks());
+            dto.setPendingTaskCount(counts.getPendingTasks());
+            dto.setCompletedTaskCount(counts.getCompletedTasks());
+        }
         return dto;
     }
 } 
\ No newline at end of file
@@ -6,6 +6,8 @@ import com.todoapp.entity.Task;
 import com.todoapp.entity.User;
 import com.todoapp.repository.TaskRepository;
 import com.todoapp.repository.UserRepository;
+import com.todoapp.util.UsePool;
+import com.todoapp.util.WorkloadPool;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,7 +23,8 @@ import java.util.stream.Collectors;
  * Service implementation for dashboard operations.
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
+@UsePool(WorkloadPool.REPORTING)
 public class DashboardServiceImpl implements DashboardService {
 
     private final TaskRepository taskRepository;
@@ -56,7 +59,8 @@ public class DashboardServiceImpl implements DashboardService {
         }
         
         // Get today's tasks count
-        List<Task> todayTasks = taskRepository.findTodaysTasks(user.getId(), now);
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        List<Task> todayTasks = taskRepository.findTodaysTasks(user.getId(), today, today.plusDays(1));
         stats.setTodayTasks(todayTasks.size());
         
         // Get upcoming tasks count (next 7 days)
@@ -71,8 +75,8 @@ public class DashboardServiceImpl implements DashboardService {
     @Override
     public List<TaskDTO> getTodayTasks(String userEmail) {
         User user = getUserByEmail(userEmail);
-        LocalDateTime now = LocalDateTime.now();
-        List<Task> tasks = taskRepository.findTodaysTasks(user.getId(), now);
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        List<Task> tasks = taskRepository.findTodaysTasks(user.getId(), today, today.plusDays(1));
         return tasks.stream()
             .map(this::convertToTaskDTO)
             .collect(Collectors.toList());
@@ -0,0 +1,30 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.User;
+import com.todoapp.util.DataVersion;
+
+/**
+ * Service interface for per-user data versions, the basis of conditional GETs on task
+ * lists, categories, tags and the dashboard.
+ */
+public interface DataVersionService {
+
+    /**
+     * Get the user's current data version, from memory or, on first use, the database.
+     * @param userEmail User email
+     * @return Data version, or null if there is no such user
+     */
+    DataVersion current(String userEmail);
+
+    /**
+     * Move the user's data version forward, in the current transaction. Called by every
+     * write to the user's tasks, categories or tags.
+     */
+    void bump(User user);
+
+    /**
+     * Forget the in-memory version kept under an email (after an email change or account
+     * deletion) once the current transaction commits.
+     */
+    void evictUser(String userEmail);
+}
@@ -0,0 +1,77 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.User;
+import com.todoapp.entity.UserDataVersion;
+import com.todoapp.repository.UserDataVersionRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.util.DataVersion;
+import com.todoapp.util.PerUserCache;
+import com.todoapp.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Service implementation for per-user data versions.
+ *
+ * The database row is the source of truth and is incremented in the writing transaction,
+ * so a version never goes backwards across restarts. Versions are cached per user in
+ * memory and dropped after commit, so the next read on this instance picks up the committed
+ * value; a read that overlapped the commit is not cached. Other instances keep their copy
+ * until it expires, so the TTL is kept to a few seconds: that is how long another instance
+ * may still answer 304 for a list the user just changed.
+ */
+@Service
+public class DataVersionServiceImpl implements DataVersionService {
+
+    private final UserRepository userRepository;
+    private final UserDataVersionRepository userDataVersionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PerUserCache<DataVersion> versions;
+
+    @Autowired
+    public DataVersionServiceImpl(UserRepository userRepository,
+                                  UserDataVersionRepository userDataVersionRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.data-versions.ttl:PT5S}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.userDataVersionRepository = userDataVersionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.versions = new PerUserCache<>(ttl);
+    }
+
+    @Override
+    public DataVersion current(String userEmail) {
+        return versions.get(userEmail, this::load);
+    }
+
+    @Override
+    @Transactional
+    public void bump(User user) {
+        if (userDataVersionRepository.increment(user.getId(), LocalDateTime.now()) == 0) {
+            userDataVersionRepository.save(new UserDataVersion(user.getId(), 1L));
+        }
+        String userEmail = user.getEmail();
+        TransactionHooks.afterCommit(() -> versions.evict(userEmail));
+    }
+
+    @Override
+    public void evictUser(String userEmail) {
+        TransactionHooks.afterCommit(() -> versions.evict(userEmail));
+    }
+
+    private DataVersion load(String userEmail) {
+        return readOnlyTransaction.execute(status -> userRepository.findByEmail(userEmail)
+            .map(user -> new DataVersion(user.getId(), userDataVersionRepository.findById(user.getId())
+                .map(UserDataVersion::getVersion)
+                .orElse(0L)))
+            .orElse(null));
+    }
+}
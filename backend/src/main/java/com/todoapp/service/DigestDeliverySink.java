@@ -0,0 +1,21 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.DigestSummaryDTO;
+import com.todoapp.entity.ReportRun;
+
+import java.util.List;
+
+/**
+ * Destination for digest and weekly report summaries.
+ * Implementations receive one chunk of users at a time and should deliver it in bulk.
+ */
+public interface DigestDeliverySink {
+
+    /**
+     * Deliver the summaries of one chunk of users.
+     * @param reportType Report being delivered
+     * @param summaries Non-empty summaries for the chunk
+     * @return Number of deliveries made
+     */
+    int deliver(ReportRun.ReportType reportType, List<DigestSummaryDTO> summaries);
+}
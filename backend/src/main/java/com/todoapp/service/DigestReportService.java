@@ -0,0 +1,34 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.ReportRun;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for the daily digest and weekly report pipeline.
+ */
+public interface DigestReportService {
+
+    /**
+     * Run (or resume) a report for the period containing the given date.
+     * @param reportType Report to run
+     * @param date Date identifying the period
+     * @return The run after processing, or null if the same report is already running on this node
+     */
+    ReportRun runReport(ReportRun.ReportType reportType, LocalDate date);
+
+    /**
+     * Run today's daily digest.
+     */
+    void runDailyDigest();
+
+    /**
+     * Run this week's report.
+     */
+    void runWeeklyReport();
+
+    /**
+     * Resume runs that stopped making progress, e.g. after a crash.
+     */
+    void resumeInterruptedRuns();
+}
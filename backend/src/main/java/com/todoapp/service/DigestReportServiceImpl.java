@@ -0,0 +1,289 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.DigestSummaryDTO;
+import com.todoapp.entity.ReportRun;
+import com.todoapp.entity.Task;
+import com.todoapp.repository.ReportRunRepository;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserSettingsRepository;
+import com.todoapp.util.UsePool;
+import com.todoapp.util.WorkloadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for the daily digest and weekly report pipeline.
+ *
+ * Subscribed users are read in keyset-ordered chunks. Each wave of chunks is summarized
+ * (one aggregate query per chunk) and delivered on a bounded worker pool, then the run
+ * is checkpointed with the last user ID of the wave. An interrupted run resumes from the
+ * last checkpoint; chunks of the interrupted wave may be delivered twice.
+ */
+@Service
+@UsePool(WorkloadPool.REPORTING)
+public class DigestReportServiceImpl implements DigestReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DigestReportServiceImpl.class);
+
+    private final UserSettingsRepository userSettingsRepository;
+    private final TaskRepository taskRepository;
+    private final ReportRunRepository reportRunRepository;
+    private final DigestDeliverySink deliverySink;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<ReportRun.ReportType, AtomicBoolean> inProgress = new EnumMap<>(ReportRun.ReportType.class);
+
+    @Value("${app.reports.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.reports.worker-threads:4}")
+    private int workerThreads = 4;
+
+    @Value("${app.reports.zone:UTC}")
+    private String zone = "UTC";
+
+    /**
+     * Zone of the stored task timestamps: completed_at and created_at are written with the
+     * server's LocalDateTime.now(), so report windows are converted to it before querying.
+     */
+    private ZoneId storageZone = ZoneId.systemDefault();
+
+    @Value("${app.reports.stale-run-after:PT10M}")
+    private Duration staleRunAfter = Duration.ofMinutes(10);
+
+    @Autowired
+    public DigestReportServiceImpl(UserSettingsRepository userSettingsRepository,
+                                   TaskRepository taskRepository,
+                                   ReportRunRepository reportRunRepository,
+                                   DigestDeliverySink deliverySink,
+                                   PlatformTransactionManager transactionManager) {
+        this.userSettingsRepository = userSettingsRepository;
+        this.taskRepository = taskRepository;
+        this.reportRunRepository = reportRunRepository;
+        this.deliverySink = deliverySink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (ReportRun.ReportType reportType : ReportRun.ReportType.values()) {
+            inProgress.put(reportType, new AtomicBoolean(false));
+        }
+    }
+
+    @Override
+    public ReportRun runReport(ReportRun.ReportType reportType, LocalDate date) {
+        AtomicBoolean flag = inProgress.get(reportType);
+        if (!flag.compareAndSet(false, true)) {
+            logger.info("{} is already running on this node, skipping period {}", reportType, date);
+            return null;
+        }
+
+        try {
+            String periodKey = periodKey(reportType, date);
+            ReportRun run = transactionTemplate.execute(status ->
+                reportRunRepository.findByReportTypeAndPeriodKey(reportType, periodKey)
+                    .orElseGet(() -> reportRunRepository.save(new ReportRun(reportType, periodKey))));
+
+            if (run.isCompleted()) {
+                logger.debug("{} for {} already completed", reportType, periodKey);
+                return run;
+            }
+
+            logger.info("Running {} for {} from user ID {}", reportType, periodKey, run.getLastUserId());
+            return process(run, ReportWindow.of(reportType, date, ZoneId.of(zone), storageZone));
+        } finally {
+            flag.set(false);
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${app.reports.daily-digest.cron:0 0 6 * * *}", zone = "${app.reports.zone:UTC}")
+    public void runDailyDigest() {
+        runReport(ReportRun.ReportType.DAILY_DIGEST, LocalDate.now(ZoneId.of(zone)));
+    }
+
+    @Override
+    @Scheduled(cron = "${app.reports.weekly-report.cron:0 0 7 * * MON}", zone = "${app.reports.zone:UTC}")
+    public void runWeeklyReport() {
+        runReport(ReportRun.ReportType.WEEKLY_REPORT, LocalDate.now(ZoneId.of(zone)));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.reports.resume-check-interval:PT5M}",
+               initialDelayString = "${app.reports.resume-initial-delay:PT1M}")
+    public void resumeInterruptedRuns() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(staleRunAfter);
+        List<ReportRun> interrupted = reportRunRepository.findByStatusAndUpdatedAtBefore(ReportRun.RunStatus.RUNNING, cutoff);
+        for (ReportRun run : interrupted) {
+            logger.warn("Resuming interrupted {} for {} at user ID {}", run.getReportType(), run.getPeriodKey(), run.getLastUserId());
+            runReport(run.getReportType(), periodDate(run.getReportType(), run.getPeriodKey()));
+        }
+    }
+
+    private ReportRun process(ReportRun run, ReportWindow window) {
+        ReportRun.ReportType reportType = run.getReportType();
+        ExecutorService workers = newWorkerPool();
+        try {
+            long afterUserId = run.getLastUserId();
+            boolean exhausted = false;
+
+            while (!exhausted) {
+                List<List<Long>> wave = new ArrayList<>(workerThreads);
+                while (wave.size() < workerThreads) {
+                    List<Long> chunk = nextChunk(reportType, afterUserId);
+                    if (chunk.isEmpty()) {
+                        exhausted = true;
+                        break;
+                    }
+                    wave.add(chunk);
+                    afterUserId = chunk.get(chunk.size() - 1);
+                    if (chunk.size() < chunkSize) {
+                        exhausted = true;
+                        break;
+                    }
+                }
+
+                if (wave.isEmpty()) {
+                    break;
+                }
+
+                List<Future<Integer>> futures = new ArrayList<>(wave.size());
+                for (List<Long> chunk : wave) {
+                    futures.add(workers.submit(() -> processChunk(reportType, chunk, window)));
+                }
+
+                long processed = wave.stream().mapToLong(List::size).sum();
+                long delivered = 0;
+                for (Future<Integer> future : futures) {
+                    delivered += await(future);
+                }
+
+                run = checkpoint(run, afterUserId, processed, delivered);
+            }
+
+            ReportRun finished = run;
+            ReportRun completed = transactionTemplate.execute(status -> {
+                finished.markCompleted();
+                return reportRunRepository.save(finished);
+            });
+            logger.info("{} for {} completed: {} users processed, {} delivered",
+                completed.getReportType(), completed.getPeriodKey(), completed.getProcessedUsers(), completed.getDeliveredCount());
+            return completed;
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    private List<Long> nextChunk(ReportRun.ReportType reportType, long afterUserId) {
+        PageRequest page = PageRequest.of(0, chunkSize);
+        return reportType == ReportRun.ReportType.DAILY_DIGEST
+            ? userSettingsRepository.findDailyDigestUserIds(afterUserId, page)
+            : userSettingsRepository.findWeeklyReportUserIds(afterUserId, page);
+    }
+
+    private int processChunk(ReportRun.ReportType reportType, List<Long> userIds, ReportWindow window) {
+        Integer delivered = transactionTemplate.execute(status -> {
+            Map<Long, DigestSummaryDTO> byUser = taskRepository.summarizeForUsers(
+                    userIds, window.now(), window.periodStart(), window.periodEnd(),
+                    Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED, Task.TaskStatus.DELETED)
+                .stream()
+                .collect(Collectors.toMap(DigestSummaryDTO::getUserId, Function.identity()));
+
+            List<DigestSummaryDTO> summaries = userIds.stream()
+                .map(byUser::get)
+                .filter(Objects::nonNull)
+                .filter(DigestSummaryDTO::hasContent)
+                .collect(Collectors.toList());
+
+            return deliverySink.deliver(reportType, summaries);
+        });
+        return delivered != null ? delivered : 0;
+    }
+
+    private ReportRun checkpoint(ReportRun run, long lastUserId, long processed, long delivered) {
+        return transactionTemplate.execute(status -> {
+            run.checkpoint(lastUserId, processed, delivered);
+            return reportRunRepository.save(run);
+        });
+    }
+
+    private int await(Future<Integer> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Report run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Report chunk failed, run will resume from the last checkpoint", e.getCause());
+        }
+    }
+
+    private ExecutorService newWorkerPool() {
+        return new ThreadPoolExecutor(
+            workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(workerThreads),
+            WorkloadPool.REPORTING.threadFactory("report-worker-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    static String periodKey(ReportRun.ReportType reportType, LocalDate date) {
+        if (reportType == ReportRun.ReportType.DAILY_DIGEST) {
+            return date.toString();
+        }
+        return String.format("%d-W%02d", date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    static LocalDate periodDate(ReportRun.ReportType reportType, String periodKey) {
+        if (reportType == ReportRun.ReportType.DAILY_DIGEST) {
+            return LocalDate.parse(periodKey);
+        }
+        return LocalDate.parse(periodKey + "-1", DateTimeFormatter.ISO_WEEK_DATE);
+    }
+
+    /**
+     * Time boundaries of a report: activity since periodStart, tasks due before periodEnd.
+     * The period is laid out in the report zone, like the period's date; all three are then
+     * local times in the storage zone, comparable with the stored timestamps.
+     */
+    record ReportWindow(LocalDateTime now, LocalDateTime periodStart, LocalDateTime periodEnd) {
+
+        static ReportWindow of(ReportRun.ReportType reportType, LocalDate date, ZoneId reportZone, ZoneId storageZone) {
+            LocalDateTime now = LocalDateTime.now(storageZone);
+            LocalDateTime startOfDay = date.atStartOfDay();
+            if (reportType == ReportRun.ReportType.DAILY_DIGEST) {
+                return new ReportWindow(now, toStorage(startOfDay.minusDays(1), reportZone, storageZone),
+                    toStorage(startOfDay.plusDays(1), reportZone, storageZone));
+            }
+            return new ReportWindow(now, toStorage(startOfDay.minusWeeks(1), reportZone, storageZone),
+                toStorage(startOfDay.plusWeeks(1), reportZone, storageZone));
+        }
+
+        private static LocalDateTime toStorage(LocalDateTime reportTime, ZoneId reportZone, ZoneId storageZone) {
+            return reportTime.atZone(reportZone).withZoneSameInstant(storageZone).toLocalDateTime();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.DigestSummaryDTO;
+import com.todoapp.entity.ReportRun;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delivers digests as in-app notifications.
+ * Rows are written with a single JDBC batch per chunk instead of one persist per user.
+ */
+@Component
+public class NotificationDigestSink implements DigestDeliverySink {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (user_id, type, title, message, read, created_at) VALUES (?, ?, ?, ?, FALSE, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationDigestSink(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int deliver(ReportRun.ReportType reportType, List<DigestSummaryDTO> summaries) {
+        if (summaries.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String title = reportType == ReportRun.ReportType.DAILY_DIGEST ? "Your daily digest" : "Your weekly report";
+        List<Object[]> rows = new ArrayList<>(summaries.size());
+        for (DigestSummaryDTO summary : summaries) {
+            rows.add(new Object[] {summary.getUserId(), reportType.getValue(), title, buildMessage(reportType, summary), now});
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        return rows.size();
+    }
+
+    String buildMessage(ReportRun.ReportType reportType, DigestSummaryDTO summary) {
+        String period = reportType == ReportRun.ReportType.DAILY_DIGEST ? "today" : "this week";
+        String previous = reportType == ReportRun.ReportType.DAILY_DIGEST ? "yesterday" : "last week";
+        return String.format(
+            "You have %d pending tasks (%d overdue), %d due %s. You completed %d and created %d tasks %s.",
+            summary.getPendingTasks(), summary.getOverdueTasks(), summary.getDueInPeriod(), period,
+            summary.getCompletedInPeriod(), summary.getCreatedInPeriod(), previous
+        );
+    }
+}
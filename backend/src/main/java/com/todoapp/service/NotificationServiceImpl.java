@@ -8,6 +8,7 @@ import com.todoapp.entity.UserSettings;
 import com.todoapp.repository.NotificationRepository;
 import com.todoapp.repository.UserRepository;
 import com.todoapp.repository.UserSettingsRepository;
+import com.todoapp.util.ReferenceData;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,17 +30,21 @@ public class NotificationServiceImpl implements NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final UserSettingsRepository userSettingsRepository;
+    private final ReferenceDataService referenceDataService;
 
     @Autowired
     public NotificationServiceImpl(NotificationRepository notificationRepository, 
                                  UserRepository userRepository,
-                                 UserSettingsRepository userSettingsRepository) {
+                                 UserSettingsRepository userSettingsRepository,
+                                 ReferenceDataService referenceDataService) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
         this.userSettingsRepository = userSettingsRepository;
+        this.referenceDataService = referenceDataService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<NotificationDTO> getNotifications(String userEmail) {
         User user = getUserByEmail(userEmail);
         List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
@@ -67,9 +72,15 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     public NotificationSettingsDTO getNotificationSettings(String userEmail) {
+        ReferenceData.Settings cached = referenceDataService.get(userEmail).getSettings();
+        if (cached != null) {
+            return convertToNotificationSettingsDTO(cached);
+        }
+        
         User user = getUserByEmail(userEmail);
         UserSettings settings = userSettingsRepository.findByUserId(user.getId())
             .orElseGet(() -> createDefaultUserSettings(user));
+        referenceDataService.invalidate(userEmail);
         
         return convertToNotificationSettingsDTO(settings);
     }
@@ -98,6 +109,7 @@ public class NotificationServiceImpl implements NotificationService {
         }
         
         UserSettings savedSettings = userSettingsRepository.save(settings);
+        referenceDataService.invalidate(userEmail);
         return convertToNotificationSettingsDTO(savedSettings);
     }
 
@@ -149,4 +161,14 @@ public class NotificationServiceImpl implements NotificationService {
         dto.setWeeklyReport(settings.getWeeklyReport());
         return dto;
     }
+
+    private NotificationSettingsDTO convertToNotificationSettingsDTO(ReferenceData.Settings settings) {
+        NotificationSettingsDTO dto = new NotificationSettingsDTO();
+        dto.setEmailNotifications(settings.emailNotifications());
+        dto.setPushNotifications(settings.pushNotifications());
+        dto.setTaskReminders(settings.taskReminders());
+        dto.setDailyDigest(settings.dailyDigest());
+        dto.setWeeklyReport(settings.weeklyReport());
+        return dto;
+    }
 } 
\ No newline at end of file
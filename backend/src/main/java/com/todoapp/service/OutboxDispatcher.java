@@ -0,0 +1,270 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.OutboxMessage;
+import com.todoapp.repository.OutboxMessageRepository;
+import com.todoapp.util.UsePool;
+import com.todoapp.util.WorkloadPool;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the outbox table and delivers queued email.
+ *
+ * Each batch goes through three steps: claim due rows with FOR UPDATE SKIP LOCKED and mark
+ * them as sending (short transaction), send them with no transaction open, then record the
+ * outcome (short transaction). A batch is split across a small number of SMTP connections,
+ * each slice sent over a single connection. Failed messages are retried with exponential
+ * backoff until they run out of attempts.
+ */
+@Component
+@UsePool(WorkloadPool.BACKGROUND)
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectProvider<JavaMailSender> mailSenderProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private ExecutorService senders;
+
+    @Value("${app.outbox.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${app.outbox.sender-connections:2}")
+    private int senderConnections = 2;
+
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${app.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    @Value("${app.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    @Value("${app.outbox.claim-timeout:PT5M}")
+    private Duration claimTimeout = Duration.ofMinutes(5);
+
+    @Value("${app.mail.from:no-reply@todoapp.local}")
+    private String from = "no-reply@todoapp.local";
+
+    @Autowired
+    public OutboxDispatcher(OutboxMessageRepository outboxMessageRepository,
+                            ObjectProvider<JavaMailSender> mailSenderProvider,
+                            PlatformTransactionManager transactionManager) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.mailSenderProvider = mailSenderProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT5S}",
+               initialDelayString = "${app.outbox.initial-delay:PT10S}")
+    public void dispatchScheduled() {
+        dispatch();
+    }
+
+    /**
+     * Deliver due messages until the outbox is drained.
+     *
+     * @return number of messages attempted
+     */
+    public int dispatch() {
+        JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+        if (mailSender == null) {
+            // Mail is not configured; messages stay queued until it is
+            return 0;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        try {
+            releaseStaleClaims();
+            int attempted = 0;
+            List<OutboxMessage> batch;
+            do {
+                batch = claim();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                record(batch, send(mailSender, batch));
+                attempted += batch.size();
+            } while (batch.size() == batchSize);
+            return attempted;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (senders != null) {
+            senders.shutdown();
+        }
+    }
+
+    private void releaseStaleClaims() {
+        Integer released = transactionTemplate.execute(status ->
+            outboxMessageRepository.releaseStaleClaims(LocalDateTime.now().minus(claimTimeout),
+                OutboxMessage.OutboxStatus.SENDING, OutboxMessage.OutboxStatus.PENDING));
+        if (released != null && released > 0) {
+            logger.warn("Released {} stale outbox claims for retry", released);
+        }
+    }
+
+    private List<OutboxMessage> claim() {
+        List<OutboxMessage> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> due = outboxMessageRepository.lockDueMessages(now, batchSize);
+            due.forEach(message -> message.markSending(now));
+            return due;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private Map<OutboxMessage, Exception> send(JavaMailSender mailSender, List<OutboxMessage> batch) {
+        int connections = Math.max(1, Math.min(senderConnections, batch.size()));
+        int sliceSize = (batch.size() + connections - 1) / connections;
+
+        List<Future<Map<OutboxMessage, Exception>>> futures = new ArrayList<>(connections);
+        for (int start = 0; start < batch.size(); start += sliceSize) {
+            List<OutboxMessage> slice = batch.subList(start, Math.min(start + sliceSize, batch.size()));
+            futures.add(senders().submit(() -> sendOverOneConnection(mailSender, slice)));
+        }
+
+        Map<OutboxMessage, Exception> failures = new IdentityHashMap<>();
+        for (Future<Map<OutboxMessage, Exception>> future : futures) {
+            try {
+                failures.putAll(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Outbox dispatch interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Outbox sender failed", e.getCause());
+            }
+        }
+        return failures;
+    }
+
+    private Map<OutboxMessage, Exception> sendOverOneConnection(JavaMailSender mailSender, List<OutboxMessage> slice) {
+        Map<OutboxMessage, Exception> failures = new IdentityHashMap<>();
+        Map<MimeMessage, OutboxMessage> byMimeMessage = new IdentityHashMap<>();
+        List<MimeMessage> mimeMessages = new ArrayList<>(slice.size());
+
+        for (OutboxMessage message : slice) {
+            try {
+                MimeMessage mimeMessage = toMimeMessage(mailSender, message);
+                byMimeMessage.put(mimeMessage, message);
+                mimeMessages.add(mimeMessage);
+            } catch (MessagingException e) {
+                failures.put(message, e);
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            // JavaMailSender opens one transport for the whole array
+            mailSender.send(mimeMessages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                byMimeMessage.values().forEach(message -> failures.put(message, e));
+            } else {
+                failedMessages.forEach((mimeMessage, cause) -> {
+                    OutboxMessage message = byMimeMessage.get(mimeMessage);
+                    if (message != null) {
+                        failures.put(message, cause);
+                    }
+                });
+            }
+        } catch (MailException e) {
+            byMimeMessage.values().forEach(message -> failures.put(message, e));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(JavaMailSender mailSender, OutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+        helper.setFrom(from);
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), false);
+        return mimeMessage;
+    }
+
+    private void record(List<OutboxMessage> batch, Map<OutboxMessage, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = 0;
+        for (OutboxMessage message : batch) {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                message.markSent(now);
+            } else {
+                failed++;
+                message.markFailed(describe(failure), now.plus(backoff(message.getAttempts() + 1)), maxAttempts);
+                if (message.getStatus() == OutboxMessage.OutboxStatus.FAILED) {
+                    logger.error("Giving up on outbox message {} to {} after {} attempts: {}",
+                        message.getId(), message.getRecipient(), message.getAttempts(), message.getLastError());
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxMessageRepository.saveAll(batch));
+
+        if (failed > 0) {
+            logger.warn("Outbox batch finished: {} sent, {} failed", batch.size() - failed, failed);
+        } else {
+            logger.debug("Outbox batch finished: {} sent", batch.size());
+        }
+    }
+
+    Duration backoff(int attempt) {
+        int exponent = Math.min(Math.max(attempt - 1, 0), 20);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String describe(Exception e) {
+        String description = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return description.length() > MAX_ERROR_LENGTH ? description.substring(0, MAX_ERROR_LENGTH) : description;
+    }
+
+    private synchronized ExecutorService senders() {
+        if (senders == null) {
+            senders = Executors.newFixedThreadPool(Math.max(1, senderConnections),
+                new CustomizableThreadFactory("outbox-sender-"));
+        }
+        return senders;
+    }
+}
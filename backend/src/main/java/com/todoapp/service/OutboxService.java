@@ -0,0 +1,15 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.OutboxMessage;
+
+/**
+ * Service interface for queueing outgoing email.
+ */
+public interface OutboxService {
+
+    /**
+     * Queue an email for delivery. Joins the caller's transaction, so the
+     * message is only sent if the surrounding business change commits.
+     */
+    OutboxMessage enqueue(String messageType, String recipient, String subject, String body);
+}
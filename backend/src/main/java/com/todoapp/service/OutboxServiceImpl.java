@@ -0,0 +1,28 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.OutboxMessage;
+import com.todoapp.repository.OutboxMessageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of OutboxService.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    public OutboxServiceImpl(OutboxMessageRepository outboxMessageRepository) {
+        this.outboxMessageRepository = outboxMessageRepository;
+    }
+
+    @Override
+    public OutboxMessage enqueue(String messageType, String recipient, String subject, String body) {
+        return outboxMessageRepository.save(new OutboxMessage(messageType, recipient, subject, body));
+    }
+}
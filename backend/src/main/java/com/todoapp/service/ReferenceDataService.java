@@ -0,0 +1,28 @@
+package com.todoapp.service;
+
+import com.todoapp.util.ReferenceData;
+
+/**
+ * Service interface for the per-user reference data cache (categories, tags, settings).
+ */
+public interface ReferenceDataService {
+
+    /**
+     * Get the user's reference data, loading it on first use or after invalidation.
+     * @param userEmail User email
+     * @return Reference data snapshot
+     */
+    ReferenceData get(String userEmail);
+
+    /**
+     * Drop the user's cached reference data once the current transaction commits.
+     * Called by every write to the user's categories, tags or settings.
+     */
+    void invalidate(String userEmail);
+
+    /**
+     * Drop the user's cached reference data once the current transaction ends, even if
+     * it rolls back. Called when the snapshot turned out to name rows that are gone.
+     */
+    void discard(String userEmail);
+}
@@ -0,0 +1,100 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.User;
+import com.todoapp.entity.UserSettings;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TagRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.repository.UserSettingsRepository;
+import com.todoapp.util.PerUserCache;
+import com.todoapp.util.ReferenceData;
+import com.todoapp.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for the per-user reference data cache.
+ *
+ * A snapshot is loaded with three queries (categories, tags, settings) and cached per user.
+ * Writes invalidate it after commit; the cache's per-user versions keep a load that
+ * overlapped a write from being cached. Not {@code @Transactional}, so a hit costs no
+ * connection.
+ */
+@Service
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final UserSettingsRepository userSettingsRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PerUserCache<ReferenceData> snapshots;
+
+    @Autowired
+    public ReferenceDataServiceImpl(UserRepository userRepository,
+                                    CategoryRepository categoryRepository,
+                                    TagRepository tagRepository,
+                                    UserSettingsRepository userSettingsRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.reference-data.ttl:PT15M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.userSettingsRepository = userSettingsRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.snapshots = new PerUserCache<>(ttl);
+    }
+
+    @Override
+    public ReferenceData get(String userEmail) {
+        return snapshots.get(userEmail, this::load);
+    }
+
+    @Override
+    public void invalidate(String userEmail) {
+        TransactionHooks.afterCommit(() -> snapshots.evict(userEmail));
+    }
+
+    @Override
+    public void discard(String userEmail) {
+        TransactionHooks.afterCompletion(() -> snapshots.evict(userEmail));
+    }
+
+    private ReferenceData load(String userEmail) {
+        return readOnlyTransaction.execute(status -> {
+            User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            return new ReferenceData(
+                user.getId(),
+                categoryRepository.findByUserIdOrderByNameAsc(user.getId()).stream()
+                    .map(category -> new ReferenceData.CategoryRef(category.getId(), category.getName(), category.getColor()))
+                    .collect(Collectors.toList()),
+                tagRepository.findByUserIdOrderByNameAsc(user.getId()).stream()
+                    .map(tag -> new ReferenceData.TagRef(tag.getId(), tag.getName(), tag.getColor()))
+                    .collect(Collectors.toList()),
+                userSettingsRepository.findByUserId(user.getId())
+                    .map(this::toSettings)
+                    .orElse(null));
+        });
+    }
+
+    private ReferenceData.Settings toSettings(UserSettings settings) {
+        return new ReferenceData.Settings(
+            settings.getTheme().name().toLowerCase(),
+            settings.getLanguage(),
+            settings.getTimeZone(),
+            settings.getEmailNotifications(),
+            settings.getPushNotifications(),
+            settings.getTaskReminders(),
+            settings.getDailyDigest(),
+            settings.getWeeklyReport());
+    }
+}
@@ -0,0 +1,56 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.SuggestionDTO;
+import com.todoapp.entity.Category;
+import com.todoapp.entity.Tag;
+
+import java.util.List;
+
+/**
+ * Service interface for tag and category autocomplete.
+ */
+public interface SuggestionService {
+
+    /**
+     * Suggest tags whose name (or a word in it) starts with the query, most used first.
+     * @param userEmail User email
+     * @param query Prefix typed so far
+     * @param limit Maximum number of suggestions
+     * @return Ranked suggestions
+     */
+    List<SuggestionDTO> suggestTags(String userEmail, String query, int limit);
+
+    /**
+     * Suggest categories whose name (or a word in it) starts with the query, most used first.
+     * @param userEmail User email
+     * @param query Prefix typed so far
+     * @param limit Maximum number of suggestions
+     * @return Ranked suggestions
+     */
+    List<SuggestionDTO> suggestCategories(String userEmail, String query, int limit);
+
+    /**
+     * Add or replace a tag in the user's index once the current transaction commits.
+     */
+    void tagSaved(String userEmail, Tag tag);
+
+    /**
+     * Remove a tag from the user's index once the current transaction commits.
+     */
+    void tagDeleted(String userEmail, Long tagId);
+
+    /**
+     * Add or replace a category in the user's index once the current transaction commits.
+     */
+    void categorySaved(String userEmail, Category category);
+
+    /**
+     * Remove a category from the user's index once the current transaction commits.
+     */
+    void categoryDeleted(String userEmail, Long categoryId);
+
+    /**
+     * Drop all cached indexes for a user.
+     */
+    void evictUser(String userEmail);
+}
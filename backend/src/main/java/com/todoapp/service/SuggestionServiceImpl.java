@@ -0,0 +1,157 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.CategoryTaskCountDTO;
+import com.todoapp.dto.SuggestionDTO;
+import com.todoapp.dto.TagUsageDTO;
+import com.todoapp.entity.Category;
+import com.todoapp.entity.Tag;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TagRepository;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.util.PerUserCache;
+import com.todoapp.util.PrefixIndex;
+import com.todoapp.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for tag and category autocomplete.
+ *
+ * Each user's tag and category names are held in an in-memory {@link PrefixIndex}, built
+ * lazily on first use and patched after tag/category writes commit. Suggestions are served
+ * from memory; the database is only read to build an index after a miss or expiry. This
+ * class is deliberately not {@code @Transactional}, so a cache hit never opens a transaction
+ * or borrows a connection.
+ */
+@Service
+public class SuggestionServiceImpl implements SuggestionService {
+
+    static final int MAX_LIMIT = 50;
+
+    private final UserRepository userRepository;
+    private final TagRepository tagRepository;
+    private final CategoryRepository categoryRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PerUserCache<PrefixIndex> tagIndexes;
+    private final PerUserCache<PrefixIndex> categoryIndexes;
+
+    @Autowired
+    public SuggestionServiceImpl(UserRepository userRepository,
+                                 TagRepository tagRepository,
+                                 CategoryRepository categoryRepository,
+                                 TaskRepository taskRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.suggest.ttl:PT10M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.tagRepository = tagRepository;
+        this.categoryRepository = categoryRepository;
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.tagIndexes = new PerUserCache<>(ttl);
+        this.categoryIndexes = new PerUserCache<>(ttl);
+    }
+
+    @Override
+    public List<SuggestionDTO> suggestTags(String userEmail, String query, int limit) {
+        return toSuggestions(tagIndexes.get(userEmail, this::loadTagIndex), query, limit);
+    }
+
+    @Override
+    public List<SuggestionDTO> suggestCategories(String userEmail, String query, int limit) {
+        return toSuggestions(categoryIndexes.get(userEmail, this::loadCategoryIndex), query, limit);
+    }
+
+    @Override
+    public void tagSaved(String userEmail, Tag tag) {
+        Long id = tag.getId();
+        String name = tag.getName();
+        String color = tag.getColor();
+        TransactionHooks.afterCommit(() -> tagIndexes.update(userEmail, index -> index.withEntry(
+            new PrefixIndex.Entry(id, name, color, usageOf(index, id)))));
+    }
+
+    @Override
+    public void tagDeleted(String userEmail, Long tagId) {
+        TransactionHooks.afterCommit(() -> tagIndexes.update(userEmail, index -> index.withoutEntry(tagId)));
+    }
+
+    @Override
+    public void categorySaved(String userEmail, Category category) {
+        Long id = category.getId();
+        String name = category.getName();
+        String color = category.getColor();
+        TransactionHooks.afterCommit(() -> categoryIndexes.update(userEmail, index -> index.withEntry(
+            new PrefixIndex.Entry(id, name, color, usageOf(index, id)))));
+    }
+
+    @Override
+    public void categoryDeleted(String userEmail, Long categoryId) {
+        TransactionHooks.afterCommit(() -> categoryIndexes.update(userEmail, index -> index.withoutEntry(categoryId)));
+    }
+
+    @Override
+    public void evictUser(String userEmail) {
+        TransactionHooks.afterCommit(() -> {
+            tagIndexes.evict(userEmail);
+            categoryIndexes.evict(userEmail);
+        });
+    }
+
+    private PrefixIndex loadTagIndex(String userEmail) {
+        return readOnlyTransaction.execute(status -> {
+            User user = getUserByEmail(userEmail);
+            Map<Long, Long> usage = taskRepository.countByTagForUser(user.getId(), Task.TaskStatus.DELETED)
+                .stream()
+                .collect(Collectors.toMap(TagUsageDTO::getTagId, TagUsageDTO::getTaskCount));
+            return PrefixIndex.of(tagRepository.findByUserIdOrderByNameAsc(user.getId()).stream()
+                .map(tag -> new PrefixIndex.Entry(tag.getId(), tag.getName(), tag.getColor(),
+                    usage.getOrDefault(tag.getId(), 0L)))
+                .collect(Collectors.toList()));
+        });
+    }
+
+    private PrefixIndex loadCategoryIndex(String userEmail) {
+        return readOnlyTransaction.execute(status -> {
+            User user = getUserByEmail(userEmail);
+            Map<Long, Long> usage = taskRepository.countByCategoryForUser(user.getId(),
+                    Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED, Task.TaskStatus.DELETED)
+                .stream()
+                .collect(Collectors.toMap(CategoryTaskCountDTO::getCategoryId, CategoryTaskCountDTO::getTotalTasks));
+            return PrefixIndex.of(categoryRepository.findByUserIdOrderByNameAsc(user.getId()).stream()
+                .map(category -> new PrefixIndex.Entry(category.getId(), category.getName(), category.getColor(),
+                    usage.getOrDefault(category.getId(), 0L)))
+                .collect(Collectors.toList()));
+        });
+    }
+
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    private static long usageOf(PrefixIndex index, Long id) {
+        PrefixIndex.Entry existing = index.get(id);
+        return existing != null ? existing.usageCount() : 0;
+    }
+
+    private static List<SuggestionDTO> toSuggestions(PrefixIndex index, String query, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return index.suggest(query, boundedLimit).stream()
+            .map(entry -> new SuggestionDTO(entry.id(), entry.name(), entry.color(), entry.usageCount()))
+            .collect(Collectors.toList());
+    }
+}
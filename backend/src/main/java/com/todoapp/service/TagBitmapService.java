@@ -0,0 +1,31 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TagQuery;
+import com.todoapp.entity.Task;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+/**
+ * Service interface for per-user tag bitmaps used by multi-tag task filtering.
+ */
+public interface TagBitmapService {
+
+    /**
+     * Evaluate a tag query against the user's bitmaps, building them on first use and
+     * rebuilding them when the user's data version has moved.
+     * @param userEmail User email
+     * @param query Tag query
+     * @return IDs of the user's live tasks matching the query
+     */
+    Roaring64NavigableMap matchingTaskIds(String userEmail, TagQuery query);
+
+    /**
+     * Drop the user's bitmaps once the current transaction commits; the next tag query
+     * rebuilds them.
+     */
+    void taskChanged(String userEmail, Task task);
+
+    /**
+     * Drop the cached bitmaps for a user.
+     */
+    void evictUser(String userEmail);
+}
@@ -0,0 +1,100 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TagQuery;
+import com.todoapp.dto.TaskTagLinkDTO;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.util.DataVersion;
+import com.todoapp.util.PerUserCache;
+import com.todoapp.util.TagBitmaps;
+import com.todoapp.util.TransactionHooks;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Service implementation for per-user tag bitmaps.
+ *
+ * A user's bitmaps are built lazily from two queries (live task IDs and tag assignments)
+ * and cached per user together with the user's data version at build time. Every write to
+ * the user's tasks or tags, on any instance, moves that version, so a query finding a
+ * different version rebuilds the bitmaps instead of matching against old assignments. The
+ * version itself is cached for a few seconds (see DataVersionServiceImpl), which bounds how
+ * stale a match can be after a write through another instance.
+ */
+@Service
+public class TagBitmapServiceImpl implements TagBitmapService {
+
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PerUserCache<VersionedBitmaps> bitmaps;
+
+    @Autowired
+    public TagBitmapServiceImpl(UserRepository userRepository,
+                                TaskRepository taskRepository,
+                                DataVersionService dataVersionService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.tasks.tag-bitmaps.ttl:PT30M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.dataVersionService = dataVersionService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.bitmaps = new PerUserCache<>(ttl);
+    }
+
+    @Override
+    public Roaring64NavigableMap matchingTaskIds(String userEmail, TagQuery query) {
+        // Read before the bitmaps, so a build never carries a newer version than its data
+        DataVersion version = dataVersionService.current(userEmail);
+        if (version == null) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        VersionedBitmaps cached = bitmaps.get(userEmail, email -> load(email, version.version()));
+        if (cached.version() != version.version()) {
+            bitmaps.evict(userEmail);
+            cached = bitmaps.get(userEmail, email -> load(email, version.version()));
+        }
+        return cached.bitmaps().evaluate(query.getAll(), query.getAny(), query.getNone());
+    }
+
+    @Override
+    public void taskChanged(String userEmail, Task task) {
+        // The write moves the data version, which outdates these bitmaps anyway; free them now
+        TransactionHooks.afterCommit(() -> bitmaps.evict(userEmail));
+    }
+
+    @Override
+    public void evictUser(String userEmail) {
+        TransactionHooks.afterCommit(() -> bitmaps.evict(userEmail));
+    }
+
+    private VersionedBitmaps load(String userEmail, long version) {
+        return readOnlyTransaction.execute(status -> {
+            User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+            TagBitmaps.Builder builder = TagBitmaps.builder();
+            for (Long taskId : taskRepository.findLiveTaskIds(user.getId(), Task.TaskStatus.DELETED)) {
+                builder.addTask(taskId);
+            }
+            for (TaskTagLinkDTO link : taskRepository.findTagLinks(user.getId(), Task.TaskStatus.DELETED)) {
+                builder.addAssignment(link.getTaskId(), link.getTagId());
+            }
+            return new VersionedBitmaps(version, builder.build());
+        });
+    }
+
+    private record VersionedBitmaps(long version, TagBitmaps bitmaps) {
+    }
+}
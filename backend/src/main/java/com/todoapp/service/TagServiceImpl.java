@@ -7,6 +7,9 @@ import com.todoapp.entity.Tag;
 import com.todoapp.entity.User;
 import com.todoapp.repository.TagRepository;
 import com.todoapp.repository.UserRepository;
+import com.todoapp.util.TransactionHooks;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -27,14 +30,25 @@ public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
     private final UserRepository userRepository;
+    private final SuggestionService suggestionService;
+    private final ReferenceDataService referenceDataService;
+    private final DataVersionService dataVersionService;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Autowired
-    public TagServiceImpl(TagRepository tagRepository, UserRepository userRepository) {
+    public TagServiceImpl(TagRepository tagRepository, UserRepository userRepository,
+                          SuggestionService suggestionService, ReferenceDataService referenceDataService,
+                          DataVersionService dataVersionService, EntityManagerFactory entityManagerFactory) {
         this.tagRepository = tagRepository;
         this.userRepository = userRepository;
+        this.suggestionService = suggestionService;
+        this.referenceDataService = referenceDataService;
+        this.dataVersionService = dataVersionService;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TagDTO> getTags(String userEmail) {
         User user = getUserByEmail(userEmail);
         List<Tag> tags = tagRepository.findByUserIdOrderByNameAsc(user.getId());
@@ -44,6 +58,7 @@ public class TagServiceImpl implements TagService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TagDTO> getAllTags(String userEmail) {
         User user = getUserByEmail(userEmail);
         List<Tag> tags = tagRepository.findByUserIdOrderByNameAsc(user.getId());
@@ -71,6 +86,9 @@ public class TagServiceImpl implements TagService {
         tag.setUser(user);
         
         Tag savedTag = tagRepository.save(tag);
+        suggestionService.tagSaved(userEmail, savedTag);
+        referenceDataService.invalidate(userEmail);
+        dataVersionService.bump(user);
         return convertToDTO(savedTag);
     }
 
@@ -98,6 +116,9 @@ public class TagServiceImpl implements TagService {
         }
         
         Tag updatedTag = tagRepository.save(tag);
+        suggestionService.tagSaved(userEmail, updatedTag);
+        referenceDataService.invalidate(userEmail);
+        dataVersionService.bump(user);
         return convertToDTO(updatedTag);
     }
 
@@ -107,15 +128,22 @@ public class TagServiceImpl implements TagService {
         Tag tag = tagRepository.findByIdAndUserId(id, user.getId())
             .orElseThrow(() -> new ResourceNotFoundException("Tag not found"));
         
-        // Check if tag is used by any tasks
-        if (!tag.getTasks().isEmpty()) {
+        // Check if tag is used by any tasks; tag.getTasks() would miss soft-deleted ones
+        if (tagRepository.countTaskLinks(tag.getId()) > 0) {
             throw new RuntimeException("Cannot delete tag that is used by tasks");
         }
         
         tagRepository.delete(tag);
+        suggestionService.tagDeleted(userEmail, tag.getId());
+        referenceDataService.invalidate(userEmail);
+        dataVersionService.bump(user);
+        // Cached tag collections of tasks must not keep pointing at the deleted tag
+        TransactionHooks.afterCommit(() -> entityManagerFactory.getCache().unwrap(Cache.class)
+            .evictCollectionData("com.todoapp.entity.Task.tags"));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TagDTO getTag(Long id, String userEmail) {
         User user = getUserByEmail(userEmail);
         Tag tag = tagRepository.findByIdAndUserId(id, user.getId())
@@ -0,0 +1,13 @@
+package com.todoapp.service;
+
+/**
+ * Service interface for archiving old completed tasks.
+ */
+public interface TaskArchiveService {
+
+    /**
+     * Move tasks completed longer ago than the configured age into the archive, in chunks.
+     * @return Number of tasks archived
+     */
+    int archiveCompletedTasks();
+}
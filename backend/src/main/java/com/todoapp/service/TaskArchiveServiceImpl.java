@@ -0,0 +1,104 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.User;
+import com.todoapp.repository.ArchivedTaskRepository;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.util.UsePool;
+import com.todoapp.util.WorkloadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service implementation for archiving old completed tasks.
+ *
+ * Tasks completed longer ago than completed-for are moved to tasks_archive in chunks of
+ * at most chunk-size tasks, each in its own short transaction: lock the oldest archivable
+ * rows (skipping rows another instance holds), copy them with their tag IDs, delete their
+ * tag links, then the tasks. A chunk that fails rolls back whole, so the job resumes where
+ * it stopped on the next run. The tombstone trigger reports archived tasks to delta sync as
+ * deleted; they remain readable through the history listing.
+ */
+@Service
+@UsePool(WorkloadPool.BACKGROUND)
+public class TaskArchiveServiceImpl implements TaskArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiveServiceImpl.class);
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
+    private final TagBitmapService tagBitmapService;
+    private final SuggestionService suggestionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.tasks.archive.completed-for:P90D}")
+    private Duration completedFor = Duration.ofDays(90);
+
+    @Value("${app.tasks.archive.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Autowired
+    public TaskArchiveServiceImpl(TaskRepository taskRepository,
+                                  ArchivedTaskRepository archivedTaskRepository,
+                                  UserRepository userRepository,
+                                  DataVersionService dataVersionService,
+                                  TagBitmapService tagBitmapService,
+                                  SuggestionService suggestionService,
+                                  PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.userRepository = userRepository;
+        this.dataVersionService = dataVersionService;
+        this.tagBitmapService = tagBitmapService;
+        this.suggestionService = suggestionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.tasks.archive.interval:PT1H}",
+               initialDelayString = "${app.tasks.archive.initial-delay:PT10M}")
+    public int archiveCompletedTasks() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(completedFor);
+        int archived = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            archived += chunk;
+        } while (chunk == chunkSize);
+
+        if (archived > 0) {
+            logger.info("Archived {} tasks completed before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<Long> taskIds = taskRepository.lockArchivableIds(cutoff, chunkSize);
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        archivedTaskRepository.archive(taskIds, LocalDateTime.now());
+        taskRepository.deleteTagLinksOfTasks(taskIds);
+        int moved = taskRepository.deleteCompletedByIds(taskIds);
+
+        // The tasks left the live listings, counts and tag filters of their owners
+        for (User user : userRepository.findAllById(archivedTaskRepository.findUserIdsByIdIn(taskIds))) {
+            dataVersionService.bump(user);
+            tagBitmapService.evictUser(user.getEmail());
+            suggestionService.evictUser(user.getEmail());
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,34 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskEvent;
+
+/**
+ * Service interface for publishing task events to {@link TaskEventListener}s.
+ */
+public interface TaskEventBus {
+
+    /**
+     * Store an event in the current transaction and deliver it asynchronously once the
+     * transaction commits. Nothing is delivered if it rolls back.
+     */
+    void publish(TaskEvent event);
+
+    /**
+     * Deliver events whose delivery was lost (instance stopped) in ID order per user, and
+     * retry users whose events are held back by a full stripe queue.
+     * @return Number of events handed to the listeners again
+     */
+    int replayUndelivered();
+
+    /**
+     * Record the events delivered since the last call, in one statement.
+     * @return Number of events marked delivered
+     */
+    int recordDeliveries();
+
+    /**
+     * Delete delivered events older than the retention, in chunks.
+     * @return Number of events deleted
+     */
+    int removeDeliveredEvents();
+}
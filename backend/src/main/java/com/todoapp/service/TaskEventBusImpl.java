@@ -0,0 +1,347 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TaskEvent;
+import com.todoapp.entity.DomainEvent;
+import com.todoapp.repository.DomainEventRepository;
+import com.todoapp.util.TransactionHooks;
+import com.todoapp.util.UsePool;
+import com.todoapp.util.WorkloadPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service implementation for task events.
+ *
+ * An event is stored in domain_events in the publishing transaction, then handed to a
+ * delivery thread after commit, so listeners never run inside the request or its
+ * transaction. Events wait in a per-user list ordered by ID, and each user with waiting
+ * events has one drain task on a single-threaded executor (stripe) chosen by user ID: one
+ * user's events are delivered one at a time in ID order, different users' in parallel.
+ * Each stripe queues at most queue-capacity drain tasks; when it is full publishing does
+ * not wait, the event stays in its user's list and the user's drain is scheduled again by
+ * the next event for that user or the next replay run, so a later event never overtakes it.
+ * Replay reclaims events whose claim is older than claim-timeout (e.g. queued on an
+ * instance that stopped before delivering them) and merges them into the same lists.
+ *
+ * Deliveries are recorded in batches every ack-interval and delivered rows are deleted
+ * after the retention. With no listener registered, publishing does nothing.
+ */
+@Service
+@UsePool(WorkloadPool.BACKGROUND)
+public class TaskEventBusImpl implements TaskEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventBusImpl.class);
+
+    private final DomainEventRepository domainEventRepository;
+    private final ObjectProvider<TaskEventListener> listenerProvider;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor[] stripes;
+    private final Queue<Long> delivered = new ConcurrentLinkedQueue<>();
+    // Guarded by itself; a user's entry exists while it has events not yet handed to listeners
+    private final Map<Long, UserEvents> pending = new HashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Counter deferred;
+    private final Counter replayed;
+    private final Timer lag;
+    private volatile List<TaskEventListener> listeners;
+
+    @Value("${app.events.claim-timeout:PT1M}")
+    private Duration claimTimeout = Duration.ofMinutes(1);
+
+    @Value("${app.events.replay-batch-size:500}")
+    private int replayBatchSize = 500;
+
+    @Value("${app.events.retention:P1D}")
+    private Duration retention = Duration.ofDays(1);
+
+    @Value("${app.events.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Autowired
+    public TaskEventBusImpl(DomainEventRepository domainEventRepository,
+                            ObjectProvider<TaskEventListener> listenerProvider,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.events.stripes:4}") int stripeCount,
+                            @Value("${app.events.queue-capacity:1000}") int queueCapacity) {
+        this.domainEventRepository = domainEventRepository;
+        this.listenerProvider = listenerProvider;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new ThreadPoolExecutor[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                WorkloadPool.BACKGROUND.threadFactory("task-events-" + i + "-"));
+        }
+        Gauge.builder("todoapp.events.queued", pendingCount, AtomicInteger::get)
+            .description("Events waiting for delivery")
+            .register(meterRegistry);
+        this.deferred = Counter.builder("todoapp.events.deferred")
+            .description("Events held back because their stripe's queue was full")
+            .register(meterRegistry);
+        this.replayed = Counter.builder("todoapp.events.replayed")
+            .description("Events delivered again after a lost or deferred delivery")
+            .register(meterRegistry);
+        this.lag = Timer.builder("todoapp.events.lag")
+            .description("Time from publishing an event to the end of its delivery")
+            .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(TaskEvent event) {
+        if (listeners().isEmpty()) {
+            return;
+        }
+        DomainEvent stored = domainEventRepository.save(new DomainEvent(event.userId(), event.type(), toJson(event)));
+        meterRegistry.counter("todoapp.events.published", "type", event.type()).increment();
+        TransactionHooks.afterCommit(() -> dispatch(stored, event));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.events.replay-interval:PT30S}",
+               initialDelayString = "${app.events.replay-interval:PT30S}")
+    public int replayUndelivered() {
+        if (listeners().isEmpty()) {
+            return 0;
+        }
+        List<DomainEvent> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<DomainEvent> stale = domainEventRepository.lockStaleClaims(now.minus(claimTimeout), replayBatchSize);
+            stale.forEach(stored -> stored.setClaimedAt(now));
+            return stale;
+        });
+        if (claimed == null) {
+            claimed = List.of();
+        }
+
+        // Merged into the users' lists before any drain starts, so each list is delivered in
+        // ID order; users held back by a full stripe queue are retried as well
+        synchronized (pending) {
+            claimed.stream().sorted(Comparator.comparing(DomainEvent::getId)).forEach(stored -> {
+                TaskEvent event = fromJson(stored);
+                if (event != null) {
+                    enqueue(stored, event);
+                } else {
+                    // Unreadable (e.g. an event type since removed); never retried
+                    delivered.add(stored.getId());
+                }
+            });
+            pending.keySet().forEach(this::schedule);
+        }
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        replayed.increment(claimed.size());
+        logger.warn("Replayed {} task events whose delivery was lost", claimed.size());
+        return claimed.size();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.events.ack-interval:PT1S}")
+    public int recordDeliveries() {
+        int recorded = 0;
+        List<Long> ids = new ArrayList<>();
+        Long id;
+        while ((id = delivered.poll()) != null) {
+            ids.add(id);
+            if (ids.size() == chunkSize) {
+                recorded += markDelivered(ids);
+                ids = new ArrayList<>();
+            }
+        }
+        if (!ids.isEmpty()) {
+            recorded += markDelivered(ids);
+        }
+        return recorded;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.events.cleanup-interval:PT1H}",
+               initialDelayString = "${app.events.cleanup-interval:PT1H}")
+    public int removeDeliveredEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int removed = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> domainEventRepository.deleteDeliveredBefore(cutoff, chunkSize));
+            removed += chunk;
+        } while (chunk == chunkSize);
+        return removed;
+    }
+
+    /**
+     * Stop taking events and give queued ones a moment to finish; whatever is still pending
+     * is replayed later, by this instance after a restart or by another one.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        recordDeliveries();
+    }
+
+    private void dispatch(DomainEvent stored, TaskEvent event) {
+        synchronized (pending) {
+            enqueue(stored, event);
+            if (!schedule(event.userId())) {
+                deferred.increment();
+            }
+        }
+    }
+
+    /**
+     * Add an event to its user's list; an event already there (replayed while still
+     * waiting here) is not added twice. Caller holds the pending lock.
+     */
+    private void enqueue(DomainEvent stored, TaskEvent event) {
+        UserEvents events = pending.computeIfAbsent(event.userId(), userId -> new UserEvents());
+        if (events.waiting.putIfAbsent(stored.getId(), new PendingEvent(stored, event)) == null) {
+            pendingCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Make sure the user's list is being drained on its stripe. Returns false if the stripe
+     * queue is full; the events stay in the list for the next attempt. Caller holds the
+     * pending lock.
+     */
+    private boolean schedule(Long userId) {
+        UserEvents events = pending.get(userId);
+        if (events == null || events.draining) {
+            return true;
+        }
+        ThreadPoolExecutor stripe = stripes[Math.floorMod(Long.hashCode(userId), stripes.length)];
+        try {
+            stripe.execute(() -> drain(userId));
+            events.draining = true;
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void drain(Long userId) {
+        PendingEvent next;
+        while ((next = next(userId)) != null) {
+            deliver(next.stored(), next.event());
+        }
+    }
+
+    /**
+     * The user's oldest waiting event, or null when the list is empty, which ends its drain.
+     */
+    private PendingEvent next(Long userId) {
+        synchronized (pending) {
+            UserEvents events = pending.get(userId);
+            Map.Entry<Long, PendingEvent> oldest = events != null ? events.waiting.pollFirstEntry() : null;
+            if (oldest == null) {
+                pending.remove(userId);
+                return null;
+            }
+            pendingCount.decrementAndGet();
+            return oldest.getValue();
+        }
+    }
+
+    private void deliver(DomainEvent stored, TaskEvent event) {
+        for (TaskEventListener listener : listeners()) {
+            String name = listener.getClass().getSimpleName();
+            String outcome = "success";
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                listener.onTaskEvent(event);
+            } catch (RuntimeException e) {
+                outcome = "error";
+                logger.error("Task event listener {} failed on event {} ({})", name, stored.getId(), event.type(), e);
+            } finally {
+                sample.stop(meterRegistry.timer("todoapp.events.listener", "listener", name, "outcome", outcome));
+            }
+        }
+        lag.record(Duration.between(stored.getCreatedAt(), LocalDateTime.now()));
+        delivered.add(stored.getId());
+    }
+
+    private int markDelivered(List<Long> ids) {
+        // On failure the events stay undelivered and are replayed; listeners are idempotent
+        Integer marked = transactionTemplate.execute(status ->
+            domainEventRepository.markDelivered(ids, LocalDateTime.now()));
+        return marked != null ? marked : 0;
+    }
+
+    private List<TaskEventListener> listeners() {
+        // Resolved on first use, so listeners may depend on services that publish events
+        List<TaskEventListener> resolved = listeners;
+        if (resolved == null) {
+            resolved = listenerProvider.orderedStream().toList();
+            listeners = resolved;
+        }
+        return resolved;
+    }
+
+    private String toJson(TaskEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize task event " + event.type(), e);
+        }
+    }
+
+    private TaskEvent fromJson(DomainEvent stored) {
+        try {
+            return objectMapper.readValue(stored.getPayload(), TaskEvent.class);
+        } catch (JsonProcessingException e) {
+            logger.error("Dropping unreadable task event {} ({})", stored.getId(), stored.getEventType(), e);
+            return null;
+        }
+    }
+
+    private record PendingEvent(DomainEvent stored, TaskEvent event) {}
+
+    private static final class UserEvents {
+        private final NavigableMap<Long, PendingEvent> waiting = new TreeMap<>();
+        private boolean draining;
+    }
+}
@@ -0,0 +1,22 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskEvent;
+
+/**
+ * Reacts to task changes after they commit. Every bean implementing this interface
+ * receives every task event.
+ *
+ * Calls are made on a background thread, one event at a time per user and in the order
+ * the changes committed, so an implementation may keep per-user state without locking.
+ * Delivery is at least once: an event can arrive again after a crash or an overflow, so
+ * handling must be idempotent. A listener that throws is logged and skipped; the event
+ * is not retried for it.
+ */
+public interface TaskEventListener {
+
+    /**
+     * Handle one event. Should be quick: a slow listener holds up later events of every
+     * user on the same delivery thread.
+     */
+    void onTaskEvent(TaskEvent event);
+}
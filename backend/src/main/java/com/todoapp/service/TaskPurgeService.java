@@ -0,0 +1,13 @@
+package com.todoapp.service;
+
+/**
+ * Service interface for purging soft-deleted tasks.
+ */
+public interface TaskPurgeService {
+
+    /**
+     * Hard-delete tasks that were soft-deleted longer ago than the undo window, in chunks.
+     * @return Number of tasks purged
+     */
+    int purgeDeletedTasks();
+}
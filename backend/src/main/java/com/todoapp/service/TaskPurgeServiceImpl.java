@@ -0,0 +1,74 @@
+package com.todoapp.service;
+
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.util.UsePool;
+import com.todoapp.util.WorkloadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service implementation for purging soft-deleted tasks.
+ *
+ * A deleted task stays restorable for the undo window (grace-period), then is removed
+ * in chunks of at most chunk-size tasks, each in its own short transaction: lock the
+ * oldest purgeable rows (skipping rows another instance holds), delete their tag links,
+ * then the tasks. The tombstone trigger records each removal for delta sync.
+ */
+@Service
+@UsePool(WorkloadPool.BACKGROUND)
+public class TaskPurgeServiceImpl implements TaskPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPurgeServiceImpl.class);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.tasks.purge.grace-period:P7D}")
+    private Duration gracePeriod = Duration.ofDays(7);
+
+    @Value("${app.tasks.purge.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Autowired
+    public TaskPurgeServiceImpl(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.tasks.purge.interval:PT1H}",
+               initialDelayString = "${app.tasks.purge.initial-delay:PT5M}")
+    public int purgeDeletedTasks() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(gracePeriod);
+        int purged = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> purgeChunk(cutoff));
+            purged += chunk;
+        } while (chunk == chunkSize);
+
+        if (purged > 0) {
+            logger.info("Purged {} tasks deleted before {}", purged, cutoff);
+        }
+        return purged;
+    }
+
+    private int purgeChunk(LocalDateTime cutoff) {
+        List<Long> taskIds = taskRepository.lockPurgeableIds(cutoff, chunkSize);
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        taskRepository.deleteTagLinksOfTasks(taskIds);
+        return taskRepository.deleteDeletedByIds(taskIds);
+    }
+}
@@ -1,9 +1,11 @@
 package com.todoapp.service;
 
 import com.todoapp.dto.TaskDTO;
+import com.todoapp.dto.TaskChangesDTO;
 import com.todoapp.dto.CreateTaskRequest;
 import com.todoapp.dto.UpdateTaskRequest;
 import com.todoapp.dto.BulkTaskRequest;
+import com.todoapp.dto.TagQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -26,6 +28,40 @@ public interface TaskService {
      */
     Page<TaskDTO> getTasks(String userEmail, String status, String priority, Long categoryId, String search, Pageable pageable);
     
+    /**
+     * Get live and archived tasks for a user with optional filters (history listing).
+     * @param userEmail User email
+     * @param status Task status filter
+     * @param priority Task priority filter
+     * @param categoryId Category filter
+     * @param search Search term
+     * @param pageable Pagination
+     * @return Page of tasks, archived ones flagged
+     */
+    Page<TaskDTO> getTaskHistory(String userEmail, String status, String priority, Long categoryId, String search, Pageable pageable);
+    
+    /**
+     * Get tasks for a user matching a boolean tag query.
+     * @param userEmail User email
+     * @param query Tags the tasks must have all of, any of, and none of
+     * @param pageable Pagination
+     * @return Page of tasks
+     */
+    Page<TaskDTO> getTasksByTags(String userEmail, TagQuery query, Pageable pageable);
+    
+    /**
+     * Get the tasks changed and deleted since a sync token (delta sync).
+     * @param userEmail User email
+     * @param since Token from the previous sync, or null for a starting token only
+     * @return Changes and the token for the next sync
+     */
+    TaskChangesDTO getChanges(String userEmail, String since);
+    
+    /**
+     * Remove tombstones of hard-deleted tasks older than the sync tombstone retention.
+     */
+    void removeExpiredTombstones();
+    
     /**
      * Create a new task.
      * @param request Task creation request
@@ -58,6 +94,14 @@ public interface TaskService {
      */
     void deleteTask(Long id, String userEmail);
     
+    /**
+     * Restore a deleted task that has not been purged yet.
+     * @param id Task ID
+     * @param userEmail User email
+     * @return Restored task, pending again
+     */
+    TaskDTO restoreTask(Long id, String userEmail);
+    
     /**
      * Update task status.
      * @param id Task ID
@@ -1,23 +1,48 @@
 package com.todoapp.service;
 
 import com.todoapp.dto.TaskDTO;
+import com.todoapp.dto.TaskChangesDTO;
+import com.todoapp.dto.TaskEvent;
 import com.todoapp.dto.CreateTaskRequest;
 import com.todoapp.dto.UpdateTaskRequest;
 import com.todoapp.dto.BulkTaskRequest;
+import com.todoapp.dto.TagQuery;
+import com.todoapp.dto.TaskTagLinkDTO;
 import com.todoapp.entity.Task;
 import com.todoapp.entity.User;
 import com.todoapp.entity.Category;
 import com.todoapp.entity.Tag;
+import com.todoapp.entity.TaskHistoryEntry;
+import com.todoapp.entity.TaskTombstone;
+import com.todoapp.exception.BusinessException;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.exception.SyncTokenExpiredException;
 import com.todoapp.repository.TaskRepository;
 import com.todoapp.repository.UserRepository;
 import com.todoapp.repository.CategoryRepository;
 import com.todoapp.repository.TagRepository;
+import com.todoapp.repository.TaskTombstoneRepository;
+import com.todoapp.repository.TaskHistoryRepository;
+import com.todoapp.util.ReferenceData;
+import com.todoapp.util.SyncToken;
+import com.todoapp.util.UsePool;
+import com.todoapp.util.WorkloadPool;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -29,64 +54,232 @@ import java.util.stream.Collectors;
 @Transactional
 public class TaskServiceImpl implements TaskService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
+    private final TagBitmapService tagBitmapService;
+    private final ReferenceDataService referenceDataService;
+    private final DataVersionService dataVersionService;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskHistoryRepository taskHistoryRepository;
+    private final TaskEventBus taskEventBus;
+
+    // Tag queries sorted by anything other than ID pass the whole match set to the database
+    @Value("${app.tasks.tag-query.max-sorted-matches:10000}")
+    private int maxSortedMatches = 10000;
+
+    // updated_at is the writing transaction's start time, so a change can become visible up to
+    // the longest task transaction (plus replica lag) after its timestamp; sync tokens never
+    // move past this window
+    @Value("${app.tasks.sync.settle-window:PT1M}")
+    private Duration syncSettleWindow = Duration.ofMinutes(1);
+
+    @Value("${app.tasks.sync.page-size:500}")
+    private int syncPageSize = 500;
+
+    @Value("${app.tasks.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention = Duration.ofDays(30);
 
     @Autowired
     public TaskServiceImpl(TaskRepository taskRepository, 
                           UserRepository userRepository,
                           CategoryRepository categoryRepository,
-                          TagRepository tagRepository) {
+                          TagRepository tagRepository,
+                          TagBitmapService tagBitmapService,
+                          ReferenceDataService referenceDataService,
+                          DataVersionService dataVersionService,
+                          TaskTombstoneRepository taskTombstoneRepository,
+                          TaskHistoryRepository taskHistoryRepository,
+                          TaskEventBus taskEventBus) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
         this.tagRepository = tagRepository;
+        this.tagBitmapService = tagBitmapService;
+        this.referenceDataService = referenceDataService;
+        this.dataVersionService = dataVersionService;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskHistoryRepository = taskHistoryRepository;
+        this.taskEventBus = taskEventBus;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<TaskDTO> getTasks(String userEmail, String status, String priority, 
                                  Long categoryId, String search, Pageable pageable) {
-        User user = getUserByEmail(userEmail);
-        System.out.println("Getting tasks for user ID: " + user.getId());
+        // The cached reference data supplies the user ID and category/tag names, so a page
+        // costs the page query, its count and one batched tag fetch
+        ReferenceData refs = referenceDataService.get(userEmail);
+        Long userId = refs.getUserId();
         
         Page<Task> tasks;
         
         if (search != null && !search.trim().isEmpty()) {
-            tasks = taskRepository.findByUserIdAndSearch(user.getId(), search.trim(), pageable);
+            tasks = taskRepository.findByUserIdAndSearch(userId, search.trim(), pageable);
         } else if (status != null && !status.trim().isEmpty()) {
             Task.TaskStatus taskStatus = Task.TaskStatus.valueOf(status.toUpperCase());
-            tasks = taskRepository.findByUserIdAndStatus(user.getId(), taskStatus, pageable);
+            tasks = taskRepository.findByUserIdAndStatus(userId, taskStatus, pageable);
         } else if (priority != null && !priority.trim().isEmpty()) {
             Task.TaskPriority taskPriority = Task.TaskPriority.valueOf(priority.toUpperCase());
-            tasks = taskRepository.findByUserIdAndPriority(user.getId(), taskPriority, pageable);
+            tasks = taskRepository.findByUserIdAndPriority(userId, taskPriority, pageable);
         } else if (categoryId != null) {
-            tasks = taskRepository.findByUserIdAndCategoryId(user.getId(), categoryId, pageable);
+            tasks = taskRepository.findByUserIdAndCategoryId(userId, categoryId, pageable);
         } else {
-            tasks = taskRepository.findByUserId(user.getId(), pageable);
+            tasks = taskRepository.findByUserId(userId, pageable);
         }
+        logger.debug("Listed {} of {} tasks for user {} (page {}, size {})", tasks.getNumberOfElements(),
+            tasks.getTotalElements(), userId, pageable.getPageNumber(), pageable.getPageSize());
         
-        System.out.println("Found " + tasks.getTotalElements() + " tasks in database");
-        System.out.println("Tasks content size: " + tasks.getContent().size());
-        System.out.println("Page number: " + pageable.getPageNumber());
-        System.out.println("Page size: " + pageable.getPageSize());
-        System.out.println("Offset: " + pageable.getOffset());
-        
-        try {
-            Page<TaskDTO> result = tasks.map(this::convertToDTO);
-            System.out.println("Mapped to " + result.getContent().size() + " DTOs");
-            return result;
-        } catch (Exception e) {
-            System.err.println("Error during mapping: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+        return tasks.map(task -> convertToDTO(task, refs));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskDTO> getTaskHistory(String userEmail, String status, String priority,
+                                        Long categoryId, String search, Pageable pageable) {
+        ReferenceData refs = referenceDataService.get(userEmail);
+        Long userId = refs.getUserId();
+
+        Page<TaskHistoryEntry> entries;
+        if (search != null && !search.trim().isEmpty()) {
+            entries = taskHistoryRepository.findByUserIdAndSearch(userId, search.trim(), pageable);
+        } else if (status != null && !status.trim().isEmpty()) {
+            Task.TaskStatus taskStatus = Task.TaskStatus.valueOf(status.toUpperCase());
+            entries = taskHistoryRepository.findByUserIdAndStatus(userId, taskStatus, pageable);
+        } else if (priority != null && !priority.trim().isEmpty()) {
+            Task.TaskPriority taskPriority = Task.TaskPriority.valueOf(priority.toUpperCase());
+            entries = taskHistoryRepository.findByUserIdAndPriority(userId, taskPriority, pageable);
+        } else if (categoryId != null) {
+            entries = taskHistoryRepository.findByUserIdAndCategoryId(userId, categoryId, pageable);
+        } else {
+            entries = taskHistoryRepository.findByUserId(userId, pageable);
         }
+
+        // Archived rows carry their tag IDs; live rows need one batched tag fetch
+        List<Long> liveIds = entries.getContent().stream()
+            .filter(entry -> !entry.isArchived())
+            .map(TaskHistoryEntry::getId)
+            .toList();
+        Map<Long, List<Long>> liveTagIds = liveIds.isEmpty() ? Map.of()
+            : taskRepository.findTagLinksOfTasks(liveIds).stream()
+                .collect(Collectors.groupingBy(TaskTagLinkDTO::getTaskId,
+                    Collectors.mapping(TaskTagLinkDTO::getTagId, Collectors.toList())));
+
+        return entries.map(entry -> convertToDTO(entry, entry.isArchived()
+            ? Arrays.asList(entry.getTagIds())
+            : liveTagIds.getOrDefault(entry.getId(), List.of()), refs));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskDTO> getTasksByTags(String userEmail, TagQuery query, Pageable pageable) {
+        User user = getUserByEmail(userEmail);
+        Roaring64NavigableMap matches = tagBitmapService.matchingTaskIds(userEmail, query);
+        long total = matches.getLongCardinality();
+        if (total == 0) {
+            return Page.empty(pageable);
+        }
+
+        Sort sort = pageable.getSort();
+        if (pageable.isUnpaged() || isIdOnly(sort)) {
+            // The bitmap is already ordered by ID: slice the page out of it and fetch just those rows
+            boolean descending = sort.isSorted() && sort.iterator().next().isDescending();
+            long from = pageable.isPaged() ? pageable.getOffset() : 0;
+            long to = pageable.isPaged() ? Math.min(total, from + pageable.getPageSize()) : total;
+            List<Long> pageIds = new ArrayList<>();
+            for (long i = from; i < to; i++) {
+                pageIds.add(matches.select(descending ? total - 1 - i : i));
+            }
+            if (pageIds.isEmpty()) {
+                return new PageImpl<>(List.of(), pageable, total);
+            }
+
+            Map<Long, Task> byId = taskRepository.findByUserIdAndIdIn(user.getId(), pageIds).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+            List<TaskDTO> content = pageIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+            return new PageImpl<>(content, pageable, total);
+        }
+
+        if (total > maxSortedMatches) {
+            throw new BusinessException("Tag query matches " + total + " tasks; narrow it or sort by id");
+        }
+        List<Long> ids = new ArrayList<>((int) total);
+        matches.forEach(ids::add);
+        return taskRepository.findByUserIdAndIdIn(user.getId(), ids, pageable).map(this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesDTO getChanges(String userEmail, String since) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime settled = now.minus(syncSettleWindow);
+        TaskChangesDTO changes = new TaskChangesDTO();
+        if (since == null || since.isBlank()) {
+            // Starting token: taken before the client's full load, so nothing falls in between
+            changes.setToken(SyncToken.at(settled).encode());
+            return changes;
+        }
+
+        SyncToken token = SyncToken.decode(since);
+        if (token.oldest().isBefore(now.minus(tombstoneRetention))) {
+            throw new SyncTokenExpiredException("Sync token is older than the deletion history; reload all tasks");
+        }
+        ReferenceData refs = referenceDataService.get(userEmail);
+        PageRequest page = PageRequest.of(0, syncPageSize + 1);
+
+        List<Task> tasks = taskRepository.findChangedAfter(
+            refs.getUserId(), token.tasks().at(), token.tasks().id(), page);
+        boolean moreTasks = tasks.size() > syncPageSize;
+        if (moreTasks) {
+            tasks = tasks.subList(0, syncPageSize);
+        }
+        for (Task task : tasks) {
+            if (task.getStatus() == Task.TaskStatus.DELETED) {
+                changes.getDeleted().add(task.getId());
+            } else {
+                changes.getChanged().add(convertToDTO(task, refs));
+            }
+        }
+
+        List<TaskTombstone> tombstones = taskTombstoneRepository.findAfter(
+            refs.getUserId(), token.tombstones().at(), token.tombstones().id(), page);
+        boolean moreTombstones = tombstones.size() > syncPageSize;
+        if (moreTombstones) {
+            tombstones = tombstones.subList(0, syncPageSize);
+        }
+        tombstones.forEach(tombstone -> changes.getDeleted().add(tombstone.getTaskId()));
+
+        // A full page that ends before the settle window resumes after its last row; otherwise
+        // every settled row has been sent and the stream resumes at the window
+        SyncToken.Cursor lastTask = moreTasks ? lastCursor(tasks.get(tasks.size() - 1)) : null;
+        SyncToken.Cursor lastTombstone = moreTombstones ? lastCursor(tombstones.get(tombstones.size() - 1)) : null;
+        boolean resumeInTasks = lastTask != null && !lastTask.at().isAfter(settled);
+        boolean resumeInTombstones = lastTombstone != null && !lastTombstone.at().isAfter(settled);
+        changes.setToken(new SyncToken(
+            resumeInTasks ? lastTask : windowCursor(token.tasks(), settled),
+            resumeInTombstones ? lastTombstone : windowCursor(token.tombstones(), settled)).encode());
+        changes.setHasMore(resumeInTasks || resumeInTombstones);
+        return changes;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.tasks.sync.tombstone-cleanup-interval:PT1H}",
+               initialDelayString = "${app.tasks.sync.tombstone-cleanup-interval:PT1H}")
+    public void removeExpiredTombstones() {
+        taskTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
     }
 
     @Override
     public TaskDTO createTask(CreateTaskRequest request, String userEmail) {
         User user = getUserByEmail(userEmail);
+        ReferenceData refs = referencesFor(userEmail, request.getCategoryId(), request.getTagIds());
         
         Task task = new Task();
         task.setTitle(request.getTitle());
@@ -97,24 +290,26 @@ public class TaskServiceImpl implements TaskService {
         
         // Set category if provided
         if (request.getCategoryId() != null) {
-            Category category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
-            task.setCategory(category);
+            task.setCategory(categoryReference(refs, request.getCategoryId()));
         }
         
         // Set tags if provided
         if (request.getTagIds() != null && !request.getTagIds().isEmpty()) {
-            Set<Tag> tags = tagRepository.findAllById(request.getTagIds())
-                .stream()
-                .collect(Collectors.toSet());
-            task.setTags(tags);
+            task.setTags(tagReferences(refs, request.getTagIds()));
         }
         
         Task savedTask = taskRepository.save(task);
-        return convertToDTO(savedTask);
+        if (request.getCategoryId() != null || request.getTagIds() != null) {
+            flushReferences(userEmail);
+        }
+        tagBitmapService.taskChanged(userEmail, savedTask);
+        dataVersionService.bump(user);
+        taskEventBus.publish(new TaskEvent.TaskCreated(user.getId(), savedTask.getId()));
+        return convertToDTO(savedTask, refs);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TaskDTO getTask(Long id, String userEmail) {
         User user = getUserByEmail(userEmail);
         Task task = taskRepository.findByIdAndUserId(id, user.getId())
@@ -140,20 +335,24 @@ public class TaskServiceImpl implements TaskService {
         if (request.getDueDate() != null) {
             task.setDueDate(request.getDueDate());
         }
+        ReferenceData refs = referencesFor(userEmail, request.getCategoryId(), request.getTagIds());
         if (request.getCategoryId() != null) {
-            Category category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
-            task.setCategory(category);
+            task.setCategory(categoryReference(refs, request.getCategoryId()));
         }
         if (request.getTagIds() != null) {
-            Set<Tag> tags = tagRepository.findAllById(request.getTagIds())
-                .stream()
-                .collect(Collectors.toSet());
-            task.setTags(tags);
+            task.setTags(tagReferences(refs, request.getTagIds()));
         }
         
         Task updatedTask = taskRepository.save(task);
-        return convertToDTO(updatedTask);
+        if (request.getCategoryId() != null || request.getTagIds() != null) {
+            flushReferences(userEmail);
+        }
+        if (request.getTagIds() != null) {
+            tagBitmapService.taskChanged(userEmail, updatedTask);
+        }
+        dataVersionService.bump(user);
+        taskEventBus.publish(new TaskEvent.TaskUpdated(user.getId(), task.getId()));
+        return convertToDTO(updatedTask, refs);
     }
 
     @Override
@@ -164,6 +363,26 @@ public class TaskServiceImpl implements TaskService {
         
         task.setStatus(Task.TaskStatus.DELETED);
         taskRepository.save(task);
+        tagBitmapService.taskChanged(userEmail, task);
+        dataVersionService.bump(user);
+        taskEventBus.publish(new TaskEvent.TaskDeleted(user.getId(), task.getId()));
+    }
+
+    @Override
+    public TaskDTO restoreTask(Long id, String userEmail) {
+        User user = getUserByEmail(userEmail);
+        Task task = taskRepository.findDeletedByIdAndUserId(id, user.getId())
+            .orElseThrow(() -> new RuntimeException("Task not found"));
+        
+        // completed_at is cleared on delete, so a restored task is pending again
+        task.setStatus(Task.TaskStatus.PENDING);
+        task.setCompletedAt(null);
+        Task restoredTask = taskRepository.save(task);
+        tagBitmapService.taskChanged(userEmail, restoredTask);
+        dataVersionService.bump(user);
+        taskEventBus.publish(new TaskEvent.TaskStatusChanged(user.getId(), task.getId(),
+            Task.TaskStatus.DELETED, Task.TaskStatus.PENDING));
+        return convertToDTO(restoredTask, referenceDataService.get(userEmail));
     }
 
     @Override
@@ -172,6 +391,7 @@ public class TaskServiceImpl implements TaskService {
         Task task = taskRepository.findByIdAndUserId(id, user.getId())
             .orElseThrow(() -> new RuntimeException("Task not found"));
         
+        Task.TaskStatus oldStatus = task.getStatus();
         Task.TaskStatus newStatus = Task.TaskStatus.valueOf(status.toUpperCase());
         task.setStatus(newStatus);
         
@@ -182,13 +402,21 @@ public class TaskServiceImpl implements TaskService {
         }
         
         Task updatedTask = taskRepository.save(task);
+        tagBitmapService.taskChanged(userEmail, updatedTask);
+        dataVersionService.bump(user);
+        if (newStatus != oldStatus) {
+            taskEventBus.publish(new TaskEvent.TaskStatusChanged(user.getId(), task.getId(), oldStatus, newStatus));
+        }
         return convertToDTO(updatedTask);
     }
 
     @Override
+    @UsePool(WorkloadPool.BACKGROUND)
     public Map<String, Object> bulkOperations(BulkTaskRequest request, String userEmail) {
         User user = getUserByEmail(userEmail);
         Map<String, Object> result = new HashMap<>();
+        Set<Long> changedIds = new HashSet<>();
+        TaskEvent event;
         
         switch (request.getOperation().toUpperCase()) {
             case "DELETE":
@@ -196,10 +424,13 @@ public class TaskServiceImpl implements TaskService {
                 tasksToDelete.forEach(task -> {
                     if (task.getUser().getId().equals(user.getId())) {
                         task.setStatus(Task.TaskStatus.DELETED);
+                        tagBitmapService.taskChanged(userEmail, task);
+                        changedIds.add(task.getId());
                     }
                 });
                 taskRepository.saveAll(tasksToDelete);
                 result.put("deleted", tasksToDelete.size());
+                event = new TaskEvent.TasksDeleted(user.getId(), changedIds);
                 break;
                 
             case "COMPLETE":
@@ -208,37 +439,47 @@ public class TaskServiceImpl implements TaskService {
                     if (task.getUser().getId().equals(user.getId())) {
                         task.setStatus(Task.TaskStatus.COMPLETED);
                         task.setCompletedAt(LocalDateTime.now());
+                        changedIds.add(task.getId());
                     }
                 });
                 taskRepository.saveAll(tasksToComplete);
                 result.put("completed", tasksToComplete.size());
+                event = new TaskEvent.TasksStatusChanged(user.getId(), changedIds, Task.TaskStatus.COMPLETED);
                 break;
                 
             case "MOVE_TO_CATEGORY":
                 if (request.getCategoryId() == null) {
                     throw new RuntimeException("Category ID is required for move operation");
                 }
-                Category category = categoryRepository.findById(request.getCategoryId())
-                    .orElseThrow(() -> new RuntimeException("Category not found"));
+                Category category = categoryReference(referencesFor(userEmail, request.getCategoryId(), null),
+                    request.getCategoryId());
                 
                 List<Task> tasksToMove = taskRepository.findAllById(request.getTaskIds());
                 tasksToMove.forEach(task -> {
                     if (task.getUser().getId().equals(user.getId())) {
                         task.setCategory(category);
+                        changedIds.add(task.getId());
                     }
                 });
                 taskRepository.saveAll(tasksToMove);
+                flushReferences(userEmail);
                 result.put("moved", tasksToMove.size());
+                event = new TaskEvent.TasksUpdated(user.getId(), changedIds);
                 break;
                 
             default:
                 throw new RuntimeException("Unsupported bulk operation: " + request.getOperation());
         }
         
+        dataVersionService.bump(user);
+        if (!changedIds.isEmpty()) {
+            taskEventBus.publish(event);
+        }
         return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public String exportTasks(String userEmail, String format) {
         User user = getUserByEmail(userEmail);
         List<Task> tasks = taskRepository.findByUserId(user.getId(), Pageable.unpaged()).getContent();
@@ -255,6 +496,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @UsePool(WorkloadPool.BACKGROUND)
     public Map<String, Object> importTasks(String importData, String format, String userEmail) {
         User user = getUserByEmail(userEmail);
         Map<String, Object> result = new HashMap<>();
@@ -275,41 +517,192 @@ public class TaskServiceImpl implements TaskService {
             .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    private TaskDTO convertToDTO(Task task) {
+    /**
+     * The user's cached reference data, reloaded once if it lacks the category or a tag the
+     * request names: one just created through another instance may not be in this snapshot yet.
+     */
+    private ReferenceData referencesFor(String userEmail, Long categoryId, Collection<Long> tagIds) {
+        ReferenceData refs = referenceDataService.get(userEmail);
+        boolean complete = (categoryId == null || refs.category(categoryId) != null)
+            && (tagIds == null || tagIds.stream().allMatch(tagId -> refs.tag(tagId) != null));
+        if (complete) {
+            return refs;
+        }
+        referenceDataService.invalidate(userEmail);
+        return referenceDataService.get(userEmail);
+    }
+
+    /**
+     * Flush a write that links a category or tags. The references are checked only against
+     * the cached snapshot, so one deleted through another instance shows up here as a foreign
+     * key violation; that is a 404, and the snapshot is dropped even though the transaction
+     * rolls back.
+     */
+    private void flushReferences(String userEmail) {
         try {
-            System.out.println("Converting task: " + task.getId() + " - " + task.getTitle());
-            
-            TaskDTO dto = new TaskDTO();
-            dto.setId(task.getId());
-            dto.setTitle(task.getTitle());
-            dto.setDescription(task.getDescription());
-            dto.setStatus(task.getStatus().getValue());
-            dto.setPriority(task.getPriority().getValue());
-            dto.setDueDate(task.getDueDate());
-            dto.setCompletedAt(task.getCompletedAt());
-            dto.setCreatedAt(task.getCreatedAt());
-            dto.setUpdatedAt(task.getUpdatedAt());
-            dto.setOverdue(task.isOverdue());
-            
-            if (task.getCategory() != null) {
-                dto.setCategoryId(task.getCategory().getId());
-                dto.setCategoryName(task.getCategory().getName());
-                dto.setCategoryColor(task.getCategory().getColor());
+            taskRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            referenceDataService.discard(userEmail);
+            throw new ResourceNotFoundException("Category or tag not found");
+        }
+    }
+
+    /**
+     * Reference to one of the user's categories, checked against the cached reference data
+     * instead of loaded.
+     */
+    private Category categoryReference(ReferenceData refs, Long categoryId) {
+        if (refs.category(categoryId) == null) {
+            throw new ResourceNotFoundException("Category not found");
+        }
+        return categoryRepository.getReferenceById(categoryId);
+    }
+
+    /**
+     * References to the user's tags, checked against the cached reference data.
+     */
+    private Set<Tag> tagReferences(ReferenceData refs, Collection<Long> tagIds) {
+        Set<Tag> tags = new HashSet<>();
+        for (Long tagId : new LinkedHashSet<>(tagIds)) {
+            if (refs.tag(tagId) == null) {
+                throw new ResourceNotFoundException("Tag not found");
             }
-            
-            if (task.getTags() != null) {
-                dto.setTags(task.getTags().stream()
-                    .map(this::convertTagToDTO)
-                    .collect(Collectors.toSet()));
+            tags.add(tagRepository.getReferenceById(tagId));
+        }
+        return tags;
+    }
+
+    /**
+     * Resume position after every row up to the settle window; rows inside the window are
+     * sent again on the next sync (clients apply changes idempotently).
+     */
+    private static SyncToken.Cursor windowCursor(SyncToken.Cursor from, LocalDateTime settled) {
+        SyncToken.Cursor window = SyncToken.Cursor.after(settled);
+        return window.compareTo(from) > 0 ? window : from;
+    }
+
+    private static SyncToken.Cursor lastCursor(Task task) {
+        return new SyncToken.Cursor(task.getUpdatedAt(), task.getId());
+    }
+
+    private static SyncToken.Cursor lastCursor(TaskTombstone tombstone) {
+        return new SyncToken.Cursor(tombstone.getDeletedAt(), tombstone.getId());
+    }
+
+    private boolean isIdOnly(Sort sort) {
+        return sort.isUnsorted()
+            || (sort.stream().count() == 1 && "id".equals(sort.iterator().next().getProperty()));
+    }
+
+    private TaskDTO convertToDTO(Task task) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(task.getId());
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setStatus(task.getStatus().getValue());
+        dto.setPriority(task.getPriority().getValue());
+        dto.setDueDate(task.getDueDate());
+        dto.setCompletedAt(task.getCompletedAt());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setOverdue(task.isOverdue());
+        
+        if (task.getCategory() != null) {
+            dto.setCategoryId(task.getCategory().getId());
+            dto.setCategoryName(task.getCategory().getName());
+            dto.setCategoryColor(task.getCategory().getColor());
+        }
+        
+        if (task.getTags() != null) {
+            dto.setTags(task.getTags().stream()
+                .map(this::convertTagToDTO)
+                .collect(Collectors.toSet()));
+        }
+
+        return dto;
+    }
+
+    /**
+     * Convert a task using the user's reference data for category and tag names and colors,
+     * so category references on the task are never initialized.
+     */
+    private TaskDTO convertToDTO(Task task, ReferenceData refs) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(task.getId());
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setStatus(task.getStatus().getValue());
+        dto.setPriority(task.getPriority().getValue());
+        dto.setDueDate(task.getDueDate());
+        dto.setCompletedAt(task.getCompletedAt());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setOverdue(task.isOverdue());
+
+        if (task.getCategory() != null) {
+            ReferenceData.CategoryRef category = refs.category(task.getCategory().getId());
+            dto.setCategoryId(task.getCategory().getId());
+            dto.setCategoryName(category != null ? category.name() : task.getCategory().getName());
+            dto.setCategoryColor(category != null ? category.color() : task.getCategory().getColor());
+        }
+
+        if (task.getTags() != null) {
+            dto.setTags(task.getTags().stream()
+                .map(tag -> {
+                    ReferenceData.TagRef ref = refs.tag(tag.getId());
+                    if (ref == null) {
+                        return convertTagToDTO(tag);
+                    }
+                    com.todoapp.dto.TagDTO tagDTO = new com.todoapp.dto.TagDTO();
+                    tagDTO.setId(ref.id());
+                    tagDTO.setName(ref.name());
+                    tagDTO.setColor(ref.color());
+                    return tagDTO;
+                })
+                .collect(Collectors.toSet()));
+        }
+        return dto;
+    }
+
+    /**
+     * Convert a history entry, live or archived, using the user's reference data. Tags and
+     * categories deleted since a task was archived are left out.
+     */
+    private TaskDTO convertToDTO(TaskHistoryEntry entry, List<Long> tagIds, ReferenceData refs) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(entry.getId());
+        dto.setTitle(entry.getTitle());
+        dto.setDescription(entry.getDescription());
+        dto.setStatus(entry.getStatus().getValue());
+        dto.setPriority(entry.getPriority() != null ? entry.getPriority().getValue() : null);
+        dto.setDueDate(entry.getDueDate());
+        dto.setCompletedAt(entry.getCompletedAt());
+        dto.setCreatedAt(entry.getCreatedAt());
+        dto.setUpdatedAt(entry.getUpdatedAt());
+        dto.setOverdue(entry.getDueDate() != null && entry.getDueDate().isBefore(LocalDateTime.now())
+            && entry.getStatus() == Task.TaskStatus.PENDING);
+        dto.setArchived(entry.isArchived());
+
+        ReferenceData.CategoryRef category = entry.getCategoryId() != null ? refs.category(entry.getCategoryId()) : null;
+        if (category != null) {
+            dto.setCategoryId(entry.getCategoryId());
+            dto.setCategoryName(category.name());
+            dto.setCategoryColor(category.color());
+        }
+
+        Set<com.todoapp.dto.TagDTO> tags = new HashSet<>();
+        for (Long tagId : tagIds) {
+            ReferenceData.TagRef ref = refs.tag(tagId);
+            if (ref != null) {
+                com.todoapp.dto.TagDTO tagDTO = new com.todoapp.dto.TagDTO();
+                tagDTO.setId(ref.id());
+                tagDTO.setName(ref.name());
+                tagDTO.setColor(ref.color());
+                tags.add(tagDTO);
             }
-            
-            System.out.println("Successfully converted task: " + dto.getId() + " - " + dto.getTitle());
-            return dto;
-        } catch (Exception e) {
-            System.err.println("Error converting task " + task.getId() + ": " + e.getMessage());
-            e.printStackTrace();
-            throw e;
         }
+        dto.setTags(tags);
+        return dto;
     }
 
     private com.todoapp.dto.TagDTO convertTagToDTO(Tag tag) {
@@ -7,6 +7,7 @@ import com.todoapp.entity.User;
 import com.todoapp.entity.UserSettings;
 import com.todoapp.repository.UserRepository;
 import com.todoapp.repository.UserSettingsRepository;
+import com.todoapp.util.ReferenceData;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,39 +24,60 @@ public class UserService implements UserServiceInterface {
 
     private final UserRepository userRepository;
     private final UserSettingsRepository userSettingsRepository;
+    private final SuggestionService suggestionService;
+    private final TagBitmapService tagBitmapService;
+    private final ReferenceDataService referenceDataService;
+    private final AccountDeletionService accountDeletionService;
+    private final DataVersionService dataVersionService;
 
     @Autowired
-    public UserService(UserRepository userRepository, UserSettingsRepository userSettingsRepository) {
+    public UserService(UserRepository userRepository, UserSettingsRepository userSettingsRepository,
+                       SuggestionService suggestionService,
+                       TagBitmapService tagBitmapService,
+                       ReferenceDataService referenceDataService,
+                       AccountDeletionService accountDeletionService,
+                       DataVersionService dataVersionService) {
         this.userRepository = userRepository;
         this.userSettingsRepository = userSettingsRepository;
+        this.suggestionService = suggestionService;
+        this.tagBitmapService = tagBitmapService;
+        this.referenceDataService = referenceDataService;
+        this.accountDeletionService = accountDeletionService;
+        this.dataVersionService = dataVersionService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> findAllUsers() {
         return userRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long countUsers() {
         return userRepository.count();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDTO getUserProfile(String userEmail) {
         User user = getUserByEmailInternal(userEmail);
         return convertToDTO(user);
@@ -76,6 +98,11 @@ public class UserService implements UserServiceInterface {
             if (userRepository.existsByEmail(request.getEmail())) {
                 throw new RuntimeException("Email already exists");
             }
+            // Per-user caches are keyed by email
+            suggestionService.evictUser(user.getEmail());
+            tagBitmapService.evictUser(user.getEmail());
+            referenceDataService.invalidate(user.getEmail());
+            dataVersionService.evictUser(user.getEmail());
             user.setEmail(request.getEmail());
         }
         
@@ -86,14 +113,26 @@ public class UserService implements UserServiceInterface {
     @Override
     public void deleteUserAccount(String userEmail) {
         User user = getUserByEmailInternal(userEmail);
-        userRepository.delete(user);
+        // Disables the account now; tasks, tags and the rest are purged in the background
+        accountDeletionService.requestDeletion(user);
+        suggestionService.evictUser(userEmail);
+        tagBitmapService.evictUser(userEmail);
+        referenceDataService.invalidate(userEmail);
+        dataVersionService.evictUser(userEmail);
     }
 
     @Override
     public UserSettingsDTO getUserSettings(String userEmail) {
+        ReferenceData.Settings cached = referenceDataService.get(userEmail).getSettings();
+        if (cached != null) {
+            return convertToUserSettingsDTO(cached);
+        }
+        
+        // First read: store the defaults and let the next read come from the cache
         User user = getUserByEmailInternal(userEmail);
         UserSettings settings = userSettingsRepository.findByUserId(user.getId())
             .orElseGet(() -> createDefaultUserSettings(user));
+        referenceDataService.invalidate(userEmail);
         
         return convertToUserSettingsDTO(settings);
     }
@@ -135,10 +174,12 @@ public class UserService implements UserServiceInterface {
         }
         
         UserSettings savedSettings = userSettingsRepository.save(settings);
+        referenceDataService.invalidate(userEmail);
         return convertToUserSettingsDTO(savedSettings);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDTO getUserByEmail(String userEmail) {
         User user = getUserByEmailInternal(userEmail);
         return convertToDTO(user);
@@ -197,4 +238,17 @@ public class UserService implements UserServiceInterface {
         dto.setWeeklyReport(settings.getWeeklyReport());
         return dto;
     }
+
+    private UserSettingsDTO convertToUserSettingsDTO(ReferenceData.Settings settings) {
+        UserSettingsDTO dto = new UserSettingsDTO();
+        dto.setTheme(settings.theme());
+        dto.setLanguage(settings.language());
+        dto.setTimeZone(settings.timeZone());
+        dto.setEmailNotifications(settings.emailNotifications());
+        dto.setPushNotifications(settings.pushNotifications());
+        dto.setTaskReminders(settings.taskReminders());
+        dto.setDailyDigest(settings.dailyDigest());
+        dto.setWeeklyReport(settings.weeklyReport());
+        return dto;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.todoapp.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limiter with a short bounded wait queue and an AIMD limit.
+ *
+ * While completions stay under the target latency and the limit is actually in use, the
+ * limit grows by about one slot per limit's worth of completions; a completion over the
+ * target shrinks it by 10%, at most once per target latency so one slow burst is counted
+ * once. A zero target latency keeps the limit fixed. Callers beyond the limit wait up to
+ * their max wait in a queue of at most maxQueue; anyone else is rejected at once.
+ */
+public final class AdaptiveLimiter {
+
+    private static final double BACKOFF = 0.9;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long targetLatencyNanos;
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private long lastDecreaseNanos;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue, Duration targetLatency) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = Math.max(0, maxQueue);
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.limit = initialLimit;
+        this.lastDecreaseNanos = System.nanoTime() - targetLatencyNanos;
+    }
+
+    /**
+     * Admit the caller, waiting up to maxWait for a slot.
+     *
+     * @return the permit to release when the work is done, or null when the queue is full
+     *         or no slot freed up in time
+     */
+    public Permit tryAcquire(Duration maxWait) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return new Permit();
+            }
+            if (queued >= maxQueue || maxWait.isZero() || maxWait.isNegative()) {
+                return null;
+            }
+
+            queued++;
+            try {
+                long remaining = maxWait.toNanos();
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+            } finally {
+                queued--;
+            }
+            inFlight++;
+            return new Permit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void complete(long latencyNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (targetLatencyNanos > 0) {
+                adjust(latencyNanos);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(long latencyNanos) {
+        long now = System.nanoTime();
+        if (latencyNanos > targetLatencyNanos) {
+            if (now - lastDecreaseNanos >= targetLatencyNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlight + 1 >= limit / 2) {
+            // Only grow a limit that is being used; idle capacity says nothing about latency
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * A slot held by one caller. Releasing more than once has no effect.
+     */
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        /**
+         * Free the slot and feed the time since admission to the limit.
+         */
+        public void release() {
+            release(System.nanoTime() - startNanos);
+        }
+
+        void release(long latencyNanos) {
+            if (done.compareAndSet(false, true)) {
+                complete(latencyNanos);
+            }
+        }
+    }
+}
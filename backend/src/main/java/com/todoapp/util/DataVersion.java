@@ -0,0 +1,8 @@
+package com.todoapp.util;
+
+/**
+ * A user's current data version, with the user's ID so that versions of different
+ * users never compare equal.
+ */
+public record DataVersion(Long userId, long version) {
+}
@@ -0,0 +1,135 @@
+package com.todoapp.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Small per-user cache of lazily built values.
+ *
+ * Values are held through soft references, so the garbage collector drops them under
+ * memory pressure, and expire after a fixed time to live. Keys are versioned through a
+ * small array of striped modification counters: a load that overlaps an update or eviction
+ * of its key (or of a key sharing its stripe) is returned to its caller but not cached, so
+ * a value loaded before a write committed can never overwrite the patched one, while
+ * writes for other users rarely block caching.
+ *
+ * @param <V> cached value type; should be immutable
+ */
+public class PerUserCache<V> {
+
+    private final ConcurrentHashMap<String, CacheRef<V>> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<V> collected = new ReferenceQueue<>();
+    private static final int STRIPES = 64;
+
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+    private final long ttlNanos;
+
+    public PerUserCache(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Return the cached value for the key, loading it on a miss or after expiry.
+     */
+    public V get(String key, Function<String, V> loader) {
+        purgeCollected();
+        CacheRef<V> ref = entries.get(key);
+        V value = ref != null && !ref.isExpired(ttlNanos) ? ref.get() : null;
+        if (value != null) {
+            return value;
+        }
+
+        long stamp = version(key);
+        V loaded = loader.apply(key);
+        if (loaded != null && version(key) == stamp) {
+            CacheRef<V> fresh = new CacheRef<>(key, loaded, collected, System.nanoTime());
+            entries.put(key, fresh);
+            // An eviction may have slipped in between the check and the put
+            if (version(key) != stamp) {
+                entries.remove(key, fresh);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Return the cached value without loading it, or null.
+     */
+    public V getIfPresent(String key) {
+        CacheRef<V> ref = entries.get(key);
+        return ref != null && !ref.isExpired(ttlNanos) ? ref.get() : null;
+    }
+
+    /**
+     * Replace a cached value in place. Does nothing if the key is not cached.
+     */
+    public void update(String key, UnaryOperator<V> update) {
+        bump(key);
+        entries.computeIfPresent(key, (k, ref) -> {
+            V value = ref.get();
+            return value != null ? new CacheRef<>(k, update.apply(value), collected, ref.loadedAt) : null;
+        });
+    }
+
+    public void evict(String key) {
+        bump(key);
+        entries.remove(key);
+    }
+
+    public void clear() {
+        for (int i = 0; i < STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    public int size() {
+        purgeCollected();
+        return entries.size();
+    }
+
+    /**
+     * Current version of the key's stripe; changes whenever the key is updated or evicted.
+     */
+    public long version(String key) {
+        return versions.get(stripe(key));
+    }
+
+    private void bump(String key) {
+        versions.incrementAndGet(stripe(key));
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    private void purgeCollected() {
+        Reference<? extends V> reference;
+        while ((reference = collected.poll()) != null) {
+            CacheRef<?> ref = (CacheRef<?>) reference;
+            entries.remove(ref.key, ref);
+        }
+    }
+
+    private static final class CacheRef<V> extends SoftReference<V> {
+
+        private final String key;
+        private final long loadedAt;
+
+        CacheRef(String key, V value, ReferenceQueue<V> queue, long loadedAt) {
+            super(value, queue);
+            this.key = key;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - loadedAt > ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.todoapp.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable in-memory prefix index over normalized names, used for autocomplete.
+ *
+ * Every entry is indexed under its full normalized name and under each following word,
+ * so "home office" is found by "ho" and by "off". Keys live in a sorted array; a lookup
+ * is a binary search for the first key with the prefix followed by a scan of the
+ * matching range, keeping the top entries by usage count. Updates return a new index.
+ */
+public final class PrefixIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Comparator<Entry> RANKING = Comparator
+        .comparingLong(Entry::usageCount).reversed()
+        .thenComparing(entry -> normalize(entry.name()))
+        .thenComparing(Entry::id);
+
+    private static final PrefixIndex EMPTY = new PrefixIndex(new Entry[0]);
+
+    /**
+     * Indexed item. Usage count ranks matches; higher comes first.
+     */
+    public record Entry(Long id, String name, String color, long usageCount) {
+    }
+
+    private final Entry[] entries;
+    private final String[] keys;
+    private final int[] owners;
+
+    private PrefixIndex(Entry[] entries) {
+        this.entries = entries;
+
+        List<String> keyList = new ArrayList<>(entries.length * 2);
+        List<Integer> ownerList = new ArrayList<>(entries.length * 2);
+        for (int i = 0; i < entries.length; i++) {
+            String normalized = normalize(entries[i].name());
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            keyList.add(normalized);
+            ownerList.add(i);
+            for (int space = normalized.indexOf(' '); space >= 0; space = normalized.indexOf(' ', space + 1)) {
+                keyList.add(normalized.substring(space + 1));
+                ownerList.add(i);
+            }
+        }
+
+        Integer[] order = new Integer[keyList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(keyList::get));
+
+        this.keys = new String[order.length];
+        this.owners = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = keyList.get(order[i]);
+            owners[i] = ownerList.get(order[i]);
+        }
+    }
+
+    public static PrefixIndex empty() {
+        return EMPTY;
+    }
+
+    public static PrefixIndex of(Collection<Entry> entries) {
+        return entries.isEmpty() ? EMPTY : new PrefixIndex(entries.toArray(new Entry[0]));
+    }
+
+    /**
+     * Normalize a name or query: strip accents, lower-case, trim and collapse whitespace.
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    /**
+     * Return up to {@code limit} entries with a name or word starting with the prefix,
+     * ranked by usage count. An empty prefix returns the most used entries.
+     */
+    public List<Entry> suggest(String prefix, int limit) {
+        if (limit <= 0 || entries.length == 0) {
+            return List.of();
+        }
+        String key = normalize(prefix);
+
+        // Min-heap of the best entries seen so far; the weakest sits at the head
+        PriorityQueue<Entry> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        Set<Long> seen = new HashSet<>();
+        if (key.isEmpty()) {
+            for (Entry entry : entries) {
+                offer(best, entry, limit);
+            }
+        } else {
+            for (int i = lowerBound(key); i < keys.length && keys[i].startsWith(key); i++) {
+                Entry entry = entries[owners[i]];
+                if (seen.add(entry.id())) {
+                    offer(best, entry, limit);
+                }
+            }
+        }
+
+        List<Entry> result = new ArrayList<>(best);
+        result.sort(RANKING);
+        return result;
+    }
+
+    /**
+     * Find an entry by ID.
+     */
+    public Entry get(Long id) {
+        for (Entry entry : entries) {
+            if (entry.id().equals(id)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return a copy of this index with the entry added or replaced (matched by ID).
+     */
+    public PrefixIndex withEntry(Entry entry) {
+        List<Entry> updated = new ArrayList<>(entries.length + 1);
+        for (Entry existing : entries) {
+            if (!existing.id().equals(entry.id())) {
+                updated.add(existing);
+            }
+        }
+        updated.add(entry);
+        return of(updated);
+    }
+
+    /**
+     * Return a copy of this index without the entry with the given ID.
+     */
+    public PrefixIndex withoutEntry(Long id) {
+        List<Entry> updated = new ArrayList<>(entries.length);
+        for (Entry existing : entries) {
+            if (!existing.id().equals(id)) {
+                updated.add(existing);
+            }
+        }
+        return updated.size() == entries.length ? this : of(updated);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    private static void offer(PriorityQueue<Entry> best, Entry entry, int limit) {
+        best.offer(entry);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
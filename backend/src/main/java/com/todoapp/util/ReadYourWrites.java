@@ -0,0 +1,38 @@
+package com.todoapp.util;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Time of each user's most recent write, so that their reads can stay on the primary until
+ * their own writes have had time to reach a replica.
+ *
+ * Held in memory per application instance; behind a load balancer this needs sticky
+ * sessions for the guarantee to cover every request of a user.
+ */
+public final class ReadYourWrites {
+
+    private static final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void recordWrite(String user) {
+        if (user != null) {
+            lastWrites.put(user, System.nanoTime());
+        }
+    }
+
+    public static boolean wroteWithin(String user, Duration window) {
+        Long last = lastWrites.get(user);
+        return last != null && System.nanoTime() - last < window.toNanos();
+    }
+
+    /**
+     * Drop entries older than the window; they no longer affect routing.
+     */
+    public static void forgetOlderThan(Duration window) {
+        long cutoff = System.nanoTime() - window.toNanos();
+        lastWrites.values().removeIf(last -> last - cutoff < 0);
+    }
+}
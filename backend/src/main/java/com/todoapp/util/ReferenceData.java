@@ -0,0 +1,89 @@
+package com.todoapp.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable snapshot of one user's slow-changing reference data: the user's ID, their
+ * categories and tags, and their settings.
+ *
+ * Task writes validate ownership against it and take names and colors for responses from
+ * it, so they need neither a category/tag lookup nor a proxy initialization.
+ */
+public final class ReferenceData {
+
+    /**
+     * Category owned by the user.
+     */
+    public record CategoryRef(Long id, String name, String color) {
+    }
+
+    /**
+     * Tag owned by the user.
+     */
+    public record TagRef(Long id, String name, String color) {
+    }
+
+    /**
+     * The user's stored settings.
+     */
+    public record Settings(String theme, String language, String timeZone,
+                           Boolean emailNotifications, Boolean pushNotifications, Boolean taskReminders,
+                           Boolean dailyDigest, Boolean weeklyReport) {
+    }
+
+    private final Long userId;
+    private final Map<Long, CategoryRef> categories;
+    private final Map<Long, TagRef> tags;
+    private final Settings settings;
+
+    public ReferenceData(Long userId, Collection<CategoryRef> categories, Collection<TagRef> tags, Settings settings) {
+        this.userId = userId;
+        this.categories = index(categories, CategoryRef::id);
+        this.tags = index(tags, TagRef::id);
+        this.settings = settings;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Find one of the user's categories, or null if the ID is not theirs.
+     */
+    public CategoryRef category(Long id) {
+        return categories.get(id);
+    }
+
+    /**
+     * Find one of the user's tags, or null if the ID is not theirs.
+     */
+    public TagRef tag(Long id) {
+        return tags.get(id);
+    }
+
+    /**
+     * The stored settings, or null when the user has none yet.
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+
+    public int categoryCount() {
+        return categories.size();
+    }
+
+    public int tagCount() {
+        return tags.size();
+    }
+
+    private static <T> Map<Long, T> index(Collection<T> values, Function<T, Long> id) {
+        Map<Long, T> map = new HashMap<>();
+        for (T value : values) {
+            map.put(id.apply(value), value);
+        }
+        return Map.copyOf(map);
+    }
+}
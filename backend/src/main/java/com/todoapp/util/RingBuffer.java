@@ -0,0 +1,49 @@
+package com.todoapp.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-capacity buffer that keeps the most recent items, overwriting the oldest.
+ * Thread-safe; writes are O(1) and never allocate beyond the backing array.
+ */
+public final class RingBuffer<T> {
+
+    private final Object[] items;
+    private long written;
+
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.items = new Object[capacity];
+    }
+
+    public synchronized void add(T item) {
+        items[(int) (written % items.length)] = item;
+        written++;
+    }
+
+    /**
+     * Buffered items, newest first.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> snapshot() {
+        int size = (int) Math.min(written, items.length);
+        List<T> snapshot = new ArrayList<>(size);
+        for (long i = written - 1; i >= written - size; i--) {
+            snapshot.add((T) items[(int) (i % items.length)]);
+        }
+        return snapshot;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(items, null);
+        written = 0;
+    }
+
+    public int capacity() {
+        return items.length;
+    }
+}
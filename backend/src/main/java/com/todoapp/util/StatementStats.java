@@ -0,0 +1,103 @@
+package com.todoapp.util;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Per-thread tally of the SQL statements Hibernate prepares and the time spent executing
+ * them, grouped by statement shape (literals and IN lists collapsed) to expose N+1 loops.
+ *
+ * A request or a test opens a scope with {@link #begin()} and closes it with {@link #end()};
+ * outside a scope recording is a no-op.
+ */
+public final class StatementStats {
+
+    /**
+     * A statement shape and how often it was issued.
+     */
+    public record Shape(String sql, int count) {
+    }
+
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+    private static final int MAX_SHAPES = 100;
+    private static final Pattern LITERAL = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long jdbcNanos;
+
+    private StatementStats() {
+    }
+
+    /**
+     * Start recording on this thread, replacing any open scope.
+     */
+    public static StatementStats begin() {
+        StatementStats stats = new StatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stop recording on this thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Count a prepared statement in the open scope, if any.
+     */
+    public static void recordStatement(String sql) {
+        StatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            String shape = shape(sql);
+            if (stats.shapes.size() < MAX_SHAPES || stats.shapes.containsKey(shape)) {
+                stats.shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Add JDBC execution time to the open scope, if any.
+     */
+    public static void recordJdbcTime(long nanos) {
+        StatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /**
+     * The most frequently issued shape, or null if nothing was recorded.
+     */
+    public Shape mostRepeated() {
+        Shape top = null;
+        for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+            if (top == null || entry.getValue() > top.count()) {
+                top = new Shape(entry.getKey(), entry.getValue());
+            }
+        }
+        return top;
+    }
+
+    static String shape(String sql) {
+        String shape = LITERAL.matcher(sql).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
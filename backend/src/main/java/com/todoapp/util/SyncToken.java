@@ -0,0 +1,91 @@
+package com.todoapp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position of a delta-sync client: one keyset cursor over the user's tasks by
+ * (updated_at, id) and one over their tombstones by (deleted_at, id).
+ *
+ * Handed to clients as an opaque URL-safe string. Timestamps are database-local
+ * timestamps, carried at microsecond precision like the columns they come from.
+ */
+public record SyncToken(Cursor tasks, Cursor tombstones) {
+
+    private static final String FORMAT_VERSION = "1";
+
+    /**
+     * A token that has seen everything up to and including the given time.
+     */
+    public static SyncToken at(LocalDateTime time) {
+        Cursor cursor = Cursor.after(time);
+        return new SyncToken(cursor, cursor);
+    }
+
+    /**
+     * The older of the two cursor times, which decides whether the token has expired.
+     */
+    public LocalDateTime oldest() {
+        return tasks.at().isBefore(tombstones.at()) ? tasks.at() : tombstones.at();
+    }
+
+    public String encode() {
+        String plain = String.join(":", FORMAT_VERSION,
+            Long.toString(micros(tasks.at())), Long.toString(tasks.id()),
+            Long.toString(micros(tombstones.at())), Long.toString(tombstones.id()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Parse a token from {@link #encode()}.
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static SyncToken decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 5 || !FORMAT_VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return new SyncToken(
+                new Cursor(time(Long.parseLong(parts[1])), Long.parseLong(parts[2])),
+                new Cursor(time(Long.parseLong(parts[3])), Long.parseLong(parts[4])));
+        } catch (IllegalArgumentException | DateTimeException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+
+    private static long micros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), time);
+    }
+
+    private static LocalDateTime time(long micros) {
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(micros, ChronoUnit.MICROS);
+    }
+
+    /**
+     * Keyset position: rows after (at, id) in (time, id) order are still to be sent.
+     */
+    public record Cursor(LocalDateTime at, long id) implements Comparable<Cursor> {
+
+        public Cursor {
+            at = at.truncatedTo(ChronoUnit.MICROS);
+        }
+
+        /**
+         * Position after every row at or before the given time.
+         */
+        public static Cursor after(LocalDateTime time) {
+            return new Cursor(time, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int byTime = at.compareTo(other.at);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+    }
+}
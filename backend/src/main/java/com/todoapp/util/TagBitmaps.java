@@ -0,0 +1,145 @@
+package com.todoapp.util;
+
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of one user's task-to-tag assignments as compressed bitmaps.
+ *
+ * Holds one bitmap of task IDs per tag plus a bitmap of all the user's live tasks, so a
+ * boolean tag expression is a handful of bitmap AND/OR/ANDNOT operations instead of a
+ * self-join per tag. Patches copy only the bitmaps they change and return a new snapshot.
+ */
+public final class TagBitmaps {
+
+    private final Roaring64NavigableMap tasks;
+    private final Map<Long, Roaring64NavigableMap> byTag;
+
+    private TagBitmaps(Roaring64NavigableMap tasks, Map<Long, Roaring64NavigableMap> byTag) {
+        this.tasks = tasks;
+        this.byTag = byTag;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Evaluate ALL(all) AND ANY(any) AND NOT ANY(none) over the user's live tasks.
+     * Empty parts are ignored; an unknown tag in {@code all} matches nothing.
+     *
+     * @return a new bitmap the caller may modify
+     */
+    public Roaring64NavigableMap evaluate(Collection<Long> all, Collection<Long> any, Collection<Long> none) {
+        Roaring64NavigableMap result = copy(tasks);
+
+        for (Long tagId : all) {
+            Roaring64NavigableMap tagged = byTag.get(tagId);
+            if (tagged == null) {
+                return new Roaring64NavigableMap();
+            }
+            result.and(tagged);
+        }
+
+        if (!any.isEmpty()) {
+            Roaring64NavigableMap union = new Roaring64NavigableMap();
+            for (Long tagId : any) {
+                Roaring64NavigableMap tagged = byTag.get(tagId);
+                if (tagged != null) {
+                    union.or(tagged);
+                }
+            }
+            result.and(union);
+        }
+
+        for (Long tagId : none) {
+            Roaring64NavigableMap tagged = byTag.get(tagId);
+            if (tagged != null) {
+                result.andNot(tagged);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return a copy with the task's tag assignments replaced. An inactive (deleted) task
+     * is removed from every bitmap.
+     */
+    public TagBitmaps withTask(long taskId, Collection<Long> tagIds, boolean active) {
+        Roaring64NavigableMap updatedTasks = copy(tasks);
+        if (active) {
+            updatedTasks.addLong(taskId);
+        } else {
+            updatedTasks.removeLong(taskId);
+        }
+
+        Map<Long, Roaring64NavigableMap> updatedByTag = new HashMap<>(byTag);
+        for (Map.Entry<Long, Roaring64NavigableMap> entry : byTag.entrySet()) {
+            boolean tagged = active && tagIds.contains(entry.getKey());
+            if (entry.getValue().contains(taskId) != tagged) {
+                Roaring64NavigableMap changed = copy(entry.getValue());
+                if (tagged) {
+                    changed.addLong(taskId);
+                } else {
+                    changed.removeLong(taskId);
+                }
+                if (changed.isEmpty()) {
+                    updatedByTag.remove(entry.getKey());
+                } else {
+                    updatedByTag.put(entry.getKey(), changed);
+                }
+            }
+        }
+        if (active) {
+            for (Long tagId : tagIds) {
+                updatedByTag.computeIfAbsent(tagId, id -> Roaring64NavigableMap.bitmapOf(taskId));
+            }
+        }
+        return new TagBitmaps(updatedTasks, updatedByTag);
+    }
+
+    public long taskCount() {
+        return tasks.getLongCardinality();
+    }
+
+    public int tagCount() {
+        return byTag.size();
+    }
+
+    private static Roaring64NavigableMap copy(Roaring64NavigableMap source) {
+        Roaring64NavigableMap copy = new Roaring64NavigableMap();
+        copy.or(source);
+        return copy;
+    }
+
+    /**
+     * Accumulates task IDs and assignments, then compresses them into a snapshot.
+     */
+    public static final class Builder {
+
+        private final Roaring64NavigableMap tasks = new Roaring64NavigableMap();
+        private final Map<Long, Roaring64NavigableMap> byTag = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder addTask(long taskId) {
+            tasks.addLong(taskId);
+            return this;
+        }
+
+        public Builder addAssignment(long taskId, long tagId) {
+            byTag.computeIfAbsent(tagId, id -> new Roaring64NavigableMap()).addLong(taskId);
+            return this;
+        }
+
+        public TagBitmaps build() {
+            tasks.runOptimize();
+            byTag.values().forEach(Roaring64NavigableMap::runOptimize);
+            return new TagBitmaps(tasks, byTag);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.todoapp.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Routes the database work of a service method (or every public method of a service) to a
+ * connection pool other than the interactive one. Applied around the transaction, so the
+ * connection comes from the chosen pool; calls made inside a transaction that already holds
+ * a connection keep using it.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsePool {
+
+    WorkloadPool value();
+}
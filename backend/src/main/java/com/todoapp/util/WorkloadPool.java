@@ -0,0 +1,70 @@
+package com.todoapp.util;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Connection pools (bulkheads) that database work is routed to.
+ *
+ * The pool is chosen per thread: {@link UsePool} sets it around a service call, and
+ * {@link #threadFactory} pins it for every task of a background executor. Threads with no
+ * pool set use INTERACTIVE. The choice takes effect when a transaction first takes a
+ * connection, so it must be made before the outermost transaction begins.
+ */
+public enum WorkloadPool {
+
+    /** Latency-critical request handling (task CRUD, lookups). */
+    INTERACTIVE,
+
+    /** Long reads: exports, digests, dashboard aggregates. */
+    REPORTING,
+
+    /** Scheduled and bulk writes: account purges, outbox, bulk updates and imports. */
+    BACKGROUND;
+
+    private static final ThreadLocal<WorkloadPool> CURRENT = new ThreadLocal<>();
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Pool for database work on the current thread.
+     */
+    public static WorkloadPool current() {
+        WorkloadPool pool = CURRENT.get();
+        return pool != null ? pool : INTERACTIVE;
+    }
+
+    /**
+     * Route the current thread to this pool.
+     *
+     * @return the pool set before, to pass to {@link #restore}
+     */
+    public WorkloadPool use() {
+        WorkloadPool previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    public static void restore(WorkloadPool previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Thread factory whose threads are routed to this pool for their whole life.
+     */
+    public ThreadFactory threadFactory(String threadNamePrefix) {
+        CustomizableThreadFactory delegate = new CustomizableThreadFactory(threadNamePrefix);
+        return runnable -> delegate.newThread(() -> {
+            use();
+            runnable.run();
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package com.todoapp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setRead(new AdmissionControlProperties.Limit(
+            1, 1, 1, 0, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(2)));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionControlFilter(properties, meterRegistry);
+    }
+
+    @Test
+    void doFilter_WhenReadLimitReached_ShouldRejectWith503AndRetryAfter() throws Exception {
+        // Given: the only read slot is held by a request still in the chain
+        AtomicReference<MockHttpServletResponse> rejected = new AtomicReference<>();
+        MockFilterChain holdingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                MockHttpServletResponse second = new MockHttpServletResponse();
+                try {
+                    filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), second, new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                rejected.set(second);
+            }
+        };
+
+        // When
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), first, holdingChain);
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(rejected.get().getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(rejected.get().getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.get().getContentAsString()).contains("\"path\":\"/api/tasks\"");
+        assertThat(meterRegistry.get("todoapp.admission.rejected").tag("workload", "read").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("todoapp.admission.in_flight").tag("workload", "read").gauge().value())
+            .isZero();
+    }
+
+    @Test
+    void doFilter_WhenReadsAreSaturated_ShouldStillAdmitWrites() throws Exception {
+        // Given
+        AtomicReference<MockHttpServletResponse> write = new AtomicReference<>();
+        MockFilterChain holdingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                MockHttpServletResponse second = new MockHttpServletResponse();
+                try {
+                    filter.doFilter(new MockHttpServletRequest("POST", "/api/tasks"), second, new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                write.set(second);
+            }
+        };
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse(), holdingChain);
+
+        // Then
+        assertThat(write.get().getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+    }
+
+    @Test
+    void classify_ShouldSeparateReadsWritesAndHeavyPaths() {
+        assertThat(filter.classify(new MockHttpServletRequest("GET", "/api/dashboard/statistics")))
+            .isEqualTo(AdmissionControlFilter.Workload.READ);
+        assertThat(filter.classify(new MockHttpServletRequest("PUT", "/api/tasks/5")))
+            .isEqualTo(AdmissionControlFilter.Workload.WRITE);
+        assertThat(filter.classify(new MockHttpServletRequest("GET", "/api/users/export")))
+            .isEqualTo(AdmissionControlFilter.Workload.HEAVY);
+        assertThat(filter.classify(new MockHttpServletRequest("GET", "/api/users/export/jobs/3/archive")))
+            .isEqualTo(AdmissionControlFilter.Workload.HEAVY);
+    }
+
+    @Test
+    void classify_ExportJobCreateAndPoll_ShouldNotBeHeavy() {
+        assertThat(filter.classify(new MockHttpServletRequest("POST", "/api/users/export/jobs")))
+            .isEqualTo(AdmissionControlFilter.Workload.WRITE);
+        assertThat(filter.classify(new MockHttpServletRequest("GET", "/api/users/export/jobs/3")))
+            .isEqualTo(AdmissionControlFilter.Workload.READ);
+    }
+
+    @Test
+    void doFilter_OutsideApi_ShouldNotBeLimited() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, chain);
+
+        // Then
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(meterRegistry.get("todoapp.admission.wait").tag("workload", "read").timer().count()).isZero();
+    }
+}
@@ -0,0 +1,144 @@
+package com.todoapp.config;
+
+import com.todoapp.service.DataVersionService;
+import com.todoapp.util.DataVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetInterceptorTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    private ConditionalGetInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new ConditionalGetInterceptor(dataVersionService, "1.0.0", Duration.ZERO);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void preHandle_WithoutIfNoneMatch_ShouldProceedWithWeakETag() {
+        // Given
+        when(dataVersionService.current(EMAIL)).thenReturn(new DataVersion(7L, 42L));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(new MockHttpServletRequest("GET", "/api/tasks"), response, null);
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).isEqualTo("W/\"1.0.0-7-42\"");
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("private, no-cache");
+    }
+
+    @Test
+    void preHandle_WithMatchingIfNoneMatch_ShouldAnswer304WithoutHandler() {
+        // Given
+        when(dataVersionService.current(EMAIL)).thenReturn(new DataVersion(7L, 42L));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("If-None-Match", "W/\"1.0.0-7-42\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("ETag")).isEqualTo("W/\"1.0.0-7-42\"");
+    }
+
+    @Test
+    void preHandle_AfterWrite_ShouldNotMatchPreviousVersion() {
+        // Given
+        when(dataVersionService.current(EMAIL)).thenReturn(new DataVersion(7L, 43L));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("If-None-Match", "W/\"1.0.0-7-42\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader("ETag")).isEqualTo("W/\"1.0.0-7-43\"");
+    }
+
+    @Test
+    void preHandle_ForOtherUserWithSameVersion_ShouldNotMatch() {
+        // Given - a browser shared by two accounts
+        when(dataVersionService.current(EMAIL)).thenReturn(new DataVersion(8L, 42L));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("If-None-Match", "W/\"1.0.0-7-42\"");
+
+        // When
+        boolean proceed = interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        // Then
+        assertThat(proceed).isTrue();
+    }
+
+    @Test
+    void preHandle_NonGetOrAnonymous_ShouldProceedWithoutVersionLookup() {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean post = interceptor.preHandle(new MockHttpServletRequest("POST", "/api/tasks"), response, null);
+        SecurityContextHolder.clearContext();
+        boolean anonymous = interceptor.preHandle(new MockHttpServletRequest("GET", "/api/tasks"), response, null);
+
+        // Then
+        assertThat(post).isTrue();
+        assertThat(anonymous).isTrue();
+        assertThat(response.getHeader("ETag")).isNull();
+        verify(dataVersionService, never()).current(anyString());
+    }
+
+    @Test
+    void etag_WithGranularity_ShouldChangeWithTimeBucket() {
+        // Given
+        ConditionalGetInterceptor dashboard =
+            new ConditionalGetInterceptor(dataVersionService, "1.0.0", Duration.ofMinutes(1));
+        DataVersion version = new DataVersion(7L, 42L);
+
+        // When
+        String early = dashboard.etag(version, 60_000);
+        String sameMinute = dashboard.etag(version, 119_999);
+        String nextMinute = dashboard.etag(version, 120_000);
+
+        // Then
+        assertThat(early).isEqualTo("W/\"1.0.0-7-42-1\"");
+        assertThat(sameMinute).isEqualTo(early);
+        assertThat(nextMinute).isEqualTo("W/\"1.0.0-7-42-2\"");
+    }
+}
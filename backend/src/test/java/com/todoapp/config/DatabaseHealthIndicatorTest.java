@@ -0,0 +1,144 @@
+package com.todoapp.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseHealthIndicatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    private DatabaseHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        indicator = new DatabaseHealthIndicator(jdbcTemplate, dataSource);
+        ReflectionTestUtils.setField(indicator, "pingCache", Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        indicator.shutdown();
+    }
+
+    @Test
+    void health_WhenPingSucceeds_ShouldServeCachedStatisticsWithoutQuerying() throws SQLException {
+        // Given
+        when(dataSource.isWrapperFor(any())).thenReturn(false);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT version()", String.class)).thenReturn("PostgreSQL 15.4 on x86_64");
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(3);
+        when(jdbcTemplate.queryForObject("SELECT pg_size_pretty(pg_database_size(current_database()))", String.class))
+            .thenReturn("12 MB");
+        when(jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)).thenReturn(false);
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of());
+        indicator.refreshStatistics();
+
+        // When
+        Health first = indicator.health();
+        Health second = indicator.health();
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(Status.UP);
+        assertThat(second.getStatus()).isEqualTo(Status.UP);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> statistics = (Map<String, Object>) second.getDetails().get("statistics");
+        assertThat(statistics).containsEntry("database_version", "PostgreSQL")
+            .containsEntry("database_size", "12 MB")
+            .containsEntry("in_recovery", false);
+        assertThat(second.getDetails()).containsKey("statistics_collected_at");
+        // Statistics ran once in the refresh; the second check reused the cached ping
+        verify(jdbcTemplate, times(1)).queryForObject("SELECT version()", String.class);
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void health_WhenPingFails_ShouldReportDown() throws SQLException {
+        // Given
+        when(dataSource.isWrapperFor(any())).thenReturn(false);
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // When
+        Health health = indicator.health();
+
+        // Then
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails()).containsEntry("error", "Connection refused")
+            .containsEntry("error_type", "SQLException")
+            .containsEntry("statistics", Map.of());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void health_WhenPingHangs_ShouldReportDownWithinTimeout() throws SQLException {
+        // Given
+        ReflectionTestUtils.setField(indicator, "pingTimeout", Duration.ofMillis(50));
+        when(dataSource.isWrapperFor(any())).thenReturn(false);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return connection;
+        });
+
+        // When
+        long start = System.nanoTime();
+        Health health = indicator.health();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails()).containsEntry("error_type", "TimeoutException");
+        assertThat(elapsedMs).isLessThan(2_000);
+    }
+
+    @Test
+    void refreshStatistics_OnNonPostgresDatabase_ShouldRecordErrorInSnapshot() {
+        // Given
+        when(jdbcTemplate.queryForObject("SELECT version()", String.class)).thenReturn("H2 2.2.224");
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class)))
+            .thenThrow(new BadSqlGrammarException("stats", "pg_stat_activity",
+                new SQLException("Table \"PG_STAT_ACTIVITY\" not found")));
+
+        // When
+        indicator.refreshStatistics();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        Map<String, Object> statistics = (Map<String, Object>) ReflectionTestUtils.getField(indicator, "statistics");
+        assertThat(statistics).containsEntry("database_version", "H2")
+            .containsKey("stats_error");
+    }
+}
@@ -0,0 +1,84 @@
+package com.todoapp.config;
+
+import com.todoapp.util.ReadYourWrites;
+import com.todoapp.util.WorkloadPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaReadPolicyTest {
+
+    private ReplicaReadPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        policy = new ReplicaReadPolicy(new String[] {"interactive"});
+        ReflectionTestUtils.setField(policy, "replicaUsable", true);
+        ReflectionTestUtils.setField(policy, "readYourWritesWindow", Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        ReadYourWrites.forgetOlderThan(Duration.ZERO);
+    }
+
+    @Test
+    void useReplica_ForAuthenticatedUserWithoutRecentWrites_ShouldAllow() {
+        // Given
+        authenticate("reader@example.com");
+
+        // When & Then
+        assertThat(policy.useReplica(WorkloadPool.INTERACTIVE)).isTrue();
+    }
+
+    @Test
+    void useReplica_AfterUsersOwnWrite_ShouldKeepUserOnPrimary() {
+        // Given
+        authenticate("writer@example.com");
+        policy.recordWrite();
+
+        // When & Then
+        assertThat(policy.useReplica(WorkloadPool.INTERACTIVE)).isFalse();
+        authenticate("someone-else@example.com");
+        assertThat(policy.useReplica(WorkloadPool.INTERACTIVE)).isTrue();
+    }
+
+    @Test
+    void useReplica_WithoutAuthenticatedUser_ShouldUsePrimary() {
+        // When & Then
+        assertThat(policy.useReplica(WorkloadPool.INTERACTIVE)).isFalse();
+    }
+
+    @Test
+    void useReplica_ForWorkloadNotListed_ShouldUsePrimary() {
+        // Given
+        authenticate("reader@example.com");
+
+        // When & Then
+        assertThat(policy.useReplica(WorkloadPool.REPORTING)).isFalse();
+    }
+
+    @Test
+    void useReplica_WhenReplicaNotUsable_ShouldUsePrimary() {
+        // Given
+        authenticate("reader@example.com");
+        ReflectionTestUtils.setField(policy, "replicaUsable", false);
+
+        // When & Then
+        assertThat(policy.useReplica(WorkloadPool.INTERACTIVE)).isFalse();
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+}
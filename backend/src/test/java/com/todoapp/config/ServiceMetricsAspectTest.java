@@ -0,0 +1,66 @@
+package com.todoapp.config;
+
+import com.todoapp.dto.TaskDTO;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.service.TaskService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskService timedTaskService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(taskService);
+        factory.addInterface(TaskService.class);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        timedTaskService = factory.getProxy();
+    }
+
+    @Test
+    void time_ShouldRecordSuccessByOperationWithHistogram() {
+        // Given
+        when(taskService.getTask(1L, "test@example.com")).thenReturn(new TaskDTO());
+
+        // When
+        timedTaskService.getTask(1L, "test@example.com");
+
+        // Then
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.TIMER_NAME)
+            .tags("service", "TaskService", "operation", "getTask", "outcome", "success", "exception", "none")
+            .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+    }
+
+    @Test
+    void time_ShouldRecordRejectedCallsAsClientErrorAndRethrow() {
+        // Given
+        when(taskService.getTask(1L, "test@example.com")).thenThrow(new ResourceNotFoundException("Task not found"));
+
+        // When & Then
+        assertThatThrownBy(() -> timedTaskService.getTask(1L, "test@example.com"))
+            .isInstanceOf(ResourceNotFoundException.class);
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.TIMER_NAME)
+            .tags("operation", "getTask", "outcome", "client_error", "exception", "ResourceNotFoundException")
+            .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.todoapp.config;
+
+import com.todoapp.dto.SlowQueryDTO;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryListenerTest {
+
+    private SlowQueryListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new SlowQueryListener(2);
+        ReflectionTestUtils.setField(listener, "threshold", Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.shutdown();
+    }
+
+    @Test
+    void afterQuery_BelowThreshold_ShouldNotCapture() {
+        // When
+        listener.afterQuery(execution(99), List.of(query("select 1")));
+
+        // Then
+        assertThat(listener.recent()).isEmpty();
+    }
+
+    @Test
+    void afterQuery_AboveThreshold_ShouldCaptureStatementAndBinds() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(listener, "captureBinds", true);
+        QueryInfo query = query("select * from tasks where user_id = ? and category_id = ?");
+        query.getParametersList().add(List.of(
+            new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class),
+                new Object[] {1, 7L}),
+            new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class),
+                new Object[] {2, Types.BIGINT})));
+
+        // When
+        listener.afterQuery(execution(250), List.of(query));
+
+        // Then
+        List<SlowQueryDTO> captured = listener.recent();
+        assertThat(captured).hasSize(1);
+        assertThat(captured.get(0).getSql()).isEqualTo("select * from tasks where user_id = ? and category_id = ?");
+        assertThat(captured.get(0).getDurationMs()).isEqualTo(250);
+        assertThat(captured.get(0).getBinds()).containsExactly("7", "NULL");
+        assertThat(captured.get(0).getPlan()).isNull();
+    }
+
+    @Test
+    void afterQuery_ByDefault_ShouldOmitBinds() throws Exception {
+        // Given
+        QueryInfo query = query("select * from users where email = ?");
+        query.getParametersList().add(List.of(
+            new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                new Object[] {1, "test@example.com"})));
+
+        // When
+        listener.afterQuery(execution(500), List.of(query));
+
+        // Then
+        assertThat(listener.recent().get(0).getBinds()).isEmpty();
+    }
+
+    @Test
+    void recent_ShouldKeepOnlyTheNewestEntries() {
+        // When
+        listener.afterQuery(execution(200), List.of(query("select 1")));
+        listener.afterQuery(execution(200), List.of(query("select 2")));
+        listener.afterQuery(execution(200), List.of(query("select 3")));
+
+        // Then
+        assertThat(listener.recent()).extracting(SlowQueryDTO::getSql).containsExactly("select 3", "select 2");
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setElapsedTime(elapsedMillis);
+        return info;
+    }
+
+    private static QueryInfo query(String sql) {
+        return new QueryInfo(sql);
+    }
+}
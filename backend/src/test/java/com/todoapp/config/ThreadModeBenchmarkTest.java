@@ -0,0 +1,136 @@
+package com.todoapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Platform threads (a Tomcat-sized pool) against virtual threads at the same Hikari pool
+ * size, under the same open workload: requests arrive at a fixed rate, each holds a
+ * connection for one short query and then blocks off the database (the response write or
+ * a remote call). Latency is measured from the scheduled arrival, so queueing in front of
+ * a saturated thread pool counts.
+ *
+ * Run with ./gradlew benchmark; tune with -Pbenchmark.rate=, -Pbenchmark.seconds=,
+ * -Pbenchmark.pool-size=, -Pbenchmark.platform-threads=, -Pbenchmark.query-millis= and
+ * -Pbenchmark.io-millis=.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class ThreadModeBenchmarkTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+        .withCommand("postgres", "-c", "max_connections=100");
+
+    private final int rate = Integer.getInteger("benchmark.rate", 3000);
+    private final int seconds = Integer.getInteger("benchmark.seconds", 10);
+    private final int poolSize = Integer.getInteger("benchmark.pool-size", 20);
+    private final int platformThreads = Integer.getInteger("benchmark.platform-threads", 200);
+    private final int queryMillis = Integer.getInteger("benchmark.query-millis", 2);
+    private final int ioMillis = Integer.getInteger("benchmark.io-millis", 50);
+
+    @Test
+    void compareThroughputAndP99() throws Exception {
+        // Warm up the JIT, the driver and both pools' connections
+        run("warm-up", Executors.newVirtualThreadPerTaskExecutor(), 2);
+
+        Result platform = run("platform", Executors.newFixedThreadPool(platformThreads), seconds);
+        Result virtual = run("virtual", Executors.newVirtualThreadPerTaskExecutor(), seconds);
+
+        System.out.printf("%nThread mode benchmark: %d req/s offered for %d s, Hikari pool %d, "
+                + "query %d ms, off-database blocking %d ms%n", rate, seconds, poolSize, queryMillis, ioMillis);
+        System.out.printf("%-28s %12s %10s %10s %10s %8s%n", "mode", "throughput/s", "p50 ms", "p99 ms", "max ms", "errors");
+        System.out.println(platform.format("platform (" + platformThreads + " threads)"));
+        System.out.println(virtual.format("virtual"));
+
+        assertThat(platform.completed()).isPositive();
+        assertThat(virtual.completed()).isPositive();
+    }
+
+    private Result run(String name, ExecutorService executor, int durationSeconds) throws Exception {
+        int requests = rate * durationSeconds;
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(requests);
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        String sql = "SELECT pg_sleep(" + queryMillis / 1000.0 + ")";
+
+        try (HikariDataSource pool = pool(name); executor) {
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                long scheduled = start + i * interval;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                int index = i;
+                executor.execute(() -> {
+                    try {
+                        try (Connection connection = pool.getConnection();
+                             PreparedStatement statement = connection.prepareStatement(sql)) {
+                            statement.execute();
+                        }
+                        Thread.sleep(ioMillis);
+                    } catch (SQLException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        latencies[index] = System.nanoTime() - scheduled;
+                        done.countDown();
+                    }
+                });
+            }
+            assertThat(done.await(durationSeconds + 120L, TimeUnit.SECONDS))
+                .as("%s run finished", name).isTrue();
+            long elapsed = System.nanoTime() - start;
+            return new Result(requests - errors.get(), errors.get(), elapsed, latencies);
+        }
+    }
+
+    private HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("benchmark-" + name);
+        pool.setJdbcUrl(postgres.getJdbcUrl());
+        pool.setUsername(postgres.getUsername());
+        pool.setPassword(postgres.getPassword());
+        pool.setMaximumPoolSize(poolSize);
+        pool.setMinimumIdle(poolSize);
+        pool.setConnectionTimeout(Duration.ofSeconds(30).toMillis());
+        return pool;
+    }
+
+    private record Result(int completed, int errors, long elapsedNanos, long[] latencies) {
+
+        String format(String mode) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            double throughput = completed / (elapsedNanos / 1e9);
+            return String.format("%-28s %12.0f %10.1f %10.1f %10.1f %8d", mode, throughput,
+                millis(sorted[sorted.length / 2]), millis(sorted[(int) (sorted.length * 0.99)]),
+                millis(sorted[sorted.length - 1]), errors);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.todoapp.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new VirtualThreadPinningMonitor(meterRegistry);
+        ReflectionTestUtils.setField(monitor, "pinningThreshold", Duration.ofMillis(10));
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void sleepInsideSynchronized_ShouldBeRecordedAgainstTheMethodHoldingTheMonitor() throws Exception {
+        // synchronized no longer pins the carrier from JDK 24 on (JEP 491)
+        assumeTrue(Runtime.version().feature() < 24);
+
+        // When - the stream may still be starting, so pin until an event arrives
+        Timer pinned = null;
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (pinned == null && System.nanoTime() < deadline) {
+            Thread.ofVirtual().start(this::sleepHoldingMonitor).join();
+            Thread.sleep(200);
+            pinned = meterRegistry.find("todoapp.virtual_threads.pinned").timer();
+        }
+
+        // Then
+        assertThat(pinned).isNotNull();
+        assertThat(pinned.getId().getTag("frame"))
+            .isEqualTo("VirtualThreadPinningMonitorTest.sleepHoldingMonitor");
+        assertThat(pinned.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    void submitFailedCounter_ShouldBeRegisteredUpFront() {
+        assertThat(meterRegistry.find("todoapp.virtual_threads.submit_failed").counter()).isNotNull();
+    }
+
+    private synchronized void sleepHoldingMonitor() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.todoapp.config;
+
+import com.todoapp.util.UsePool;
+import com.todoapp.util.WorkloadPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkloadPoolAspectTest {
+
+    interface Reports {
+
+        WorkloadPool summary();
+
+        WorkloadPool purge();
+
+        void fail();
+    }
+
+    @UsePool(WorkloadPool.REPORTING)
+    static class ReportsImpl implements Reports {
+
+        @Override
+        public WorkloadPool summary() {
+            return WorkloadPool.current();
+        }
+
+        @Override
+        @UsePool(WorkloadPool.BACKGROUND)
+        public WorkloadPool purge() {
+            return WorkloadPool.current();
+        }
+
+        @Override
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    private Reports reports;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ReportsImpl());
+        factory.addInterface(Reports.class);
+        factory.addAspect(new WorkloadPoolAspect());
+        reports = factory.getProxy();
+    }
+
+    @Test
+    void route_ShouldUseClassLevelPoolAndRestoreAfterwards() {
+        // When
+        WorkloadPool inside = reports.summary();
+
+        // Then
+        assertThat(inside).isEqualTo(WorkloadPool.REPORTING);
+        assertThat(WorkloadPool.current()).isEqualTo(WorkloadPool.INTERACTIVE);
+    }
+
+    @Test
+    void route_ShouldPreferMethodLevelPool() {
+        // When & Then
+        assertThat(reports.purge()).isEqualTo(WorkloadPool.BACKGROUND);
+    }
+
+    @Test
+    void route_WhenCallFails_ShouldStillRestorePool() {
+        // When & Then
+        assertThatThrownBy(() -> reports.fail()).isInstanceOf(IllegalStateException.class);
+        assertThat(WorkloadPool.current()).isEqualTo(WorkloadPool.INTERACTIVE);
+    }
+}
@@ -0,0 +1,168 @@
+package com.todoapp.config;
+
+import com.todoapp.util.WorkloadPool;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadRoutingDataSourceTest {
+
+    @Mock
+    private HikariDataSource interactivePool;
+
+    @Mock
+    private HikariDataSource reportingPool;
+
+    @Mock
+    private HikariDataSource backgroundPool;
+
+    @Mock
+    private HikariDataSource replicaPool;
+
+    @Mock
+    private ReplicaReadPolicy replicaReadPolicy;
+
+    @Mock
+    private Connection connection;
+
+    private WorkloadRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new WorkloadRoutingDataSource(Map.of(
+            WorkloadPool.INTERACTIVE, interactivePool,
+            WorkloadPool.REPORTING, reportingPool,
+            WorkloadPool.BACKGROUND, backgroundPool));
+    }
+
+    @AfterEach
+    void tearDown() {
+        WorkloadPool.restore(null);
+    }
+
+    @Test
+    void getConnection_WithoutPoolSet_ShouldUseInteractivePool() throws Exception {
+        // Given
+        when(interactivePool.getConnection()).thenReturn(connection);
+
+        // When
+        Connection result = dataSource.getConnection();
+
+        // Then
+        assertThat(result).isSameAs(connection);
+    }
+
+    @Test
+    void getConnection_WhenThreadRoutedToReporting_ShouldUseReportingPoolUntilRestored() throws Exception {
+        // Given
+        when(reportingPool.getConnection()).thenReturn(connection);
+        when(interactivePool.getConnection()).thenReturn(connection);
+
+        // When
+        WorkloadPool previous = WorkloadPool.REPORTING.use();
+        dataSource.getConnection();
+        WorkloadPool.restore(previous);
+        dataSource.getConnection();
+
+        // Then
+        verify(reportingPool).getConnection();
+        verify(interactivePool).getConnection();
+        assertThat(WorkloadPool.current()).isEqualTo(WorkloadPool.INTERACTIVE);
+    }
+
+    @Test
+    void threadFactory_ShouldPinEveryTaskToThePool() throws Exception {
+        // Given
+        ExecutorService workers = Executors.newSingleThreadExecutor(
+            WorkloadPool.BACKGROUND.threadFactory("test-background-"));
+
+        try {
+            // When
+            WorkloadPool first = CompletableFuture.supplyAsync(WorkloadPool::current, workers).get(5, TimeUnit.SECONDS);
+            WorkloadPool second = CompletableFuture.supplyAsync(WorkloadPool::current, workers).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(first).isEqualTo(WorkloadPool.BACKGROUND);
+            assertThat(second).isEqualTo(WorkloadPool.BACKGROUND);
+            assertThat(WorkloadPool.current()).isEqualTo(WorkloadPool.INTERACTIVE);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    void getConnection_InReadOnlyTransactionAllowedOnReplica_ShouldUseReplica() throws Exception {
+        // Given
+        WorkloadRoutingDataSource withReplica = new WorkloadRoutingDataSource(Map.of(
+            WorkloadPool.INTERACTIVE, interactivePool,
+            WorkloadPool.REPORTING, reportingPool,
+            WorkloadPool.BACKGROUND, backgroundPool), replicaPool, replicaReadPolicy);
+        when(replicaReadPolicy.useReplica(WorkloadPool.INTERACTIVE)).thenReturn(true);
+        when(replicaPool.getConnection()).thenReturn(connection);
+
+        // When
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            withReplica.getConnection();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        // Then
+        verify(replicaPool).getConnection();
+        verify(replicaReadPolicy, never()).recordWrite();
+    }
+
+    @Test
+    void getConnection_InReadWriteTransaction_ShouldUsePrimaryAndRecordWrite() throws Exception {
+        // Given
+        WorkloadRoutingDataSource withReplica = new WorkloadRoutingDataSource(Map.of(
+            WorkloadPool.INTERACTIVE, interactivePool,
+            WorkloadPool.REPORTING, reportingPool,
+            WorkloadPool.BACKGROUND, backgroundPool), replicaPool, replicaReadPolicy);
+        when(interactivePool.getConnection()).thenReturn(connection);
+
+        // When
+        withReplica.getConnection();
+
+        // Then
+        verify(replicaReadPolicy).recordWrite();
+        verify(replicaPool, never()).getConnection();
+    }
+
+    @Test
+    void close_ShouldCloseEveryPool() {
+        // When
+        dataSource.close();
+
+        // Then
+        verify(interactivePool).close();
+        verify(reportingPool).close();
+        verify(backgroundPool).close();
+    }
+
+    @Test
+    void constructor_WithMissingPool_ShouldFail() {
+        assertThatThrownBy(() -> new WorkloadRoutingDataSource(Map.of(WorkloadPool.INTERACTIVE, interactivePool)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
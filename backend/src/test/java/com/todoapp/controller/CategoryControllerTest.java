@@ -5,6 +5,7 @@ import com.todoapp.dto.CategoryDTO;
 import com.todoapp.dto.CreateCategoryRequest;
 import com.todoapp.dto.UpdateCategoryRequest;
 import com.todoapp.service.CategoryService;
+import com.todoapp.service.SuggestionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +34,9 @@ class CategoryControllerTest {
     @Mock
     private CategoryService categoryService;
 
+    @Mock
+    private SuggestionService suggestionService;
+
     @Mock
     private Authentication authentication;
 
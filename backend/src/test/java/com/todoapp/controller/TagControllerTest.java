@@ -2,8 +2,10 @@ package com.todoapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.todoapp.dto.CreateTagRequest;
+import com.todoapp.dto.SuggestionDTO;
 import com.todoapp.dto.TagDTO;
 import com.todoapp.dto.UpdateTagRequest;
+import com.todoapp.service.SuggestionService;
 import com.todoapp.service.TagService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,6 +35,9 @@ class TagControllerTest {
     @Mock
     private TagService tagService;
 
+    @Mock
+    private SuggestionService suggestionService;
+
     @Mock
     private Authentication authentication;
 
@@ -76,6 +81,27 @@ class TagControllerTest {
                 .andExpect(jsonPath("$[2].color").value("#008000"));
     }
 
+    @Test
+    void suggestTags_ShouldReturnRankedSuggestions() throws Exception {
+        // Given
+        String userEmail = "test@example.com";
+        when(authentication.getName()).thenReturn(userEmail);
+        when(suggestionService.suggestTags(userEmail, "ur", 5)).thenReturn(List.of(
+            new SuggestionDTO(1L, "urgent", "#FF0000", 12),
+            new SuggestionDTO(4L, "urban", "#00FF00", 3)
+        ));
+
+        // When & Then
+        mockMvc.perform(get("/api/tags/suggest")
+                .param("q", "ur")
+                .param("limit", "5")
+                .principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("urgent"))
+                .andExpect(jsonPath("$[0].usageCount").value(12))
+                .andExpect(jsonPath("$[1].name").value("urban"));
+    }
+
     @Test
     void createTag_ShouldReturnCreatedTag() throws Exception {
         // Given
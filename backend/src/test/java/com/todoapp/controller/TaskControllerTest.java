@@ -3,6 +3,7 @@ package com.todoapp.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.todoapp.dto.CreateTaskRequest;
 import com.todoapp.dto.TaskDTO;
+import com.todoapp.dto.TaskChangesDTO;
 import com.todoapp.dto.UpdateTaskRequest;
 import com.todoapp.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import com.todoapp.exception.GlobalExceptionHandler;
 import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.exception.SyncTokenExpiredException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ActiveProfiles;
 import java.time.LocalDateTime;
@@ -109,6 +111,80 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.tasks[0].id").value(1));
     }
 
+    @WithMockUser(username = "test@example.com")
+    @Test
+    void getTasks_WithIncludeArchived_ShouldListHistory() throws Exception {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        testTaskDTO.setArchived(true);
+        Page<TaskDTO> taskPage = new PageImpl<>(Arrays.asList(testTaskDTO), pageable, 1);
+        when(taskService.getTaskHistory(eq("test@example.com"), eq("completed"), isNull(), isNull(), isNull(),
+                any(Pageable.class))).thenReturn(taskPage);
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "completed")
+                        .param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].archived").value(true));
+        verify(taskService, never()).getTasks(any(), any(), any(), any(), any(), any());
+    }
+
+    @WithMockUser(username = "test@example.com")
+    @Test
+    void getTasks_WithIncludeArchivedAndTagFilter_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/tasks")
+                        .param("includeArchived", "true")
+                        .param("tagsAll", "1"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(taskService);
+    }
+
+    @WithMockUser(username = "test@example.com")
+    @Test
+    void getTasks_WithTagFilterAndStatus_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "completed")
+                        .param("tagsAny", "1", "2"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(taskService);
+    }
+
+    @WithMockUser(username = "test@example.com")
+    @Test
+    void getChanges_ShouldReturnChangesAndNextToken() throws Exception {
+        // Given
+        TaskChangesDTO changes = new TaskChangesDTO();
+        changes.getChanged().add(testTaskDTO);
+        changes.getDeleted().add(2L);
+        changes.setToken("next");
+        when(taskService.getChanges("test@example.com", "previous")).thenReturn(changes);
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/changes")
+                        .param("since", "previous"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].id").value(1))
+                .andExpect(jsonPath("$.deleted[0]").value(2))
+                .andExpect(jsonPath("$.token").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @WithMockUser(username = "test@example.com")
+    @Test
+    void getChanges_WithExpiredToken_ShouldReturnGone() throws Exception {
+        // Given
+        when(taskService.getChanges("test@example.com", "old"))
+            .thenThrow(new SyncTokenExpiredException("Sync token is older than the deletion history"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/changes")
+                        .param("since", "old"))
+                .andExpect(status().isGone());
+    }
+
     @WithMockUser(username = "test@example.com")
     @Test
     void createTask_WithValidRequest_ShouldReturnCreatedTask() throws Exception {
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.todoapp.dto.UpdateUserRequest;
 import com.todoapp.dto.UserDTO;
 import com.todoapp.dto.UserSettingsDTO;
+import com.todoapp.service.AccountExportService;
 import com.todoapp.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +32,9 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private AccountExportService accountExportService;
+
     @Mock
     private Authentication authentication;
 
@@ -0,0 +1,421 @@
+package com.todoapp.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.entity.Task;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the repository queries against the indexes in database/db/init.
+ *
+ * A PostgreSQL container gets the production schema and indexes and a skewed population
+ * (task and notification counts per user fall off as 1/rank, so a few heavy accounts
+ * dominate). Each repository method is called for a typical user; every statement it
+ * issues is captured with its binds and re-run as EXPLAIN (FORMAT JSON). The plan must
+ * not sequentially scan tasks or notifications, must seek on an index led by the
+ * expected column, and must not wrap an indexed column in a function or cast (such as
+ * DATE(due_date)), which keeps the predicate off the index.
+ *
+ * Skipped when Docker is not available.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+
+    private static final Set<String> GUARDED_TABLES = Set.of("tasks", "notifications");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+        .withCopyFileToContainer(MountableFile.forHostPath("../database/db/init/01_create_schema.sql"),
+            "/docker-entrypoint-initdb.d/01_create_schema.sql")
+        .withCopyFileToContainer(MountableFile.forHostPath("../database/db/init/02_create_indexes.sql"),
+            "/docker-entrypoint-initdb.d/02_create_indexes.sql");
+
+    // index name -> table and leading column; table -> indexed columns
+    private static final Map<String, String[]> indexes = new HashMap<>();
+    private static final Map<String, Set<String>> indexedColumns = new HashMap<>();
+
+    private static Long userId;
+    private static Long taskId;
+    private static Long categoryId;
+    private static Long tagId;
+    private static Long notificationId;
+    private static List<Long> chunkUserIds;
+    private static List<Long> taskIds;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final StatementCaptor captor = new StatementCaptor();
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setseed(0.42)");
+            statement.execute("INSERT INTO users (email, password_hash, name) " +
+                "SELECT 'plan' || g || '@example.com', 'x', 'Plan ' || g FROM generate_series(1, 2000) g");
+            statement.execute("INSERT INTO categories (user_id, name) " +
+                "SELECT u.id, 'Category ' || c FROM users u, generate_series(1, 5) c");
+            statement.execute("INSERT INTO tags (user_id, name) " +
+                "SELECT u.id, 'tag-' || t FROM users u, generate_series(1, 10) t");
+            // User of rank n gets 20 + 4000/n tasks and 10 + 2000/n notifications
+            statement.execute("INSERT INTO tasks (user_id, category_id, title, description, status, priority, " +
+                "due_date, completed_at, created_at) " +
+                "SELECT u.id, " +
+                "  CASE WHEN g % 10 < 7 THEN (SELECT c.id FROM categories c WHERE c.user_id = u.id " +
+                "    ORDER BY c.id OFFSET g % 5 LIMIT 1) END, " +
+                "  'Task ' || g || ' report', 'Seeded task ' || g, " +
+                "  CASE WHEN g % 20 = 0 THEN 'deleted' WHEN g % 20 < 8 THEN 'completed' ELSE 'pending' END, " +
+                "  (ARRAY['low', 'medium', 'high'])[g % 3 + 1], " +
+                "  CASE WHEN g % 5 = 0 THEN NULL ELSE now() + ((g % 90) - 30) * interval '1 day' END, " +
+                "  CASE WHEN g % 20 BETWEEN 1 AND 7 THEN now() - (g % 60) * interval '1 day' END, " +
+                "  now() - (g % 365) * interval '1 day' " +
+                "FROM (SELECT id, row_number() OVER (ORDER BY id) AS rank FROM users) u, " +
+                "  generate_series(1, 20 + 4000 / u.rank::int) g");
+            statement.execute("INSERT INTO task_tags (task_id, tag_id) " +
+                "SELECT t.id, (SELECT tg.id FROM tags tg WHERE tg.user_id = t.user_id ORDER BY tg.id " +
+                "  OFFSET t.id % 10 LIMIT 1) FROM tasks t WHERE t.id % 3 <> 0");
+            statement.execute("INSERT INTO notifications (user_id, type, title, message, read, created_at, scheduled_for) " +
+                "SELECT u.id, (ARRAY['due_reminder', 'task_completed', 'achievement'])[g % 3 + 1], " +
+                "  'Notification ' || g, 'Seeded notification', g % 3 <> 0, now() - (g % 60) * interval '1 day', " +
+                "  CASE WHEN g % 20 = 0 THEN now() + ((g % 10) - 5) * interval '1 hour' END " +
+                "FROM (SELECT id, row_number() OVER (ORDER BY id) AS rank FROM users) u, " +
+                "  generate_series(1, 10 + 2000 / u.rank::int) g");
+            statement.execute("ANALYZE");
+
+            userId = queryLong(statement, "SELECT id FROM users WHERE email = 'plan1000@example.com'");
+            taskId = queryLong(statement, "SELECT min(id) FROM tasks WHERE user_id = " + userId);
+            categoryId = queryLong(statement, "SELECT min(id) FROM categories WHERE user_id = " + userId);
+            tagId = queryLong(statement, "SELECT min(id) FROM tags WHERE user_id = " + userId);
+            notificationId = queryLong(statement, "SELECT min(id) FROM notifications WHERE user_id = " + userId);
+            chunkUserIds = queryLongs(statement, "SELECT id FROM users ORDER BY id OFFSET 1000 LIMIT 50");
+            taskIds = queryLongs(statement, "SELECT id FROM tasks WHERE user_id = " + userId + " LIMIT 10");
+
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT i.relname, t.relname, a.attname, a.attnum = x.indkey[0] " +
+                    "FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid JOIN pg_class t ON t.oid = x.indrelid " +
+                    "JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = ANY (x.indkey) " +
+                    "WHERE t.relname IN ('tasks', 'notifications')")) {
+                while (rs.next()) {
+                    if (rs.getBoolean(4)) {
+                        indexes.put(rs.getString(1), new String[] {rs.getString(2), rs.getString(3)});
+                    }
+                    indexedColumns.computeIfAbsent(rs.getString(2), table -> new HashSet<>()).add(rs.getString(3));
+                }
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(captor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(captor);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> taskRepositoryQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        PageRequest page = PageRequest.of(0, 20, Sort.by("createdAt").descending());
+        return Stream.of(
+            plan("findByIdAndUserId", Set.of("id", "user_id"), () -> taskRepository.findByIdAndUserId(taskId, userId)),
+            plan("findByUserId", Set.of("user_id"), () -> taskRepository.findByUserId(userId, page)),
+            plan("findByUserIdAndStatus", Set.of("user_id"),
+                () -> taskRepository.findByUserIdAndStatus(userId, Task.TaskStatus.PENDING, page)),
+            plan("findByUserIdAndPriority", Set.of("user_id"),
+                () -> taskRepository.findByUserIdAndPriority(userId, Task.TaskPriority.HIGH, page)),
+            plan("findByUserIdAndCategoryId", Set.of("user_id", "category_id"),
+                () -> taskRepository.findByUserIdAndCategoryId(userId, categoryId, page)),
+            plan("findByUserIdAndSearch", Set.of("user_id"),
+                () -> taskRepository.findByUserIdAndSearch(userId, "report", page)),
+            plan("findOverdueTasks", Set.of("user_id"), () -> taskRepository.findOverdueTasks(userId, now)),
+            plan("findTodaysTasks", Set.of("user_id"),
+                () -> taskRepository.findTodaysTasks(userId, today, today.plusDays(1))),
+            plan("findUpcomingTasks", Set.of("user_id"),
+                () -> taskRepository.findUpcomingTasks(userId, today, today.plusDays(7))),
+            plan("findByUserIdAndTagId", Set.of("id", "user_id"),
+                () -> taskRepository.findByUserIdAndTagId(userId, tagId, PageRequest.of(0, 20))),
+            plan("countByUserIdAndStatus", Set.of("user_id"),
+                () -> taskRepository.countByUserIdAndStatus(userId, Task.TaskStatus.COMPLETED)),
+            plan("countOverdueTasks", Set.of("user_id"), () -> taskRepository.countOverdueTasks(userId, now)),
+            plan("findByIdWithTags", Set.of("id"), () -> taskRepository.findByIdWithTags(taskId)),
+            plan("findRecentTasks", Set.of("user_id"), () -> taskRepository.findRecentTasks(userId, now.minusDays(30))),
+            plan("findCompletedTasksInRange", Set.of("user_id"),
+                () -> taskRepository.findCompletedTasksInRange(userId, now.minusDays(7), now)),
+            plan("summarizeForUsers", Set.of("user_id"),
+                () -> taskRepository.summarizeForUsers(chunkUserIds, now, today.minusDays(7), today.plusDays(7),
+                    Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED, Task.TaskStatus.DELETED)),
+            plan("countByCategoryForUser", Set.of("user_id"),
+                () -> taskRepository.countByCategoryForUser(userId,
+                    Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED, Task.TaskStatus.DELETED)),
+            plan("countForCategory", Set.of("category_id"),
+                () -> taskRepository.countForCategory(categoryId,
+                    Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED, Task.TaskStatus.DELETED)),
+            plan("countByTagForUser", Set.of("user_id"),
+                () -> taskRepository.countByTagForUser(userId, Task.TaskStatus.DELETED)),
+            plan("findByUserIdAndIdIn", Set.of("id", "user_id"),
+                () -> taskRepository.findByUserIdAndIdIn(userId, taskIds)),
+            plan("findLiveTaskIds", Set.of("user_id"),
+                () -> taskRepository.findLiveTaskIds(userId, Task.TaskStatus.DELETED)),
+            plan("findTagLinks", Set.of("user_id"), () -> taskRepository.findTagLinks(userId, Task.TaskStatus.DELETED)),
+            plan("findChangedAfter", Set.of("user_id"),
+                () -> taskRepository.findChangedAfter(userId, now.minusDays(1), 0L, PageRequest.of(0, 501))),
+            plan("findDeletedByIdAndUserId", Set.of("id", "user_id"),
+                () -> taskRepository.findDeletedByIdAndUserId(taskId, userId)),
+            plan("existsByCategoryId", Set.of("category_id"), () -> taskRepository.existsByCategoryId(categoryId)),
+            plan("countByUserId", Set.of("user_id"), () -> taskRepository.countByUserId(userId)),
+            plan("deleteTagLinksChunk", Set.of("user_id"), () -> taskRepository.deleteTagLinksChunk(userId, 500)),
+            plan("deleteChunkForUser", Set.of("user_id"), () -> taskRepository.deleteChunkForUser(userId, 500)),
+            plan("lockPurgeableIds", Set.of("updated_at"), () -> taskRepository.lockPurgeableIds(now.plusDays(1), 1000)),
+            plan("deleteDeletedByIds", Set.of("id"), () -> taskRepository.deleteDeletedByIds(taskIds)),
+            plan("lockArchivableIds", Set.of("completed_at"),
+                () -> taskRepository.lockArchivableIds(now.minusDays(90), 500)),
+            plan("deleteCompletedByIds", Set.of("id"), () -> taskRepository.deleteCompletedByIds(taskIds)),
+            plan("findTagLinksOfTasks", Set.of("id"), () -> taskRepository.findTagLinksOfTasks(taskIds)));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> notificationRepositoryQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 20);
+        return Stream.of(
+            plan("findByIdAndUserId", Set.of("id", "user_id"),
+                () -> notificationRepository.findByIdAndUserId(notificationId, userId)),
+            plan("findByUserIdOrderByCreatedAtDesc", Set.of("user_id"),
+                () -> notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, page)),
+            plan("findByUserIdAndReadFalseOrderByCreatedAtDesc", Set.of("user_id"),
+                () -> notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId, page)),
+            plan("countByUserIdAndReadFalse", Set.of("user_id"),
+                () -> notificationRepository.countByUserIdAndReadFalse(userId)),
+            plan("findByUserIdAndTypeOrderByCreatedAtDesc", Set.of("user_id"),
+                () -> notificationRepository.findByUserIdAndTypeOrderByCreatedAtDesc(userId, "due_reminder")),
+            plan("findDueNotifications", Set.of("scheduled_for"),
+                () -> notificationRepository.findDueNotifications(now)),
+            plan("markAllAsRead", Set.of("user_id"), () -> notificationRepository.markAllAsRead(userId)),
+            plan("markAsRead", Set.of("id", "user_id"), () -> notificationRepository.markAsRead(notificationId, userId)),
+            plan("deleteOldNotifications", Set.of("user_id", "created_at"),
+                () -> notificationRepository.deleteOldNotifications(userId, now.minusDays(90))),
+            plan("findByUserIdOrderByCreatedAtDesc (all)", Set.of("user_id"),
+                () -> notificationRepository.findByUserIdOrderByCreatedAtDesc(userId)),
+            plan("deleteChunkForUser", Set.of("user_id"),
+                () -> notificationRepository.deleteChunkForUser(userId, 500)));
+    }
+
+    private DynamicTest plan(String name, Set<String> leadingColumns, Runnable query) {
+        return DynamicTest.dynamicTest(name, () -> {
+            // Given - the statements the repository method issues, rolled back afterwards
+            captor.start();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                query.run();
+                status.setRollbackOnly();
+            });
+            List<CapturedStatement> statements = captor.stop();
+
+            // When
+            int checked = 0;
+            for (CapturedStatement statement : statements) {
+                List<JsonNode> scans = guardedScans(explain(statement));
+                if (scans.isEmpty()) {
+                    continue;
+                }
+                checked++;
+
+                // Then
+                for (JsonNode scan : scans) {
+                    assertThat(scan.path("Node Type").asText())
+                        .as("%s: %s", name, statement.sql())
+                        .isNotEqualTo("Seq Scan");
+                    assertSargable(name, statement.sql(), scan);
+                }
+                assertThat(scans.stream()
+                        .map(scan -> indexes.get(scan.path("Index Name").asText()))
+                        .anyMatch(index -> index != null && leadingColumns.contains(index[1])))
+                    .as("%s seeks on an index led by one of %s: %s%n%s", name, leadingColumns, statement.sql(), scans)
+                    .isTrue();
+            }
+            assertThat(checked).as("%s touches tasks or notifications", name).isPositive();
+        });
+    }
+
+    /**
+     * No Filter or Index Cond may apply a function or a non-trivial cast to an indexed column.
+     */
+    private static void assertSargable(String name, String sql, JsonNode scan) {
+        String table = tableOf(scan);
+        for (String column : indexedColumns.getOrDefault(table, Set.of())) {
+            Pattern wrapped = Pattern.compile(
+                "\\w+\\(\\(?(?:\\w+\\.)?" + column + "\\b" +
+                "|\\((?:\\w+\\.)?" + column + "\\)::(?!text\\b|character varying\\b)");
+            for (String field : List.of("Filter", "Index Cond", "Recheck Cond")) {
+                String condition = scan.path(field).asText("");
+                assertThat(wrapped.matcher(condition).find())
+                    .as("%s wraps indexed column %s.%s in %s: %s%n%s", name, table, column, field, condition, sql)
+                    .isFalse();
+            }
+        }
+    }
+
+    private static List<JsonNode> guardedScans(JsonNode plan) {
+        List<JsonNode> scans = new ArrayList<>();
+        collectScans(plan, scans);
+        return scans;
+    }
+
+    private static void collectScans(JsonNode node, List<JsonNode> scans) {
+        if (node.path("Node Type").asText().contains("Scan") && GUARDED_TABLES.contains(tableOf(node))) {
+            scans.add(node);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectScans(child, scans);
+        }
+    }
+
+    private static String tableOf(JsonNode scan) {
+        if (scan.hasNonNull("Relation Name")) {
+            return scan.path("Relation Name").asText();
+        }
+        String[] index = indexes.get(scan.path("Index Name").asText());
+        return index != null ? index[0] : null;
+    }
+
+    private static JsonNode explain(CapturedStatement captured) throws Exception {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + captured.sql())) {
+            for (ParameterSetOperation parameter : captured.parameters()) {
+                parameter.getMethod().invoke(statement, parameter.getArgs());
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return objectMapper.readTree(rs.getString(1)).get(0).path("Plan");
+            }
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    private static Long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static List<Long> queryLongs(Statement statement, String sql) throws SQLException {
+        List<Long> values = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getLong(1));
+            }
+        }
+        return values;
+    }
+
+    private record CapturedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    /**
+     * Records the statements the test thread executes between start() and stop().
+     */
+    private static final class StatementCaptor implements QueryExecutionListener {
+
+        private volatile Thread owner;
+        private final List<CapturedStatement> statements = new ArrayList<>();
+
+        void start() {
+            statements.clear();
+            owner = Thread.currentThread();
+        }
+
+        List<CapturedStatement> stop() {
+            owner = null;
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (Thread.currentThread() != owner) {
+                return;
+            }
+            for (QueryInfo query : queryInfoList) {
+                List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                    ? List.of() : query.getParametersList().get(0);
+                statements.add(new CapturedStatement(query.getQuery(), parameters));
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.Category;
+import com.todoapp.entity.Tag;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level cache behaviour against H2: what is served from the cache, and that bulk
+ * and native statements evict the regions they affect (and only those).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cache cache;
+    private Statistics statistics;
+    private String email;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.getCache();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        email = "cache-" + UUID.randomUUID() + "@example.com";
+        userId = userRepository.save(new User(email, "hash", "Cache User")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findById(userId).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void findByEmail_SecondLookup_ShouldResolveFromNaturalIdAndEntityCaches() {
+        // Given
+        cache.evictAll();
+        statistics.clear();
+
+        // When
+        userRepository.findByEmail(email);
+        User user = userRepository.findByEmail(email).orElseThrow();
+
+        // Then
+        assertThat(user.getId()).isEqualTo(userId);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isPositive();
+    }
+
+    @Test
+    void findByEmail_AfterEmailChange_ShouldResolveOnlyTheNewEmail() {
+        // Given
+        userRepository.findByEmail(email).orElseThrow();
+        String changed = "changed-" + email;
+
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+            userRepository.findById(userId).orElseThrow().setEmail(changed));
+
+        // Then
+        assertThat(userRepository.findByEmail(email)).isEmpty();
+        assertThat(userRepository.findByEmail(changed)).get().extracting(User::getId).isEqualTo(userId);
+    }
+
+    @Test
+    void findByEmailUncached_AfterChangeOutsideThisNode_ShouldSeeCurrentRow() {
+        // Given - a cached user, then a change this node's cache does not hear about
+        userRepository.findByEmail(email).orElseThrow();
+        jdbcTemplate.update("UPDATE users SET enabled = false WHERE id = ?", userId);
+
+        // When
+        User cached = userRepository.findByEmail(email).orElseThrow();
+        User current = userRepository.findByEmailUncached(email).orElseThrow();
+
+        // Then
+        assertThat(cached.isEnabled()).isTrue();
+        assertThat(current.isEnabled()).isFalse();
+    }
+
+    @Test
+    void deleteByIdInBulk_CachedUser_ShouldEvictUser() {
+        // Given
+        userRepository.findByEmail(email).orElseThrow();
+        assertThat(cache.contains(User.class, userId)).isTrue();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> userRepository.deleteByIdInBulk(userId));
+
+        // Then
+        assertThat(cache.contains(User.class, userId)).isFalse();
+        assertThat(userRepository.findByEmail(email)).isEmpty();
+    }
+
+    @Test
+    void deleteChunkForUser_NativeTagDelete_ShouldEvictOnlyTags() {
+        // Given
+        User user = userRepository.findById(userId).orElseThrow();
+        Long categoryId = categoryRepository.save(new Category("Work", "#3B82F6", user)).getId();
+        Long tagId = tagRepository.save(new Tag("urgent", user)).getId();
+        assertThat(cache.contains(Category.class, categoryId)).isTrue();
+        assertThat(cache.contains(Tag.class, tagId)).isTrue();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> tagRepository.deleteChunkForUser(userId, 100));
+
+        // Then
+        assertThat(cache.contains(Tag.class, tagId)).isFalse();
+        assertThat(cache.contains(Category.class, categoryId)).isTrue();
+        assertThat(cache.contains(User.class, userId)).isTrue();
+    }
+
+    @Test
+    void taskTags_SecondLoad_ShouldComeFromCollectionCache() {
+        // Given
+        User user = userRepository.findById(userId).orElseThrow();
+        Tag tag = tagRepository.save(new Tag("home", user));
+        Task task = new Task("Cached tags", user);
+        task.getTags().add(tag);
+        Long taskId = taskRepository.save(task).getId();
+        cache.evictAll();
+        statistics.clear();
+
+        // When
+        Integer first = transactionTemplate.execute(status -> taskRepository.findById(taskId).orElseThrow().getTags().size());
+        Integer second = transactionTemplate.execute(status -> taskRepository.findById(taskId).orElseThrow().getTags().size());
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("task-tags").getHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics("tags").getHitCount()).isPositive();
+    }
+}
@@ -0,0 +1,151 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.AccountDeletion;
+import com.todoapp.entity.User;
+import com.todoapp.repository.AccountDeletionRepository;
+import com.todoapp.repository.ArchivedTaskRepository;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.NotificationRepository;
+import com.todoapp.repository.TagRepository;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.repository.UserSettingsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountDeletionServiceTest {
+
+    @Mock
+    private AccountDeletionRepository accountDeletionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private UserSettingsRepository userSettingsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AccountDeletionServiceImpl accountDeletionService;
+
+    @BeforeEach
+    void setUp() {
+        accountDeletionService = new AccountDeletionServiceImpl(accountDeletionRepository, userRepository,
+            taskRepository, archivedTaskRepository, notificationRepository, tagRepository, categoryRepository, userSettingsRepository,
+            transactionManager, 1);
+        ReflectionTestUtils.setField(accountDeletionService, "chunkSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountDeletionService.shutdown();
+    }
+
+    @Test
+    void purge_ShouldDeleteEachTableInChunksChildrenFirst() {
+        // Given
+        AccountDeletion deletion = new AccountDeletion(7L);
+        deletion.setId(1L);
+        when(accountDeletionRepository.findById(1L)).thenReturn(Optional.of(deletion));
+        when(accountDeletionRepository.save(any(AccountDeletion.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskRepository.deleteTagLinksChunk(7L, 2)).thenReturn(2, 1);
+        when(taskRepository.deleteChunkForUser(7L, 2)).thenReturn(2, 2, 0);
+        when(archivedTaskRepository.deleteChunkForUser(7L, 2)).thenReturn(1);
+        when(notificationRepository.deleteChunkForUser(7L, 2)).thenReturn(0);
+        when(tagRepository.deleteChunkForUser(7L, 2)).thenReturn(1);
+        when(categoryRepository.deleteChunkForUser(7L, 2)).thenReturn(1);
+        when(userSettingsRepository.deleteByUserIdInBulk(7L)).thenReturn(1);
+        when(userRepository.deleteByIdInBulk(7L)).thenReturn(1);
+
+        // When
+        AccountDeletion result = accountDeletionService.purge(1L);
+
+        // Then
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getDeletedRows()).isEqualTo(12L);
+
+        InOrder order = inOrder(taskRepository, archivedTaskRepository, notificationRepository, tagRepository, categoryRepository,
+            userSettingsRepository, userRepository);
+        order.verify(taskRepository, times(2)).deleteTagLinksChunk(7L, 2);
+        order.verify(taskRepository, times(3)).deleteChunkForUser(7L, 2);
+        order.verify(archivedTaskRepository).deleteChunkForUser(7L, 2);
+        order.verify(notificationRepository).deleteChunkForUser(7L, 2);
+        order.verify(tagRepository).deleteChunkForUser(7L, 2);
+        order.verify(categoryRepository).deleteChunkForUser(7L, 2);
+        order.verify(userSettingsRepository).deleteByUserIdInBulk(7L);
+        order.verify(userRepository).deleteByIdInBulk(7L);
+        verify(accountDeletionRepository, times(11)).save(deletion);
+    }
+
+    @Test
+    void purge_WhenInterrupted_ShouldResumeAtRecordedStep() {
+        // Given
+        AccountDeletion deletion = new AccountDeletion(7L);
+        deletion.setId(1L);
+        deletion.setCurrentStep(AccountDeletion.DeletionStep.USER_SETTINGS);
+        when(accountDeletionRepository.findById(1L)).thenReturn(Optional.of(deletion));
+        when(accountDeletionRepository.save(any(AccountDeletion.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userSettingsRepository.deleteByUserIdInBulk(7L)).thenReturn(0);
+        when(userRepository.deleteByIdInBulk(7L)).thenReturn(1);
+
+        // When
+        AccountDeletion result = accountDeletionService.purge(1L);
+
+        // Then
+        assertThat(result.isCompleted()).isTrue();
+        verifyNoInteractions(taskRepository, archivedTaskRepository, notificationRepository, tagRepository, categoryRepository);
+    }
+
+    @Test
+    void requestDeletion_ShouldDisableAccountAndFreeEmail() {
+        // Given
+        User user = new User("test@example.com", "hash", "Test User");
+        user.setId(7L);
+        when(accountDeletionRepository.findByUserId(7L)).thenReturn(Optional.empty());
+        when(accountDeletionRepository.save(any(AccountDeletion.class))).thenAnswer(invocation -> {
+            AccountDeletion saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        // When
+        AccountDeletion deletion = accountDeletionService.requestDeletion(user);
+
+        // Then
+        assertThat(deletion.getUserId()).isEqualTo(7L);
+        assertThat(user.isEnabled()).isFalse();
+        assertThat(user.getActive()).isFalse();
+        assertThat(user.getEmail()).isEqualTo("deleted-7@deleted.invalid");
+        verify(userRepository).save(user);
+    }
+}
@@ -0,0 +1,299 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.entity.ExportJob;
+import com.todoapp.entity.User;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.repository.ExportJobRepository;
+import com.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountExportServiceTest {
+
+    @Mock
+    private ExportJobRepository exportJobRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path exportDir;
+
+    private AccountExportServiceImpl accountExportService;
+
+    private final Map<String, List<ResultSet>> rowsByTable = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        accountExportService = new AccountExportServiceImpl(exportJobRepository, userRepository, jdbcTemplate,
+            new ObjectMapper().findAndRegisterModules(), transactionManager, 1);
+        ReflectionTestUtils.setField(accountExportService, "exportDir", exportDir);
+        ReflectionTestUtils.setField(accountExportService, "batchSize", 2);
+
+        // Feed each query the rows registered for the table it reads
+        doAnswer(invocation -> {
+            String sql = ((SqlProvider) invocation.getArgument(0)).getSql();
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map.Entry<String, List<ResultSet>> entry : rowsByTable.entrySet()) {
+                if (sql.contains("FROM " + entry.getKey() + " WHERE")) {
+                    for (ResultSet row : entry.getValue()) {
+                        handler.processRow(row);
+                    }
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountExportService.shutdown();
+    }
+
+    @Test
+    void streamExport_ShouldWriteOneNdjsonEntryPerPart() throws Exception {
+        // Given
+        User user = new User("test@example.com", "hash", "Test User");
+        user.setId(7L);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        addRows("users", row("id", 7L, "email", "test@example.com"));
+        addRows("categories", row("id", 1L, "name", "Work"), row("id", 2L, "name", "Home"));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        accountExportService.streamExport("test@example.com", out);
+
+        // Then
+        Map<String, String> entries = unzip(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(entries.keySet()).containsExactly("profile.ndjson", "settings.ndjson", "categories.ndjson",
+            "tags.ndjson", "tasks.ndjson", "archived_tasks.ndjson", "notifications.ndjson");
+        assertThat(entries.get("profile.ndjson")).isEqualTo("{\"id\":7,\"email\":\"test@example.com\"}\n");
+        assertThat(entries.get("categories.ndjson"))
+            .isEqualTo("{\"id\":1,\"name\":\"Work\"}\n{\"id\":2,\"name\":\"Home\"}\n");
+        assertThat(entries.get("tasks.ndjson")).isEmpty();
+    }
+
+    @Test
+    void streamExport_ShouldFoldTagRowsIntoTheirTask() throws Exception {
+        // Given
+        User user = new User("test@example.com", "hash", "Test User");
+        user.setId(7L);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        addRows("tasks",
+            row("id", 1L, "title", "A", "tag_id", 10L, "tag_name", "urgent", "tag_color", "#FF0000"),
+            row("id", 1L, "title", "A", "tag_id", 11L, "tag_name", "home", "tag_color", "#00FF00"),
+            row("id", 2L, "title", "B", "tag_id", null, "tag_name", null, "tag_color", null));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        accountExportService.streamExport("test@example.com", out);
+
+        // Then
+        assertThat(unzip(new ByteArrayInputStream(out.toByteArray())).get("tasks.ndjson")).isEqualTo(
+            "{\"id\":1,\"title\":\"A\",\"tags\":[{\"id\":10,\"name\":\"urgent\",\"color\":\"#FF0000\"}," +
+            "{\"id\":11,\"name\":\"home\",\"color\":\"#00FF00\"}]}\n" +
+            "{\"id\":2,\"title\":\"B\",\"tags\":[]}\n");
+    }
+
+    @Test
+    void runJob_WhenInterrupted_ShouldDiscardUncheckpointedBytesAndFinish() throws Exception {
+        // Given - the job stopped in the tasks part after writing a batch it never recorded
+        ExportJob job = new ExportJob(7L);
+        job.setId(3L);
+        job.setCurrentPart(ExportJob.ExportPart.TASKS);
+        job.setLastId(10L);
+        job.setPartBytes(6L);
+        Path jobDir = Files.createDirectories(exportDir.resolve("3"));
+        Files.writeString(jobDir.resolve("profile.ndjson"), "{\"id\":7}\n");
+        Files.writeString(jobDir.resolve("settings.ndjson"), "");
+        Files.writeString(jobDir.resolve("categories.ndjson"), "");
+        Files.writeString(jobDir.resolve("tags.ndjson"), "");
+        Files.writeString(jobDir.resolve("tasks.ndjson"), "{\"a\"}\n{\"b\"}\n");
+        when(exportJobRepository.lockById(3L)).thenReturn(Optional.of(job));
+        when(exportJobRepository.save(any(ExportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ExportJob result = accountExportService.runJob(3L);
+
+        // Then
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getExpiresAt()).isNotNull();
+        Map<String, String> entries;
+        try (InputStream in = Files.newInputStream(jobDir.resolve("export.zip"))) {
+            entries = unzip(in);
+        }
+        assertThat(entries.get("profile.ndjson")).isEqualTo("{\"id\":7}\n");
+        assertThat(entries.get("tasks.ndjson")).isEqualTo("{\"a\"}\n");
+        assertThat(Files.exists(jobDir.resolve("tasks.ndjson"))).isFalse();
+        // Tasks, archived tasks and notifications are each finished by one short batch
+        verify(jdbcTemplate, times(3)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        // The claim, three checkpoints and the completion
+        verify(exportJobRepository, times(5)).save(job);
+        assertThat(job.getClaimedBy()).isNotNull();
+    }
+
+    @Test
+    void runJob_WhenPartFileIsShorterThanCheckpoint_ShouldStartOver() throws Exception {
+        // Given - resumed on an instance whose export dir lacks the bytes the job recorded
+        ExportJob job = new ExportJob(7L);
+        job.setId(3L);
+        job.setCurrentPart(ExportJob.ExportPart.TASKS);
+        job.setLastId(10L);
+        job.setPartBytes(100L);
+        job.setExportedRows(40L);
+        when(exportJobRepository.lockById(3L)).thenReturn(Optional.of(job));
+        when(exportJobRepository.save(any(ExportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        addRows("users", row("id", 7L, "email", "test@example.com"));
+
+        // When
+        ExportJob result = accountExportService.runJob(3L);
+
+        // Then - every part written again from the start, no gap in the archive
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getExportedRows()).isEqualTo(1L);
+        Map<String, String> entries;
+        try (InputStream in = Files.newInputStream(exportDir.resolve("3").resolve("export.zip"))) {
+            entries = unzip(in);
+        }
+        assertThat(entries.get("profile.ndjson")).isEqualTo("{\"id\":7,\"email\":\"test@example.com\"}\n");
+        assertThat(entries.get("tasks.ndjson")).isEmpty();
+        verify(jdbcTemplate, times(7)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void runJob_WhenClaimedByAnotherInstance_ShouldLeaveItAlone() {
+        // Given
+        ExportJob job = new ExportJob(7L);
+        job.setId(3L);
+        job.setClaimedBy("other-instance");
+        when(exportJobRepository.lockById(3L)).thenReturn(Optional.of(job));
+
+        // When
+        ExportJob result = accountExportService.runJob(3L);
+
+        // Then
+        assertThat(result).isNull();
+        verify(exportJobRepository, never()).save(any(ExportJob.class));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void resumeInterruptedJobs_ShouldClaimTheStaleJobsItLocked() {
+        // Given - a stale job, already finished by the time the worker looks at it
+        ExportJob stale = new ExportJob(7L);
+        stale.setId(3L);
+        stale.setClaimedBy("stopped-instance");
+        ExportJob finished = new ExportJob(7L);
+        finished.setId(3L);
+        finished.setStatus(ExportJob.ExportStatus.COMPLETED);
+        when(exportJobRepository.lockStaleJobs(any(), eq(10))).thenReturn(List.of(stale));
+        when(exportJobRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(exportJobRepository.lockById(3L)).thenReturn(Optional.of(finished));
+
+        // When
+        accountExportService.resumeInterruptedJobs();
+
+        // Then
+        assertThat(stale.getClaimedBy()).isNotEqualTo("stopped-instance");
+        assertThat(stale.getClaimedAt()).isNotNull();
+    }
+
+    @Test
+    void getExportArchive_WhenArchiveIsNotInTheExportDir_ShouldThrowNotFound() {
+        // Given - completed by an instance that does not share this export dir
+        User user = new User("test@example.com", "hash", "Test User");
+        user.setId(7L);
+        ExportJob job = new ExportJob(7L);
+        job.setId(3L);
+        job.markCompleted(100L, LocalDateTime.now().plusDays(1));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(exportJobRepository.findByIdAndUserId(3L, 7L)).thenReturn(Optional.of(job));
+
+        // When & Then
+        assertThatThrownBy(() -> accountExportService.getExportArchive(3L, "test@example.com"))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @SafeVarargs
+    private void addRows(String table, Map<String, Object>... rows) throws SQLException {
+        List<ResultSet> resultSets = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            resultSets.add(resultSet(row));
+        }
+        rowsByTable.put(table, resultSets);
+    }
+
+    private static Map<String, Object> row(Object... keysAndValues) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            row.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return row;
+    }
+
+    private static ResultSet resultSet(Map<String, Object> row) throws SQLException {
+        List<String> columns = new ArrayList<>(row.keySet());
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(columns.size());
+        when(metaData.getColumnLabel(anyInt())).thenAnswer(invocation -> columns.get(invocation.<Integer>getArgument(0) - 1));
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.getObject(anyInt())).thenAnswer(invocation -> row.get(columns.get(invocation.<Integer>getArgument(0) - 1)));
+        return resultSet;
+    }
+
+    private static Map<String, String> unzip(InputStream in) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -23,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +44,9 @@ class AuthServiceTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -96,6 +100,7 @@ class AuthServiceTest {
         verify(userRepository).save(any(User.class));
         verify(jwtUtil).generateToken("newuser@example.com");
         verify(jwtUtil).generateRefreshToken("newuser@example.com");
+        verify(outboxService).enqueue(eq("welcome"), eq("newuser@example.com"), anyString(), anyString());
     }
 
     @Test
@@ -110,6 +115,7 @@ class AuthServiceTest {
 
         verify(userRepository).findByEmail("newuser@example.com");
         verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(outboxService);
     }
 
     @Test
@@ -211,7 +217,7 @@ class AuthServiceTest {
 
         // Then
         verify(userRepository).findByEmail("test@example.com");
-        // In a real implementation, this would send an email
+        verify(outboxService).enqueue(eq("password_reset"), eq("test@example.com"), anyString(), anyString());
     }
 
     @Test
@@ -224,6 +230,7 @@ class AuthServiceTest {
 
         // Then - should not throw exception, just return silently for security
         verify(userRepository).findByEmail("nonexistent@example.com");
+        verifyNoInteractions(outboxService);
     }
 
     @Test
@@ -1,12 +1,15 @@
 package com.todoapp.service;
 
 import com.todoapp.dto.CategoryDTO;
+import com.todoapp.dto.CategoryTaskCountDTO;
 import com.todoapp.dto.CreateCategoryRequest;
 import com.todoapp.dto.UpdateCategoryRequest;
 import com.todoapp.entity.Category;
+import com.todoapp.entity.Task;
 import com.todoapp.entity.User;
 import com.todoapp.exception.ResourceNotFoundException;
 import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TaskRepository;
 import com.todoapp.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +26,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +39,18 @@ class CategoryServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private SuggestionService suggestionService;
+
+    @Mock
+    private ReferenceDataService referenceDataService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -233,7 +249,45 @@ class CategoryServiceTest {
         // Then
         verify(userRepository).findByEmail("test@example.com");
         verify(categoryRepository).findByIdAndUserId(1L, 1L);
+        verify(taskRepository).existsByCategoryId(1L);
         verify(categoryRepository).delete(workCategory);
+        verify(dataVersionService).bump(testUser);
+    }
+
+    @Test
+    void deleteCategory_WithExistingTasks_ShouldThrowException() {
+        // Given
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(categoryRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(workCategory));
+        when(taskRepository.existsByCategoryId(1L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> categoryService.deleteCategory(1L, "test@example.com"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Cannot delete category with existing tasks");
+
+        verify(categoryRepository, never()).delete(any(Category.class));
+        verify(dataVersionService, never()).bump(any(User.class));
+    }
+
+    @Test
+    void getCategories_ShouldTakeTaskCountsFromAggregateQuery() {
+        // Given
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(categoryRepository.findByUserIdOrderByNameAsc(1L)).thenReturn(Arrays.asList(workCategory, personalCategory));
+        when(taskRepository.countByCategoryForUser(1L,
+                Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED, Task.TaskStatus.DELETED))
+            .thenReturn(List.of(new CategoryTaskCountDTO(1L, 5L, 3L, 2L)));
+
+        // When
+        List<CategoryDTO> categories = categoryService.getCategories("test@example.com");
+
+        // Then
+        assertThat(categories.get(0).getTaskCount()).isEqualTo(5);
+        assertThat(categories.get(0).getPendingTaskCount()).isEqualTo(3);
+        assertThat(categories.get(0).getCompletedTaskCount()).isEqualTo(2);
+        assertThat(categories.get(1).getTaskCount()).isZero();
+        assertThat(categories.get(1).getPendingTaskCount()).isZero();
     }
 
     @Test
@@ -145,7 +145,7 @@ class DashboardServiceTest {
     void getTodaysTasks_WithValidUser_ShouldReturnTodaysTasks() {
         // Given
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(taskRepository.findTodaysTasks(eq(1L), any(LocalDateTime.class)))
+        when(taskRepository.findTodaysTasks(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(Arrays.asList(pendingTask, completedTask));
 
         // When
@@ -156,14 +156,14 @@ class DashboardServiceTest {
         assertThat(todaysTasks).hasSize(2);
 
         verify(userRepository).findByEmail("test@example.com");
-        verify(taskRepository).findTodaysTasks(eq(1L), any(LocalDateTime.class));
+        verify(taskRepository).findTodaysTasks(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
     void getTodaysTasks_WithNoTasks_ShouldReturnEmptyList() {
         // Given
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(taskRepository.findTodaysTasks(eq(1L), any(LocalDateTime.class)))
+        when(taskRepository.findTodaysTasks(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(Arrays.asList());
 
         // When
@@ -174,7 +174,7 @@ class DashboardServiceTest {
         assertThat(todaysTasks).isEmpty();
 
         verify(userRepository).findByEmail("test@example.com");
-        verify(taskRepository).findTodaysTasks(eq(1L), any(LocalDateTime.class));
+        verify(taskRepository).findTodaysTasks(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
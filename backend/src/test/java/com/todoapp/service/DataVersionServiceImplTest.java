@@ -0,0 +1,119 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.User;
+import com.todoapp.entity.UserDataVersion;
+import com.todoapp.repository.UserDataVersionRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.util.DataVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DataVersionServiceImplTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserDataVersionRepository userDataVersionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DataVersionServiceImpl dataVersionService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        dataVersionService = new DataVersionServiceImpl(userRepository, userDataVersionRepository,
+            transactionManager, Duration.ofMinutes(10));
+        user = new User(EMAIL, "hash", "Test User");
+        user.setId(7L);
+    }
+
+    @Test
+    void current_ShouldLoadFromDatabaseOnceAndThenServeFromMemory() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(userDataVersionRepository.findById(7L)).thenReturn(Optional.of(new UserDataVersion(7L, 42L)));
+
+        // When
+        DataVersion first = dataVersionService.current(EMAIL);
+        DataVersion second = dataVersionService.current(EMAIL);
+
+        // Then
+        assertThat(first).isEqualTo(new DataVersion(7L, 42L));
+        assertThat(second).isEqualTo(first);
+        verify(userDataVersionRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    void current_WithoutRow_ShouldBeVersionZero() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(userDataVersionRepository.findById(7L)).thenReturn(Optional.empty());
+
+        // When
+        DataVersion version = dataVersionService.current(EMAIL);
+
+        // Then
+        assertThat(version).isEqualTo(new DataVersion(7L, 0L));
+    }
+
+    @Test
+    void current_UnknownUser_ShouldReturnNull() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThat(dataVersionService.current(EMAIL)).isNull();
+    }
+
+    @Test
+    void bump_ShouldIncrementAndReloadOnNextRead() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(userDataVersionRepository.findById(7L))
+            .thenReturn(Optional.of(new UserDataVersion(7L, 42L)))
+            .thenReturn(Optional.of(new UserDataVersion(7L, 43L)));
+        when(userDataVersionRepository.increment(eq(7L), any())).thenReturn(1);
+        dataVersionService.current(EMAIL);
+
+        // When - outside a transaction the eviction runs immediately
+        dataVersionService.bump(user);
+
+        // Then
+        assertThat(dataVersionService.current(EMAIL)).isEqualTo(new DataVersion(7L, 43L));
+        verify(userDataVersionRepository, never()).save(any());
+    }
+
+    @Test
+    void bump_FirstWrite_ShouldCreateRowAtVersionOne() {
+        // Given
+        when(userDataVersionRepository.increment(eq(7L), any())).thenReturn(0);
+
+        // When
+        dataVersionService.bump(user);
+
+        // Then
+        verify(userDataVersionRepository).save(argThat(row -> row.getUserId() == 7L && row.getVersion() == 1L));
+    }
+}
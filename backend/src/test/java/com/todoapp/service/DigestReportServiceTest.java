@@ -0,0 +1,163 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.DigestSummaryDTO;
+import com.todoapp.entity.ReportRun;
+import com.todoapp.repository.ReportRunRepository;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserSettingsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DigestReportServiceTest {
+
+    @Mock
+    private UserSettingsRepository userSettingsRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ReportRunRepository reportRunRepository;
+
+    @Mock
+    private DigestDeliverySink deliverySink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DigestReportServiceImpl digestReportService;
+
+    @BeforeEach
+    void setUp() {
+        digestReportService = new DigestReportServiceImpl(
+            userSettingsRepository, taskRepository, reportRunRepository, deliverySink, transactionManager);
+        ReflectionTestUtils.setField(digestReportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(digestReportService, "workerThreads", 2);
+    }
+
+    @Test
+    void runReport_ShouldProcessUsersInChunksAndCheckpoint() {
+        // Given
+        LocalDate date = LocalDate.of(2024, 5, 6);
+        when(reportRunRepository.findByReportTypeAndPeriodKey(ReportRun.ReportType.DAILY_DIGEST, "2024-05-06"))
+            .thenReturn(Optional.empty());
+        when(reportRunRepository.save(any(ReportRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userSettingsRepository.findDailyDigestUserIds(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(userSettingsRepository.findDailyDigestUserIds(eq(2L), any())).thenReturn(List.of(3L));
+        when(taskRepository.summarizeForUsers(anyCollection(), any(), any(), any(), any(), any(), any()))
+            .thenAnswer(invocation -> {
+                Collection<Long> userIds = invocation.getArgument(0);
+                List<DigestSummaryDTO> summaries = new ArrayList<>();
+                if (userIds.contains(1L)) {
+                    summaries.add(new DigestSummaryDTO(1L, 2L, 1L, 1L, 0L, 0L));
+                }
+                if (userIds.contains(3L)) {
+                    summaries.add(new DigestSummaryDTO(3L, 0L, 0L, 0L, 0L, 0L));
+                }
+                return summaries;
+            });
+        when(deliverySink.deliver(eq(ReportRun.ReportType.DAILY_DIGEST), anyList()))
+            .thenAnswer(invocation -> ((List<?>) invocation.getArgument(1)).size());
+
+        // When
+        ReportRun run = digestReportService.runReport(ReportRun.ReportType.DAILY_DIGEST, date);
+
+        // Then
+        assertThat(run.isCompleted()).isTrue();
+        assertThat(run.getLastUserId()).isEqualTo(3L);
+        assertThat(run.getProcessedUsers()).isEqualTo(3L);
+        assertThat(run.getDeliveredCount()).isEqualTo(1L);
+
+        verify(taskRepository, times(2)).summarizeForUsers(anyCollection(), any(), any(), any(), any(), any(), any());
+        verify(deliverySink).deliver(eq(ReportRun.ReportType.DAILY_DIGEST),
+            argThat(summaries -> summaries.size() == 1 && summaries.get(0).getUserId().equals(1L)));
+    }
+
+    @Test
+    void runReport_WithCompletedRun_ShouldSkipProcessing() {
+        // Given
+        ReportRun completed = new ReportRun(ReportRun.ReportType.WEEKLY_REPORT, "2024-W19");
+        completed.markCompleted();
+        when(reportRunRepository.findByReportTypeAndPeriodKey(ReportRun.ReportType.WEEKLY_REPORT, "2024-W19"))
+            .thenReturn(Optional.of(completed));
+
+        // When
+        ReportRun run = digestReportService.runReport(ReportRun.ReportType.WEEKLY_REPORT, LocalDate.of(2024, 5, 8));
+
+        // Then
+        assertThat(run).isSameAs(completed);
+        verifyNoInteractions(userSettingsRepository, taskRepository, deliverySink);
+    }
+
+    @Test
+    void periodKey_ShouldRoundTripToPeriodDate() {
+        LocalDate wednesday = LocalDate.of(2024, 5, 8);
+
+        String weeklyKey = DigestReportServiceImpl.periodKey(ReportRun.ReportType.WEEKLY_REPORT, wednesday);
+        String dailyKey = DigestReportServiceImpl.periodKey(ReportRun.ReportType.DAILY_DIGEST, wednesday);
+
+        assertThat(weeklyKey).isEqualTo("2024-W19");
+        assertThat(dailyKey).isEqualTo("2024-05-08");
+        assertThat(DigestReportServiceImpl.periodDate(ReportRun.ReportType.WEEKLY_REPORT, weeklyKey))
+            .isEqualTo(LocalDate.of(2024, 5, 6));
+        assertThat(DigestReportServiceImpl.periodDate(ReportRun.ReportType.DAILY_DIGEST, dailyKey))
+            .isEqualTo(wednesday);
+    }
+
+    @Test
+    void reportWindow_ShouldLayOutPeriodInReportZoneAndConvertToStorageZone() {
+        ZoneId reportZone = ZoneId.of("Pacific/Kiritimati");
+        ZoneId storageZone = ZoneId.of("UTC");
+
+        DigestReportServiceImpl.ReportWindow window = DigestReportServiceImpl.ReportWindow.of(
+            ReportRun.ReportType.DAILY_DIGEST, LocalDate.of(2024, 5, 8), reportZone, storageZone);
+
+        // Kiritimati is UTC+14: its midnight of May 7 is 10:00 UTC on May 6
+        assertThat(window.now()).isCloseTo(LocalDateTime.now(storageZone), within(1, ChronoUnit.MINUTES));
+        assertThat(window.periodStart()).isEqualTo(LocalDateTime.of(2024, 5, 6, 10, 0));
+        assertThat(window.periodEnd()).isEqualTo(LocalDateTime.of(2024, 5, 8, 10, 0));
+    }
+
+    @Test
+    void runReport_WithReportZoneOtherThanServerZone_ShouldQueryInServerZone() {
+        // Given - the report zone is UTC-10, the stored timestamps are in UTC
+        ReflectionTestUtils.setField(digestReportService, "zone", "Pacific/Honolulu");
+        ReflectionTestUtils.setField(digestReportService, "storageZone", ZoneId.of("UTC"));
+        when(reportRunRepository.findByReportTypeAndPeriodKey(ReportRun.ReportType.WEEKLY_REPORT, "2024-W19"))
+            .thenReturn(Optional.empty());
+        when(reportRunRepository.save(any(ReportRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userSettingsRepository.findWeeklyReportUserIds(eq(0L), any())).thenReturn(List.of(1L));
+        when(taskRepository.summarizeForUsers(anyCollection(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of());
+        when(deliverySink.deliver(eq(ReportRun.ReportType.WEEKLY_REPORT), anyList())).thenReturn(0);
+
+        // When
+        digestReportService.runReport(ReportRun.ReportType.WEEKLY_REPORT, LocalDate.of(2024, 5, 6));
+
+        // Then
+        verify(taskRepository).summarizeForUsers(eq(List.of(1L)),
+            argThat(now -> ChronoUnit.MINUTES.between(now, LocalDateTime.now(ZoneId.of("UTC"))) == 0),
+            eq(LocalDateTime.of(2024, 4, 29, 10, 0)), eq(LocalDateTime.of(2024, 5, 13, 10, 0)),
+            any(), any(), any());
+    }
+}
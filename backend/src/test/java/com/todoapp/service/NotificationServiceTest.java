@@ -8,6 +8,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.todoapp.entity.User;
 import com.todoapp.repository.NotificationRepository;
 import com.todoapp.repository.UserRepository;
+import com.todoapp.repository.UserSettingsRepository;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 import java.util.Optional;
@@ -25,6 +26,12 @@ class NotificationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserSettingsRepository userSettingsRepository;
+
+    @Mock
+    private ReferenceDataService referenceDataService;
+
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
@@ -0,0 +1,138 @@
+package com.todoapp.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.todoapp.entity.OutboxMessage;
+import com.todoapp.repository.OutboxMessageRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Mock
+    private ObjectProvider<JavaMailSender> mailSenderProvider;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxDispatcher outboxDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxDispatcher = new OutboxDispatcher(outboxMessageRepository, mailSenderProvider, transactionManager);
+        ReflectionTestUtils.setField(outboxDispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(outboxDispatcher, "maxAttempts", 2);
+    }
+
+    @Test
+    void dispatch_ShouldSendClaimedMessagesAndMarkThemSent() throws Exception {
+        // Given
+        OutboxMessage welcome = message(1L, "first@example.com", "Welcome");
+        OutboxMessage reset = message(2L, "second@example.com", "Reset your password");
+        when(mailSenderProvider.getIfAvailable()).thenReturn(mailSender(greenMail.getSmtp().getPort()));
+        when(outboxMessageRepository.lockDueMessages(any(LocalDateTime.class), eq(10)))
+            .thenReturn(List.of(welcome, reset));
+
+        // When
+        int attempted = outboxDispatcher.dispatch();
+
+        // Then
+        assertThat(attempted).isEqualTo(2);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received).extracting(MimeMessage::getSubject)
+            .containsExactlyInAnyOrder("Welcome", "Reset your password");
+
+        assertThat(welcome.getStatus()).isEqualTo(OutboxMessage.OutboxStatus.SENT);
+        assertThat(welcome.getAttempts()).isEqualTo(1);
+        assertThat(welcome.getSentAt()).isNotNull();
+        assertThat(reset.getStatus()).isEqualTo(OutboxMessage.OutboxStatus.SENT);
+        verify(outboxMessageRepository).saveAll(List.of(welcome, reset));
+    }
+
+    @Test
+    void dispatch_WithUnreachableServer_ShouldScheduleRetryThenGiveUp() {
+        // Given
+        OutboxMessage message = message(1L, "first@example.com", "Welcome");
+        when(mailSenderProvider.getIfAvailable()).thenReturn(mailSender(greenMail.getSmtp().getPort() + 1));
+        when(outboxMessageRepository.lockDueMessages(any(LocalDateTime.class), eq(10)))
+            .thenReturn(List.of(message));
+
+        // When
+        outboxDispatcher.dispatch();
+
+        // Then
+        assertThat(message.getStatus()).isEqualTo(OutboxMessage.OutboxStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getLastError()).isNotBlank();
+        assertThat(message.getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        // When - second and last attempt
+        outboxDispatcher.dispatch();
+
+        // Then
+        assertThat(message.getStatus()).isEqualTo(OutboxMessage.OutboxStatus.FAILED);
+        assertThat(message.getAttempts()).isEqualTo(2);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void dispatch_WithoutMailSender_ShouldLeaveOutboxUntouched() {
+        // Given
+        when(mailSenderProvider.getIfAvailable()).thenReturn(null);
+
+        // When
+        int attempted = outboxDispatcher.dispatch();
+
+        // Then
+        assertThat(attempted).isZero();
+        verifyNoInteractions(outboxMessageRepository);
+    }
+
+    @Test
+    void backoff_ShouldGrowExponentiallyUpToTheCap() {
+        assertThat(outboxDispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(outboxDispatcher.backoff(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(outboxDispatcher.backoff(4)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(outboxDispatcher.backoff(30)).isEqualTo(Duration.ofHours(1));
+    }
+
+    private static OutboxMessage message(Long id, String recipient, String subject) {
+        OutboxMessage message = new OutboxMessage("welcome", recipient, subject, "Hello");
+        message.setId(id);
+        return message;
+    }
+
+    private static JavaMailSender mailSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        return mailSender;
+    }
+}
@@ -0,0 +1,60 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.OutboxMessage;
+import com.todoapp.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @InjectMocks
+    private OutboxServiceImpl outboxService;
+
+    @Test
+    void enqueue_ShouldSavePendingMessageDueNow() {
+        // Given
+        when(outboxMessageRepository.save(any(OutboxMessage.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        OutboxMessage result = outboxService.enqueue("welcome", "new@example.com", "Welcome", "Hello");
+
+        // Then
+        ArgumentCaptor<OutboxMessage> saved = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxMessageRepository).save(saved.capture());
+        assertThat(result).isSameAs(saved.getValue());
+        assertThat(result.getMessageType()).isEqualTo("welcome");
+        assertThat(result.getRecipient()).isEqualTo("new@example.com");
+        assertThat(result.getSubject()).isEqualTo("Welcome");
+        assertThat(result.getBody()).isEqualTo("Hello");
+        assertThat(result.getStatus()).isEqualTo(OutboxMessage.OutboxStatus.PENDING);
+        assertThat(result.getAttempts()).isZero();
+        assertThat(result.getNextAttemptAt()).isEqualTo(result.getCreatedAt());
+    }
+
+    @Test
+    void enqueue_WhenSaveFails_ShouldPropagateSoTheCallerRollsBack() {
+        // Given
+        when(outboxMessageRepository.save(any(OutboxMessage.class)))
+            .thenThrow(new DataIntegrityViolationException("recipient too long"));
+
+        // When & Then
+        assertThatThrownBy(() -> outboxService.enqueue("welcome", "new@example.com", "Welcome", "Hello"))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
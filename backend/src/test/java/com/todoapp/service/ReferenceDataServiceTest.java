@@ -0,0 +1,186 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.Category;
+import com.todoapp.entity.Tag;
+import com.todoapp.entity.User;
+import com.todoapp.entity.UserSettings;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TagRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.repository.UserSettingsRepository;
+import com.todoapp.util.ReferenceData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private UserSettingsRepository userSettingsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReferenceDataServiceImpl referenceDataService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        referenceDataService = new ReferenceDataServiceImpl(userRepository, categoryRepository, tagRepository,
+            userSettingsRepository, transactionManager, Duration.ofMinutes(15));
+        testUser = new User("test@example.com", "hash", "Test User");
+        testUser.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_ShouldBuildSnapshotOnce() {
+        // Given
+        givenUserData();
+
+        // When
+        ReferenceData first = referenceDataService.get("test@example.com");
+        ReferenceData second = referenceDataService.get("test@example.com");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.getUserId()).isEqualTo(1L);
+        assertThat(first.category(10L).name()).isEqualTo("Work");
+        assertThat(first.tag(20L).name()).isEqualTo("urgent");
+        assertThat(first.getSettings().theme()).isEqualTo("dark");
+        verify(categoryRepository, times(1)).findByUserIdOrderByNameAsc(1L);
+    }
+
+    @Test
+    void get_WithoutStoredSettings_ShouldLeaveSettingsEmpty() {
+        // Given
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(categoryRepository.findByUserIdOrderByNameAsc(1L)).thenReturn(List.of());
+        when(tagRepository.findByUserIdOrderByNameAsc(1L)).thenReturn(List.of());
+        when(userSettingsRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        // When
+        ReferenceData result = referenceDataService.get("test@example.com");
+
+        // Then
+        assertThat(result.getSettings()).isNull();
+        assertThat(result.categoryCount()).isZero();
+    }
+
+    @Test
+    void invalidate_ShouldReloadOnNextGet() {
+        // Given
+        givenUserData();
+        referenceDataService.get("test@example.com");
+
+        // When - outside a transaction the eviction runs at once
+        referenceDataService.invalidate("test@example.com");
+        referenceDataService.get("test@example.com");
+
+        // Then
+        verify(categoryRepository, times(2)).findByUserIdOrderByNameAsc(1L);
+    }
+
+    @Test
+    void invalidate_WhenTransactionRollsBack_ShouldKeepSnapshot() {
+        // Given
+        givenUserData();
+        ReferenceData cached = referenceDataService.get("test@example.com");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        referenceDataService.invalidate("test@example.com");
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        assertThat(referenceDataService.get("test@example.com")).isSameAs(cached);
+        verify(categoryRepository, times(1)).findByUserIdOrderByNameAsc(1L);
+    }
+
+    @Test
+    void discard_WhenTransactionRollsBack_ShouldStillDropSnapshot() {
+        // Given
+        givenUserData();
+        referenceDataService.get("test@example.com");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        referenceDataService.discard("test@example.com");
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        referenceDataService.get("test@example.com");
+
+        // Then
+        verify(categoryRepository, times(2)).findByUserIdOrderByNameAsc(1L);
+    }
+
+    @Test
+    void get_UnknownUser_ShouldThrowNotFoundAndCacheNothing() {
+        // Given
+        when(userRepository.findByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> referenceDataService.get("ghost@example.com"))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessageContaining("User not found");
+        assertThatThrownBy(() -> referenceDataService.get("ghost@example.com"))
+            .isInstanceOf(ResourceNotFoundException.class);
+        verify(userRepository, times(2)).findByEmail("ghost@example.com");
+        verifyNoInteractions(categoryRepository, tagRepository);
+    }
+
+    private void givenUserData() {
+        Category work = new Category("Work", "#3B82F6", testUser);
+        work.setId(10L);
+        Tag urgent = new Tag("urgent", testUser);
+        urgent.setId(20L);
+        UserSettings settings = new UserSettings(testUser);
+        settings.setTheme(UserSettings.Theme.DARK);
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(categoryRepository.findByUserIdOrderByNameAsc(1L)).thenReturn(List.of(work));
+        when(tagRepository.findByUserIdOrderByNameAsc(1L)).thenReturn(List.of(urgent));
+        when(userSettingsRepository.findByUserId(1L)).thenReturn(Optional.of(settings));
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+}
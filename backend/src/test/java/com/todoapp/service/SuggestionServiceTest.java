@@ -0,0 +1,197 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.CategoryTaskCountDTO;
+import com.todoapp.dto.SuggestionDTO;
+import com.todoapp.dto.TagUsageDTO;
+import com.todoapp.entity.Category;
+import com.todoapp.entity.Tag;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TagRepository;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SuggestionServiceImpl suggestionService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new SuggestionServiceImpl(userRepository, tagRepository, categoryRepository,
+            taskRepository, transactionManager, Duration.ofMinutes(10));
+        testUser = new User("test@example.com", "hash", "Test User");
+        testUser.setId(1L);
+    }
+
+    @Test
+    void suggestTags_ShouldBuildIndexOnceAndRankByUsage() {
+        // Given
+        givenTags(List.of(tag(1L, "urgent"), tag(2L, "urgent-review")),
+            List.of(new TagUsageDTO(1L, 2L), new TagUsageDTO(2L, 7L)));
+
+        // When
+        List<SuggestionDTO> first = suggestionService.suggestTags("test@example.com", "urg", 10);
+        List<SuggestionDTO> second = suggestionService.suggestTags("test@example.com", "urgent-", 10);
+
+        // Then - the second call is served from memory
+        assertThat(first).extracting(SuggestionDTO::getName).containsExactly("urgent-review", "urgent");
+        assertThat(first).extracting(SuggestionDTO::getUsageCount).containsExactly(7L, 2L);
+        assertThat(second).extracting(SuggestionDTO::getName).containsExactly("urgent-review");
+        verify(tagRepository, times(1)).findByUserIdOrderByNameAsc(1L);
+        verify(taskRepository, times(1)).countByTagForUser(1L, Task.TaskStatus.DELETED);
+    }
+
+    @Test
+    void suggestTags_ShouldBoundLimit() {
+        // Given
+        givenTags(List.of(tag(1L, "alpha"), tag(2L, "beta")), List.of());
+
+        // When
+        List<SuggestionDTO> result = suggestionService.suggestTags("test@example.com", "", 0);
+
+        // Then
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    void tagSaved_ShouldPatchIndexAndKeepUsage() {
+        // Given
+        givenTags(List.of(tag(1L, "urgent")), List.of(new TagUsageDTO(1L, 4L)));
+        suggestionService.suggestTags("test@example.com", "", 10);
+
+        // When - a rename and a new tag, outside a transaction so the hooks run at once
+        suggestionService.tagSaved("test@example.com", tag(1L, "pressing"));
+        suggestionService.tagSaved("test@example.com", tag(3L, "planning"));
+        List<SuggestionDTO> result = suggestionService.suggestTags("test@example.com", "p", 10);
+
+        // Then
+        assertThat(result).extracting(SuggestionDTO::getName).containsExactly("pressing", "planning");
+        assertThat(result).extracting(SuggestionDTO::getUsageCount).containsExactly(4L, 0L);
+        assertThat(suggestionService.suggestTags("test@example.com", "urg", 10)).isEmpty();
+        verify(tagRepository, times(1)).findByUserIdOrderByNameAsc(1L);
+    }
+
+    @Test
+    void tagDeleted_ShouldRemoveEntryWithoutReload() {
+        // Given
+        givenTags(List.of(tag(1L, "urgent"), tag(2L, "update")), List.of());
+        suggestionService.suggestTags("test@example.com", "u", 10);
+
+        // When
+        suggestionService.tagDeleted("test@example.com", 1L);
+        List<SuggestionDTO> result = suggestionService.suggestTags("test@example.com", "u", 10);
+
+        // Then
+        assertThat(result).extracting(SuggestionDTO::getId).containsExactly(2L);
+        verify(tagRepository, times(1)).findByUserIdOrderByNameAsc(1L);
+    }
+
+    @Test
+    void tagSaved_BeforeIndexIsBuilt_ShouldLeaveLoadingToFirstQuery() {
+        // Given
+        suggestionService.tagSaved("test@example.com", tag(1L, "urgent"));
+        givenTags(List.of(tag(1L, "urgent")), List.of());
+
+        // When
+        List<SuggestionDTO> result = suggestionService.suggestTags("test@example.com", "urg", 10);
+
+        // Then
+        assertThat(result).extracting(SuggestionDTO::getName).containsExactly("urgent");
+        verify(tagRepository, times(1)).findByUserIdOrderByNameAsc(1L);
+    }
+
+    @Test
+    void categorySaved_ShouldPatchCategoryIndex() {
+        // Given
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(categoryRepository.findByUserIdOrderByNameAsc(1L)).thenReturn(List.of(category(1L, "Work")));
+        when(taskRepository.countByCategoryForUser(1L, Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED,
+            Task.TaskStatus.DELETED)).thenReturn(List.of(new CategoryTaskCountDTO(1L, 3L, 2L, 1L)));
+        suggestionService.suggestCategories("test@example.com", "", 10);
+
+        // When
+        suggestionService.categorySaved("test@example.com", category(2L, "Workshop"));
+        List<SuggestionDTO> result = suggestionService.suggestCategories("test@example.com", "work", 10);
+
+        // Then
+        assertThat(result).extracting(SuggestionDTO::getName).containsExactly("Work", "Workshop");
+        verify(categoryRepository, times(1)).findByUserIdOrderByNameAsc(1L);
+    }
+
+    @Test
+    void evictUser_ShouldRebuildOnNextQuery() {
+        // Given
+        givenTags(List.of(tag(1L, "urgent")), List.of());
+        suggestionService.suggestTags("test@example.com", "urg", 10);
+
+        // When
+        suggestionService.evictUser("test@example.com");
+        suggestionService.suggestTags("test@example.com", "urg", 10);
+
+        // Then
+        verify(tagRepository, times(2)).findByUserIdOrderByNameAsc(1L);
+    }
+
+    @Test
+    void suggestTags_UnknownUser_ShouldThrowNotFound() {
+        // Given
+        when(userRepository.findByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> suggestionService.suggestTags("ghost@example.com", "urg", 10))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessageContaining("User not found");
+        verifyNoInteractions(tagRepository, taskRepository);
+    }
+
+    private void givenTags(List<Tag> tags, List<TagUsageDTO> usage) {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(tagRepository.findByUserIdOrderByNameAsc(1L)).thenReturn(tags);
+        when(taskRepository.countByTagForUser(1L, Task.TaskStatus.DELETED)).thenReturn(usage);
+    }
+
+    private Tag tag(Long id, String name) {
+        Tag tag = new Tag(name, testUser);
+        tag.setId(id);
+        return tag;
+    }
+
+    private Category category(Long id, String name) {
+        Category category = new Category(name, testUser);
+        category.setId(id);
+        return category;
+    }
+}
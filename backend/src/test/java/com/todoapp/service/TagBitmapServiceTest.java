@@ -0,0 +1,149 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TagQuery;
+import com.todoapp.dto.TaskTagLinkDTO;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.util.DataVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagBitmapServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TagBitmapServiceImpl tagBitmapService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        tagBitmapService = new TagBitmapServiceImpl(userRepository, taskRepository, dataVersionService,
+            transactionManager, Duration.ofMinutes(30));
+        testUser = new User("test@example.com", "hash", "Test User");
+        testUser.setId(1L);
+    }
+
+    @Test
+    void matchingTaskIds_SameDataVersion_ShouldBuildOnce() {
+        // Given
+        when(dataVersionService.current("test@example.com")).thenReturn(new DataVersion(1L, 5L));
+        givenTasks(List.of(10L, 11L), List.of(new TaskTagLinkDTO(10L, 100L)));
+
+        // When
+        Roaring64NavigableMap first = tagBitmapService.matchingTaskIds("test@example.com", tagsAll(100L));
+        Roaring64NavigableMap second = tagBitmapService.matchingTaskIds("test@example.com", tagsNone(100L));
+
+        // Then
+        assertThat(first.toArray()).containsExactly(10L);
+        assertThat(second.toArray()).containsExactly(11L);
+        verify(taskRepository, times(1)).findLiveTaskIds(1L, Task.TaskStatus.DELETED);
+    }
+
+    @Test
+    void matchingTaskIds_WhenDataVersionMoved_ShouldRebuild() {
+        // Given - another instance tagged task 11 after the bitmaps were built
+        when(dataVersionService.current("test@example.com"))
+            .thenReturn(new DataVersion(1L, 5L), new DataVersion(1L, 6L));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(taskRepository.findLiveTaskIds(1L, Task.TaskStatus.DELETED)).thenReturn(List.of(10L, 11L));
+        when(taskRepository.findTagLinks(1L, Task.TaskStatus.DELETED)).thenReturn(
+            List.of(new TaskTagLinkDTO(10L, 100L)),
+            List.of(new TaskTagLinkDTO(10L, 100L), new TaskTagLinkDTO(11L, 100L)));
+        tagBitmapService.matchingTaskIds("test@example.com", tagsAll(100L));
+
+        // When
+        Roaring64NavigableMap result = tagBitmapService.matchingTaskIds("test@example.com", tagsAll(100L));
+
+        // Then
+        assertThat(result.toArray()).containsExactly(10L, 11L);
+        verify(taskRepository, times(2)).findTagLinks(1L, Task.TaskStatus.DELETED);
+    }
+
+    @Test
+    void taskChanged_ShouldDropBitmapsSoTheNextQueryRebuilds() {
+        // Given
+        when(dataVersionService.current("test@example.com")).thenReturn(new DataVersion(1L, 5L));
+        givenTasks(List.of(10L), List.of());
+        tagBitmapService.matchingTaskIds("test@example.com", tagsAny(100L));
+        Task task = new Task();
+        task.setId(10L);
+
+        // When - outside a transaction the hook runs at once
+        tagBitmapService.taskChanged("test@example.com", task);
+        tagBitmapService.matchingTaskIds("test@example.com", tagsAny(100L));
+
+        // Then
+        verify(taskRepository, times(2)).findLiveTaskIds(1L, Task.TaskStatus.DELETED);
+    }
+
+    @Test
+    void evictUser_ShouldDropBitmaps() {
+        // Given
+        when(dataVersionService.current("test@example.com")).thenReturn(new DataVersion(1L, 5L));
+        givenTasks(List.of(10L), List.of());
+        tagBitmapService.matchingTaskIds("test@example.com", tagsAny(100L));
+
+        // When
+        tagBitmapService.evictUser("test@example.com");
+        tagBitmapService.matchingTaskIds("test@example.com", tagsAny(100L));
+
+        // Then
+        verify(taskRepository, times(2)).findTagLinks(1L, Task.TaskStatus.DELETED);
+    }
+
+    @Test
+    void matchingTaskIds_UnknownUser_ShouldThrowNotFound() {
+        // Given
+        when(dataVersionService.current("ghost@example.com")).thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> tagBitmapService.matchingTaskIds("ghost@example.com", tagsAll(100L)))
+            .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    private void givenTasks(List<Long> taskIds, List<TaskTagLinkDTO> links) {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(taskRepository.findLiveTaskIds(1L, Task.TaskStatus.DELETED)).thenReturn(taskIds);
+        when(taskRepository.findTagLinks(1L, Task.TaskStatus.DELETED)).thenReturn(links);
+    }
+
+    private static TagQuery tagsAll(Long tagId) {
+        return new TagQuery(List.of(tagId), null, null);
+    }
+
+    private static TagQuery tagsAny(Long tagId) {
+        return new TagQuery(null, List.of(tagId), null);
+    }
+
+    private static TagQuery tagsNone(Long tagId) {
+        return new TagQuery(null, null, List.of(tagId));
+    }
+}
@@ -8,6 +8,8 @@ import com.todoapp.entity.User;
 import com.todoapp.exception.ResourceNotFoundException;
 import com.todoapp.repository.TagRepository;
 import com.todoapp.repository.UserRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,7 +27,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +41,24 @@ class TagServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private SuggestionService suggestionService;
+
+    @Mock
+    private ReferenceDataService referenceDataService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache jpaCache;
+
+    @Mock
+    private org.hibernate.Cache hibernateCache;
+
     @InjectMocks
     private TagServiceImpl tagService;
 
@@ -228,6 +250,9 @@ class TagServiceTest {
         // Given
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(tagRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(urgentTag));
+        when(tagRepository.countTaskLinks(1L)).thenReturn(0L);
+        when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+        when(jpaCache.unwrap(org.hibernate.Cache.class)).thenReturn(hibernateCache);
 
         // When
         tagService.deleteTag(1L, "test@example.com");
@@ -236,6 +261,23 @@ class TagServiceTest {
         verify(userRepository).findByEmail("test@example.com");
         verify(tagRepository).findByIdAndUserId(1L, 1L);
         verify(tagRepository).delete(urgentTag);
+        verify(hibernateCache).evictCollectionData("com.todoapp.entity.Task.tags");
+    }
+
+    @Test
+    void deleteTag_UsedOnlyBySoftDeletedTask_ShouldRefuse() {
+        // Given - the link is to a deleted task, so tag.getTasks() would come back empty
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(tagRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(urgentTag));
+        when(tagRepository.countTaskLinks(1L)).thenReturn(1L);
+
+        // When & Then
+        assertThatThrownBy(() -> tagService.deleteTag(1L, "test@example.com"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("used by tasks");
+
+        verify(tagRepository, never()).delete(any(Tag.class));
+        verifyNoInteractions(entityManagerFactory);
     }
 
     @Test
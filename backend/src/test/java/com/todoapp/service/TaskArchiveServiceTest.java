@@ -0,0 +1,101 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.User;
+import com.todoapp.repository.ArchivedTaskRepository;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskArchiveServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private TagBitmapService tagBitmapService;
+
+    @Mock
+    private SuggestionService suggestionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskArchiveServiceImpl taskArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        taskArchiveService = new TaskArchiveServiceImpl(taskRepository, archivedTaskRepository, userRepository,
+            dataVersionService, tagBitmapService, suggestionService, transactionManager);
+        ReflectionTestUtils.setField(taskArchiveService, "chunkSize", 2);
+    }
+
+    @Test
+    void archiveCompletedTasks_ShouldCopyThenDeleteInChunks() {
+        // Given
+        User user = new User("test@example.com", "hash", "Test User");
+        user.setId(7L);
+        when(taskRepository.lockArchivableIds(any(LocalDateTime.class), eq(2)))
+            .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(taskRepository.deleteCompletedByIds(List.of(1L, 2L))).thenReturn(2);
+        when(taskRepository.deleteCompletedByIds(List.of(3L))).thenReturn(1);
+        when(archivedTaskRepository.findUserIdsByIdIn(anyCollection())).thenReturn(List.of(7L));
+        when(userRepository.findAllById(List.of(7L))).thenReturn(List.of(user));
+
+        // When
+        int archived = taskArchiveService.archiveCompletedTasks();
+
+        // Then - one transaction per chunk, stopping after the first short chunk
+        assertThat(archived).isEqualTo(3);
+        InOrder inOrder = inOrder(archivedTaskRepository, taskRepository);
+        inOrder.verify(archivedTaskRepository).archive(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        inOrder.verify(taskRepository).deleteTagLinksOfTasks(List.of(1L, 2L));
+        inOrder.verify(taskRepository).deleteCompletedByIds(List.of(1L, 2L));
+        inOrder.verify(archivedTaskRepository).archive(eq(List.of(3L)), any(LocalDateTime.class));
+        inOrder.verify(taskRepository).deleteTagLinksOfTasks(List.of(3L));
+        inOrder.verify(taskRepository).deleteCompletedByIds(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+        verify(dataVersionService, times(2)).bump(user);
+        verify(tagBitmapService, times(2)).evictUser("test@example.com");
+        verify(suggestionService, times(2)).evictUser("test@example.com");
+    }
+
+    @Test
+    void archiveCompletedTasks_ShouldOnlyTakeTasksCompletedBeforeTheConfiguredAge() {
+        // Given
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(taskRepository.lockArchivableIds(cutoff.capture(), eq(2))).thenReturn(List.of());
+
+        // When
+        int archived = taskArchiveService.archiveCompletedTasks();
+
+        // Then
+        assertThat(archived).isZero();
+        assertThat(cutoff.getValue()).isBefore(LocalDateTime.now().minusDays(90).plusMinutes(1));
+        verifyNoInteractions(archivedTaskRepository, dataVersionService);
+    }
+}
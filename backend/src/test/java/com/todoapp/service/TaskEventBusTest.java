@@ -0,0 +1,278 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TaskEvent;
+import com.todoapp.entity.DomainEvent;
+import com.todoapp.entity.Task;
+import com.todoapp.repository.DomainEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEventBusTest {
+
+    @Mock
+    private DomainEventRepository domainEventRepository;
+
+    @Mock
+    private ObjectProvider<TaskEventListener> listenerProvider;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<TaskEvent> received = new CopyOnWriteArrayList<>();
+    private TaskEventBusImpl taskEventBus;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (taskEventBus != null) {
+            taskEventBus.shutdown();
+        }
+    }
+
+    @Test
+    void publish_WithoutListeners_ShouldStoreNothing() {
+        // Given
+        taskEventBus = newBus(1, 10);
+        when(listenerProvider.orderedStream()).thenReturn(Stream.empty());
+
+        // When
+        taskEventBus.publish(new TaskEvent.TaskCreated(1L, 10L));
+
+        // Then
+        verifyNoInteractions(domainEventRepository);
+    }
+
+    @Test
+    void publish_ShouldDeliverOnlyAfterCommitInOrderPerUser() throws Exception {
+        // Given
+        CountDownLatch delivered = new CountDownLatch(3);
+        taskEventBus = newBus(2, 10);
+        givenListeners(event -> {
+            received.add(event);
+            delivered.countDown();
+        });
+        givenSavesAssignIds();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        taskEventBus.publish(new TaskEvent.TaskCreated(1L, 10L));
+        taskEventBus.publish(new TaskEvent.TaskStatusChanged(1L, 10L, Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED));
+        taskEventBus.publish(new TaskEvent.TaskDeleted(1L, 10L));
+
+        // Then - nothing before commit, then all three in publishing order
+        Thread.sleep(50);
+        assertThat(received).isEmpty();
+        commit();
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).extracting(TaskEvent::type)
+            .containsExactly("TaskCreated", "TaskStatusChanged", "TaskDeleted");
+        verify(domainEventRepository, times(3)).save(any(DomainEvent.class));
+    }
+
+    @Test
+    void recordDeliveries_ShouldMarkDeliveredEventsInOneStatement() throws Exception {
+        // Given
+        CountDownLatch delivered = new CountDownLatch(2);
+        taskEventBus = newBus(1, 10);
+        givenListeners(event -> delivered.countDown());
+        givenSavesAssignIds();
+        taskEventBus.publish(new TaskEvent.TaskCreated(1L, 10L));
+        taskEventBus.publish(new TaskEvent.TasksDeleted(2L, Set.of(11L, 12L)));
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        when(domainEventRepository.markDelivered(anyCollection(), any(LocalDateTime.class))).thenReturn(2);
+
+        // When
+        int recorded = taskEventBus.recordDeliveries();
+
+        // Then
+        assertThat(recorded).isEqualTo(2);
+        verify(domainEventRepository).markDelivered(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void publish_WhenStripeQueueIsFull_ShouldHoldEventsInOrderUntilRetried() throws Exception {
+        // Given - one stripe queueing one drain, its thread blocked in user 1's first event
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(4);
+        taskEventBus = newBus(1, 1);
+        givenListeners(event -> {
+            received.add(event);
+            if (event.equals(new TaskEvent.TaskCreated(1L, 10L))) {
+                started.countDown();
+                awaitQuietly(release);
+            }
+            delivered.countDown();
+        });
+        givenSavesAssignIds();
+        taskEventBus.publish(new TaskEvent.TaskCreated(1L, 10L));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        taskEventBus.publish(new TaskEvent.TaskCreated(2L, 20L));
+
+        // When - user 3's drain does not fit; user 1 already has one
+        taskEventBus.publish(new TaskEvent.TaskCreated(3L, 30L));
+        taskEventBus.publish(new TaskEvent.TaskCreated(1L, 11L));
+
+        // Then - the publisher was not held up and nothing was dropped
+        assertThat(meterRegistry.get("todoapp.events.deferred").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("todoapp.events.queued").gauge().value()).isEqualTo(3.0);
+        release.countDown();
+        assertThat(delivered.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(delivered.getCount()).isEqualTo(1);
+
+        // When - the replay run retries user 3
+        when(domainEventRepository.lockStaleClaims(any(LocalDateTime.class), eq(500))).thenReturn(List.of());
+        taskEventBus.replayUndelivered();
+
+        // Then
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).filteredOn(event -> event.userId() == 1L)
+            .containsExactly(new TaskEvent.TaskCreated(1L, 10L), new TaskEvent.TaskCreated(1L, 11L));
+        assertThat(received).contains(new TaskEvent.TaskCreated(3L, 30L));
+    }
+
+    @Test
+    void replayUndelivered_ShouldDeliverInIdOrderBehindOlderAndAheadOfNewerEvents() throws Exception {
+        // Given - user 1's event 2 in delivery, event 4 waiting, event 3 lost elsewhere
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(3);
+        taskEventBus = newBus(1, 10);
+        givenListeners(event -> {
+            received.add(event);
+            if (event.equals(new TaskEvent.TaskUpdated(1L, 10L))) {
+                started.countDown();
+                awaitQuietly(release);
+            }
+            delivered.countDown();
+        });
+        AtomicLong ids = new AtomicLong();
+        when(domainEventRepository.save(any(DomainEvent.class))).thenAnswer(invocation -> {
+            DomainEvent stored = invocation.getArgument(0);
+            stored.setId(ids.addAndGet(2));
+            return stored;
+        });
+        taskEventBus.publish(new TaskEvent.TaskUpdated(1L, 10L));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        taskEventBus.publish(new TaskEvent.TaskUpdated(1L, 12L));
+        TaskEvent lost = new TaskEvent.TaskUpdated(1L, 11L);
+        DomainEvent stale = new DomainEvent(1L, lost.type(), objectMapper.writeValueAsString(lost));
+        stale.setId(3L);
+        when(domainEventRepository.lockStaleClaims(any(LocalDateTime.class), eq(500))).thenReturn(List.of(stale));
+
+        // When
+        taskEventBus.replayUndelivered();
+        release.countDown();
+
+        // Then
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly(new TaskEvent.TaskUpdated(1L, 10L), lost,
+            new TaskEvent.TaskUpdated(1L, 12L));
+    }
+
+    @Test
+    void replayUndelivered_ShouldReclaimAndDeliverStaleEvents() throws Exception {
+        // Given
+        CountDownLatch delivered = new CountDownLatch(1);
+        taskEventBus = newBus(1, 10);
+        givenListeners(event -> {
+            received.add(event);
+            delivered.countDown();
+        });
+        TaskEvent event = new TaskEvent.TasksStatusChanged(1L, Set.of(10L, 11L), Task.TaskStatus.COMPLETED);
+        DomainEvent stale = new DomainEvent(1L, event.type(), objectMapper.writeValueAsString(event));
+        stale.setId(5L);
+        stale.setClaimedAt(LocalDateTime.now().minusMinutes(5));
+        when(domainEventRepository.lockStaleClaims(any(LocalDateTime.class), eq(500))).thenReturn(List.of(stale));
+
+        // When
+        int replayed = taskEventBus.replayUndelivered();
+
+        // Then
+        assertThat(replayed).isEqualTo(1);
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly(event);
+        assertThat(stale.getClaimedAt()).isAfter(LocalDateTime.now().minusMinutes(1));
+    }
+
+    @Test
+    void deliver_WhenListenerFails_ShouldStillCallOtherListenersAndRecordDelivery() throws Exception {
+        // Given
+        CountDownLatch delivered = new CountDownLatch(1);
+        taskEventBus = newBus(1, 10);
+        givenListeners(event -> {
+            throw new IllegalStateException("boom");
+        }, event -> delivered.countDown());
+        givenSavesAssignIds();
+
+        // When
+        taskEventBus.publish(new TaskEvent.TaskUpdated(1L, 10L));
+
+        // Then
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        when(domainEventRepository.markDelivered(anyCollection(), any(LocalDateTime.class))).thenReturn(1);
+        assertThat(taskEventBus.recordDeliveries()).isEqualTo(1);
+        assertThat(meterRegistry.get("todoapp.events.listener").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    private TaskEventBusImpl newBus(int stripes, int queueCapacity) {
+        return new TaskEventBusImpl(domainEventRepository, listenerProvider, objectMapper, transactionManager,
+            meterRegistry, stripes, queueCapacity);
+    }
+
+    private void givenListeners(TaskEventListener... listeners) {
+        when(listenerProvider.orderedStream()).thenReturn(Stream.of(listeners));
+    }
+
+    private void givenSavesAssignIds() {
+        AtomicLong ids = new AtomicLong();
+        when(domainEventRepository.save(any(DomainEvent.class))).thenAnswer(invocation -> {
+            DomainEvent stored = invocation.getArgument(0);
+            stored.setId(ids.incrementAndGet());
+            return stored;
+        });
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
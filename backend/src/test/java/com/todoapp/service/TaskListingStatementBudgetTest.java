@@ -0,0 +1,101 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskDTO;
+import com.todoapp.entity.Category;
+import com.todoapp.entity.Tag;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TagRepository;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.util.StatementBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of SQL statements behind the task list, so lazy loads per task
+ * (N+1) cannot creep back into it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskListingStatementBudgetTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String email;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        email = "budget-" + UUID.randomUUID() + "@example.com";
+        User user = userRepository.save(new User(email, "hash", "Budget User"));
+        userId = user.getId();
+        Category category = categoryRepository.save(new Category("Work", "#3B82F6", user));
+        Tag urgent = tagRepository.save(new Tag("urgent", user));
+        Tag home = tagRepository.save(new Tag("home", user));
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Task task = new Task("Task " + i, user);
+            task.setCategory(category);
+            task.getTags().add(urgent);
+            if (i % 2 == 0) {
+                task.getTags().add(home);
+            }
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+
+        // Steady state: the reference data is cached after the user's first request
+        referenceDataService.get(email);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findById(userId).ifPresent(userRepository::delete);
+        referenceDataService.invalidate(email);
+    }
+
+    @Test
+    @StatementBudget(max = 3)
+    void getTasks_FiftyTasksWithCategoryAndTags_ShouldUseAtMostThreeStatements() {
+        // When - page query, count query, one batched tag fetch
+        Page<TaskDTO> page = taskService.getTasks(email, null, null, null, null, PageRequest.of(0, 50));
+
+        // Then
+        assertThat(page.getContent()).hasSize(50);
+        assertThat(page.getContent()).allSatisfy(task -> {
+            assertThat(task.getCategoryName()).isEqualTo("Work");
+            assertThat(task.getTags()).isNotEmpty();
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.todoapp.service;
+
+import com.todoapp.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskPurgeServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskPurgeServiceImpl taskPurgeService;
+
+    @BeforeEach
+    void setUp() {
+        taskPurgeService = new TaskPurgeServiceImpl(taskRepository, transactionManager);
+        ReflectionTestUtils.setField(taskPurgeService, "chunkSize", 2);
+    }
+
+    @Test
+    void purgeDeletedTasks_ShouldDeleteInChunksTagLinksFirst() {
+        // Given
+        when(taskRepository.lockPurgeableIds(any(LocalDateTime.class), eq(2)))
+            .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(taskRepository.deleteDeletedByIds(List.of(1L, 2L))).thenReturn(2);
+        when(taskRepository.deleteDeletedByIds(List.of(3L))).thenReturn(1);
+
+        // When
+        int purged = taskPurgeService.purgeDeletedTasks();
+
+        // Then - one transaction per chunk, stopping after the first short chunk
+        assertThat(purged).isEqualTo(3);
+        InOrder inOrder = inOrder(taskRepository);
+        inOrder.verify(taskRepository).deleteTagLinksOfTasks(List.of(1L, 2L));
+        inOrder.verify(taskRepository).deleteDeletedByIds(List.of(1L, 2L));
+        inOrder.verify(taskRepository).deleteTagLinksOfTasks(List.of(3L));
+        inOrder.verify(taskRepository).deleteDeletedByIds(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void purgeDeletedTasks_ShouldOnlyTakeTasksDeletedBeforeTheGracePeriod() {
+        // Given
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(taskRepository.lockPurgeableIds(cutoff.capture(), eq(2))).thenReturn(List.of());
+
+        // When
+        int purged = taskPurgeService.purgeDeletedTasks();
+
+        // Then
+        assertThat(purged).isZero();
+        assertThat(cutoff.getValue()).isBefore(LocalDateTime.now().minusDays(7).plusMinutes(1));
+        verify(taskRepository, never()).deleteDeletedByIds(anyCollection());
+    }
+}
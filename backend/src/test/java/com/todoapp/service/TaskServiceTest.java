@@ -2,28 +2,43 @@ package com.todoapp.service;
 
 import com.todoapp.dto.BulkTaskRequest;
 import com.todoapp.dto.CreateTaskRequest;
+import com.todoapp.dto.TagQuery;
+import com.todoapp.dto.TaskChangesDTO;
+import com.todoapp.dto.TaskEvent;
 import com.todoapp.dto.TaskDTO;
+import com.todoapp.dto.TaskTagLinkDTO;
 import com.todoapp.dto.UpdateTaskRequest;
 import com.todoapp.entity.Category;
 import com.todoapp.entity.Tag;
 import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskHistoryEntry;
+import com.todoapp.entity.TaskTombstone;
 import com.todoapp.entity.User;
 import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.exception.SyncTokenExpiredException;
 import com.todoapp.repository.CategoryRepository;
 import com.todoapp.repository.TagRepository;
+import com.todoapp.repository.TaskHistoryRepository;
 import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.TaskTombstoneRepository;
 import com.todoapp.repository.UserRepository;
+import com.todoapp.util.ReferenceData;
+import com.todoapp.util.SyncToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -48,6 +63,24 @@ class TaskServiceTest {
     @Mock
     private TagRepository tagRepository;
 
+    @Mock
+    private TagBitmapService tagBitmapService;
+
+    @Mock
+    private ReferenceDataService referenceDataService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Mock
+    private TaskEventBus taskEventBus;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -57,6 +90,7 @@ class TaskServiceTest {
     private Task testTask;
     private CreateTaskRequest createRequest;
     private UpdateTaskRequest updateRequest;
+    private ReferenceData referenceData;
 
     @BeforeEach
     void setUp() {
@@ -101,29 +135,41 @@ class TaskServiceTest {
         updateRequest.setPriority("LOW");
         updateRequest.setCategoryId(1L);
         updateRequest.setTagIds(Arrays.asList(1L));
+
+        referenceData = new ReferenceData(1L,
+                List.of(new ReferenceData.CategoryRef(1L, "Work", "#3B82F6")),
+                List.of(new ReferenceData.TagRef(1L, "urgent", null)),
+                null);
     }
 
     @Test
     void createTask_WithValidRequest_ShouldReturnTaskDTO() {
         // Given
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
-        when(tagRepository.findAllById(Arrays.asList(1L))).thenReturn(Arrays.asList(testTag));
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
+        when(tagRepository.getReferenceById(1L)).thenReturn(testTag);
         Task savedTask = new Task();
         savedTask.setTitle("New Task");
         savedTask.setDescription("New Description");
+        savedTask.setCategory(testCategory);
         when(taskRepository.save(any())).thenReturn(savedTask);
 
         // When
         TaskDTO result = taskService.createTask(createRequest, "test@example.com");
 
-        // Then
+        // Then - associations are references validated against the cached reference data
         assertThat(result.getTitle()).isEqualTo("New Task");
         assertThat(result.getDescription()).isEqualTo("New Description");
+        assertThat(result.getCategoryName()).isEqualTo("Work");
         verify(userRepository).findByEmail("test@example.com");
-        verify(categoryRepository).findById(1L);
-        verify(tagRepository).findAllById(Arrays.asList(1L));
+        verify(categoryRepository).getReferenceById(1L);
+        verify(tagRepository).getReferenceById(1L);
+        verify(categoryRepository, never()).findById(anyLong());
+        verify(tagRepository, never()).findAllById(anyIterable());
         verify(taskRepository).save(any(Task.class));
+        verify(dataVersionService).bump(testUser);
+        verify(taskEventBus).publish(any(TaskEvent.TaskCreated.class));
     }
 
     @Test
@@ -144,20 +190,41 @@ class TaskServiceTest {
     void createTask_WithInvalidCategory_ShouldThrowException() {
         // Given
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
 
         createRequest.setCategoryId(999L);
 
-        // When & Then
+        // When & Then - the snapshot is reloaded once before giving up
         assertThatThrownBy(() -> taskService.createTask(createRequest, "test@example.com"))
-                .isInstanceOf(RuntimeException.class)
+                .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Category not found");
+        verify(referenceDataService).invalidate("test@example.com");
+        verify(referenceDataService, times(2)).get("test@example.com");
 
         verify(userRepository).findByEmail("test@example.com");
-        verify(categoryRepository).findById(999L);
+        verify(categoryRepository, never()).getReferenceById(anyLong());
         verify(taskRepository, never()).save(any(Task.class));
     }
 
+    @Test
+    void createTask_CategoryDeletedThroughAnotherInstance_ShouldThrowNotFound() {
+        // Given - the snapshot still lists category 1, the row is gone
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
+        when(tagRepository.getReferenceById(1L)).thenReturn(testTag);
+        when(taskRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new DataIntegrityViolationException("tasks_category_id_fkey")).when(taskRepository).flush();
+
+        // When & Then
+        assertThatThrownBy(() -> taskService.createTask(createRequest, "test@example.com"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Category or tag not found");
+        verify(referenceDataService).discard("test@example.com");
+        verify(dataVersionService, never()).bump(any());
+        verify(taskEventBus, never()).publish(any());
+    }
+
     @Test
     void getTasks_WithValidUser_ShouldReturnPageOfTasks() {
         // Given
@@ -165,7 +232,7 @@ class TaskServiceTest {
         List<Task> tasks = Arrays.asList(testTask);
         Page<Task> taskPage = new PageImpl<>(tasks, pageable, 1);
 
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
         when(taskRepository.findByUserId(1L, pageable)).thenReturn(taskPage);
 
         // When
@@ -176,8 +243,8 @@ class TaskServiceTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getTitle()).isEqualTo("Test Task");
 
-        verify(userRepository).findByEmail("test@example.com");
         verify(taskRepository).findByUserId(1L, pageable);
+        verify(userRepository, never()).findByEmail(anyString());
     }
 
     @Test
@@ -187,7 +254,7 @@ class TaskServiceTest {
         List<Task> tasks = Arrays.asList(testTask);
         Page<Task> taskPage = new PageImpl<>(tasks, pageable, 1);
 
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
         when(taskRepository.findByUserIdAndStatus(1L, Task.TaskStatus.PENDING, pageable)).thenReturn(taskPage);
 
         // When
@@ -197,10 +264,176 @@ class TaskServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
 
-        verify(userRepository).findByEmail("test@example.com");
         verify(taskRepository).findByUserIdAndStatus(1L, Task.TaskStatus.PENDING, pageable);
     }
 
+    @Test
+    void getTaskHistory_ShouldListLiveAndArchivedTasksWithTheirTags() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        TaskHistoryEntry live = historyEntry(1L, Task.TaskStatus.PENDING, null, false);
+        TaskHistoryEntry archived = historyEntry(2L, Task.TaskStatus.COMPLETED, new Long[] {1L, 99L}, true);
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
+        when(taskHistoryRepository.findByUserId(1L, pageable))
+                .thenReturn(new PageImpl<>(List.of(live, archived), pageable, 2));
+        when(taskRepository.findTagLinksOfTasks(List.of(1L))).thenReturn(List.of(new TaskTagLinkDTO(1L, 1L)));
+
+        // When
+        Page<TaskDTO> result = taskService.getTaskHistory("test@example.com", null, null, null, null, pageable);
+
+        // Then
+        assertThat(result.getContent()).extracting(TaskDTO::getId).containsExactly(1L, 2L);
+        assertThat(result.getContent()).extracting(TaskDTO::isArchived).containsExactly(false, true);
+        assertThat(result.getContent().get(0).getTags()).extracting("name").containsExactly("urgent");
+        // Tag 99 was deleted after the task was archived
+        assertThat(result.getContent().get(1).getTags()).extracting("name").containsExactly("urgent");
+        assertThat(result.getContent().get(1).getCategoryName()).isEqualTo("Work");
+        verify(taskRepository, never()).findByUserId(anyLong(), any());
+    }
+
+    @Test
+    void getTaskHistory_WithOnlyArchivedTasks_ShouldNotFetchTagLinks() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        TaskHistoryEntry archived = historyEntry(2L, Task.TaskStatus.COMPLETED, new Long[0], true);
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
+        when(taskHistoryRepository.findByUserIdAndStatus(1L, Task.TaskStatus.COMPLETED, pageable))
+                .thenReturn(new PageImpl<>(List.of(archived), pageable, 1));
+
+        // When
+        Page<TaskDTO> result = taskService.getTaskHistory("test@example.com", "completed", null, null, null, pageable);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getTags()).isEmpty();
+        verify(taskRepository, never()).findTagLinksOfTasks(any());
+    }
+
+    @Test
+    void getTasksByTags_ShouldFetchOnlyThePageSlicedFromTheBitmap() {
+        // Given
+        TagQuery query = new TagQuery(List.of(1L), List.of(), List.of(2L));
+        Pageable pageable = PageRequest.of(1, 2);
+        Task third = new Task();
+        third.setId(9L);
+        third.setTitle("Third");
+        third.setStatus(Task.TaskStatus.PENDING);
+        third.setPriority(Task.TaskPriority.LOW);
+        testTask.setId(5L);
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(tagBitmapService.matchingTaskIds("test@example.com", query))
+            .thenReturn(Roaring64NavigableMap.bitmapOf(3L, 5L, 9L, 12L));
+        when(taskRepository.findByUserIdAndIdIn(1L, List.of(9L, 12L))).thenReturn(List.of(third));
+
+        // When
+        Page<TaskDTO> result = taskService.getTasksByTags("test@example.com", query, pageable);
+
+        // Then - rows that vanished since the bitmap was built are skipped, total comes from the bitmap
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(result.getContent()).extracting(TaskDTO::getId).containsExactly(9L);
+        verify(taskRepository, never()).findByUserIdAndIdIn(anyLong(), anyCollection(), any(Pageable.class));
+    }
+
+    @Test
+    void getTasksByTags_WithIdDescendingSort_ShouldSliceFromTheEnd() {
+        // Given
+        TagQuery query = new TagQuery(null, List.of(1L, 2L), null);
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id"));
+        testTask.setId(9L);
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(tagBitmapService.matchingTaskIds("test@example.com", query))
+            .thenReturn(Roaring64NavigableMap.bitmapOf(3L, 5L, 9L));
+        when(taskRepository.findByUserIdAndIdIn(1L, List.of(9L))).thenReturn(List.of(testTask));
+
+        // When
+        Page<TaskDTO> result = taskService.getTasksByTags("test@example.com", query, pageable);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getContent()).extracting(TaskDTO::getId).containsExactly(9L);
+    }
+
+    @Test
+    void getTasksByTags_WithOtherSort_ShouldPassMatchesToPagedQuery() {
+        // Given
+        TagQuery query = new TagQuery(List.of(1L), null, null);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("dueDate"));
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(tagBitmapService.matchingTaskIds("test@example.com", query))
+            .thenReturn(Roaring64NavigableMap.bitmapOf(1L, 4L));
+        when(taskRepository.findByUserIdAndIdIn(1L, List.of(1L, 4L), pageable))
+            .thenReturn(new PageImpl<>(List.of(testTask), pageable, 1));
+
+        // When
+        Page<TaskDTO> result = taskService.getTasksByTags("test@example.com", query, pageable);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        verify(taskRepository).findByUserIdAndIdIn(1L, List.of(1L, 4L), pageable);
+    }
+
+    @Test
+    void getTasksByTags_WithNoMatches_ShouldNotQueryTasks() {
+        // Given
+        TagQuery query = new TagQuery(List.of(7L), null, null);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(tagBitmapService.matchingTaskIds("test@example.com", query)).thenReturn(new Roaring64NavigableMap());
+
+        // When
+        Page<TaskDTO> result = taskService.getTasksByTags("test@example.com", query, pageable);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void createTask_WithCategoryMissingFromSnapshot_ShouldReloadReferenceData() {
+        // Given - a category created through another instance after the snapshot was taken
+        ReferenceData reloaded = new ReferenceData(1L,
+                List.of(new ReferenceData.CategoryRef(1L, "Work", "#3B82F6"),
+                        new ReferenceData.CategoryRef(2L, "Home", "#10B981")),
+                List.of(new ReferenceData.TagRef(1L, "urgent", null)),
+                null);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData, reloaded);
+        when(categoryRepository.getReferenceById(2L)).thenReturn(testCategory);
+        when(tagRepository.getReferenceById(1L)).thenReturn(testTag);
+        when(taskRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        createRequest.setCategoryId(2L);
+
+        // When
+        taskService.createTask(createRequest, "test@example.com");
+
+        // Then
+        verify(referenceDataService).invalidate("test@example.com");
+        verify(categoryRepository).getReferenceById(2L);
+        verify(taskRepository).save(any(Task.class));
+    }
+
+    @Test
+    void updateTask_WithForeignTag_ShouldThrowException() {
+        // Given
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTask));
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
+        updateRequest.setTagIds(Arrays.asList(1L, 42L));
+
+        // When & Then
+        assertThatThrownBy(() -> taskService.updateTask(1L, updateRequest, "test@example.com"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Tag not found");
+        verify(referenceDataService).invalidate("test@example.com");
+
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
     @Test
     void getTask_WithValidId_ShouldReturnTaskDTO() {
         // Given
@@ -237,8 +470,9 @@ class TaskServiceTest {
         // Given
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTask));
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
-        when(tagRepository.findAllById(Arrays.asList(1L))).thenReturn(Arrays.asList(testTag));
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
+        when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
+        when(tagRepository.getReferenceById(1L)).thenReturn(testTag);
         Task updatedTask = new Task();
         updatedTask.setTitle("Updated Task");
         when(taskRepository.save(any())).thenReturn(updatedTask);
@@ -250,8 +484,8 @@ class TaskServiceTest {
         assertThat(result.getTitle()).isEqualTo("Updated Task");
         verify(userRepository).findByEmail("test@example.com");
         verify(taskRepository).findByIdAndUserId(1L, 1L);
-        verify(categoryRepository).findById(1L);
-        verify(tagRepository).findAllById(Arrays.asList(1L));
+        verify(categoryRepository).getReferenceById(1L);
+        verify(tagRepository).getReferenceById(1L);
         verify(taskRepository).save(any(Task.class));
     }
 
@@ -321,6 +555,8 @@ class TaskServiceTest {
         verify(userRepository).findByEmail("test@example.com");
         verify(taskRepository).findByIdAndUserId(1L, 1L);
         verify(taskRepository).save(any(Task.class));
+        verify(taskEventBus).publish(new TaskEvent.TaskStatusChanged(1L, 1L,
+                Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED));
     }
 
     @Test
@@ -358,6 +594,8 @@ class TaskServiceTest {
         verify(userRepository).findByEmail("test@example.com");
         verify(taskRepository).findAllById(Arrays.asList(1L, 2L));
         verify(taskRepository).saveAll(anyList());
+        // One event for the whole operation
+        verify(taskEventBus).publish(new TaskEvent.TasksDeleted(1L, Set.of(1L)));
     }
 
     @Test
@@ -375,4 +613,122 @@ class TaskServiceTest {
         verify(userRepository).findByEmail("test@example.com");
         verify(taskRepository).findByUserId(1L, Pageable.unpaged());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void restoreTask_ShouldMakeDeletedTaskPendingAgain() {
+        // Given
+        testTask.setStatus(Task.TaskStatus.DELETED);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(taskRepository.findDeletedByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.save(testTask)).thenReturn(testTask);
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
+
+        // When
+        TaskDTO result = taskService.restoreTask(1L, "test@example.com");
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo("pending");
+        verify(tagBitmapService).taskChanged("test@example.com", testTask);
+        verify(dataVersionService).bump(testUser);
+    }
+
+    @Test
+    void restoreTask_WhenAlreadyPurged_ShouldThrowException() {
+        // Given
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(taskRepository.findDeletedByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> taskService.restoreTask(1L, "test@example.com"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Task not found");
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void getChanges_WithoutToken_ShouldReturnStartingTokenOnly() {
+        // When
+        TaskChangesDTO result = taskService.getChanges("test@example.com", null);
+
+        // Then - the token starts a settle window before now
+        SyncToken token = SyncToken.decode(result.getToken());
+        assertThat(token.tasks().at()).isBefore(LocalDateTime.now().minusSeconds(50));
+        assertThat(result.getChanged()).isEmpty();
+        assertThat(result.getDeleted()).isEmpty();
+        verifyNoInteractions(taskRepository, taskTombstoneRepository);
+    }
+
+    @Test
+    void getChanges_ShouldReturnChangedTasksAndTombstones() {
+        // Given
+        LocalDateTime since = LocalDateTime.now().minusMinutes(10);
+        testTask.setUpdatedAt(since.plusMinutes(1));
+        Task softDeleted = new Task();
+        softDeleted.setId(2L);
+        softDeleted.setStatus(Task.TaskStatus.DELETED);
+        softDeleted.setUpdatedAt(since.plusMinutes(2));
+        TaskTombstone tombstone = new TaskTombstone(1L, 3L);
+        tombstone.setId(7L);
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
+        when(taskRepository.findChangedAfter(eq(1L), any(), anyLong(), any())).thenReturn(List.of(testTask, softDeleted));
+        when(taskTombstoneRepository.findAfter(eq(1L), any(), anyLong(), any())).thenReturn(List.of(tombstone));
+
+        // When
+        TaskChangesDTO result = taskService.getChanges("test@example.com", SyncToken.at(since).encode());
+
+        // Then - soft-deleted rows and hard-delete tombstones are both reported as deletions
+        assertThat(result.getChanged()).extracting(TaskDTO::getId).containsExactly(1L);
+        assertThat(result.getDeleted()).containsExactly(2L, 3L);
+        assertThat(result.isHasMore()).isFalse();
+        SyncToken next = SyncToken.decode(result.getToken());
+        assertThat(next.tasks().at()).isAfter(since).isBefore(LocalDateTime.now().minusSeconds(50));
+    }
+
+    @Test
+    void getChanges_WithFullSettledPage_ShouldResumeAfterLastRow() {
+        // Given
+        ReflectionTestUtils.setField(taskService, "syncPageSize", 1);
+        LocalDateTime since = LocalDateTime.now().minusMinutes(10);
+        testTask.setUpdatedAt(since.plusMinutes(1));
+        Task later = new Task();
+        later.setId(2L);
+        later.setStatus(Task.TaskStatus.PENDING);
+        later.setUpdatedAt(since.plusMinutes(2));
+        when(referenceDataService.get("test@example.com")).thenReturn(referenceData);
+        when(taskRepository.findChangedAfter(eq(1L), any(), anyLong(), any())).thenReturn(List.of(testTask, later));
+        when(taskTombstoneRepository.findAfter(eq(1L), any(), anyLong(), any())).thenReturn(List.of());
+
+        // When
+        TaskChangesDTO result = taskService.getChanges("test@example.com", SyncToken.at(since).encode());
+
+        // Then
+        assertThat(result.getChanged()).extracting(TaskDTO::getId).containsExactly(1L);
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(SyncToken.decode(result.getToken()).tasks())
+            .isEqualTo(new SyncToken.Cursor(testTask.getUpdatedAt(), 1L));
+    }
+
+    @Test
+    void getChanges_WithTokenOlderThanRetention_ShouldThrowException() {
+        // Given
+        String token = SyncToken.at(LocalDateTime.now().minusDays(31)).encode();
+
+        // When & Then
+        assertThatThrownBy(() -> taskService.getChanges("test@example.com", token))
+                .isInstanceOf(SyncTokenExpiredException.class);
+        verifyNoInteractions(taskRepository, taskTombstoneRepository);
+    }
+
+    private static TaskHistoryEntry historyEntry(Long id, Task.TaskStatus status, Long[] tagIds, boolean archived) {
+        TaskHistoryEntry entry = new TaskHistoryEntry();
+        ReflectionTestUtils.setField(entry, "id", id);
+        ReflectionTestUtils.setField(entry, "userId", 1L);
+        ReflectionTestUtils.setField(entry, "categoryId", 1L);
+        ReflectionTestUtils.setField(entry, "title", "Task " + id);
+        ReflectionTestUtils.setField(entry, "status", status);
+        ReflectionTestUtils.setField(entry, "priority", Task.TaskPriority.MEDIUM);
+        ReflectionTestUtils.setField(entry, "tagIds", tagIds);
+        ReflectionTestUtils.setField(entry, "archived", archived);
+        return entry;
+    }
+}
@@ -8,6 +8,7 @@ import com.todoapp.exception.BusinessException;
 import com.todoapp.exception.ResourceNotFoundException;
 import com.todoapp.repository.UserRepository;
 import com.todoapp.repository.UserSettingsRepository;
+import com.todoapp.util.ReferenceData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,6 +44,21 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private SuggestionService suggestionService;
+
+    @Mock
+    private ReferenceDataService referenceDataService;
+
+    @Mock
+    private AccountDeletionService accountDeletionService;
+
+    @Mock
+    private TagBitmapService tagBitmapService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
     @InjectMocks
     private UserService userService;
 
@@ -220,9 +236,41 @@ class UserServiceTest {
         verify(userRepository).count();
     }
 
+    @Test
+    void deleteUserAccount_ShouldQueueDeletionInsteadOfDeletingInline() {
+        // Given
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+        // When
+        userService.deleteUserAccount("test@example.com");
+
+        // Then
+        verify(accountDeletionService).requestDeletion(testUser);
+        verify(userRepository, never()).delete(any(User.class));
+        verify(referenceDataService).invalidate("test@example.com");
+    }
+
     @Test
     void getUserSettings_WithValidEmail_ShouldReturnSettings() {
         // Given
+        when(referenceDataService.get("test@example.com")).thenReturn(new ReferenceData(1L, List.of(), List.of(),
+                new ReferenceData.Settings("dark", "en", "UTC", true, false, true, false, true)));
+
+        // When
+        UserSettingsDTO result = userService.getUserSettings("test@example.com");
+
+        // Then - served from the reference data cache
+        assertThat(result).isNotNull();
+        assertThat(result.getTheme()).isEqualTo("dark");
+        assertThat(result.getEmailNotifications()).isTrue();
+        assertThat(result.getPushNotifications()).isFalse();
+        verifyNoInteractions(userSettingsRepository);
+    }
+
+    @Test
+    void getUserSettings_WhenNoneStored_ShouldLoadAndInvalidateCache() {
+        // Given
+        when(referenceDataService.get("test@example.com")).thenReturn(new ReferenceData(1L, List.of(), List.of(), null));
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(userSettingsRepository.findByUserId(1L)).thenReturn(Optional.of(testUserSettings));
 
@@ -230,10 +278,9 @@ class UserServiceTest {
         UserSettingsDTO result = userService.getUserSettings("test@example.com");
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result.getEmailNotifications()).isTrue();
         assertThat(result.getPushNotifications()).isFalse();
         verify(userRepository).findByEmail("test@example.com");
+        verify(referenceDataService).invalidate("test@example.com");
     }
 
     @Test
@@ -254,5 +301,6 @@ class UserServiceTest {
         assertThat(result).isNotNull();
         verify(userRepository).findByEmail("test@example.com");
         verify(userSettingsRepository).save(any(UserSettings.class));
+        verify(referenceDataService).invalidate("test@example.com");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.todoapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    void tryAcquire_WhenLimitAndQueueAreFull_ShouldRejectImmediately() throws Exception {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 2, 0, Duration.ZERO);
+        limiter.tryAcquire(Duration.ofSeconds(1));
+        limiter.tryAcquire(Duration.ofSeconds(1));
+
+        // When
+        long start = System.nanoTime();
+        AdaptiveLimiter.Permit permit = limiter.tryAcquire(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(permit).isNull();
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquire_WhenNoSlotFreesUp_ShouldGiveUpAfterMaxWait() throws Exception {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, 1, Duration.ZERO);
+        limiter.tryAcquire(Duration.ZERO);
+
+        // When
+        AdaptiveLimiter.Permit permit = limiter.tryAcquire(Duration.ofMillis(50));
+
+        // Then
+        assertThat(permit).isNull();
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    @Test
+    void tryAcquire_WhenSlotIsReleased_ShouldAdmitQueuedCaller() throws Exception {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, 1, Duration.ZERO);
+        AdaptiveLimiter.Permit first = limiter.tryAcquire(Duration.ZERO);
+        CompletableFuture<AdaptiveLimiter.Permit> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.tryAcquire(Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (limiter.getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        first.release();
+        first.release();
+
+        // Then
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void release_WhenSlowerThanTarget_ShouldShrinkLimitOncePerTargetWindow() throws Exception {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 2, 20, 0, Duration.ofSeconds(1));
+
+        // When
+        limiter.tryAcquire(Duration.ZERO).release(SLOW);
+        limiter.tryAcquire(Duration.ZERO).release(SLOW);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void release_WhenFastAndLimitInUse_ShouldGrowLimitUpToMax() throws Exception {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 3, 0, Duration.ofSeconds(1));
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            AdaptiveLimiter.Permit held = limiter.tryAcquire(Duration.ZERO);
+            limiter.tryAcquire(Duration.ZERO).release(FAST);
+            held.release(FAST);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void release_WithFixedLimit_ShouldNeverAdapt() throws Exception {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 2, 2, 0, Duration.ZERO);
+
+        // When
+        limiter.tryAcquire(Duration.ZERO).release(SLOW);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void constructor_WithInitialLimitOutsideBounds_ShouldFail() {
+        assertThatThrownBy(() -> new AdaptiveLimiter(5, 1, 4, 0, Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.todoapp.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = PrefixIndex.of(List.of(
+            new PrefixIndex.Entry(1L, "Urgent", "#FF0000", 12),
+            new PrefixIndex.Entry(2L, "urban planning", "#00FF00", 3),
+            new PrefixIndex.Entry(3L, "Home Office", "#0000FF", 7),
+            new PrefixIndex.Entry(4L, "Café", "#FFFF00", 1),
+            new PrefixIndex.Entry(5L, "Upgrade", "#00FFFF", 12)
+        ));
+    }
+
+    @Test
+    void suggest_ShouldMatchPrefixRankedByUsage() {
+        // When
+        List<PrefixIndex.Entry> suggestions = index.suggest("u", 10);
+
+        // Then - ties on usage are broken by name
+        assertThat(suggestions).extracting(PrefixIndex.Entry::id).containsExactly(5L, 1L, 2L);
+    }
+
+    @Test
+    void suggest_ShouldMatchLaterWordsOnce() {
+        assertThat(index.suggest("off", 10)).extracting(PrefixIndex.Entry::id).containsExactly(3L);
+        assertThat(index.suggest("plan", 10)).extracting(PrefixIndex.Entry::id).containsExactly(2L);
+        assertThat(index.suggest("ho", 10)).extracting(PrefixIndex.Entry::id).containsExactly(3L);
+    }
+
+    @Test
+    void suggest_ShouldIgnoreCaseAccentsAndExtraWhitespace() {
+        assertThat(index.suggest("  CAFE ", 10)).extracting(PrefixIndex.Entry::id).containsExactly(4L);
+        assertThat(index.suggest("home   off", 10)).extracting(PrefixIndex.Entry::id).containsExactly(3L);
+    }
+
+    @Test
+    void suggest_ShouldRespectLimit() {
+        assertThat(index.suggest("u", 2)).extracting(PrefixIndex.Entry::id).containsExactly(5L, 1L);
+        assertThat(index.suggest("", 1)).extracting(PrefixIndex.Entry::id).containsExactly(5L);
+        assertThat(index.suggest("u", 0)).isEmpty();
+        assertThat(index.suggest("zzz", 10)).isEmpty();
+    }
+
+    @Test
+    void withEntry_ShouldReplaceByIdWithoutChangingOriginal() {
+        // When
+        PrefixIndex renamed = index.withEntry(new PrefixIndex.Entry(1L, "Critical", "#FF0000", 12));
+
+        // Then
+        assertThat(renamed.size()).isEqualTo(5);
+        assertThat(renamed.suggest("cr", 10)).extracting(PrefixIndex.Entry::id).containsExactly(1L);
+        assertThat(renamed.suggest("urg", 10)).isEmpty();
+        assertThat(index.suggest("urg", 10)).extracting(PrefixIndex.Entry::id).containsExactly(1L);
+    }
+
+    @Test
+    void withoutEntry_ShouldRemoveById() {
+        // When
+        PrefixIndex removed = index.withoutEntry(5L);
+
+        // Then
+        assertThat(removed.size()).isEqualTo(4);
+        assertThat(removed.get(5L)).isNull();
+        assertThat(removed.suggest("up", 10)).isEmpty();
+        assertThat(index.withoutEntry(99L)).isSameAs(index);
+    }
+}
@@ -0,0 +1,38 @@
+package com.todoapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingBufferTest {
+
+    @Test
+    void snapshot_ShouldReturnNewestFirstAndDropOldest() {
+        // Given
+        RingBuffer<String> buffer = new RingBuffer<>(3);
+
+        // When
+        for (String item : new String[] {"a", "b", "c", "d", "e"}) {
+            buffer.add(item);
+        }
+
+        // Then
+        assertThat(buffer.snapshot()).containsExactly("e", "d", "c");
+    }
+
+    @Test
+    void snapshot_BeforeFull_ShouldReturnOnlyWrittenItems() {
+        RingBuffer<String> buffer = new RingBuffer<>(3);
+        buffer.add("a");
+
+        assertThat(buffer.snapshot()).containsExactly("a");
+        buffer.clear();
+        assertThat(buffer.snapshot()).isEmpty();
+    }
+
+    @Test
+    void constructor_WithoutCapacity_ShouldFail() {
+        assertThatThrownBy(() -> new RingBuffer<String>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
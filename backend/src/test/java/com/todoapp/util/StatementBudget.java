@@ -0,0 +1,24 @@
+package com.todoapp.util;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the annotated test if its body (not its setup) issues more than {@link #max()}
+ * SQL statements through Hibernate. Meant for integration tests against a real
+ * persistence context, to pin query counts of hot paths and catch N+1 regressions.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(StatementBudgetExtension.class)
+public @interface StatementBudget {
+
+    /**
+     * Maximum number of statements the test body may issue.
+     */
+    int max();
+}
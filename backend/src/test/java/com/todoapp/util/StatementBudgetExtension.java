@@ -0,0 +1,37 @@
+package com.todoapp.util;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records statements around the test method only, after @BeforeEach setup has run, and
+ * checks them against the method's {@link StatementBudget}.
+ */
+class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+        ExtensionContext.Namespace.create(StatementBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), StatementStats.begin());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        StatementStats.end();
+        StatementStats stats = context.getStore(NAMESPACE).remove(context.getUniqueId(), StatementStats.class);
+        StatementBudget budget = context.getRequiredTestMethod().getAnnotation(StatementBudget.class);
+        if (stats == null || budget == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        StatementStats.Shape top = stats.mostRepeated();
+        assertThat(stats.getStatements())
+            .as("SQL statements issued (most repeated: %s)", top != null ? top.count() + "x " + top.sql() : "none")
+            .isLessThanOrEqualTo(budget.max());
+    }
+}
@@ -0,0 +1,48 @@
+package com.todoapp.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementStatsTest {
+
+    @AfterEach
+    void tearDown() {
+        StatementStats.end();
+    }
+
+    @Test
+    void recordStatement_ShouldGroupStatementsByShape() {
+        // Given
+        StatementStats stats = StatementStats.begin();
+
+        // When - one lazy load per task plus an unrelated query
+        for (int id = 1; id <= 5; id++) {
+            StatementStats.recordStatement("select c.name from categories c where c.id = " + id);
+        }
+        StatementStats.recordStatement("select t.id from tasks t where t.id in (?, ?, ?)");
+        StatementStats.recordJdbcTime(2_000_000);
+
+        // Then
+        assertThat(stats.getStatements()).isEqualTo(6);
+        assertThat(stats.getJdbcTime().toMillis()).isEqualTo(2);
+        assertThat(stats.mostRepeated())
+            .isEqualTo(new StatementStats.Shape("select c.name from categories c where c.id = ?", 5));
+    }
+
+    @Test
+    void shape_ShouldCollapseLiteralsInListsAndWhitespace() {
+        assertThat(StatementStats.shape("select *\n  from tags t1_0 where t1_0.name = 'it''s' and t1_0.id in (?,?, ?)"))
+            .isEqualTo("select * from tags t1_0 where t1_0.name = ? and t1_0.id in (?...)");
+    }
+
+    @Test
+    void recordStatement_WithoutScope_ShouldBeIgnored() {
+        // When
+        StatementStats.recordStatement("select 1");
+
+        // Then
+        assertThat(StatementStats.begin().getStatements()).isZero();
+    }
+}
@@ -0,0 +1,43 @@
+package com.todoapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncTokenTest {
+
+    @Test
+    void decode_ShouldReturnEncodedCursors() {
+        // Given
+        SyncToken token = new SyncToken(
+            new SyncToken.Cursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_789), 42L),
+            SyncToken.Cursor.after(LocalDateTime.of(2024, 2, 28, 8, 0)));
+
+        // When
+        SyncToken decoded = SyncToken.decode(token.encode());
+
+        // Then - timestamps keep the database's microsecond precision
+        assertThat(decoded).isEqualTo(token);
+        assertThat(decoded.tasks().at().getNano()).isEqualTo(123_456_000);
+        assertThat(decoded.oldest()).isEqualTo(LocalDateTime.of(2024, 2, 28, 8, 0));
+        assertThat(token.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void cursor_ShouldOrderByTimeThenId() {
+        LocalDateTime time = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+        assertThat(new SyncToken.Cursor(time, 5L)).isLessThan(new SyncToken.Cursor(time, 6L));
+        assertThat(new SyncToken.Cursor(time, 6L)).isLessThan(SyncToken.Cursor.after(time));
+        assertThat(SyncToken.Cursor.after(time)).isLessThan(new SyncToken.Cursor(time.plusNanos(1000), 1L));
+    }
+
+    @Test
+    void decode_WithMalformedToken_ShouldFail() {
+        assertThatThrownBy(() -> SyncToken.decode("not a token")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SyncToken.decode("MToxOjI")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.todoapp.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagBitmapsTest {
+
+    private TagBitmaps bitmaps;
+
+    @BeforeEach
+    void setUp() {
+        // Tasks 1-5; tag 10 on 1,2,3; tag 20 on 2,3,4; tag 30 on 3,5
+        bitmaps = TagBitmaps.builder()
+            .addTask(1L).addTask(2L).addTask(3L).addTask(4L).addTask(5L)
+            .addAssignment(1L, 10L).addAssignment(2L, 10L).addAssignment(3L, 10L)
+            .addAssignment(2L, 20L).addAssignment(3L, 20L).addAssignment(4L, 20L)
+            .addAssignment(3L, 30L).addAssignment(5L, 30L)
+            .build();
+    }
+
+    @Test
+    void evaluate_ShouldCombineAllAnyAndNone() {
+        assertThat(bitmaps.evaluate(Set.of(10L, 20L), Set.of(), Set.of()).toArray()).containsExactly(2L, 3L);
+        assertThat(bitmaps.evaluate(Set.of(), Set.of(10L, 30L), Set.of()).toArray()).containsExactly(1L, 2L, 3L, 5L);
+        assertThat(bitmaps.evaluate(Set.of(), Set.of(10L, 30L), Set.of(20L)).toArray()).containsExactly(1L, 5L);
+        assertThat(bitmaps.evaluate(Set.of(), Set.of(), Set.of(10L)).toArray()).containsExactly(4L, 5L);
+    }
+
+    @Test
+    void evaluate_WithUnknownTags_ShouldMatchNothingOrIgnoreThem() {
+        assertThat(bitmaps.evaluate(Set.of(99L), Set.of(), Set.of()).isEmpty()).isTrue();
+        assertThat(bitmaps.evaluate(Set.of(), Set.of(99L), Set.of()).isEmpty()).isTrue();
+        assertThat(bitmaps.evaluate(Set.of(), Set.of(), Set.of(99L)).getLongCardinality()).isEqualTo(5);
+    }
+
+    @Test
+    void withTask_ShouldReplaceAssignmentsWithoutChangingOriginal() {
+        // When - task 1 moves from tag 10 to tag 40
+        TagBitmaps patched = bitmaps.withTask(1L, List.of(40L), true);
+
+        // Then
+        assertThat(patched.evaluate(Set.of(10L), Set.of(), Set.of()).toArray()).containsExactly(2L, 3L);
+        assertThat(patched.evaluate(Set.of(40L), Set.of(), Set.of()).toArray()).containsExactly(1L);
+        assertThat(bitmaps.evaluate(Set.of(10L), Set.of(), Set.of()).toArray()).containsExactly(1L, 2L, 3L);
+        assertThat(patched.tagCount()).isEqualTo(4);
+    }
+
+    @Test
+    void withTask_WhenInactive_ShouldRemoveTaskEverywhere() {
+        // When
+        TagBitmaps patched = bitmaps.withTask(5L, List.of(30L), false);
+
+        // Then
+        assertThat(patched.taskCount()).isEqualTo(4);
+        assertThat(patched.evaluate(Set.of(30L), Set.of(), Set.of()).toArray()).containsExactly(3L);
+        assertThat(patched.evaluate(Set.of(), Set.of(), Set.of(10L)).toArray()).containsExactly(4L);
+    }
+}
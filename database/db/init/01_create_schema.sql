@@ -140,6 +140,151 @@ COMMENT ON TABLE notifications IS 'In-app notifications and reminders';
 COMMENT ON COLUMN notifications.type IS 'Notification type: due_reminder, task_completed, achievement, etc.';
 COMMENT ON COLUMN notifications.metadata IS 'Additional notification data in JSON format';
 
+-- Report runs table (daily digest / weekly report progress and checkpoints)
+CREATE TABLE IF NOT EXISTS report_runs (
+    id BIGSERIAL PRIMARY KEY,
+    report_type VARCHAR(20) NOT NULL CHECK (report_type IN ('daily_digest', 'weekly_report')),
+    period_key VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'running' CHECK (status IN ('running', 'completed')),
+    last_user_id BIGINT NOT NULL DEFAULT 0,
+    processed_users BIGINT NOT NULL DEFAULT 0,
+    delivered_count BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+    UNIQUE(report_type, period_key)
+);
+
+-- Add comments
+COMMENT ON TABLE report_runs IS 'Progress of digest and report runs, one row per report period';
+COMMENT ON COLUMN report_runs.last_user_id IS 'Keyset checkpoint: last user ID fully processed';
+
+-- Outbox table (outgoing email written in the same transaction as the business change)
+CREATE TABLE IF NOT EXISTS outbox (
+    id BIGSERIAL PRIMARY KEY,
+    message_type VARCHAR(50) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'pending' CHECK (status IN ('pending', 'sending', 'sent', 'failed')),
+    attempts INTEGER NOT NULL DEFAULT 0 CHECK (attempts >= 0),
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_at TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP
+);
+
+-- Add comments
+COMMENT ON TABLE outbox IS 'Transactional outbox for email delivery, drained by the outbox dispatcher';
+COMMENT ON COLUMN outbox.message_type IS 'Message type: welcome, password_reset, etc.';
+COMMENT ON COLUMN outbox.locked_at IS 'When a dispatcher claimed the row; stale claims are released for retry';
+
+-- Account deletions table (background purge of deleted accounts)
+CREATE TABLE IF NOT EXISTS account_deletions (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL DEFAULT 'pending' CHECK (status IN ('pending', 'completed')),
+    current_step VARCHAR(20) NOT NULL DEFAULT 'task_tags'
+        CHECK (current_step IN ('task_tags', 'tasks', 'tasks_archive', 'notifications', 'tags', 'categories', 'user_settings', 'user')),
+    deleted_rows BIGINT NOT NULL DEFAULT 0,
+    requested_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+-- Add comments
+COMMENT ON TABLE account_deletions IS 'Progress of account purges; the account is disabled when the row is created';
+COMMENT ON COLUMN account_deletions.user_id IS 'Deleted user; no foreign key because the user row is removed last';
+COMMENT ON COLUMN account_deletions.current_step IS 'Table currently being purged in chunks';
+
+-- Export jobs table (resumable background account exports)
+CREATE TABLE IF NOT EXISTS export_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'pending' CHECK (status IN ('pending', 'completed', 'expired')),
+    current_part VARCHAR(20)
+        CHECK (current_part IN ('profile', 'settings', 'categories', 'tags', 'tasks', 'archived_tasks', 'notifications')),
+    last_id BIGINT NOT NULL DEFAULT 0,
+    part_bytes BIGINT NOT NULL DEFAULT 0,
+    exported_rows BIGINT NOT NULL DEFAULT 0,
+    archive_size BIGINT,
+    requested_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+    expires_at TIMESTAMP,
+    claimed_by VARCHAR(100),
+    claimed_at TIMESTAMP
+);
+
+-- Add comments
+COMMENT ON TABLE export_jobs IS 'Background account exports, checkpointed after every batch';
+COMMENT ON COLUMN export_jobs.user_id IS 'Exported user; no foreign key so archives of deleted accounts still expire and are removed';
+COMMENT ON COLUMN export_jobs.current_part IS 'Part file being written; NULL once all parts are written';
+COMMENT ON COLUMN export_jobs.last_id IS 'Keyset checkpoint: last row ID written to the current part';
+COMMENT ON COLUMN export_jobs.part_bytes IS 'Length of the current part file at the checkpoint';
+COMMENT ON COLUMN export_jobs.claimed_by IS 'Instance writing the job; another may reclaim it once updated_at is older than app.export.stale-after';
+
+-- User data versions table (ETags of task lists, categories, tags and dashboard)
+CREATE TABLE IF NOT EXISTS user_data_versions (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    version BIGINT NOT NULL DEFAULT 0 CHECK (version >= 0),
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Add comments
+COMMENT ON TABLE user_data_versions IS 'Per-user version of task data, incremented by every write to tasks, categories or tags';
+COMMENT ON COLUMN user_data_versions.version IS 'Monotonic; a user without a row is at version 0';
+
+-- Task archive table (completed tasks moved out of tasks by the archive job)
+CREATE TABLE IF NOT EXISTS tasks_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    category_id BIGINT REFERENCES categories(id) ON DELETE SET NULL,
+    title VARCHAR(100) NOT NULL,
+    description TEXT,
+    priority VARCHAR(10),
+    due_date TIMESTAMP,
+    completed_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    tag_ids BIGINT[] NOT NULL DEFAULT '{}',
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Add comments
+COMMENT ON TABLE tasks_archive IS 'Completed tasks older than the archive threshold; read-only history, lightly indexed';
+COMMENT ON COLUMN tasks_archive.id IS 'ID the task had in tasks, so IDs stay unique across both tables';
+COMMENT ON COLUMN tasks_archive.tag_ids IS 'Tags of the task when archived; no foreign keys, deleted tags are skipped on read';
+
+-- Task tombstones table (hard deletes, for delta sync)
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    task_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Add comments
+COMMENT ON TABLE task_tombstones IS 'One row per hard-deleted task, written by trigger and kept for the sync tombstone retention';
+COMMENT ON COLUMN task_tombstones.user_id IS 'Owner of the deleted task; no foreign key, tombstones are removed by retention only';
+
+-- Domain events table (task lifecycle events for in-process listeners)
+CREATE TABLE IF NOT EXISTS domain_events (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    event_type VARCHAR(40) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    delivered_at TIMESTAMP
+);
+
+-- Add comments
+COMMENT ON TABLE domain_events IS 'Task events written with the change and delivered to listeners after commit; replayed if delivery was lost';
+COMMENT ON COLUMN domain_events.user_id IS 'Owner of the affected tasks; events of one user are delivered in order. No foreign key, rows are removed by retention only';
+COMMENT ON COLUMN domain_events.claimed_at IS 'When an instance last took the event for delivery; undelivered events with stale claims are replayed';
+
 -- Create a view for dashboard statistics
 CREATE OR REPLACE VIEW user_dashboard_stats AS
 SELECT 
@@ -200,11 +345,27 @@ $$ language 'plpgsql';
 CREATE TRIGGER set_task_completed_at BEFORE UPDATE ON tasks
     FOR EACH ROW EXECUTE FUNCTION set_completed_at();
 
+-- Create function to record a tombstone for every hard-deleted task, except during an
+-- account purge (nobody is left to sync)
+CREATE OR REPLACE FUNCTION record_task_tombstone()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM account_deletions WHERE user_id = OLD.user_id) THEN
+        INSERT INTO task_tombstones (user_id, task_id) VALUES (OLD.user_id, OLD.id);
+    END IF;
+    RETURN OLD;
+END;
+$$ language 'plpgsql';
+
+-- Add trigger for the delta-sync tombstone log
+CREATE TRIGGER record_task_tombstone AFTER DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION record_task_tombstone();
+
 -- Print success message
 DO $$
 BEGIN
     RAISE NOTICE 'TodoApp database schema created successfully!';
-    RAISE NOTICE 'Tables created: users, categories, tasks, tags, task_tags, user_settings, notifications';
+    RAISE NOTICE 'Tables created: users, categories, tasks, tags, task_tags, user_settings, notifications, report_runs, outbox, account_deletions, export_jobs, user_data_versions, tasks_archive, task_tombstones, domain_events';
     RAISE NOTICE 'Views created: user_dashboard_stats';
-    RAISE NOTICE 'Triggers created: updated_at triggers, completed_at trigger';
+    RAISE NOTICE 'Triggers created: updated_at triggers, completed_at trigger, task tombstone trigger';
 END $$; 
\ No newline at end of file
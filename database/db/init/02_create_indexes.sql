@@ -8,21 +8,39 @@ CREATE INDEX IF NOT EXISTS idx_users_email_verified ON users(email_verified);
 CREATE INDEX IF NOT EXISTS idx_users_created_at ON users(created_at);
 
 -- Tasks table indexes (most important for performance)
-CREATE INDEX IF NOT EXISTS idx_tasks_user_id ON tasks(user_id);
-CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks(due_date);
+-- Task queries never see soft-deleted rows (the Task entity filters on status <> 'deleted'),
+-- so indexes serving them are partial and carry no dead rows
+CREATE INDEX IF NOT EXISTS idx_tasks_user_id ON tasks(user_id)
+    WHERE status <> 'deleted';
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks(due_date)
+    WHERE status <> 'deleted';
 CREATE INDEX IF NOT EXISTS idx_tasks_status ON tasks(status);
 CREATE INDEX IF NOT EXISTS idx_tasks_category_id ON tasks(category_id);
-CREATE INDEX IF NOT EXISTS idx_tasks_priority ON tasks(priority);
-CREATE INDEX IF NOT EXISTS idx_tasks_created_at ON tasks(created_at);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority ON tasks(priority)
+    WHERE status <> 'deleted';
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at ON tasks(created_at)
+    WHERE status <> 'deleted';
 CREATE INDEX IF NOT EXISTS idx_tasks_updated_at ON tasks(updated_at);
-CREATE INDEX IF NOT EXISTS idx_tasks_completed_at ON tasks(completed_at);
+CREATE INDEX IF NOT EXISTS idx_tasks_completed_at ON tasks(completed_at)
+    WHERE status <> 'deleted';
 
 -- Composite indexes for common query patterns
-CREATE INDEX IF NOT EXISTS idx_tasks_user_status ON tasks(user_id, status);
-CREATE INDEX IF NOT EXISTS idx_tasks_user_due_date ON tasks(user_id, due_date);
-CREATE INDEX IF NOT EXISTS idx_tasks_user_priority ON tasks(user_id, priority);
-CREATE INDEX IF NOT EXISTS idx_tasks_status_due_date ON tasks(status, due_date);
-CREATE INDEX IF NOT EXISTS idx_tasks_user_status_due_date ON tasks(user_id, status, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status ON tasks(user_id, status)
+    WHERE status <> 'deleted';
+CREATE INDEX IF NOT EXISTS idx_tasks_user_due_date ON tasks(user_id, due_date)
+    WHERE status <> 'deleted';
+CREATE INDEX IF NOT EXISTS idx_tasks_user_priority ON tasks(user_id, priority)
+    WHERE status <> 'deleted';
+CREATE INDEX IF NOT EXISTS idx_tasks_status_due_date ON tasks(status, due_date)
+    WHERE status <> 'deleted';
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status_due_date ON tasks(user_id, status, due_date)
+    WHERE status <> 'deleted';
+CREATE INDEX IF NOT EXISTS idx_tasks_user_category_status ON tasks(user_id, category_id, status)
+    WHERE status <> 'deleted';
+
+-- Keyset scan for delta sync: a user's tasks changed after a (updated_at, id) cursor.
+-- Not partial: sync reports soft-deleted rows, and the account purge finds tasks by user here
+CREATE INDEX IF NOT EXISTS idx_tasks_user_updated_at ON tasks(user_id, updated_at, id);
 
 -- Index for overdue tasks query (removed CURRENT_TIMESTAMP as it's not immutable)
 -- Use a regular composite index instead
@@ -31,7 +49,12 @@ CREATE INDEX IF NOT EXISTS idx_tasks_status_due_pending ON tasks(status, due_dat
 
 -- Index for today's tasks query (removed CURRENT_DATE as it's not immutable)
 -- Use a regular composite index instead
-CREATE INDEX IF NOT EXISTS idx_tasks_due_date_status ON tasks(due_date, status, user_id);
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date_status ON tasks(due_date, status, user_id)
+    WHERE status <> 'deleted';
+
+-- Soft-deleted tasks past their undo window, for the purge job
+CREATE INDEX IF NOT EXISTS idx_tasks_deleted ON tasks(updated_at, id)
+    WHERE status = 'deleted';
 
 -- Categories table indexes
 CREATE INDEX IF NOT EXISTS idx_categories_user_id ON categories(user_id);
@@ -51,6 +74,44 @@ CREATE INDEX IF NOT EXISTS idx_task_tags_created_at ON task_tags(created_at);
 -- User settings table indexes
 CREATE INDEX IF NOT EXISTS idx_user_settings_user_id ON user_settings(user_id);
 
+-- Partial indexes for keyset scans over digest/report subscribers
+CREATE INDEX IF NOT EXISTS idx_user_settings_daily_digest ON user_settings(user_id)
+    WHERE daily_digest = TRUE;
+CREATE INDEX IF NOT EXISTS idx_user_settings_weekly_report ON user_settings(user_id)
+    WHERE weekly_report = TRUE;
+
+-- Outbox indexes (claim scan over due messages, stale claim recovery)
+CREATE INDEX IF NOT EXISTS idx_outbox_due ON outbox(next_attempt_at, id)
+    WHERE status = 'pending';
+CREATE INDEX IF NOT EXISTS idx_outbox_sending ON outbox(locked_at)
+    WHERE status = 'sending';
+
+-- Account deletion indexes (interrupted purge recovery)
+CREATE INDEX IF NOT EXISTS idx_account_deletions_pending ON account_deletions(updated_at)
+    WHERE status = 'pending';
+
+-- Export job indexes (per-user lookup, interrupted job recovery, archive expiry)
+CREATE INDEX IF NOT EXISTS idx_export_jobs_user_id ON export_jobs(user_id, id);
+CREATE INDEX IF NOT EXISTS idx_export_jobs_pending ON export_jobs(updated_at)
+    WHERE status = 'pending';
+CREATE INDEX IF NOT EXISTS idx_export_jobs_expires_at ON export_jobs(expires_at)
+    WHERE status = 'completed';
+
+-- Task archive index: history listing, export and account purge all go by user; no other
+-- index, the archive is write-once and read rarely
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_user_id ON tasks_archive(user_id, id);
+
+-- Task tombstone indexes (delta-sync keyset scan, retention cleanup)
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_user_deleted_at ON task_tombstones(user_id, deleted_at, id);
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_deleted_at ON task_tombstones(deleted_at);
+
+-- Domain event indexes (replay of undelivered events, retention cleanup); both partial, so
+-- the replay scan only ever sees the few events still in flight
+CREATE INDEX IF NOT EXISTS idx_domain_events_undelivered ON domain_events(claimed_at, id)
+    WHERE delivered_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_domain_events_delivered_at ON domain_events(delivered_at)
+    WHERE delivered_at IS NOT NULL;
+
 -- Notifications table indexes
 CREATE INDEX IF NOT EXISTS idx_notifications_user_id ON notifications(user_id);
 CREATE INDEX IF NOT EXISTS idx_notifications_user_unread ON notifications(user_id, read);
@@ -86,6 +147,13 @@ ANALYZE tags;
 ANALYZE task_tags;
 ANALYZE user_settings;
 ANALYZE notifications;
+ANALYZE report_runs;
+ANALYZE outbox;
+ANALYZE account_deletions;
+ANALYZE export_jobs;
+ANALYZE tasks_archive;
+ANALYZE task_tombstones;
+ANALYZE domain_events;
 
 -- Print success message with index count
 DO $$
@@ -0,0 +1,5 @@
+#!/bin/sh
+# Runs once on a fresh primary volume: allow streaming replication connections from the
+# compose network for the application user (a superuser in this image).
+set -e
+echo "host replication ${POSTGRES_USER} all scram-sha-256" >> "$PGDATA/pg_hba.conf"
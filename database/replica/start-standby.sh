@@ -0,0 +1,15 @@
+#!/bin/sh
+# Clones the primary with pg_basebackup on first start (-R writes standby.signal and
+# primary_conninfo), then runs PostgreSQL as a hot standby.
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until pg_isready -h "$PRIMARY_HOST" -U "$POSTGRES_USER"; do
+    sleep 2
+  done
+  mkdir -p "$PGDATA"
+  chown postgres:postgres "$PGDATA"
+  chmod 0700 "$PGDATA"
+  su-exec postgres env PGPASSWORD="$POSTGRES_PASSWORD" \
+    pg_basebackup -h "$PRIMARY_HOST" -U "$POSTGRES_USER" -D "$PGDATA" -X stream -R
+fi
+exec su-exec postgres postgres -c hot_standby=on